@@ -0,0 +1,80 @@
+package benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Base de datos H2 en memoria (en modo MySQL) con las tablas 'grupos' y
+ * 'alumnos', para las pruebas de rendimiento que necesitan JDBC sin un
+ * servidor.
+ */
+public class BaseDatosH2 {
+
+	public static final String URL = "jdbc:h2:mem:alumnos;MODE=MySQL;DB_CLOSE_DELAY=-1";
+	public static final String[] GRUPOS = { "DAM1", "DAM2", "DAW1", "DAW2", "ASIR1", "ASIR2", "SMR1", "SMR2" };
+
+	private static final String[] DDL = { """
+			CREATE TABLE IF NOT EXISTS grupos (
+			    numeroGrupo INT AUTO_INCREMENT PRIMARY KEY,
+			    nombreGrupo VARCHAR(50) NOT NULL UNIQUE
+			)""", """
+			CREATE TABLE IF NOT EXISTS alumnos (
+			    nia INT AUTO_INCREMENT PRIMARY KEY,
+			    nombre VARCHAR(50),
+			    apellidos VARCHAR(100),
+			    genero CHAR(1),
+			    fechaNacimiento DATE,
+			    ciclo VARCHAR(50),
+			    curso VARCHAR(50),
+			    numeroGrupo INT NOT NULL,
+			    FOREIGN KEY (numeroGrupo) REFERENCES grupos (numeroGrupo)
+			)""" };
+
+	public static Connection conectar() throws SQLException {
+		return DriverManager.getConnection(URL, "sa", "");
+	}
+
+	/**
+	 * Crea las tablas (si no existen), las vacía y da de alta los grupos.
+	 */
+	public static void crearEsquema() throws SQLException {
+		try (Connection conexion = conectar(); Statement sentencia = conexion.createStatement()) {
+			for (String ddl : DDL) {
+				sentencia.execute(ddl);
+			}
+			sentencia.execute("DELETE FROM alumnos");
+			sentencia.execute("DELETE FROM grupos");
+			for (String grupo : GRUPOS) {
+				sentencia.execute("INSERT INTO grupos (nombreGrupo) VALUES ('" + grupo + "')");
+			}
+		}
+	}
+
+	public static void vaciarAlumnos() throws SQLException {
+		try (Connection conexion = conectar(); Statement sentencia = conexion.createStatement()) {
+			sentencia.execute("DELETE FROM alumnos");
+		}
+	}
+
+	/**
+	 * Escribe un db.properties que apunta a la base de datos en memoria y hace que
+	 * PoolConexiones lo use. Debe llamarse antes de usar PoolConexiones.
+	 */
+	public static void configurarPoolConexiones() throws IOException {
+		Path propiedades = Files.createTempFile("db-h2-", ".properties");
+		propiedades.toFile().deleteOnExit();
+		try (Writer salida = Files.newBufferedWriter(propiedades)) {
+			salida.write(String.join("\n", "db.url=" + URL, "db.user=sa", "db.password=", "db.maximumPoolSize=10",
+					"db.minimumIdle=2", "db.connectionTimeout=30000", "db.idleTimeout=600000",
+					"db.maxLifetime=1800000", "db.poolName=PoolBenchmark", "db.tamanoLote=1000",
+					"db.escrituraDiferida.filas=500", "db.escrituraDiferida.milis=5", ""));
+		}
+		System.setProperty("db.propiedades", propiedades.toString());
+	}
+}
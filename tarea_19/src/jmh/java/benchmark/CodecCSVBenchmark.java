@@ -0,0 +1,141 @@
+package benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import modelo.Alumno;
+import modelo.CodecCSVAlumnos;
+import modelo.Grupo;
+
+/**
+ * Coste por alumno de {@link CodecCSVAlumnos} frente al código que sustituye:
+ * <ul>
+ * <li>Lectura: split y SimpleDateFormat (sin comillas) frente al códec, creando
+ * un alumno nuevo o rellenando siempre el mismo, y el códec con los nombres
+ * entre comillas.</li>
+ * <li>Escritura: String.format con SimpleDateFormat (exportación de Hibernate)
+ * frente al códec, sobre un Writer que descarta lo escrito. Las fechas de la
+ * referencia se convierten a Date antes de medir, como las tenía Alumno.</li>
+ * </ul>
+ * Con {@code -prof gc} se ve la memoria reservada por alumno
+ * ({@code gc.alloc.rate.norm} dividido entre {@link #LINEAS}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecCSVBenchmark {
+
+	static final int LINEAS = 10_000;
+
+	private String[] lineas;
+	private String[] lineasConComillas;
+	private Alumno[] alumnos;
+	private Date[] fechas;
+
+	private final CodecCSVAlumnos codec = new CodecCSVAlumnos();
+	private final Alumno reutilizado = new Alumno();
+	private final SimpleDateFormat formatoFecha = new SimpleDateFormat("dd-MM-yyyy");
+	private final Writer descarte = Writer.nullWriter();
+
+	@Setup(Level.Trial)
+	public void prepararDatos() throws IOException {
+		Path fichero = Files.createTempFile("alumnos-codec-", ".txt");
+		try {
+			GeneradorAlumnos.generar(fichero, LINEAS);
+			List<String> todas = Files.readAllLines(fichero, StandardCharsets.UTF_8);
+			lineas = todas.subList(1, todas.size()).toArray(String[]::new);
+		} finally {
+			Files.delete(fichero);
+		}
+
+		alumnos = new Alumno[lineas.length];
+		fechas = new Date[lineas.length];
+		lineasConComillas = new String[lineas.length];
+		for (int i = 0; i < lineas.length; i++) {
+			alumnos[i] = codec.analizar(lineas[i]);
+			fechas[i] = FechasBenchmark.aDate(alumnos[i].getFechaNacimiento());
+			Alumno conComillas = new Alumno(alumnos[i]);
+			conComillas.setApellidos(alumnos[i].getApellidos() + ", \"" + alumnos[i].getNombre() + "\"");
+			lineasConComillas[i] = codec.aRegistro(conComillas);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LINEAS)
+	public void leerSplitYSimpleDateFormat(Blackhole bh) throws ParseException {
+		for (String linea : lineas) {
+			String[] datos = linea.split(",");
+			bh.consume(new Alumno(Integer.parseInt(datos[0]), datos[1], datos[2], datos[3].charAt(0),
+					FechasBenchmark.aLocalDate(formatoFecha.parse(datos[4])), datos[5], datos[6], new Grupo(datos[7])));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LINEAS)
+	public void leerCodec(Blackhole bh) {
+		for (String linea : lineas) {
+			bh.consume(codec.analizar(linea));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LINEAS)
+	public void leerCodecReutilizando(Blackhole bh) {
+		for (String linea : lineas) {
+			bh.consume(codec.analizar(linea, reutilizado));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LINEAS)
+	public void leerCodecConComillas(Blackhole bh) {
+		for (String linea : lineasConComillas) {
+			bh.consume(codec.analizar(linea));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LINEAS)
+	public void escribirStringFormat() throws IOException {
+		for (int i = 0; i < alumnos.length; i++) {
+			Alumno alumno = alumnos[i];
+			descarte.write(String.format("%d,%s,%s,%s,%s,%s,%s,%s", alumno.getNia(), alumno.getNombre(),
+					alumno.getApellidos(), alumno.getGenero(), formatoFecha.format(fechas[i]),
+					alumno.getCiclo(), alumno.getCurso(), alumno.getGrupo().getNombreGrupo()));
+			descarte.write('\n');
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LINEAS)
+	public void escribirCodec() throws IOException {
+		for (Alumno alumno : alumnos) {
+			codec.escribir(alumno, descarte);
+		}
+	}
+}
@@ -0,0 +1,134 @@
+package benchmark;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import modelo.Fechas;
+
+/**
+ * Conversión de fechas 'dd-MM-aaaa' (el formato de 'alumnos.txt' y de MongoDB)
+ * en los dos sentidos: SimpleDateFormat nuevo en cada llamada (como en gran
+ * parte del modelo), SimpleDateFormat reutilizado, java.time con el
+ * formateador y {@link Fechas}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FechasBenchmark {
+
+	static final int FECHAS = 1_000;
+
+	private static final DateTimeFormatter FORMATO = DateTimeFormatter.ofPattern("dd-MM-uuuu");
+
+	private final SimpleDateFormat formatoCompartido = new SimpleDateFormat("dd-MM-yyyy");
+
+	private String[] textos;
+	private Date[] fechas;
+	private LocalDate[] fechasLocales;
+
+	@Setup(Level.Trial)
+	public void prepararFechas() throws ParseException {
+		SplittableRandom aleatorio = new SplittableRandom(19);
+		textos = new String[FECHAS];
+		fechas = new Date[FECHAS];
+		fechasLocales = new LocalDate[FECHAS];
+		for (int i = 0; i < FECHAS; i++) {
+			fechasLocales[i] = LocalDate.of(1990 + aleatorio.nextInt(20), 1 + aleatorio.nextInt(12),
+					1 + aleatorio.nextInt(28));
+			textos[i] = fechasLocales[i].format(FORMATO);
+			fechas[i] = formatoCompartido.parse(textos[i]);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(FECHAS)
+	public void parseSimpleDateFormatNuevo(Blackhole bh) throws ParseException {
+		for (String texto : textos) {
+			bh.consume(new SimpleDateFormat("dd-MM-yyyy").parse(texto));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(FECHAS)
+	public void parseSimpleDateFormatCompartido(Blackhole bh) throws ParseException {
+		for (String texto : textos) {
+			bh.consume(formatoCompartido.parse(texto));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(FECHAS)
+	public void parseLocalDate(Blackhole bh) {
+		for (String texto : textos) {
+			bh.consume(LocalDate.parse(texto, FORMATO));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(FECHAS)
+	public void parseFechas(Blackhole bh) {
+		for (String texto : textos) {
+			bh.consume(Fechas.analizar(texto));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(FECHAS)
+	public void formatSimpleDateFormatNuevo(Blackhole bh) {
+		for (Date fecha : fechas) {
+			bh.consume(new SimpleDateFormat("dd-MM-yyyy").format(fecha));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(FECHAS)
+	public void formatLocalDate(Blackhole bh) {
+		for (LocalDate fecha : fechasLocales) {
+			bh.consume(FORMATO.format(fecha));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(FECHAS)
+	public void formatFechas(Blackhole bh) {
+		for (LocalDate fecha : fechasLocales) {
+			bh.consume(Fechas.formatear(fecha));
+		}
+	}
+
+	/**
+	 * Convierten entre el Date de SimpleDateFormat y el LocalDate de
+	 * {@link modelo.Alumno}, para que las referencias con el código antiguo sigan
+	 * midiendo SimpleDateFormat.
+	 */
+	static LocalDate aLocalDate(Date fecha) {
+		return LocalDate.ofInstant(fecha.toInstant(), ZoneId.systemDefault());
+	}
+
+	static Date aDate(LocalDate fecha) {
+		return Date.from(fecha.atStartOfDay(ZoneId.systemDefault()).toInstant());
+	}
+}
@@ -0,0 +1,73 @@
+package benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Genera ficheros con el formato de 'alumnos.txt' para las pruebas de
+ * rendimiento. Con la misma semilla siempre se obtiene el mismo fichero.
+ *
+ * Uso: {@code GeneradorAlumnos <fichero> <filas>}
+ */
+public class GeneradorAlumnos {
+
+	private static final String CABECERA = "NIA,Nombre,Apellidos,Género,Fecha Nacimiento,Ciclo,Curso,Nombre del Grupo";
+
+	private static final String[] NOMBRES = { "ANA", "LUIS", "MARÍA", "JAVIER", "LUCÍA", "PABLO", "SARA", "DIEGO",
+			"ELENA", "IÑIGO", "CARMEN", "ANDRÉS" };
+	private static final String[] APELLIDOS = { "GARCÍA", "LÓPEZ", "MARTÍNEZ", "SÁNCHEZ", "PÉREZ", "GÓMEZ", "RUIZ",
+			"DÍAZ", "MORENO", "MUÑOZ", "ÁLVAREZ", "ROMERO" };
+	private static final String[] CICLOS = { "DAM", "DAW", "ASIR", "SMR" };
+	private static final String[] CURSOS = { "1", "2" };
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.out.println("Uso: GeneradorAlumnos <fichero> <filas>");
+			return;
+		}
+		generar(Path.of(args[0]), Integer.parseInt(args[1]));
+	}
+
+	/**
+	 * Escribe el fichero (sobrescribiéndolo) con la cabecera y el número de filas
+	 * indicado.
+	 */
+	public static void generar(Path fichero, int filas) throws IOException {
+		SplittableRandom aleatorio = new SplittableRandom(19);
+
+		try (BufferedWriter salida = Files.newBufferedWriter(fichero, StandardCharsets.UTF_8)) {
+			salida.write(CABECERA);
+			salida.newLine();
+
+			StringBuilder linea = new StringBuilder(128);
+			for (int nia = 1; nia <= filas; nia++) {
+				String ciclo = CICLOS[aleatorio.nextInt(CICLOS.length)];
+				String curso = CURSOS[aleatorio.nextInt(CURSOS.length)];
+
+				linea.setLength(0);
+				linea.append(nia).append(',').append(NOMBRES[aleatorio.nextInt(NOMBRES.length)]).append(',')
+						.append(APELLIDOS[aleatorio.nextInt(APELLIDOS.length)]).append(' ')
+						.append(APELLIDOS[aleatorio.nextInt(APELLIDOS.length)]).append(',')
+						.append(aleatorio.nextBoolean() ? 'M' : 'F').append(',');
+				dosDigitos(linea, 1 + aleatorio.nextInt(28)).append('-');
+				dosDigitos(linea, 1 + aleatorio.nextInt(12)).append('-');
+				linea.append(1990 + aleatorio.nextInt(20)).append(',').append(ciclo).append(',').append(curso)
+						.append(',').append(ciclo).append(curso);
+
+				salida.write(linea.toString());
+				salida.newLine();
+			}
+		}
+	}
+
+	private static StringBuilder dosDigitos(StringBuilder linea, int valor) {
+		if (valor < 10) {
+			linea.append('0');
+		}
+		return linea.append(valor);
+	}
+}
@@ -0,0 +1,102 @@
+package benchmark;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import modelo.Alumno;
+import modelo.AlumnosBD;
+import modelo.Grupo;
+
+/**
+ * Inserciones de extremo a extremo a través de {@link AlumnosBD} (HikariCP,
+ * JDBC y el SQL real) contra H2 en memoria: una fila y un commit por alumno,
+ * {@code guardarTodos} por lotes y la escritura diferida con group commit. El
+ * resultado es el tiempo por alumno.
+ *
+ * H2 no tiene la latencia de red de MySQL, así que las diferencias reales entre
+ * insertar fila a fila y por lotes son aún mayores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsercionAlumnosBenchmark {
+
+	static final int ALUMNOS = 1_000;
+
+	private AlumnosBD modelo;
+	private final List<Alumno> alumnos = new ArrayList<>(ALUMNOS);
+
+	@Setup(Level.Trial)
+	public void prepararBaseDatos() throws IOException, SQLException {
+		BaseDatosH2.configurarPoolConexiones();
+		BaseDatosH2.crearEsquema();
+		modelo = new AlumnosBD();
+
+		LocalDate fecha = LocalDate.ofEpochDay(12_000);
+		for (int i = 0; i < ALUMNOS; i++) {
+			String grupo = BaseDatosH2.GRUPOS[i % BaseDatosH2.GRUPOS.length];
+			alumnos.add(new Alumno("NOMBRE" + i, "APELLIDO1 APELLIDO2", i % 2 == 0 ? 'M' : 'F', fecha, "DAM", "1",
+					new Grupo(grupo)));
+		}
+	}
+
+	@Setup(Level.Iteration)
+	public void vaciarAlumnos() throws SQLException {
+		BaseDatosH2.vaciarAlumnos();
+	}
+
+	@TearDown(Level.Trial)
+	public void cerrar() {
+		modelo.cerrarEscrituraDiferida();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ALUMNOS)
+	public int filaAFila() {
+		int insertados = 0;
+		for (Alumno alumno : alumnos) {
+			if (modelo.insertarAlumno(alumno)) {
+				insertados++;
+			}
+		}
+		return insertados;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ALUMNOS)
+	public int guardarTodos() {
+		return modelo.guardarTodos(alumnos);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ALUMNOS)
+	public long escrituraDiferida() {
+		List<CompletableFuture<Boolean>> resultados = new ArrayList<>(ALUMNOS);
+		for (Alumno alumno : alumnos) {
+			resultados.add(modelo.insertarAlumnoDiferido(alumno));
+		}
+		return resultados.stream().filter(CompletableFuture::join).count();
+	}
+}
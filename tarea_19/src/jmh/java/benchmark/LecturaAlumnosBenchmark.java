@@ -0,0 +1,92 @@
+package benchmark;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import modelo.Alumno;
+import modelo.Grupo;
+import modelo.LectorAlumnosMapeado;
+
+/**
+ * Compara la lectura de 'alumnos.txt' tal y como se hacía en
+ * leerAlumnosDeFicheroTexto (readLine + split + un SimpleDateFormat por línea)
+ * con {@link LectorAlumnosMapeado}. Solo se mide el análisis del fichero, sin
+ * base de datos.
+ *
+ * El fichero se genera la primera vez en el directorio temporal y se reutiliza
+ * en las siguientes ejecuciones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = { "-Xms2g", "-Xmx2g" })
+public class LecturaAlumnosBenchmark {
+
+	@Param({ "10000000" })
+	public int filas;
+
+	private Path fichero;
+
+	@Setup(Level.Trial)
+	public void prepararFichero() throws IOException {
+		fichero = Path.of(System.getProperty("java.io.tmpdir"), "alumnos-" + filas + ".txt");
+		if (!Files.exists(fichero)) {
+			GeneradorAlumnos.generar(fichero, filas);
+		}
+	}
+
+	@Benchmark
+	public long readLineSplit(Blackhole bh) throws IOException {
+		long alumnos = 0;
+		try (BufferedReader br = new BufferedReader(new FileReader(fichero.toFile()))) {
+			br.readLine();
+			String linea;
+			while ((linea = br.readLine()) != null) {
+				String[] datos = linea.split(",");
+				if (datos.length == 8) {
+					try {
+						SimpleDateFormat formatoFecha = new SimpleDateFormat("dd-MM-yyyy");
+						Date fechaUtil = formatoFecha.parse(datos[4]);
+						bh.consume(new Alumno(datos[1], datos[2], datos[3].charAt(0), FechasBenchmark.aLocalDate(fechaUtil), datos[5], datos[6],
+								new Grupo(datos[7])));
+						alumnos++;
+					} catch (ParseException e) {
+						// Línea ignorada
+					}
+				}
+			}
+		}
+		return alumnos;
+	}
+
+	@Benchmark
+	public long mapeado(Blackhole bh) throws IOException, SQLException {
+		LectorAlumnosMapeado lector = new LectorAlumnosMapeado();
+		lector.leer(fichero, bh::consume);
+		return lector.getLineasLeidas() - lector.getLineasInvalidas();
+	}
+}
@@ -0,0 +1,147 @@
+package benchmark;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import modelo.Alumno;
+import modelo.AlumnoCompacto;
+import modelo.CodecCSVAlumnos;
+import modelo.DiccionarioAlumnos;
+import modelo.Grupo;
+import modelo.ListaAlumnosCompacta;
+
+/**
+ * Memoria que queda ocupada por alumno al cargar {@link #ALUMNOS} alumnos tal y
+ * como los devuelve JDBC (cada fila con sus propios textos, su Grupo y su
+ * fecha) en:
+ * <ul>
+ * <li>Una lista de Alumno.</li>
+ * <li>Una lista de {@link AlumnoCompacto} con un diccionario (lo que guarda
+ * {@link modelo.CacheAlumnos}).</li>
+ * <li>Una {@link ListaAlumnosCompacta}.</li>
+ * </ul>
+ * El resultado secundario {@code bytesPorAlumno} es la diferencia del heap
+ * ocupado tras un GC completo con la carga todavía viva y después de soltarla,
+ * dividida entre el número de alumnos. El tiempo es el de la carga. Se mide una sola iteración
+ * porque JMH suma los contadores de todas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 1)
+// Con el GC serie el heap ocupado tras System.gc() es exactamente lo vivo
+@Fork(value = 1, jvmArgs = { "-Xms1g", "-Xmx1g", "-XX:+UseSerialGC" })
+public class MemoriaAlumnosBenchmark {
+
+	static final int ALUMNOS = 200_000;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Memoria {
+
+		public long bytesPorAlumno;
+
+		@Setup(Level.Iteration)
+		public void reiniciar() {
+			bytesPorAlumno = 0;
+		}
+	}
+
+	private Alumno[] origen;
+
+	@Setup(Level.Trial)
+	public void prepararAlumnos() throws IOException {
+		Path fichero = Files.createTempFile("alumnos-memoria-", ".txt");
+		try {
+			GeneradorAlumnos.generar(fichero, ALUMNOS);
+			List<String> lineas = Files.readAllLines(fichero, StandardCharsets.UTF_8);
+			CodecCSVAlumnos codec = new CodecCSVAlumnos();
+			origen = lineas.subList(1, lineas.size()).stream().map(codec::analizar).toArray(Alumno[]::new);
+		} finally {
+			Files.delete(fichero);
+		}
+	}
+
+	@Benchmark
+	public void entidades(Memoria memoria) {
+		List<Alumno> alumnos = new ArrayList<>(ALUMNOS);
+		for (Alumno alumno : origen) {
+			alumnos.add(comoJDBC(alumno));
+		}
+		long conCarga = memoriaOcupada();
+		Reference.reachabilityFence(alumnos);
+		// A partir de aquí la carga ya no es alcanzable
+		memoria.bytesPorAlumno = (conCarga - memoriaOcupada()) / ALUMNOS;
+	}
+
+	@Benchmark
+	public void compactos(Memoria memoria) {
+		DiccionarioAlumnos diccionario = new DiccionarioAlumnos();
+		List<AlumnoCompacto> alumnos = new ArrayList<>(ALUMNOS);
+		for (Alumno alumno : origen) {
+			alumnos.add(AlumnoCompacto.de(comoJDBC(alumno), diccionario));
+		}
+		long conCarga = memoriaOcupada();
+		Reference.reachabilityFence(alumnos);
+		// A partir de aquí la carga ya no es alcanzable
+		memoria.bytesPorAlumno = (conCarga - memoriaOcupada()) / ALUMNOS;
+	}
+
+	@Benchmark
+	public void listaCompacta(Memoria memoria) {
+		ListaAlumnosCompacta alumnos = new ListaAlumnosCompacta(new DiccionarioAlumnos(), ALUMNOS);
+		for (Alumno alumno : origen) {
+			alumnos.anadir(comoJDBC(alumno));
+		}
+		long conCarga = memoriaOcupada();
+		Reference.reachabilityFence(alumnos);
+		// A partir de aquí la carga ya no es alcanzable
+		memoria.bytesPorAlumno = (conCarga - memoriaOcupada()) / ALUMNOS;
+	}
+
+	/**
+	 * Copia del alumno sin compartir nada con el original, como un
+	 * ResultSet.getString() que devuelve un String nuevo en cada fila.
+	 */
+	private static Alumno comoJDBC(Alumno alumno) {
+		Grupo grupo = alumno.getGrupo();
+		return new Alumno(alumno.getNia(), copia(alumno.getNombre()), copia(alumno.getApellidos()),
+				alumno.getGenero(), LocalDate.ofEpochDay(alumno.getFechaNacimiento().toEpochDay()),
+				copia(alumno.getCiclo()), copia(alumno.getCurso()),
+				new Grupo(grupo.getNumeroGrupo(), copia(grupo.getNombreGrupo())));
+	}
+
+	// new String(String) compartiría el array de bytes del original
+	private static String copia(String texto) {
+		return new String(texto.toCharArray());
+	}
+
+	private static long memoriaOcupada() {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+}
@@ -0,0 +1,79 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import modelo.Alumno;
+import modelo.Grupo;
+import modelo.PipelineImportacion;
+
+/**
+ * Coste por línea de convertir una línea de 'alumnos.txt' en un Alumno: el
+ * código original (split y un SimpleDateFormat nuevo por línea) frente a
+ * {@link PipelineImportacion#analizarLinea(String)}. Con {@code -prof gc} se
+ * ve la memoria reservada por línea ({@code gc.alloc.rate.norm} dividido entre
+ * {@link #LINEAS}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseoAlumnosBenchmark {
+
+	static final int LINEAS = 10_000;
+
+	private String[] lineas;
+
+	@Setup(Level.Trial)
+	public void prepararLineas() throws IOException {
+		Path fichero = Files.createTempFile("alumnos-parseo-", ".txt");
+		try {
+			GeneradorAlumnos.generar(fichero, LINEAS);
+			List<String> todas = Files.readAllLines(fichero, StandardCharsets.UTF_8);
+			lineas = todas.subList(1, todas.size()).toArray(String[]::new);
+		} finally {
+			Files.delete(fichero);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LINEAS)
+	public void splitYSimpleDateFormatNuevo(Blackhole bh) throws ParseException {
+		for (String linea : lineas) {
+			String[] datos = linea.split(",");
+			SimpleDateFormat formatoFecha = new SimpleDateFormat("dd-MM-yyyy");
+			bh.consume(new Alumno(datos[1], datos[2], datos[3].charAt(0), FechasBenchmark.aLocalDate(formatoFecha.parse(datos[4])), datos[5],
+					datos[6], new Grupo(datos[7])));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LINEAS)
+	public void analizarLinea(Blackhole bh) {
+		for (String linea : lineas) {
+			bh.consume(PipelineImportacion.analizarLinea(linea));
+		}
+	}
+}
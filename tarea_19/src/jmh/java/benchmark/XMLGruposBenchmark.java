@@ -0,0 +1,186 @@
+package benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import modelo.Alumno;
+import modelo.EscritorXMLGrupos;
+import modelo.Fechas;
+import modelo.Grupo;
+import modelo.LectorXMLGrupos;
+
+/**
+ * Exportación e importación de 'grupos.xml': el árbol DOM completo con
+ * Transformer / DocumentBuilder (como se hacía en guardarGruposEnXML y
+ * leerYGuardarGruposXML) frente a {@link EscritorXMLGrupos} y
+ * {@link LectorXMLGrupos} (StAX). Solo se mide el XML, sin base de datos; los
+ * alumnos se generan en memoria al empezar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xms1g", "-Xmx1g" })
+public class XMLGruposBenchmark {
+
+	@Param({ "100000" })
+	public int alumnos;
+
+	private final List<Grupo> grupos = new ArrayList<>();
+	private final List<List<Alumno>> alumnosPorGrupo = new ArrayList<>();
+
+	private Path ficheroSalida;
+	private Path ficheroEntrada;
+
+	@Setup(Level.Trial)
+	public void prepararDatos() throws IOException, XMLStreamException {
+		SplittableRandom aleatorio = new SplittableRandom(19);
+		for (int i = 0; i < BaseDatosH2.GRUPOS.length; i++) {
+			grupos.add(new Grupo(i + 1, BaseDatosH2.GRUPOS[i]));
+			alumnosPorGrupo.add(new ArrayList<>());
+		}
+		for (int nia = 1; nia <= alumnos; nia++) {
+			int g = aleatorio.nextInt(grupos.size());
+			LocalDate fecha = LocalDate.ofEpochDay(7300 + aleatorio.nextInt(7300));
+			alumnosPorGrupo.get(g).add(new Alumno(nia, "NOMBRE" + nia, "APELLIDO1 APELLIDO2",
+					aleatorio.nextBoolean() ? 'M' : 'F', fecha, "DAM", "1", grupos.get(g)));
+		}
+
+		ficheroSalida = Files.createTempFile("grupos-salida-", ".xml");
+		ficheroEntrada = Files.createTempFile("grupos-entrada-", ".xml");
+		exportarStAX(ficheroEntrada);
+	}
+
+	@TearDown(Level.Trial)
+	public void borrarFicheros() throws IOException {
+		Files.deleteIfExists(ficheroSalida);
+		Files.deleteIfExists(ficheroEntrada);
+	}
+
+	@Benchmark
+	public void exportarDOM() throws ParserConfigurationException, TransformerException {
+		Document documento = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+		Element raiz = documento.createElement("grupos");
+		documento.appendChild(raiz);
+
+		for (int i = 0; i < grupos.size(); i++) {
+			Element grupo = documento.createElement("grupo");
+			grupo.setAttribute("numeroGrupo", String.valueOf(grupos.get(i).getNumeroGrupo()));
+			grupo.setAttribute("nombreGrupo", grupos.get(i).getNombreGrupo());
+			for (Alumno alumno : alumnosPorGrupo.get(i)) {
+				Element elemento = documento.createElement("alumno");
+				elemento.setAttribute("nia", String.valueOf(alumno.getNia()));
+				elemento.setAttribute("nombre", alumno.getNombre());
+				elemento.setAttribute("apellidos", alumno.getApellidos());
+				elemento.setAttribute("genero", String.valueOf(alumno.getGenero()));
+				elemento.setAttribute("fechaNacimiento", Fechas.formatearIso(alumno.getFechaNacimiento()));
+				elemento.setAttribute("ciclo", alumno.getCiclo());
+				elemento.setAttribute("curso", alumno.getCurso());
+				grupo.appendChild(elemento);
+			}
+			raiz.appendChild(grupo);
+		}
+
+		Transformer transformer = TransformerFactory.newInstance().newTransformer();
+		transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+		transformer.transform(new DOMSource(documento), new StreamResult(ficheroSalida.toFile()));
+	}
+
+	@Benchmark
+	public void exportarStAX() throws IOException, XMLStreamException {
+		exportarStAX(ficheroSalida);
+	}
+
+	private void exportarStAX(Path fichero) throws IOException, XMLStreamException {
+		try (EscritorXMLGrupos escritor = new EscritorXMLGrupos(fichero)) {
+			for (int i = 0; i < grupos.size(); i++) {
+				escritor.abrirGrupo(grupos.get(i).getNumeroGrupo(), grupos.get(i).getNombreGrupo());
+				for (Alumno alumno : alumnosPorGrupo.get(i)) {
+					escritor.escribirAlumno(alumno.getNia(), alumno.getNombre(), alumno.getApellidos(),
+							String.valueOf(alumno.getGenero()), Fechas.formatearIso(alumno.getFechaNacimiento()),
+							alumno.getCiclo(), alumno.getCurso());
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	public void importarDOM(Blackhole bh)
+			throws ParserConfigurationException, SAXException, IOException {
+		File fichero = ficheroEntrada.toFile();
+		Document documento = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(fichero);
+
+		NodeList nodosGrupo = documento.getElementsByTagName("grupo");
+		for (int i = 0; i < nodosGrupo.getLength(); i++) {
+			Element elementoGrupo = (Element) nodosGrupo.item(i);
+			Grupo grupo = new Grupo(elementoGrupo.getAttribute("nombreGrupo"));
+
+			NodeList nodosAlumno = elementoGrupo.getElementsByTagName("alumno");
+			for (int j = 0; j < nodosAlumno.getLength(); j++) {
+				Element elemento = (Element) nodosAlumno.item(j);
+				bh.consume(new Alumno(elemento.getAttribute("nombre"), elemento.getAttribute("apellidos"),
+						elemento.getAttribute("genero").charAt(0),
+						Fechas.analizar(elemento.getAttribute("fechaNacimiento")), elemento.getAttribute("ciclo"),
+						elemento.getAttribute("curso"), grupo));
+			}
+		}
+	}
+
+	@Benchmark
+	public void importarStAX(Blackhole bh) throws IOException, XMLStreamException, SQLException {
+		new LectorXMLGrupos().leer(ficheroEntrada, new LectorXMLGrupos.Destino() {
+			@Override
+			public Grupo inicioGrupo(String nombreGrupo) {
+				return new Grupo(nombreGrupo);
+			}
+
+			@Override
+			public void alumno(Alumno alumno) {
+				bh.consume(alumno);
+			}
+
+			@Override
+			public void finGrupo(Grupo grupo) {
+				bh.consume(grupo);
+			}
+		});
+	}
+}
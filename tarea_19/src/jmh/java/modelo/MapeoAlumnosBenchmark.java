@@ -0,0 +1,124 @@
+package modelo;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import benchmark.BaseDatosH2;
+
+/**
+ * Coste por alumno de construir un Alumno a partir de una fila de ResultSet
+ * ({@link AlumnosBD#mapearAlumno}, incluida la lectura de la fila de H2 en
+ * memoria) y de un Document de MongoDB
+ * ({@link AlumnosMongoDB#documentoAAlumno}, que convierte además la fecha).
+ *
+ * Está en el paquete modelo porque los dos métodos son de paquete.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapeoAlumnosBenchmark {
+
+	static final int FILAS = 1_000;
+
+	private static final String SQL_PAGINA = """
+			SELECT a.nia, a.nombre, a.apellidos, a.genero, a.fechaNacimiento,
+			       a.ciclo, a.curso, a.numeroGrupo, g.nombreGrupo
+			FROM alumnos a
+			JOIN grupos g ON a.numeroGrupo = g.numeroGrupo
+			ORDER BY a.nia
+			LIMIT ?
+			""";
+
+	private Connection conexion;
+	private PreparedStatement sentencia;
+	private final List<Document> documentos = new ArrayList<>(FILAS);
+
+	@Setup(Level.Trial)
+	public void prepararDatos() throws SQLException {
+		BaseDatosH2.crearEsquema();
+		conexion = BaseDatosH2.conectar();
+		try (PreparedStatement insertar = conexion.prepareStatement(
+				"INSERT INTO alumnos (nombre, apellidos, genero, fechaNacimiento, ciclo, curso, numeroGrupo) "
+						+ "SELECT ?, ?, ?, ?, ?, ?, MIN(numeroGrupo) FROM grupos")) {
+			for (int i = 0; i < FILAS; i++) {
+				insertar.setString(1, "NOMBRE" + i);
+				insertar.setString(2, "APELLIDO1 APELLIDO2");
+				insertar.setString(3, i % 2 == 0 ? "M" : "F");
+				insertar.setDate(4, java.sql.Date.valueOf("2005-03-14"));
+				insertar.setString(5, "DAM");
+				insertar.setString(6, "1");
+				insertar.addBatch();
+			}
+			insertar.executeBatch();
+		}
+		sentencia = conexion.prepareStatement(SQL_PAGINA);
+		sentencia.setInt(1, FILAS);
+
+		for (int i = 0; i < FILAS; i++) {
+			documentos.add(new Document().append("nia", i + 1).append("nombre", "NOMBRE" + i)
+					.append("apellidos", "APELLIDO1 APELLIDO2").append("genero", i % 2 == 0 ? "M" : "F")
+					.append("fechaNacimiento", "14-03-2005").append("ciclo", "DAM").append("curso", "1")
+					.append("grupo", "DAM1"));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void cerrar() throws SQLException {
+		sentencia.close();
+		conexion.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(FILAS)
+	public void desdeResultSet(Blackhole bh) throws SQLException {
+		try (ResultSet resultado = sentencia.executeQuery()) {
+			while (resultado.next()) {
+				bh.consume(AlumnosBD.mapearAlumno(resultado));
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(FILAS)
+	public void desdeDocument(Blackhole bh) {
+		for (Document documento : documentos) {
+			bh.consume(AlumnosMongoDB.documentoAAlumno(documento));
+		}
+	}
+
+	/** Referencia: solo el constructor, con los valores ya convertidos. */
+	@Benchmark
+	@OperationsPerInvocation(FILAS)
+	public void constructor(Blackhole bh) {
+		LocalDate fecha = LocalDate.ofEpochDay(0);
+		for (int i = 0; i < FILAS; i++) {
+			bh.consume(new Alumno(i + 1, "NOMBRE", "APELLIDO1 APELLIDO2", 'M', fecha, "DAM", "1",
+					new Grupo(1, "DAM1")));
+		}
+	}
+}
@@ -1,17 +1,33 @@
-package controlador;
-
-import logs.InicializarLogs;
-import modelo.AlumnosDAO;
-import vista.IVista;
-
-public class Controlador {
-
-	public void ejecutar(AlumnosDAO modelo, IVista vista) {
-
-		// Inicializar los logs
-		InicializarLogs.inicializarLogs();
-
-		// Llamar a la vista que contiene el menú principal en consola
-		vista.mostrarMenu(modelo);
-	}
+package controlador;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import logs.InicializarLogs;
+import modelo.AlumnosDAO;
+import modelo.AlumnosDAOCacheado;
+import modelo.AlumnosDAOInstrumentado;
+import vista.IVista;
+
+public class Controlador {
+
+	private static final Logger loggerGeneral = LogManager.getRootLogger();
+
+	public void ejecutar(AlumnosDAO modelo, IVista vista) {
+
+		// Inicializar los logs
+		InicializarLogs.inicializarLogs();
+
+		// Caché de alumnos por NIA delante del modelo elegido y, por fuera, la
+		// medida de tiempos de cada operación (tal como la percibe la vista)
+		AlumnosDAOInstrumentado instrumentado = new AlumnosDAOInstrumentado(new AlumnosDAOCacheado(modelo));
+
+		try {
+			// Llamar a la vista que contiene el menú principal en consola
+			vista.mostrarMenu(instrumentado);
+		} finally {
+			loggerGeneral.info("Tiempos de respuesta del modelo:{}{}", System.lineSeparator(),
+					instrumentado.resumen());
+		}
+	}
 }
\ No newline at end of file
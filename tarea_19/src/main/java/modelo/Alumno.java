@@ -1,135 +1,143 @@
-package modelo;
-
-import java.io.Serializable;
-import java.util.Date;
-
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
-import jakarta.persistence.JoinColumn;
-import jakarta.persistence.ManyToOne;
-import jakarta.persistence.Table;
-import jakarta.persistence.Temporal;
-import jakarta.persistence.TemporalType;
-
-@Entity
-@Table(name = "alumnos")
-
-public class Alumno implements Serializable {
-
-	private static final long serialVersionUID = -1773328651409080184L;
-
-	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY) // El nia es autoincremental
-
-	private int nia = 0;
-	private String nombre;
-	private String apellidos;
-	private char genero = 'S';
-
-	@Temporal(TemporalType.DATE)
-	private Date fechaNacimiento;
-
-	private String ciclo;
-	private String curso;
-
-	@ManyToOne
-	@JoinColumn(name = "numeroGrupo", nullable = false)
-	private Grupo grupo;
-
-	// Constructores de la clase Alumno:
-
-	public Alumno() {
-
-	}
-
-	public Alumno(int nia, String nombre, String apellidos, char genero, Date fechaNacimiento, String ciclo,
-			String curso, Grupo grupo) {
-		this.nia = nia;
-		this.nombre = nombre;
-		this.apellidos = apellidos;
-		this.genero = genero;
-		this.fechaNacimiento = fechaNacimiento;
-		this.ciclo = ciclo;
-		this.curso = curso;
-		this.grupo = grupo;
-	}
-
-	public Alumno(String nombre, String apellidos, char genero, Date fechaNacimiento, String ciclo, String curso,
-			Grupo grupo) {
-		this.nombre = nombre;
-		this.apellidos = apellidos;
-		this.genero = genero;
-		this.fechaNacimiento = fechaNacimiento;
-		this.ciclo = ciclo;
-		this.curso = curso;
-		this.grupo = grupo;
-	}
-
-	// Getters & Setters:
-
-	public int getNia() {
-		return nia;
-	}
-
-	public void setNia(int nia) {
-		this.nia = nia;
-	}
-
-	public String getNombre() {
-		return nombre;
-	}
-
-	public void setNombre(String nombre) {
-		this.nombre = nombre;
-	}
-
-	public String getApellidos() {
-		return apellidos;
-	}
-
-	public void setApellidos(String apellidos) {
-		this.apellidos = apellidos;
-	}
-
-	public char getGenero() {
-		return genero;
-	}
-
-	public void setGenero(char genero) {
-		this.genero = genero;
-	}
-
-	public Date getFechaNacimiento() {
-		return fechaNacimiento;
-	}
-
-	public void setFechaNacimiento(Date fechaNacimiento) {
-		this.fechaNacimiento = fechaNacimiento;
-	}
-
-	public String getCiclo() {
-		return ciclo;
-	}
-
-	public void setCiclo(String ciclo) {
-		this.ciclo = ciclo;
-	}
-
-	public String getCurso() {
-		return curso;
-	}
-
-	public void setCurso(String curso) {
-		this.curso = curso;
-	}
-
-	public Grupo getGrupo() {
-		return grupo;
-	}
-
-	public void setGrupo(Grupo grupo) {
-		this.grupo = grupo;
-	}
-}
+package modelo;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "alumnos", indexes = @Index(name = "idx_alumnos_grupo_nia", columnList = "numeroGrupo, nia"))
+
+public class Alumno implements Serializable {
+
+	private static final long serialVersionUID = -3459190117617612862L;
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY) // El nia es autoincremental
+
+	private int nia = 0;
+	private String nombre;
+	private String apellidos;
+	private char genero = 'S';
+
+	private LocalDate fechaNacimiento;
+
+	private String ciclo;
+	private String curso;
+
+	@ManyToOne
+	@JoinColumn(name = "numeroGrupo", nullable = false)
+	private Grupo grupo;
+
+	// Constructores de la clase Alumno:
+
+	public Alumno() {
+
+	}
+
+	public Alumno(int nia, String nombre, String apellidos, char genero, LocalDate fechaNacimiento, String ciclo,
+			String curso, Grupo grupo) {
+		this.nia = nia;
+		this.nombre = nombre;
+		this.apellidos = apellidos;
+		this.genero = genero;
+		this.fechaNacimiento = fechaNacimiento;
+		this.ciclo = ciclo;
+		this.curso = curso;
+		this.grupo = grupo;
+	}
+
+	public Alumno(String nombre, String apellidos, char genero, LocalDate fechaNacimiento, String ciclo, String curso,
+			Grupo grupo) {
+		this.nombre = nombre;
+		this.apellidos = apellidos;
+		this.genero = genero;
+		this.fechaNacimiento = fechaNacimiento;
+		this.ciclo = ciclo;
+		this.curso = curso;
+		this.grupo = grupo;
+	}
+
+	/**
+	 * Constructor de copia: copia también el grupo (solo número y nombre), de modo
+	 * que la copia puede modificarse sin afectar al original. La fecha es
+	 * inmutable y se comparte.
+	 */
+	public Alumno(Alumno otro) {
+		this(otro.nia, otro.nombre, otro.apellidos, otro.genero, otro.fechaNacimiento, otro.ciclo, otro.curso,
+				otro.grupo == null ? null : new Grupo(otro.grupo.getNumeroGrupo(), otro.grupo.getNombreGrupo()));
+	}
+
+	// Getters & Setters:
+
+	public int getNia() {
+		return nia;
+	}
+
+	public void setNia(int nia) {
+		this.nia = nia;
+	}
+
+	public String getNombre() {
+		return nombre;
+	}
+
+	public void setNombre(String nombre) {
+		this.nombre = nombre;
+	}
+
+	public String getApellidos() {
+		return apellidos;
+	}
+
+	public void setApellidos(String apellidos) {
+		this.apellidos = apellidos;
+	}
+
+	public char getGenero() {
+		return genero;
+	}
+
+	public void setGenero(char genero) {
+		this.genero = genero;
+	}
+
+	public LocalDate getFechaNacimiento() {
+		return fechaNacimiento;
+	}
+
+	public void setFechaNacimiento(LocalDate fechaNacimiento) {
+		this.fechaNacimiento = fechaNacimiento;
+	}
+
+	public String getCiclo() {
+		return ciclo;
+	}
+
+	public void setCiclo(String ciclo) {
+		this.ciclo = ciclo;
+	}
+
+	public String getCurso() {
+		return curso;
+	}
+
+	public void setCurso(String curso) {
+		this.curso = curso;
+	}
+
+	public Grupo getGrupo() {
+		return grupo;
+	}
+
+	public void setGrupo(Grupo grupo) {
+		this.grupo = grupo;
+	}
+}
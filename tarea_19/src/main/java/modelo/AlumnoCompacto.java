@@ -0,0 +1,59 @@
+package modelo;
+
+import java.time.LocalDate;
+
+/**
+ * Alumno inmutable y compacto para guardar muchos en memoria (por ejemplo, en
+ * {@link CacheAlumnos}). Ciclo, curso y grupo son códigos de un
+ * {@link DiccionarioAlumnos} y la fecha de nacimiento son los días desde
+ * 1970-01-01, de modo que un alumno es un único objeto de 48 bytes más su
+ * nombre y sus apellidos, en lugar de un Alumno con su propio Grupo, su
+ * LocalDate y tres textos repetidos en miles de alumnos.
+ *
+ * El Alumno (la entidad JPA) se crea bajo demanda con
+ * {@link #aAlumno(DiccionarioAlumnos)}, siempre con el mismo diccionario que se
+ * usó en {@link #de(Alumno, DiccionarioAlumnos)}.
+ *
+ * @param diaNacimiento Días desde 1970-01-01, o {@link #SIN_FECHA}.
+ * @param ciclo         Código del ciclo en el diccionario.
+ * @param curso         Código del curso en el diccionario.
+ * @param grupo         Código del grupo en el diccionario.
+ */
+public record AlumnoCompacto(int nia, String nombre, String apellidos, char genero, int diaNacimiento, int ciclo,
+		int curso, int grupo) {
+
+	/** Sin fecha de nacimiento. */
+	public static final int SIN_FECHA = Integer.MIN_VALUE;
+
+	/**
+	 * @param alumno      Alumno a compactar (no se guarda ninguna referencia a
+	 *                    él ni a su grupo).
+	 * @param diccionario Diccionario en el que se codifican ciclo, curso y grupo.
+	 */
+	public static AlumnoCompacto de(Alumno alumno, DiccionarioAlumnos diccionario) {
+		return new AlumnoCompacto(alumno.getNia(), alumno.getNombre(), alumno.getApellidos(), alumno.getGenero(),
+				diaEpoca(alumno.getFechaNacimiento()), diccionario.codificarTexto(alumno.getCiclo()),
+				diccionario.codificarTexto(alumno.getCurso()), diccionario.codificarGrupo(alumno.getGrupo()));
+	}
+
+	/**
+	 * @param diccionario El diccionario con el que se creó.
+	 * @return un Alumno nuevo, con su propio Grupo.
+	 */
+	public Alumno aAlumno(DiccionarioAlumnos diccionario) {
+		return new Alumno(nia, nombre, apellidos, genero, fecha(diaNacimiento), diccionario.texto(ciclo),
+				diccionario.texto(curso), diccionario.grupo(grupo));
+	}
+
+	public LocalDate fechaNacimiento() {
+		return fecha(diaNacimiento);
+	}
+
+	static int diaEpoca(LocalDate fecha) {
+		return fecha == null ? SIN_FECHA : (int) fecha.toEpochDay();
+	}
+
+	static LocalDate fecha(int diaEpoca) {
+		return diaEpoca == SIN_FECHA ? null : LocalDate.ofEpochDay(diaEpoca);
+	}
+}
@@ -1,1251 +1,2049 @@
-package modelo;
-
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.sql.Statement;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
-import java.util.Scanner;
-import java.util.function.Consumer;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
-
-import pool.PoolConexiones;
-
-public class AlumnosBD implements AlumnosDAO {
-
-	private final static Scanner sc = new Scanner(System.in);
-
-	private static final Logger loggerGeneral = LogManager.getRootLogger();
-	private static final Logger loggerExcepciones = LogManager.getLogger("exceptions");
-
-	@Override
-	public boolean insertarAlumno(Alumno alumno) {
-		// Obtener el numeroGrupo del grupo del alumno
-		int numeroGrupo = obtenerNumeroGrupo(alumno.getGrupo().getNombreGrupo());
-
-		if (numeroGrupo == -1) {
-			loggerExcepciones.error("Error: El grupo '{}' no existe en la base de datos.",
-					alumno.getGrupo().getNombreGrupo());
-			return false;
-		}
-
-		String sql = "INSERT INTO alumnos (nombre, apellidos, genero, fechaNacimiento, ciclo, curso, numeroGrupo) "
-				+ "VALUES (?, ?, ?, ?, ?, ?, ?)";
-
-		try (Connection conexion = PoolConexiones.getConnection();
-				PreparedStatement sentencia = conexion.prepareStatement(sql)) {
-
-			sentencia.setString(1, alumno.getNombre());
-			sentencia.setString(2, alumno.getApellidos());
-			sentencia.setString(3, String.valueOf(alumno.getGenero())); // Convertir el char a String
-			sentencia.setDate(4, new java.sql.Date(alumno.getFechaNacimiento().getTime()));
-			sentencia.setString(5, alumno.getCiclo());
-			sentencia.setString(6, alumno.getCurso());
-			sentencia.setInt(7, numeroGrupo); // Usar el numeroGrupo obtenido
-
-			int filasAfectadas = sentencia.executeUpdate();
-
-			if (filasAfectadas > 0) {
-				loggerGeneral.info("Alumno '{}' '{}' insertado correctamente.", alumno.getNombre(),
-						alumno.getApellidos());
-				return true;
-			} else {
-				loggerExcepciones.error("No se pudo insertar el alumno '{}' '{}'.", alumno.getNombre(),
-						alumno.getApellidos());
-				return false;
-			}
-		} catch (SQLException e) {
-			loggerExcepciones.error("Error al insertar el alumno '{}' '{}': {}", alumno.getNombre(),
-					alumno.getApellidos(), e.getMessage(), e);
-			return false;
-		}
-	}
-
-	/**
-	 * Solicita al usuario los datos necesarios para crear un objeto Alumno.
-	 * 
-	 * @return Un objeto Alumno con los datos ingresados por el usuario.
-	 */
-	@Override
-	public Alumno solicitarDatosAlumno() {
-		try {
-			System.out.println("Introduce el nombre del alumno:");
-			String nombre = sc.nextLine().trim().toUpperCase();
-
-			System.out.println("Introduce los apellidos del alumno:");
-			String apellidos = sc.nextLine().trim().toUpperCase();
-
-			// Validar género
-			char respuestaGenero = solicitarGenero();
-
-			// Validar fecha de nacimiento
-			Date fechaNacimiento = solicitarFechaNacimiento();
-
-			System.out.println("Introduce el ciclo del alumno:");
-			String ciclo = sc.nextLine().trim().toUpperCase();
-
-			System.out.println("Introduce el curso del alumno:");
-			String curso = sc.nextLine().trim().toUpperCase();
-
-			// Validar nombre del grupo
-			String nombreGrupo = solicitarNombreGrupo();
-
-			// Crear el objeto Grupo
-			Grupo grupo = new Grupo(nombreGrupo);
-
-			// Crear y devolver el objeto Alumno
-			Alumno alumno = new Alumno(nombre, apellidos, respuestaGenero, fechaNacimiento, ciclo, curso, grupo);
-			loggerGeneral.info("Datos del alumno solicitados correctamente: {}", alumno);
-			return alumno;
-
-		} catch (Exception e) {
-			loggerExcepciones.error("Error inesperado al solicitar datos del alumno: {}", e.getMessage(), e);
-			return null;
-		}
-	}
-
-	private char solicitarGenero() {
-		char genero;
-		do {
-			System.out.println("Introduce el género del alumno (M/F):");
-			String input = sc.nextLine().trim().toUpperCase();
-			if (input.length() == 1 && (input.charAt(0) == 'M' || input.charAt(0) == 'F')) {
-				genero = input.charAt(0);
-				break;
-			} else {
-				loggerGeneral.info("Entrada no válida para género: {}", input);
-				System.out.println("Respuesta no válida. Introduce 'M' o 'F'.");
-			}
-		} while (true);
-		return genero;
-	}
-
-	private Date solicitarFechaNacimiento() {
-		Date fecha = null;
-		SimpleDateFormat formatoFecha = new SimpleDateFormat("dd-MM-yyyy");
-		formatoFecha.setLenient(false); // Validación estricta
-
-		do {
-			System.out.println("Introduce la fecha de nacimiento (dd-MM-aaaa):");
-			String fechaInput = sc.nextLine().trim();
-			try {
-				fecha = formatoFecha.parse(fechaInput);
-			} catch (ParseException e) {
-				loggerExcepciones.error("Formato de fecha inválido ingresado: {}", fechaInput);
-				System.out.println("Formato de fecha inválido. Intenta de nuevo.");
-			}
-		} while (fecha == null);
-
-		return fecha;
-	}
-
-	private String solicitarNombreGrupo() {
-		String nombreGrupo;
-		do {
-			System.out.println("Introduce el nombre del grupo del alumno:");
-			nombreGrupo = sc.nextLine().trim().toUpperCase();
-			if (!validarNombreGrupo(nombreGrupo)) {
-				loggerGeneral.info("Entrada no válida para grupo: {}", nombreGrupo);
-				System.out.println("El nombre del grupo no es válido. Intenta de nuevo.");
-			}
-		} while (!validarNombreGrupo(nombreGrupo));
-		return nombreGrupo;
-	}
-
-	/**
-	 * Recupera el número del grupo a partir de su nombre.
-	 * 
-	 * @param nombreGrupo El nombre del grupo.
-	 * @return El numeroGrupo correspondiente o -1 si no existe.
-	 */
-	private int obtenerNumeroGrupo(String nombreGrupo) {
-		String sql = "SELECT numeroGrupo FROM grupos WHERE nombreGrupo = ?";
-
-		try (Connection conexion = PoolConexiones.getConnection();
-				PreparedStatement sentencia = conexion.prepareStatement(sql)) {
-
-			sentencia.setString(1, nombreGrupo);
-
-			try (ResultSet resultado = sentencia.executeQuery()) {
-				if (resultado.next()) {
-					return resultado.getInt("numeroGrupo");
-				}
-			}
-		} catch (SQLException e) {
-			loggerExcepciones.error("Error al obtener numeroGrupo para el grupo '{}': {}", nombreGrupo, e.getMessage());
-		}
-
-		return -1; // Si no se encuentra el grupo, devolver -1
-	}
-
-	/**
-	 * Valida si un nombre de grupo existe en la base de datos.
-	 * 
-	 * @param nombreGrupo El nombre del grupo a validar.
-	 * @return true si el grupo existe, false en caso contrario.
-	 */
-	public boolean validarNombreGrupo(String nombreGrupo) {
-		String sql = "SELECT 1 FROM grupos WHERE nombreGrupo = ?";
-
-		try (Connection conexion = PoolConexiones.getConnection();
-				PreparedStatement sentencia = conexion.prepareStatement(sql)) {
-
-			sentencia.setString(1, nombreGrupo);
-
-			try (ResultSet resultado = sentencia.executeQuery()) {
-				return resultado.next(); // Retorna true si el grupo existe, false si no
-			}
-		} catch (SQLException e) {
-			loggerExcepciones.error("Error al validar el grupo '{}': {}", nombreGrupo, e.getMessage());
-			return false;
-		}
-	}
-
-	/**
-	 * Muestra todos los alumnos registrados.
-	 * 
-	 * @param mostrarTodaLaInformacion Indica si se debe mostrar toda la información
-	 *                                 (true) o solo NIA y nombre (false).
-	 * @return true si se muestra la lista correctamente, false en caso contrario.
-	 */
-	@Override
-	public boolean mostrarTodosLosAlumnos(boolean mostrarTodaLaInformacion) {
-		String sql = """
-				    SELECT a.nia, a.nombre, a.apellidos, a.genero, a.fechaNacimiento,
-				           a.ciclo, a.curso, g.nombreGrupo
-				    FROM alumnos a
-				    LEFT JOIN grupos g ON a.numeroGrupo = g.numeroGrupo
-				    ORDER BY a.nia
-				""";
-
-		try (Connection conexion = PoolConexiones.getConnection();
-				PreparedStatement sentencia = conexion.prepareStatement(sql);
-				ResultSet resultado = sentencia.executeQuery()) {
-
-			if (!resultado.isBeforeFirst()) {
-				System.out.println("No hay alumnos registrados.");
-				return false;
-			}
-
-			if (mostrarTodaLaInformacion) {
-				System.out.println("Lista completa de alumnos registrados:");
-			} else {
-				System.out.println("Lista de alumnos (NIA y Nombre):");
-			}
-
-			List<Integer> listaNias = new ArrayList<>();
-
-			while (resultado.next()) {
-				int nia = resultado.getInt("nia");
-				String nombre = resultado.getString("nombre");
-
-				if (mostrarTodaLaInformacion) {
-					// Mostrar toda la información
-					String apellidos = resultado.getString("apellidos");
-					String genero = resultado.getString("genero");
-					Date fechaNacimiento = resultado.getDate("fechaNacimiento");
-					String ciclo = resultado.getString("ciclo");
-					String curso = resultado.getString("curso");
-					String nombreGrupo = resultado.getString("nombreGrupo");
-
-					System.out.printf("""
-							NIA: %d
-							Nombre: %s
-							Apellidos: %s
-							Género: %s
-							Fecha de nacimiento: %s
-							Ciclo: %s
-							Curso: %s
-							Grupo: %s
-							-------------------------
-							""", nia, nombre, apellidos, genero, fechaNacimiento, ciclo, curso,
-							nombreGrupo == null ? "Sin grupo" : nombreGrupo);
-				} else {
-					// Mostrar solo NIA y nombre
-					System.out.printf("NIA: %d, Nombre: %s%n", nia, nombre);
-					listaNias.add(nia);
-				}
-			}
-
-			// Si estamos en modo "NIA y nombre", permitir al usuario seleccionar un NIA
-			if (!mostrarTodaLaInformacion) {
-				System.out.println("\nIntroduce el NIA del alumno que deseas visualizar (o 0 para salir):");
-				while (true) {
-					try {
-						int niaSeleccionado = Integer.parseInt(sc.nextLine().trim());
-
-						if (niaSeleccionado == 0) {
-							System.out.println("Saliendo sin seleccionar un alumno.");
-							return true;
-						}
-
-						if (listaNias.contains(niaSeleccionado)) {
-							return mostrarAlumnoPorNIA(niaSeleccionado);
-						} else {
-							System.out.println("El NIA seleccionado no está en la lista. Inténtalo de nuevo.");
-						}
-					} catch (NumberFormatException e) {
-						System.out.println("El NIA debe ser un número válido. Inténtalo de nuevo:");
-					}
-				}
-			}
-
-			return true;
-		} catch (SQLException e) {
-			loggerExcepciones.error("Error al recuperar la lista de alumnos: {}", e.getMessage(), e);
-			System.out.println("Se produjo un error al recuperar los alumnos. Revisa los logs para más detalles.");
-			return false;
-		}
-	}
-
-	/**
-	 * Guarda todos los alumnos en un fichero de texto. La información incluye sus
-	 * datos y el grupo al que pertenecen. Los alumnos se ordenan de forma
-	 * ascendente por su NIA.
-	 */
-	@Override
-	public void guardarAlumnosEnFicheroTexto() {
-		String nombreFichero = "alumnos.txt";
-		File fichero = new File(nombreFichero);
-
-		// Verificar si el archivo existe y pedir confirmación para sobreescribirlo
-		if (fichero.exists()) {
-			System.out.print("El fichero ya existe. ¿Desea sobreescribirlo? (S/N): ");
-			char respuesta = sc.nextLine().toUpperCase().charAt(0);
-			if (respuesta != 'S') {
-				System.out.println("Operación cancelada. El fichero no se sobrescribirá.");
-				loggerGeneral.info("El usuario decidió no sobrescribir el fichero '{}'.", nombreFichero);
-				return;
-			}
-		}
-
-		String sql = """
-				    SELECT a.nia, a.nombre, a.apellidos, a.genero,
-				           a.fechaNacimiento, a.ciclo, a.curso, g.nombreGrupo
-				    FROM alumnos a
-				    LEFT JOIN grupos g ON a.numeroGrupo = g.numeroGrupo
-				    ORDER BY a.nia ASC
-				""";
-
-		// Intentar escribir en el fichero
-		try (BufferedWriter writer = new BufferedWriter(new FileWriter(fichero));
-				Connection conexion = PoolConexiones.getConnection();
-				PreparedStatement sentencia = conexion.prepareStatement(sql);
-				ResultSet resultado = sentencia.executeQuery()) {
-
-			// Escribir encabezados en el fichero
-			writer.write("NIA,Nombre,Apellidos,Género,Fecha Nacimiento,Ciclo,Curso,Nombre del Grupo");
-			writer.newLine();
-
-			if (!resultado.isBeforeFirst()) {
-				System.out.println("No hay alumnos registrados para guardar en el fichero.");
-				loggerGeneral.info("No se encontraron alumnos en la base de datos para guardar en el fichero.");
-				return;
-			}
-
-			// Escribir los datos de los alumnos en el fichero
-			while (resultado.next()) {
-				writer.write(String.format("%d,%s,%s,%s,%s,%s,%s,%s", resultado.getInt("nia"),
-						resultado.getString("nombre"), resultado.getString("apellidos"), resultado.getString("genero"),
-						resultado.getString("fechaNacimiento"), resultado.getString("ciclo"),
-						resultado.getString("curso"),
-						resultado.getString("nombreGrupo") == null ? "Sin grupo" : resultado.getString("nombreGrupo")));
-				writer.newLine();
-			}
-
-			System.out.println("Datos de los alumnos guardados correctamente en el fichero 'alumnos.txt'.");
-			loggerGeneral.info("Los datos de los alumnos se guardaron correctamente en el fichero '{}'.",
-					nombreFichero);
-
-		} catch (SQLException e) {
-			loggerExcepciones.error("Error al ejecutar la consulta SQL: {}", e.getMessage(), e);
-			System.out.println("Se produjo un error al recuperar los datos. Revisa los logs para más detalles.");
-		} catch (IOException e) {
-			loggerExcepciones.error("Error al escribir en el fichero '{}': {}", nombreFichero, e.getMessage(), e);
-			System.out.println("Se produjo un error al escribir en el fichero. Revisa los logs para más detalles.");
-		}
-	}
-
-	/**
-	 * Lee los alumnos desde el fichero de texto 'alumnos.txt' y los inserta en la
-	 * base de datos. El formato del fichero debe ser:
-	 * NIA,Nombre,Apellidos,Género,Fecha Nacimiento,Ciclo,Curso,Nombre del Grupo
-	 *
-	 * @return true si todos los alumnos fueron insertados correctamente, false si
-	 *         ocurrió algún error.
-	 */
-	@Override
-	public boolean leerAlumnosDeFicheroTexto() {
-		String fichero = "alumnos.txt";
-		int lineasInsertadas = 0;
-
-		try (BufferedReader br = new BufferedReader(new FileReader(fichero))) {
-			String linea;
-
-			// Ignorar la primera línea (cabecera)
-			br.readLine();
-
-			while ((linea = br.readLine()) != null) {
-				loggerGeneral.info("Leyendo línea: {}", linea);
-
-				// Separar los campos por coma
-				String[] datos = linea.split(",");
-
-				// Verificar que la línea tenga 8 campos
-				if (datos.length == 8) {
-					try {
-						String nombre = datos[1];
-						String apellidos = datos[2];
-						char genero = datos[3].charAt(0);
-						String fechaNacimiento = datos[4];
-						String ciclo = datos[5];
-						String curso = datos[6];
-						String grupo = datos[7];
-
-						// Convertir la fecha
-						SimpleDateFormat formatoFecha = new SimpleDateFormat("dd-MM-yyyy");
-						Date fechaUtil = formatoFecha.parse(fechaNacimiento);
-						loggerGeneral.info("Fecha convertida: {}", fechaUtil);
-
-						// Obtener el número del grupo
-						int numeroGrupo = obtenerNumeroGrupo(grupo);
-
-						if (numeroGrupo != -1) {
-							Grupo grupoObj = new Grupo(numeroGrupo, grupo);
-							Alumno alumno = new Alumno(nombre, apellidos, genero, fechaUtil, ciclo, curso, grupoObj);
-
-							// Insertar el alumno en la base de datos
-							if (insertarAlumno(alumno)) {
-								lineasInsertadas++;
-								loggerGeneral.info("Alumno insertado: {} {}", nombre, apellidos);
-							} else {
-								loggerGeneral.warn("No se pudo insertar el alumno: {} {}", nombre, apellidos);
-							}
-						} else {
-							loggerGeneral.warn("El grupo '{}' no existe en la base de datos. Alumno ignorado.", grupo);
-						}
-					} catch (ParseException e) {
-						loggerExcepciones.error("Error al convertir la fecha: {}", datos[4], e);
-						System.out.println("Error al convertir la fecha: " + datos[4]);
-					}
-				} else {
-					loggerGeneral.warn("Línea inválida en el fichero (número de campos incorrecto): {}", linea);
-				}
-			}
-
-			if (lineasInsertadas > 0) {
-				System.out.println("Alumnos leídos e insertados correctamente desde el fichero 'alumnos.txt'.");
-				loggerGeneral.info("Alumnos leídos e insertados correctamente.");
-				return true;
-			} else {
-				System.out.println("No se insertaron alumnos.");
-				loggerGeneral.info("No se insertaron alumnos.");
-				return false;
-			}
-		} catch (IOException e) {
-			loggerExcepciones.error("Ocurrió un error al leer el archivo '{}': {}", fichero, e.getMessage(), e);
-			System.out.println("Ocurrió un error al leer el archivo: " + e.getMessage());
-			return false;
-		}
-	}
-
-	/**
-	 * Obtiene el número del grupo a partir del nombre del grupo.
-	 *
-	 * @param nombreGrupo Nombre del grupo.
-	 * @return El número del grupo, o -1 si no se encuentra el grupo.
-	 */
-	private int obtenerNumeroGrupoPorNombre(String nombreGrupo) {
-		String sql = "SELECT numeroGrupo FROM grupos WHERE nombreGrupo = ?";
-
-		try (Connection conexion = PoolConexiones.getConnection();
-				PreparedStatement stmt = conexion.prepareStatement(sql)) {
-
-			stmt.setString(1, nombreGrupo);
-
-			try (ResultSet rs = stmt.executeQuery()) {
-				if (rs.next()) {
-					return rs.getInt("numeroGrupo");
-				}
-			}
-		} catch (SQLException e) {
-			loggerExcepciones.error("Error al obtener el número de grupo '{}': {}", nombreGrupo, e.getMessage());
-		}
-
-		return -1; // Devolver -1 si no se encuentra el grupo o hay error
-	}
-
-	/**
-	 * Ejecuta una operación genérica en la base de datos basada en un NIA.
-	 * 
-	 * @param sql                 La consulta SQL a ejecutar.
-	 * @param configuracionParams Función para configurar los parámetros del
-	 *                            PreparedStatement.
-	 * @return true si la operación afecta filas en la base de datos, false en caso
-	 *         contrario.
-	 */
-	public boolean ejecutarOperacionConNIA(String sql, Consumer<PreparedStatement> configuracionParams) {
-		try (Connection conexion = PoolConexiones.getConnection();
-				PreparedStatement sentencia = conexion.prepareStatement(sql)) {
-
-			// Configurar los parámetros usando la función pasada como argumento
-			configuracionParams.accept(sentencia);
-
-			// Ejecutar la consulta
-			int filasAfectadas = sentencia.executeUpdate();
-
-			if (filasAfectadas > 0) {
-				loggerGeneral.info("Operación ejecutada correctamente. SQL: {}", sql);
-				return true;
-			} else {
-				loggerGeneral.warn("Operación no afectó filas. SQL: {}", sql);
-				return false;
-			}
-		} catch (SQLException e) {
-			loggerExcepciones.error("Error al ejecutar la operación SQL '{}': {}", sql, e.getMessage(), e);
-			System.out.println("Error en la operación: " + e.getMessage());
-			return false;
-		}
-	}
-
-	/**
-	 * Modifica el nombre de un alumno en la base de datos basado en su NIA.
-	 * 
-	 * @param nia         NIA del alumno.
-	 * @param nuevoNombre Nuevo nombre del alumno.
-	 * @return true si la modificación fue exitosa; false en caso contrario.
-	 */
-	@Override
-	public boolean modificarNombreAlumnoPorNIA(int nia, String nuevoNombre) {
-		String sql = "UPDATE alumnos SET nombre = ? WHERE nia = ?";
-
-		return ejecutarOperacionConNIA(sql, sentencia -> {
-			try {
-				sentencia.setString(1, nuevoNombre);
-				sentencia.setInt(2, nia);
-			} catch (SQLException e) {
-				throw new RuntimeException("Error al configurar los parámetros", e);
-			}
-		});
-	}
-
-	/**
-	 * Elimina un alumno de la base de datos a partir de su NIA.
-	 * 
-	 * @param nia el NIA del alumno a eliminar.
-	 * @return true si el alumno fue eliminado correctamente, false en caso
-	 *         contrario.
-	 */
-	
-	@Override
-	public boolean eliminarAlumnoPorNIA(int nia) {
-		String sql = "DELETE FROM alumnos WHERE nia = ?";
-
-		return ejecutarOperacionConNIA(sql, sentencia -> {
-			try {
-				sentencia.setInt(1, nia);
-			} catch (SQLException e) {
-				throw new RuntimeException("Error al configurar los parámetros", e);
-			}
-		});
-	}
-
-	/**
-	 * Muestra toda la información de un alumno basándose en su NIA.
-	 * 
-	 * @param nia El NIA del alumno a mostrar.
-	 * @return true si el alumno fue encontrado y mostrado; false en caso contrario.
-	 */
-	@Override
-	public boolean mostrarAlumnoPorNIA(int nia) {
-		String sql = """
-				    SELECT a.nia, a.nombre, a.apellidos, a.genero, a.fechaNacimiento,
-				           a.ciclo, a.curso, g.nombreGrupo
-				    FROM alumnos a
-				    LEFT JOIN grupos g ON a.numeroGrupo = g.numeroGrupo
-				    WHERE a.nia = ?
-				""";
-
-		try (Connection conexion = PoolConexiones.getConnection();
-				PreparedStatement sentencia = conexion.prepareStatement(sql)) {
-
-			sentencia.setInt(1, nia);
-
-			try (ResultSet resultado = sentencia.executeQuery()) {
-				if (!resultado.isBeforeFirst()) {
-					System.out.println("No se encontró un alumno con el NIA proporcionado.");
-					loggerGeneral.warn("No se encontró un alumno con NIA {}.", nia);
-					return false;
-				}
-
-				// Mostrar datos del alumno
-				while (resultado.next()) {
-					System.out.printf("""
-							NIA: %d
-							Nombre: %s
-							Apellidos: %s
-							Género: %s
-							Fecha de nacimiento: %s
-							Ciclo: %s
-							Curso: %s
-							Grupo: %s
-							-------------------------
-							""", resultado.getInt("nia"), resultado.getString("nombre"),
-							resultado.getString("apellidos"), resultado.getString("genero"),
-							resultado.getDate("fechaNacimiento"), resultado.getString("ciclo"),
-							resultado.getString("curso"), resultado.getString("nombreGrupo") == null ? "Sin grupo"
-									: resultado.getString("nombreGrupo"));
-				}
-
-				loggerGeneral.info("Información del alumno con NIA {} mostrada correctamente.", nia);
-				return true;
-			}
-		} catch (SQLException e) {
-			loggerExcepciones.error("Error al consultar información del alumno con NIA {}: {}", nia, e.getMessage(), e);
-			System.out.println("Se produjo un error al mostrar la información del alumno. Revisa los logs.");
-			return false;
-		}
-	}
-
-	/**
-	 * Inserta un nuevo grupo en la base de datos.
-	 *
-	 * @param grupo El objeto Grupo que se desea insertar.
-	 * @return true si la inserción fue exitosa, false en caso contrario.
-	 */
-	@Override
-	public boolean insertarGrupo(Grupo grupo) {
-		String sql = "INSERT INTO grupos (nombreGrupo) VALUES (?)";
-
-		try (Connection conexion = PoolConexiones.getConnection();
-				PreparedStatement sentencia = conexion.prepareStatement(sql)) {
-
-			// Convertir el nombre del grupo a mayúsculas antes de insertar
-			String nombreGrupo = grupo.getNombreGrupo().toUpperCase();
-			sentencia.setString(1, nombreGrupo);
-
-			int filasAfectadas = sentencia.executeUpdate();
-
-			if (filasAfectadas > 0) {
-				loggerGeneral.info("Grupo '{}' insertado exitosamente", nombreGrupo);
-				return true;
-			} else {
-				loggerGeneral.warn("No se pudo insertar el grupo '{}'", nombreGrupo);
-				return false;
-			}
-		} catch (SQLException e) {
-			loggerExcepciones.error("Error al insertar el grupo '{}': {}", grupo.getNombreGrupo(), e.getMessage(), e);
-			System.out.println("Error al insertar el grupo: " + e.getMessage());
-			return false;
-		}
-	}
-
-	/**
-	 * Elimina a todos los alumnos de un grupo específico.
-	 * 
-	 * @param nombreGrupo el nombre del grupo cuyos alumnos serán eliminados.
-	 * @return true si se eliminaron correctamente, false si ocurrió un error.
-	 */
-	@Override
-	public boolean eliminarAlumnosPorGrupo(String nombreGrupo) {
-		String comprobarAlumnosSql = "SELECT COUNT(*) FROM alumnos WHERE numeroGrupo = (SELECT numeroGrupo FROM grupos WHERE nombreGrupo = ?)";
-		String eliminarAlumnosSql = "DELETE FROM alumnos WHERE numeroGrupo = (SELECT numeroGrupo FROM grupos WHERE nombreGrupo = ?)";
-
-		try (Connection conexion = PoolConexiones.getConnection();
-				PreparedStatement comprobarAlumnosSentencia = conexion.prepareStatement(comprobarAlumnosSql)) {
-
-			comprobarAlumnosSentencia.setString(1, nombreGrupo);
-
-			try (ResultSet resultado = comprobarAlumnosSentencia.executeQuery()) {
-				if (resultado.next() && resultado.getInt(1) == 0) {
-					loggerGeneral.info("No se encontraron alumnos en el grupo '{}'", nombreGrupo);
-					return false;
-				}
-			}
-
-			// Procedemos a eliminar los alumnos si existen
-			try (PreparedStatement sentencia = conexion.prepareStatement(eliminarAlumnosSql)) {
-				sentencia.setString(1, nombreGrupo);
-
-				int filasAfectadas = sentencia.executeUpdate();
-				if (filasAfectadas > 0) {
-					loggerGeneral.info("Alumnos del grupo '{}' eliminados exitosamente", nombreGrupo);
-					return true;
-				} else {
-					loggerGeneral.warn("No se eliminaron alumnos del grupo '{}'", nombreGrupo);
-					return false;
-				}
-			}
-		} catch (SQLException e) {
-			loggerExcepciones.error("Error al eliminar alumnos del grupo '{}': {}", nombreGrupo, e.getMessage(), e);
-			System.out.println("Error al eliminar alumnos del grupo: " + e.getMessage());
-			return false;
-		}
-	}
-
-	/**
-	 * Muestra todos los grupos disponibles en la base de datos.
-	 * 
-	 * @return true si se muestran los grupos correctamente, false si no hay grupos
-	 *         o hay un error.
-	 */
-
-	@Override
-	public boolean mostrarTodosLosGrupos() {
-		String sql = "SELECT nombreGrupo FROM grupos";
-
-		try (Connection conexion = PoolConexiones.getConnection();
-				PreparedStatement sentencia = conexion.prepareStatement(sql);
-				ResultSet resultado = sentencia.executeQuery()) {
-
-			boolean hayGrupos = false;
-			while (resultado.next()) {
-				hayGrupos = true;
-				System.out.println("- " + resultado.getString("nombreGrupo"));
-			}
-
-			if (hayGrupos) {
-				loggerGeneral.info("Grupos mostrados exitosamente desde la base de datos.");
-				return true;
-			} else {
-				loggerGeneral.warn("No se encontraron grupos en la base de datos.");
-				return false;
-			}
-		} catch (SQLException e) {
-			loggerExcepciones.error("Error al mostrar los grupos: {}", e.getMessage(), e);
-			System.out.println("Error al mostrar los grupos: " + e.getMessage());
-			return false;
-		}
-	}
-
-	/**
-	 * Guarda todos los grupos y sus alumnos en un archivo XML llamado 'grupos.xml'.
-	 * Si el archivo ya existe, solicita confirmación al usuario antes de
-	 * sobrescribirlo.
-	 * 
-	 * @return true si el archivo se guarda correctamente, false si ocurre un error.
-	 */
-
-	public boolean guardarGruposEnXML() {
-		String nombreArchivo = "grupos.xml";
-		File archivoXML = new File(nombreArchivo);
-
-		if (archivoXML.exists()) {
-			System.out.print("El archivo " + nombreArchivo + " ya existe. ¿Deseas sobrescribirlo? (S/N): ");
-			String respuesta = sc.nextLine().trim().toUpperCase();
-
-			if (!respuesta.equals("S")) {
-				loggerGeneral.warn("No se ha sobrescrito el archivo XML porque el usuario no lo permitió.");
-				System.out.println("El archivo no se ha sobrescrito.");
-				return false;
-			}
-		}
-
-		DocumentBuilderFactory documentoFactory = DocumentBuilderFactory.newInstance();
-		try {
-			DocumentBuilder documentoBuilder = documentoFactory.newDocumentBuilder();
-			Document documentoXML = documentoBuilder.newDocument();
-			Element raizElement = documentoXML.createElement("grupos");
-			documentoXML.appendChild(raizElement);
-
-			String consultaGrupos = "SELECT numeroGrupo, nombreGrupo FROM grupos";
-			String consultaAlumnos = "SELECT nia, nombre, apellidos, genero, fechaNacimiento, ciclo, curso FROM alumnos WHERE numeroGrupo = ?";
-
-			try (Connection conexion = PoolConexiones.getConnection();
-					PreparedStatement stmtGrupos = conexion.prepareStatement(consultaGrupos);
-					ResultSet rsGrupos = stmtGrupos.executeQuery()) {
-
-				while (rsGrupos.next()) {
-					int numeroGrupo = rsGrupos.getInt("numeroGrupo");
-					String nombreGrupo = rsGrupos.getString("nombreGrupo");
-
-					Element grupoElement = documentoXML.createElement("grupo");
-					grupoElement.setAttribute("numeroGrupo", String.valueOf(numeroGrupo));
-					grupoElement.setAttribute("nombreGrupo", nombreGrupo);
-					raizElement.appendChild(grupoElement);
-
-					try (PreparedStatement stmtAlumnos = conexion.prepareStatement(consultaAlumnos)) {
-						stmtAlumnos.setInt(1, numeroGrupo);
-						try (ResultSet rsAlumnos = stmtAlumnos.executeQuery()) {
-							while (rsAlumnos.next()) {
-								Element alumnoElement = documentoXML.createElement("alumno");
-								alumnoElement.setAttribute("nia", rsAlumnos.getString("nia"));
-								alumnoElement.setAttribute("nombre", rsAlumnos.getString("nombre"));
-								alumnoElement.setAttribute("apellidos", rsAlumnos.getString("apellidos"));
-								alumnoElement.setAttribute("genero", rsAlumnos.getString("genero"));
-								alumnoElement.setAttribute("fechaNacimiento", rsAlumnos.getString("fechaNacimiento"));
-								alumnoElement.setAttribute("ciclo", rsAlumnos.getString("ciclo"));
-								alumnoElement.setAttribute("curso", rsAlumnos.getString("curso"));
-
-								grupoElement.appendChild(alumnoElement);
-							}
-						}
-					}
-				}
-
-				TransformerFactory transformerFactory = TransformerFactory.newInstance();
-				Transformer transformer = transformerFactory.newTransformer();
-				transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-
-				DOMSource source = new DOMSource(documentoXML);
-				StreamResult result = new StreamResult(new File(nombreArchivo));
-				transformer.transform(source, result);
-
-				loggerGeneral.info("El archivo XML se ha guardado correctamente en {}", nombreArchivo);
-				System.out.println("El archivo XML se ha guardado correctamente.");
-				return true;
-			}
-		} catch (ParserConfigurationException | TransformerException e) {
-			loggerExcepciones.error("Error al generar el archivo XML: {}", e.getMessage(), e);
-			System.out.println("Error al generar el archivo XML: " + e.getMessage());
-		} catch (SQLException e) {
-			loggerExcepciones.error("Error al consultar la base de datos: {}", e.getMessage(), e);
-			System.out.println("Error al consultar la base de datos: " + e.getMessage());
-		}
-		return false;
-	}
-
-	/**
-	 * Lee un archivo XML que contiene información sobre grupos y alumnos, y guarda
-	 * los datos en las tablas correspondientes de la base de datos.
-	 *
-	 * @param rutaArchivo Ruta del archivo XML a procesar.
-	 * @return true si los datos fueron procesados e insertados correctamente, false
-	 *         en caso de error.
-	 */
-
-	public boolean leerYGuardarGruposXML(String rutaArchivo) {
-		File archivoXML = new File(rutaArchivo);
-		if (!archivoXML.exists()) {
-			loggerExcepciones.error("El archivo XML no existe: {}", rutaArchivo);
-			System.err.println("El archivo XML no existe: " + rutaArchivo);
-			return false;
-		}
-
-		try {
-			DocumentBuilderFactory fabricaDocumentos = DocumentBuilderFactory.newInstance();
-			DocumentBuilder constructorDocumentos = fabricaDocumentos.newDocumentBuilder();
-			Document documentoXML = constructorDocumentos.parse(archivoXML);
-			documentoXML.getDocumentElement().normalize();
-
-			NodeList listaGrupos = documentoXML.getElementsByTagName("grupo");
-
-			String sqlVerificarGrupo = "SELECT numeroGrupo FROM grupos WHERE nombreGrupo = ?";
-			String sqlInsertarGrupo = "INSERT INTO grupos (nombreGrupo) VALUES (?)";
-			String sqlInsertarAlumno = """
-					INSERT INTO alumnos (nombre, apellidos, genero, fechaNacimiento, ciclo, curso, numeroGrupo)
-					VALUES (?, ?, ?, ?, ?, ?, ?)
-					""";
-
-			try (Connection conexion = PoolConexiones.getConnection();
-					PreparedStatement consultaVerificarGrupo = conexion.prepareStatement(sqlVerificarGrupo);
-					PreparedStatement consultaInsertarGrupo = conexion.prepareStatement(sqlInsertarGrupo,
-							Statement.RETURN_GENERATED_KEYS);
-					PreparedStatement consultaInsertarAlumno = conexion.prepareStatement(sqlInsertarAlumno)) {
-
-				for (int i = 0; i < listaGrupos.getLength(); i++) {
-					Node nodoGrupo = listaGrupos.item(i);
-
-					if (nodoGrupo.getNodeType() == Node.ELEMENT_NODE) {
-						Element elementoGrupo = (Element) nodoGrupo;
-						String nombreGrupo = elementoGrupo.getAttribute("nombreGrupo").trim();
-
-						if (!nombreGrupo.isEmpty()) {
-							int numeroGrupo = -1;
-
-							// Verificar si el grupo ya existe en la base de datos
-							consultaVerificarGrupo.setString(1, nombreGrupo);
-							try (ResultSet resultado = consultaVerificarGrupo.executeQuery()) {
-								if (resultado.next()) {
-									numeroGrupo = resultado.getInt("numeroGrupo"); // Obtener el número del grupo
-																					// existente
-								}
-							}
-
-							// Si el grupo no existe, lo insertamos
-							if (numeroGrupo == -1) {
-								consultaInsertarGrupo.setString(1, nombreGrupo);
-								consultaInsertarGrupo.executeUpdate();
-
-								try (ResultSet clavesGeneradas = consultaInsertarGrupo.getGeneratedKeys()) {
-									if (clavesGeneradas.next()) {
-										numeroGrupo = clavesGeneradas.getInt(1);
-									}
-								}
-							}
-
-							// Insertar alumnos del grupo
-							NodeList listaAlumnos = elementoGrupo.getElementsByTagName("alumno");
-							for (int j = 0; j < listaAlumnos.getLength(); j++) {
-								Node nodoAlumno = listaAlumnos.item(j);
-
-								if (nodoAlumno.getNodeType() == Node.ELEMENT_NODE) {
-									Element elementoAlumno = (Element) nodoAlumno;
-
-									consultaInsertarAlumno.setString(1, elementoAlumno.getAttribute("nombre"));
-									consultaInsertarAlumno.setString(2, elementoAlumno.getAttribute("apellidos"));
-									consultaInsertarAlumno.setString(3, elementoAlumno.getAttribute("genero"));
-									consultaInsertarAlumno.setDate(4,
-											java.sql.Date.valueOf(elementoAlumno.getAttribute("fechaNacimiento")));
-									consultaInsertarAlumno.setString(5, elementoAlumno.getAttribute("ciclo"));
-									consultaInsertarAlumno.setString(6, elementoAlumno.getAttribute("curso"));
-									consultaInsertarAlumno.setInt(7, numeroGrupo);
-
-									consultaInsertarAlumno.executeUpdate();
-
-									loggerGeneral.info("Alumno insertado: {} {}", elementoAlumno.getAttribute("nombre"),
-											elementoAlumno.getAttribute("apellidos"));
-								}
-							}
-						} else {
-							loggerExcepciones.warn("Advertencia: Nombre del grupo vacío en el XML.");
-						}
-					}
-				}
-
-				loggerGeneral.info("Datos cargados correctamente desde el archivo XML.");
-				System.out.println("Datos cargados correctamente desde el archivo XML.");
-				return true;
-			}
-		} catch (ParserConfigurationException | SAXException | IOException e) {
-			loggerExcepciones.error("Error al procesar el archivo XML: {}", e.getMessage(), e);
-			System.err.println("Error al procesar el archivo XML: " + e.getMessage());
-		} catch (SQLException e) {
-			loggerExcepciones.error("Error al insertar datos en la base de datos: {}", e.getMessage(), e);
-			System.err.println("Error al insertar datos en la base de datos: " + e.getMessage());
-		}
-
-		return false;
-	}
-
-	/**
-	 * Muestra todos los alumnos del grupo seleccionado por el usuario.
-	 */
-	@Override
-	public void mostrarAlumnosPorGrupo() {
-		// Mostrar todos los grupos
-		if (!mostrarTodosLosGrupos()) {
-			System.out.println("No hay grupos disponibles para mostrar.");
-			return;
-		}
-
-		System.out.println("Introduce el nombre del grupo del que quieres ver los alumnos:");
-		String nombreGrupo = sc.nextLine().trim().toUpperCase();
-
-		// Obtener el número del grupo
-		int numeroGrupo = obtenerNumeroGrupoPorNombre(nombreGrupo);
-		if (numeroGrupo == -1) {
-			System.out.println("El grupo especificado no existe. Inténtalo de nuevo.");
-			return;
-		}
-
-		String sql = """
-				    SELECT a.nia, a.nombre, a.apellidos, a.genero, a.fechaNacimiento,
-				           a.ciclo, a.curso, g.nombreGrupo
-				    FROM alumnos a
-				    JOIN grupos g ON a.numeroGrupo = g.numeroGrupo
-				    WHERE g.numeroGrupo = ?
-				    ORDER BY a.nia
-				""";
-
-		try (Connection conexion = PoolConexiones.getConnection();
-				PreparedStatement sentencia = conexion.prepareStatement(sql)) {
-
-			sentencia.setInt(1, numeroGrupo);
-
-			try (ResultSet resultado = sentencia.executeQuery()) {
-				if (!resultado.isBeforeFirst()) {
-					System.out.println("No hay alumnos registrados en este grupo.");
-					return;
-				}
-
-				System.out.println("Alumnos del grupo '" + nombreGrupo + "':");
-				while (resultado.next()) {
-					System.out.printf("""
-							NIA: %d
-							Nombre: %s
-							Apellidos: %s
-							Género: %s
-							Fecha de nacimiento: %s
-							Ciclo: %s
-							Curso: %s
-							Grupo: %s
-							-------------------------\n
-							""", resultado.getInt("nia"), resultado.getString("nombre"),
-							resultado.getString("apellidos"), resultado.getString("genero"),
-							resultado.getDate("fechaNacimiento"), resultado.getString("ciclo"),
-							resultado.getString("curso"), resultado.getString("nombreGrupo"));
-				}
-			}
-		} catch (SQLException e) {
-			loggerExcepciones.error("Error al mostrar los alumnos del grupo '{}': {}", nombreGrupo, e.getMessage(), e);
-			System.out.println("Se produjo un error al intentar mostrar los alumnos. Revisa los logs.");
-		}
-	}
-
-	/**
-	 * Muestra solo los NIA y nombres de los alumnos, sin interacción adicional.
-	 * 
-	 * @return true si hay alumnos, false si la lista está vacía.
-	 */
-	public boolean listarNiasYNombresAlumnos() {
-		String sql = "SELECT nia, nombre FROM alumnos ORDER BY nia";
-
-		try (Connection conexion = PoolConexiones.getConnection();
-				PreparedStatement sentencia = conexion.prepareStatement(sql);
-				ResultSet resultado = sentencia.executeQuery()) {
-
-			if (!resultado.isBeforeFirst()) {
-				System.out.println("❌ No hay alumnos registrados.");
-				return false;
-			}
-
-			System.out.println("Lista de alumnos disponibles para cambiar de grupo:");
-			while (resultado.next()) {
-				System.out.printf("NIA: %d, Nombre: %s%n", resultado.getInt("nia"), resultado.getString("nombre"));
-			}
-
-			return true;
-		} catch (SQLException e) {
-			System.out.println("❌ Error al recuperar la lista de alumnos: " + e.getMessage());
-			return false;
-		}
-	}
-
-	/**
-	 * Cambia el grupo de un alumno seleccionado por el usuario.
-	 * 
-	 * @return true si el cambio se realizó correctamente, false en caso de error.
-	 */
-	@Override
-	public boolean cambiarGrupoAlumno() {
-		// Mostrar lista de alumnos sin interacción extra
-		if (!listarNiasYNombresAlumnos()) {
-			System.out.println("❌ No hay alumnos disponibles.");
-			return false;
-		}
-
-		// Solicitar NIA del alumno
-		System.out.println("\nIntroduce el NIA del alumno al que deseas cambiar de grupo:");
-		int niaSeleccionado;
-		try {
-			niaSeleccionado = Integer.parseInt(sc.nextLine().trim());
-		} catch (NumberFormatException e) {
-			System.out.println("❌ El NIA debe ser un número válido.");
-			return false;
-		}
-
-		// Verificar si el NIA existe
-		String sqlExistencia = "SELECT numeroGrupo FROM alumnos WHERE nia = ?";
-		int grupoActual = -1;
-
-		try (Connection conexion = PoolConexiones.getConnection();
-				PreparedStatement consulta = conexion.prepareStatement(sqlExistencia)) {
-
-			consulta.setInt(1, niaSeleccionado);
-			try (ResultSet resultado = consulta.executeQuery()) {
-				if (resultado.next()) {
-					grupoActual = resultado.getInt("numeroGrupo");
-				} else {
-					System.out.println("❌ No se encontró ningún alumno con el NIA proporcionado.");
-					return false;
-				}
-			}
-		} catch (SQLException e) {
-			System.out.println("❌ Error al verificar el grupo actual del alumno: " + e.getMessage());
-			return false;
-		}
-
-		// Mostrar grupos disponibles
-		System.out.println("\nGrupos disponibles:");
-		if (!mostrarTodosLosGrupos()) {
-			System.out.println("❌ No hay grupos disponibles.");
-			return false;
-		}
-
-		// Solicitar el nuevo grupo
-		System.out.println("\nIntroduce el nombre del grupo al que deseas cambiar al alumno:");
-		String nuevoGrupo = sc.nextLine().trim().toUpperCase();
-
-		int numeroGrupo = obtenerNumeroGrupoPorNombre(nuevoGrupo);
-		if (numeroGrupo == -1) {
-			System.out.println("❌ El grupo especificado no existe.");
-			return false;
-		}
-
-		if (grupoActual == numeroGrupo) {
-			System.out.println("⚠️ El alumno ya pertenece al grupo '" + nuevoGrupo + "'.");
-			return false;
-		}
-
-		// Actualizar grupo
-		String sqlUpdate = "UPDATE alumnos SET numeroGrupo = ? WHERE nia = ?";
-		try (Connection conexion = PoolConexiones.getConnection();
-				PreparedStatement sentencia = conexion.prepareStatement(sqlUpdate)) {
-
-			sentencia.setInt(1, numeroGrupo);
-			sentencia.setInt(2, niaSeleccionado);
-
-			int filasAfectadas = sentencia.executeUpdate();
-			if (filasAfectadas > 0) {
-				System.out.println("✅ El grupo del alumno ha sido cambiado exitosamente.");
-				return true;
-			} else {
-				System.out.println("❌ No se pudo cambiar el grupo del alumno.");
-				return false;
-			}
-		} catch (SQLException e) {
-			System.out.println("❌ Error al cambiar el grupo del alumno: " + e.getMessage());
-			return false;
-		}
-	}
-
-	/**
-	 * Guarda un grupo específico con toda su información (incluyendo los alumnos)
-	 * en un archivo XML. Solicita al usuario el nombre del grupo.
-	 * 
-	 * @return true si el archivo se guarda correctamente, false si ocurre un error.
-	 */
-	@Override
-	public boolean guardarGrupoEspecificoEnXML() {
-		// 📌 Mostrar los grupos disponibles antes de la elección
-		if (!mostrarTodosLosGrupos()) {
-			System.out.println("❌ No hay grupos disponibles. No se puede continuar.");
-			return false;
-		}
-
-		// Solicitar el nombre del grupo al usuario
-		System.out.print("\nIntroduce el nombre del grupo que deseas guardar en fichero XML: ");
-		String nombreGrupo = sc.nextLine().trim().toUpperCase();
-
-		// Validar si el grupo existe
-		if (!validarNombreGrupo(nombreGrupo)) {
-			System.out.println("❌ El grupo '" + nombreGrupo + "' no existe en la base de datos.");
-			loggerGeneral.warn("El grupo '{}' no existe en la base de datos.", nombreGrupo);
-			return false;
-		}
-
-		// Obtener el número del grupo
-		int numeroGrupo = obtenerNumeroGrupoPorNombre(nombreGrupo);
-		if (numeroGrupo == -1) {
-			System.out.println("❌ Error al obtener el número del grupo para: " + nombreGrupo);
-			loggerGeneral.error("No se pudo obtener el número del grupo para '{}'.", nombreGrupo);
-			return false;
-		}
-
-		String nombreArchivo = "grupo_" + nombreGrupo + ".xml";
-		File archivoXML = new File(nombreArchivo);
-
-		// Verificar si el archivo ya existe y preguntar si sobrescribir
-		if (archivoXML.exists()) {
-			System.out.print("⚠️ El archivo '" + nombreArchivo + "' ya existe. ¿Deseas sobrescribirlo? (S/N): ");
-			String respuesta = sc.nextLine().trim().toUpperCase();
-			if (!respuesta.equals("S")) {
-				System.out.println("❌ Operación cancelada. El archivo no se ha sobrescrito.");
-				return false;
-			}
-		}
-
-		DocumentBuilderFactory documentoFactory = DocumentBuilderFactory.newInstance();
-		try {
-			DocumentBuilder documentoBuilder = documentoFactory.newDocumentBuilder();
-			Document documentoXML = documentoBuilder.newDocument();
-			Element raizElement = documentoXML.createElement("grupo");
-			documentoXML.appendChild(raizElement);
-
-			String consultaGrupo = "SELECT numeroGrupo, nombreGrupo FROM grupos WHERE numeroGrupo = ?";
-			String consultaAlumnos = """
-					SELECT nia, nombre, apellidos, genero, fechaNacimiento, curso
-					FROM alumnos
-					WHERE numeroGrupo = ?
-					""";
-
-			try (Connection conexion = PoolConexiones.getConnection();
-					PreparedStatement stmtGrupo = conexion.prepareStatement(consultaGrupo);
-					PreparedStatement stmtAlumnos = conexion.prepareStatement(consultaAlumnos)) {
-
-				// Obtener la información del grupo
-				stmtGrupo.setInt(1, numeroGrupo);
-				try (ResultSet rsGrupo = stmtGrupo.executeQuery()) {
-					if (rsGrupo.next()) {
-						raizElement.setAttribute("numeroGrupo", String.valueOf(numeroGrupo));
-						raizElement.setAttribute("nombreGrupo", rsGrupo.getString("nombreGrupo"));
-					} else {
-						System.out.println("❌ No se encontró el grupo con el número " + numeroGrupo + ".");
-						loggerGeneral.warn("El grupo con número {} no existe en la base de datos.", numeroGrupo);
-						return false;
-					}
-				}
-
-				// Obtener la información de los alumnos del grupo
-				stmtAlumnos.setInt(1, numeroGrupo);
-				try (ResultSet rsAlumnos = stmtAlumnos.executeQuery()) {
-					while (rsAlumnos.next()) {
-						Element alumnoElement = documentoXML.createElement("alumno");
-						alumnoElement.setAttribute("nia", rsAlumnos.getString("nia"));
-						alumnoElement.setAttribute("nombre", rsAlumnos.getString("nombre"));
-						alumnoElement.setAttribute("apellidos", rsAlumnos.getString("apellidos"));
-						alumnoElement.setAttribute("genero", rsAlumnos.getString("genero"));
-						alumnoElement.setAttribute("fechaNacimiento", rsAlumnos.getString("fechaNacimiento"));
-						alumnoElement.setAttribute("curso", rsAlumnos.getString("curso"));
-
-						raizElement.appendChild(alumnoElement);
-					}
-				}
-
-				// Guardar el archivo XML
-				TransformerFactory transformerFactory = TransformerFactory.newInstance();
-				Transformer transformer = transformerFactory.newTransformer();
-				transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-
-				DOMSource source = new DOMSource(documentoXML);
-				StreamResult result = new StreamResult(new File(nombreArchivo));
-				transformer.transform(source, result);
-
-				loggerGeneral.info("✅ El archivo XML del grupo {} se ha guardado correctamente en '{}'.", nombreGrupo,
-						nombreArchivo);
-				System.out.println("✅ El archivo XML del grupo '" + nombreGrupo + "' se ha guardado correctamente en '"
-						+ nombreArchivo + "'.");
-				return true;
-
-			} catch (SQLException e) {
-				loggerExcepciones.error("❌ Error al consultar el grupo o los alumnos: {}", e.getMessage(), e);
-				System.out.println("❌ Error al consultar el grupo o los alumnos: " + e.getMessage());
-			}
-		} catch (ParserConfigurationException | TransformerException e) {
-			loggerExcepciones.error("❌ Error al generar el archivo XML: {}", e.getMessage(), e);
-			System.out.println("❌ Error al generar el archivo XML: " + e.getMessage());
-		}
-
-		return false;
-	}
-
-}
+package modelo;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import com.mysql.cj.jdbc.JdbcStatement;
+
+import pool.PoolConexiones;
+
+public class AlumnosBD implements AlumnosDAO, InsercionDiferida {
+
+	private final static Scanner sc = new Scanner(System.in);
+
+	private static final Logger loggerGeneral = LogManager.getRootLogger();
+	private static final Logger loggerExcepciones = LogManager.getLogger("exceptions");
+
+	private static final String SQL_INSERTAR_ALUMNO = "INSERT INTO alumnos (nombre, apellidos, genero, fechaNacimiento, ciclo, curso, numeroGrupo) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+	// Los siete primeros parámetros son los de SQL_INSERTAR_ALUMNO
+	private static final String SQL_INSERTAR_ALUMNO_CON_NIA = "INSERT INTO alumnos (nombre, apellidos, genero, fechaNacimiento, ciclo, curso, numeroGrupo, nia) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private static final String SQL_NUMERO_GRUPO = "SELECT numeroGrupo FROM grupos WHERE nombreGrupo = ?";
+
+	// Carga masiva con LOAD DATA LOCAL INFILE a través de una tabla temporal
+	private static final String SQL_CREAR_TABLA_CARGA = """
+			CREATE TEMPORARY TABLE carga_alumnos (
+			    nombre VARCHAR(255),
+			    apellidos VARCHAR(255),
+			    genero VARCHAR(10),
+			    fechaNacimiento DATE,
+			    ciclo VARCHAR(255),
+			    curso VARCHAR(255),
+			    nombreGrupo VARCHAR(255)
+			)
+			""";
+
+	// Con LOCAL, los errores de conversión son avisos: una fecha no válida queda a NULL.
+	// Las comillas siguen CodecCSVAlumnos (RFC 4180): sin carácter de escape, las
+	// comillas dentro de un campo entre comillas van duplicadas
+	private static final String SQL_LOAD_DATA = """
+			LOAD DATA LOCAL INFILE '%s' INTO TABLE carga_alumnos
+			CHARACTER SET utf8mb4
+			FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '"' ESCAPED BY ''
+			LINES TERMINATED BY '\\n'
+			IGNORE 1 LINES
+			(@nia, nombre, apellidos, genero, @fecha, ciclo, curso, @grupo)
+			SET fechaNacimiento = COALESCE(STR_TO_DATE(@fecha, '%%d-%%m-%%Y'), STR_TO_DATE(@fecha, '%%Y-%%m-%%d')),
+			    nombreGrupo = TRIM(TRAILING '\\r' FROM @grupo)
+			""";
+
+	private static final String SQL_INSERTAR_DESDE_CARGA = """
+			INSERT INTO alumnos (nombre, apellidos, genero, fechaNacimiento, ciclo, curso, numeroGrupo)
+			SELECT c.nombre, c.apellidos, LEFT(c.genero, 1), c.fechaNacimiento, c.ciclo, c.curso, g.numeroGrupo
+			FROM carga_alumnos c
+			JOIN grupos g ON g.nombreGrupo = c.nombreGrupo
+			WHERE c.fechaNacimiento IS NOT NULL
+			""";
+
+	private static final String SQL_GRUPOS_RECHAZADOS = """
+			SELECT c.nombreGrupo, COUNT(*) AS alumnos
+			FROM carga_alumnos c
+			LEFT JOIN grupos g ON g.nombreGrupo = c.nombreGrupo
+			WHERE g.numeroGrupo IS NULL AND c.nombreGrupo IS NOT NULL
+			GROUP BY c.nombreGrupo
+			""";
+
+	// Recuentos de calcularEstadisticas(): cada consulta devuelve una fila por
+	// valor distinto, no una por alumno
+	private static final String SQL_ALUMNOS_POR_GRUPO = """
+			SELECT g.nombreGrupo, COUNT(*) AS alumnos
+			FROM alumnos a
+			LEFT JOIN grupos g ON a.numeroGrupo = g.numeroGrupo
+			GROUP BY g.nombreGrupo
+			""";
+	private static final String SQL_ALUMNOS_POR_CICLO_CURSO = """
+			SELECT ciclo, curso, COUNT(*) AS alumnos FROM alumnos GROUP BY ciclo, curso
+			""";
+	private static final String SQL_ALUMNOS_POR_GENERO = """
+			SELECT genero, COUNT(*) AS alumnos FROM alumnos GROUP BY genero
+			""";
+	private static final String SQL_ALUMNOS_POR_ANIO = """
+			SELECT YEAR(fechaNacimiento) AS anio, COUNT(*) AS alumnos FROM alumnos GROUP BY YEAR(fechaNacimiento)
+			""";
+
+	// Caché nombreGrupo -> numeroGrupo compartida por todas las instancias
+	private static final CacheGrupos cacheGrupos = new CacheGrupos();
+
+	private ModoImportacion modoImportacion;
+	private int tamanoLote;
+
+	// Escritura diferida de insertarAlumno (se crea al usarla por primera vez)
+	private final boolean escrituraDiferida;
+	private volatile boolean escrituraDiferidaCerrada = false;
+	private BufferEscrituraAlumnos bufferEscritura;
+
+	/**
+	 * Constructor: lee de db.properties el modo de importación del fichero de
+	 * texto, el tamaño de lote y si se usa la escritura diferida, comprueba los
+	 * índices del esquema y precarga la caché de grupos.
+	 */
+	public AlumnosBD() {
+		modoImportacion = ModoImportacion.valueOf(PoolConexiones.getPropiedad("db.modoImportacion", "CONCURRENTE").toUpperCase());
+		tamanoLote = Integer.parseInt(PoolConexiones.getPropiedad("db.tamanoLote", "1000"));
+		if (tamanoLote < 1) {
+			// Con 0 o menos los lotes no se confirmarían nunca (ver setTamanoLote)
+			throw new IllegalArgumentException("db.tamanoLote debe ser mayor que 0: " + tamanoLote);
+		}
+		escrituraDiferida = Boolean.parseBoolean(PoolConexiones.getPropiedad("db.escrituraDiferida", "false"));
+
+		try (Connection conexion = PoolConexiones.getConnection()) {
+			GestorEsquema.comprobarIndices(conexion,
+					Boolean.parseBoolean(PoolConexiones.getPropiedad("db.crearIndices", "true")));
+
+			cacheGrupos.precargar(conexion);
+			loggerGeneral.info("Caché de grupos precargada con {} grupos.", cacheGrupos.getTamano());
+		} catch (SQLException e) {
+			loggerExcepciones.error("No se pudo precargar la caché de grupos: {}", e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * @return la caché de grupos compartida, con sus contadores de aciertos y
+	 *         fallos.
+	 */
+	public static CacheGrupos getCacheGrupos() {
+		return cacheGrupos;
+	}
+
+	/**
+	 * @return el tamaño máximo actual del pool de conexiones JDBC.
+	 */
+	public int getTamanoPool() {
+		return PoolConexiones.getConfiguracion().getMaximumPoolSize();
+	}
+
+	public ModoImportacion getModoImportacion() {
+		return modoImportacion;
+	}
+
+	public void setModoImportacion(ModoImportacion modoImportacion) {
+		this.modoImportacion = modoImportacion;
+	}
+
+	public int getTamanoLote() {
+		return tamanoLote;
+	}
+
+	public void setTamanoLote(int tamanoLote) {
+		if (tamanoLote < 1) {
+			throw new IllegalArgumentException("El tamaño de lote debe ser mayor que 0: " + tamanoLote);
+		}
+		this.tamanoLote = tamanoLote;
+	}
+
+	@Override
+	public boolean insertarAlumno(Alumno alumno) {
+		if (isEscrituraDiferida()) {
+			// Espera a que se confirme el lote en el que se escribe el alumno
+			return insertarAlumnoDiferido(alumno).join();
+		}
+
+		// Obtener el numeroGrupo del grupo del alumno
+		int numeroGrupo = obtenerNumeroGrupo(alumno.getGrupo().getNombreGrupo());
+
+		if (numeroGrupo == -1) {
+			loggerExcepciones.error("Error: El grupo '{}' no existe en la base de datos.",
+					alumno.getGrupo().getNombreGrupo());
+			return false;
+		}
+
+		try (Connection conexion = PoolConexiones.getConnection();
+				PreparedStatement sentencia = conexion.prepareStatement(SQL_INSERTAR_ALUMNO)) {
+
+			sentencia.setString(1, alumno.getNombre());
+			sentencia.setString(2, alumno.getApellidos());
+			sentencia.setString(3, String.valueOf(alumno.getGenero())); // Convertir el char a String
+			sentencia.setObject(4, alumno.getFechaNacimiento());
+			sentencia.setString(5, alumno.getCiclo());
+			sentencia.setString(6, alumno.getCurso());
+			sentencia.setInt(7, numeroGrupo); // Usar el numeroGrupo obtenido
+
+			int filasAfectadas = sentencia.executeUpdate();
+
+			if (filasAfectadas > 0) {
+				loggerGeneral.info("Alumno '{}' '{}' insertado correctamente.", alumno.getNombre(),
+						alumno.getApellidos());
+				return true;
+			} else {
+				loggerExcepciones.error("No se pudo insertar el alumno '{}' '{}'.", alumno.getNombre(),
+						alumno.getApellidos());
+				return false;
+			}
+		} catch (SQLException e) {
+			loggerExcepciones.error("Error al insertar el alumno '{}' '{}': {}", alumno.getNombre(),
+					alumno.getApellidos(), e.getMessage(), e);
+			return false;
+		}
+	}
+
+	@Override
+	public boolean isEscrituraDiferida() {
+		return escrituraDiferida && !escrituraDiferidaCerrada;
+	}
+
+	/**
+	 * Las filas se escriben con un solo executeBatch y un solo commit cuando hay
+	 * db.escrituraDiferida.filas pendientes o han pasado
+	 * db.escrituraDiferida.milis.
+	 */
+	@Override
+	public CompletableFuture<Boolean> insertarAlumnoDiferido(Alumno alumno) {
+		BufferEscrituraAlumnos buffer = getBufferEscritura();
+		if (buffer == null) {
+			loggerExcepciones.error("Escritura diferida cerrada: alumno '{}' '{}' no insertado.", alumno.getNombre(),
+					alumno.getApellidos());
+			return CompletableFuture.completedFuture(false);
+		}
+		return buffer.anadir(alumno);
+	}
+
+	/**
+	 * @return el buffer de escritura diferida (se crea la primera vez), o null si
+	 *         ya se ha cerrado.
+	 */
+	private synchronized BufferEscrituraAlumnos getBufferEscritura() {
+		if (bufferEscritura == null && !escrituraDiferidaCerrada) {
+			bufferEscritura = BufferEscrituraAlumnos.iniciar("alumnosBD", this::escribirLoteDiferido,
+					Integer.parseInt(PoolConexiones.getPropiedad("db.escrituraDiferida.filas", "500")),
+					Long.parseLong(PoolConexiones.getPropiedad("db.escrituraDiferida.milis", "20")));
+		}
+		return bufferEscritura;
+	}
+
+	@Override
+	public synchronized void cerrarEscrituraDiferida() {
+		escrituraDiferidaCerrada = true;
+		if (bufferEscritura != null) {
+			bufferEscritura.close();
+			bufferEscritura = null;
+		}
+	}
+
+	/**
+	 * Inserta un lote del buffer de escritura diferida en una transacción. Los
+	 * alumnos de grupos que no existen se marcan como no insertados.
+	 */
+	private boolean[] escribirLoteDiferido(List<Alumno> lote) throws SQLException {
+		boolean[] insertados = new boolean[lote.size()];
+
+		try (Connection conexion = PoolConexiones.getConnection()) {
+			boolean autoCommitOriginal = conexion.getAutoCommit();
+			conexion.setAutoCommit(false);
+
+			try (PreparedStatement sentenciaGrupo = conexion.prepareStatement(SQL_NUMERO_GRUPO);
+					PreparedStatement sentencia = conexion.prepareStatement(SQL_INSERTAR_ALUMNO)) {
+				int filasEnLote = 0;
+
+				for (int i = 0; i < lote.size(); i++) {
+					Alumno alumno = lote.get(i);
+					String nombreGrupo = alumno.getGrupo() == null ? null : alumno.getGrupo().getNombreGrupo();
+					int numeroGrupo = nombreGrupo == null ? -1 : obtenerNumeroGrupo(sentenciaGrupo, nombreGrupo);
+					if (numeroGrupo == -1) {
+						loggerExcepciones.error("Error: El grupo '{}' no existe en la base de datos.", nombreGrupo);
+						continue;
+					}
+
+					alumno.getGrupo().setNumeroGrupo(numeroGrupo);
+					anadirAlLote(sentencia, alumno);
+					insertados[i] = true;
+					filasEnLote++;
+				}
+
+				if (filasEnLote > 0) {
+					ejecutarLote(conexion, sentencia, filasEnLote);
+				}
+			} catch (SQLException e) {
+				conexion.rollback();
+				throw e;
+			} finally {
+				conexion.setAutoCommit(autoCommitOriginal);
+			}
+		}
+
+		return insertados;
+	}
+
+	/**
+	 * Solicita al usuario los datos necesarios para crear un objeto Alumno.
+	 * 
+	 * @return Un objeto Alumno con los datos ingresados por el usuario.
+	 */
+	@Override
+	public Alumno solicitarDatosAlumno() {
+		try {
+			System.out.println("Introduce el nombre del alumno:");
+			String nombre = sc.nextLine().trim().toUpperCase();
+
+			System.out.println("Introduce los apellidos del alumno:");
+			String apellidos = sc.nextLine().trim().toUpperCase();
+
+			// Validar género
+			char respuestaGenero = solicitarGenero();
+
+			// Validar fecha de nacimiento
+			LocalDate fechaNacimiento = solicitarFechaNacimiento();
+
+			System.out.println("Introduce el ciclo del alumno:");
+			String ciclo = sc.nextLine().trim().toUpperCase();
+
+			System.out.println("Introduce el curso del alumno:");
+			String curso = sc.nextLine().trim().toUpperCase();
+
+			// Validar nombre del grupo
+			String nombreGrupo = solicitarNombreGrupo();
+
+			// Crear el objeto Grupo
+			Grupo grupo = new Grupo(nombreGrupo);
+
+			// Crear y devolver el objeto Alumno
+			Alumno alumno = new Alumno(nombre, apellidos, respuestaGenero, fechaNacimiento, ciclo, curso, grupo);
+			loggerGeneral.info("Datos del alumno solicitados correctamente: {}", alumno);
+			return alumno;
+
+		} catch (Exception e) {
+			loggerExcepciones.error("Error inesperado al solicitar datos del alumno: {}", e.getMessage(), e);
+			return null;
+		}
+	}
+
+	private char solicitarGenero() {
+		char genero;
+		do {
+			System.out.println("Introduce el género del alumno (M/F):");
+			String input = sc.nextLine().trim().toUpperCase();
+			if (input.length() == 1 && (input.charAt(0) == 'M' || input.charAt(0) == 'F')) {
+				genero = input.charAt(0);
+				break;
+			} else {
+				loggerGeneral.info("Entrada no válida para género: {}", input);
+				System.out.println("Respuesta no válida. Introduce 'M' o 'F'.");
+			}
+		} while (true);
+		return genero;
+	}
+
+	private LocalDate solicitarFechaNacimiento() {
+		LocalDate fecha;
+
+		do {
+			System.out.println("Introduce la fecha de nacimiento (dd-MM-aaaa):");
+			String fechaInput = sc.nextLine().trim();
+			fecha = Fechas.analizar(fechaInput); // Validación estricta
+			if (fecha == null) {
+				loggerExcepciones.error("Formato de fecha inválido ingresado: {}", fechaInput);
+				System.out.println("Formato de fecha inválido. Intenta de nuevo.");
+			}
+		} while (fecha == null);
+
+		return fecha;
+	}
+
+	private String solicitarNombreGrupo() {
+		String nombreGrupo;
+		do {
+			System.out.println("Introduce el nombre del grupo del alumno:");
+			nombreGrupo = sc.nextLine().trim().toUpperCase();
+			if (!validarNombreGrupo(nombreGrupo)) {
+				loggerGeneral.info("Entrada no válida para grupo: {}", nombreGrupo);
+				System.out.println("El nombre del grupo no es válido. Intenta de nuevo.");
+			}
+		} while (!validarNombreGrupo(nombreGrupo));
+		return nombreGrupo;
+	}
+
+	/**
+	 * Recupera el número del grupo a partir de su nombre. Consulta primero la
+	 * caché de grupos y solo accede a la base de datos si el grupo no está en ella.
+	 * 
+	 * @param nombreGrupo El nombre del grupo.
+	 * @return El numeroGrupo correspondiente o -1 si no existe.
+	 */
+	private int obtenerNumeroGrupo(String nombreGrupo) {
+		Integer enCache = cacheGrupos.obtener(nombreGrupo);
+		if (enCache != null) {
+			return enCache;
+		}
+
+		try (Connection conexion = PoolConexiones.getConnection();
+				PreparedStatement sentencia = conexion.prepareStatement(SQL_NUMERO_GRUPO)) {
+			return consultarNumeroGrupo(sentencia, nombreGrupo);
+		} catch (SQLException e) {
+			loggerExcepciones.error("Error al obtener numeroGrupo para el grupo '{}': {}", nombreGrupo, e.getMessage());
+		}
+
+		return -1; // Si no se encuentra el grupo, devolver -1
+	}
+
+	/**
+	 * Recupera el número del grupo usando una sentencia ya preparada sobre la
+	 * conexión del llamante. Consulta primero la caché de grupos.
+	 *
+	 * @param sentenciaGrupo Sentencia preparada con {@link #SQL_NUMERO_GRUPO}.
+	 * @param nombreGrupo    El nombre del grupo.
+	 * @return El numeroGrupo correspondiente o -1 si no existe.
+	 * @throws SQLException si falla la consulta.
+	 */
+	private int obtenerNumeroGrupo(PreparedStatement sentenciaGrupo, String nombreGrupo) throws SQLException {
+		Integer enCache = cacheGrupos.obtener(nombreGrupo);
+		if (enCache != null) {
+			return enCache;
+		}
+		return consultarNumeroGrupo(sentenciaGrupo, nombreGrupo);
+	}
+
+	/**
+	 * Consulta el número del grupo en la base de datos y, si existe, lo añade a la
+	 * caché.
+	 */
+	private int consultarNumeroGrupo(PreparedStatement sentenciaGrupo, String nombreGrupo) throws SQLException {
+		sentenciaGrupo.setString(1, nombreGrupo);
+
+		try (ResultSet resultado = sentenciaGrupo.executeQuery()) {
+			if (resultado.next()) {
+				int numeroGrupo = resultado.getInt("numeroGrupo");
+				cacheGrupos.registrar(nombreGrupo, numeroGrupo);
+				return numeroGrupo;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Valida si un nombre de grupo existe en la base de datos.
+	 * 
+	 * @param nombreGrupo El nombre del grupo a validar.
+	 * @return true si el grupo existe, false en caso contrario.
+	 */
+	public boolean validarNombreGrupo(String nombreGrupo) {
+		return obtenerNumeroGrupo(nombreGrupo) != -1;
+	}
+
+	/**
+	 * Muestra todos los alumnos registrados, recorriéndolos en páginas de
+	 * {@link #TAMANO_PAGINA_STREAM} con {@link #obtenerPaginaAlumnos(int, int)}.
+	 * 
+	 * @param mostrarTodaLaInformacion Indica si se debe mostrar toda la información
+	 *                                 (true) o solo NIA y nombre (false).
+	 * @return true si se muestra la lista correctamente, false en caso contrario.
+	 */
+	@Override
+	public boolean mostrarTodosLosAlumnos(boolean mostrarTodaLaInformacion) {
+		try {
+			// Página a página por NIA (paginación por clave), sin cargar la tabla
+			List<Alumno> pagina = obtenerPaginaAlumnos(0, TAMANO_PAGINA_STREAM);
+			if (pagina.isEmpty()) {
+				System.out.println("No hay alumnos registrados.");
+				return false;
+			}
+
+			if (mostrarTodaLaInformacion) {
+				System.out.println("Lista completa de alumnos registrados:");
+			} else {
+				System.out.println("Lista de alumnos (NIA y Nombre):");
+			}
+
+			while (true) {
+				for (Alumno alumno : pagina) {
+					if (mostrarTodaLaInformacion) {
+						System.out.printf("""
+								NIA: %d
+								Nombre: %s
+								Apellidos: %s
+								Género: %s
+								Fecha de nacimiento: %s
+								Ciclo: %s
+								Curso: %s
+								Grupo: %s
+								-------------------------
+								""", alumno.getNia(), alumno.getNombre(), alumno.getApellidos(), alumno.getGenero(),
+								Fechas.formatear(alumno.getFechaNacimiento()), alumno.getCiclo(), alumno.getCurso(),
+								alumno.getGrupo() != null ? alumno.getGrupo().getNombreGrupo() : "Sin grupo");
+					} else {
+						System.out.printf("NIA: %d, Nombre: %s%n", alumno.getNia(), alumno.getNombre());
+					}
+				}
+				if (pagina.size() < TAMANO_PAGINA_STREAM) {
+					break;
+				}
+				pagina = obtenerPaginaAlumnos(pagina.get(pagina.size() - 1).getNia(), TAMANO_PAGINA_STREAM);
+			}
+
+			// Si estamos en modo "NIA y nombre", permitir al usuario seleccionar un NIA
+			if (!mostrarTodaLaInformacion) {
+				System.out.println("\nIntroduce el NIA del alumno que deseas visualizar (o 0 para salir):");
+				while (true) {
+					try {
+						int niaSeleccionado = Integer.parseInt(sc.nextLine().trim());
+
+						if (niaSeleccionado == 0) {
+							System.out.println("Saliendo sin seleccionar un alumno.");
+							return true;
+						}
+
+						if (mostrarAlumnoPorNIA(niaSeleccionado)) {
+							return true;
+						}
+						System.out.println("Inténtalo de nuevo (o 0 para salir):");
+					} catch (NumberFormatException e) {
+						System.out.println("El NIA debe ser un número válido. Inténtalo de nuevo:");
+					}
+				}
+			}
+
+			return true;
+		} catch (ExcepcionAccesoDatos e) {
+			// La página que ha fallado ya está registrada en el log
+			System.out.println("Se produjo un error al recuperar los alumnos. Revisa los logs para más detalles.");
+			return false;
+		}
+	}
+
+	/**
+	 * Devuelve una página de alumnos con NIA mayor que {@code niaAnterior},
+	 * ordenada por NIA. La consulta recorre el índice de la clave primaria desde
+	 * ese NIA, por lo que el coste de cada página no depende del tamaño de la
+	 * tabla.
+	 *
+	 * @param niaAnterior  NIA del último alumno de la página anterior.
+	 * @param tamanoPagina Número máximo de alumnos de la página.
+	 * @return los alumnos de la página, o una lista vacía si no hay más.
+	 * @throws ExcepcionAccesoDatos si falla la consulta.
+	 */
+	@Override
+	public List<Alumno> obtenerPaginaAlumnos(int niaAnterior, int tamanoPagina) {
+		String sql = """
+				    SELECT a.nia, a.nombre, a.apellidos, a.genero, a.fechaNacimiento,
+				           a.ciclo, a.curso, a.numeroGrupo, g.nombreGrupo
+				    FROM alumnos a
+				    LEFT JOIN grupos g ON a.numeroGrupo = g.numeroGrupo
+				    WHERE a.nia > ?
+				    ORDER BY a.nia
+				    LIMIT ?
+				""";
+
+		List<Alumno> pagina = new ArrayList<>(tamanoPagina);
+
+		try (Connection conexion = PoolConexiones.getConnection();
+				PreparedStatement sentencia = conexion.prepareStatement(sql)) {
+
+			sentencia.setInt(1, niaAnterior);
+			sentencia.setInt(2, tamanoPagina);
+
+			try (ResultSet resultado = sentencia.executeQuery()) {
+				while (resultado.next()) {
+					pagina.add(mapearAlumno(resultado));
+				}
+			}
+		} catch (SQLException e) {
+			loggerExcepciones.error("Error al recuperar la página de alumnos tras el NIA {}: {}", niaAnterior,
+					e.getMessage(), e);
+			throw new ExcepcionAccesoDatos("Error al recuperar la página de alumnos tras el NIA " + niaAnterior, e);
+		}
+
+		return pagina;
+	}
+
+	/**
+	 * Construye un Alumno a partir de la fila actual de un ResultSet con las
+	 * columnas de 'alumnos' más 'nombreGrupo'.
+	 *
+	 * @param resultado ResultSet posicionado en una fila.
+	 * @return el alumno de la fila.
+	 * @throws SQLException si falta alguna columna.
+	 */
+	static Alumno mapearAlumno(ResultSet resultado) throws SQLException {
+		String genero = resultado.getString("genero");
+		String nombreGrupo = resultado.getString("nombreGrupo");
+
+		return new Alumno(resultado.getInt("nia"), resultado.getString("nombre"), resultado.getString("apellidos"),
+				genero == null || genero.isEmpty() ? 'S' : genero.charAt(0),
+				resultado.getObject("fechaNacimiento", LocalDate.class), resultado.getString("ciclo"),
+				resultado.getString("curso"),
+				nombreGrupo == null ? null : new Grupo(resultado.getInt("numeroGrupo"), nombreGrupo));
+	}
+
+	// Repositorio sin consola (RepositorioAlumnos) ////////////////////////////
+
+	@Override
+	public Optional<Alumno> buscarPorNia(int nia) {
+		String sql = """
+				    SELECT a.nia, a.nombre, a.apellidos, a.genero, a.fechaNacimiento,
+				           a.ciclo, a.curso, a.numeroGrupo, g.nombreGrupo
+				    FROM alumnos a
+				    LEFT JOIN grupos g ON a.numeroGrupo = g.numeroGrupo
+				    WHERE a.nia = ?
+				""";
+
+		try (Connection conexion = PoolConexiones.getConnection();
+				PreparedStatement sentencia = conexion.prepareStatement(sql)) {
+
+			sentencia.setInt(1, nia);
+
+			try (ResultSet resultado = sentencia.executeQuery()) {
+				return resultado.next() ? Optional.of(mapearAlumno(resultado)) : Optional.empty();
+			}
+		} catch (SQLException e) {
+			loggerExcepciones.error("Error al buscar el alumno con NIA {}: {}", nia, e.getMessage(), e);
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Página de alumnos de un grupo con NIA mayor que {@code niaAnterior}. El
+	 * grupo se resuelve con la caché y la consulta filtra por numeroGrupo.
+	 */
+	@Override
+	public List<Alumno> obtenerPaginaAlumnosPorGrupo(String nombreGrupo, int niaAnterior, int tamanoPagina) {
+		int numeroGrupo = obtenerNumeroGrupo(nombreGrupo);
+		if (numeroGrupo == -1) {
+			return new ArrayList<>();
+		}
+
+		String sql = """
+				    SELECT a.nia, a.nombre, a.apellidos, a.genero, a.fechaNacimiento,
+				           a.ciclo, a.curso, a.numeroGrupo, g.nombreGrupo
+				    FROM alumnos a
+				    JOIN grupos g ON a.numeroGrupo = g.numeroGrupo
+				    WHERE a.numeroGrupo = ? AND a.nia > ?
+				    ORDER BY a.nia
+				    LIMIT ?
+				""";
+
+		List<Alumno> pagina = new ArrayList<>(tamanoPagina);
+
+		try (Connection conexion = PoolConexiones.getConnection();
+				PreparedStatement sentencia = conexion.prepareStatement(sql)) {
+
+			sentencia.setInt(1, numeroGrupo);
+			sentencia.setInt(2, niaAnterior);
+			sentencia.setInt(3, tamanoPagina);
+
+			try (ResultSet resultado = sentencia.executeQuery()) {
+				while (resultado.next()) {
+					pagina.add(mapearAlumno(resultado));
+				}
+			}
+		} catch (SQLException e) {
+			loggerExcepciones.error("Error al recuperar los alumnos del grupo '{}' tras el NIA {}: {}", nombreGrupo,
+					niaAnterior, e.getMessage(), e);
+			throw new ExcepcionAccesoDatos(
+					"Error al recuperar los alumnos del grupo '" + nombreGrupo + "' tras el NIA " + niaAnterior, e);
+		}
+
+		return pagina;
+	}
+
+	@Override
+	public List<Grupo> buscarGrupos() {
+		String sql = "SELECT numeroGrupo, nombreGrupo FROM grupos ORDER BY nombreGrupo";
+		List<Grupo> grupos = new ArrayList<>();
+
+		try (Connection conexion = PoolConexiones.getConnection();
+				PreparedStatement sentencia = conexion.prepareStatement(sql);
+				ResultSet resultado = sentencia.executeQuery()) {
+
+			while (resultado.next()) {
+				Grupo grupo = new Grupo(resultado.getInt("numeroGrupo"), resultado.getString("nombreGrupo"));
+				cacheGrupos.registrar(grupo.getNombreGrupo(), grupo.getNumeroGrupo());
+				grupos.add(grupo);
+			}
+		} catch (SQLException e) {
+			loggerExcepciones.error("Error al recuperar los grupos: {}", e.getMessage(), e);
+		}
+
+		return grupos;
+	}
+
+	/**
+	 * Inserta los alumnos por lotes en una única conexión, con commit por cada
+	 * lote de {@code tamanoLote} filas.
+	 */
+	@Override
+	public int guardarTodos(Collection<Alumno> alumnos) {
+		return guardarTodos(alumnos, false);
+	}
+
+	/**
+	 * Igual que {@link #guardarTodos(Collection)}, pero antes se consultan de una
+	 * vez los NIA que ya existen para ignorar esos alumnos.
+	 */
+	@Override
+	public int guardarTodosConNia(Collection<Alumno> alumnos) {
+		return guardarTodos(alumnos, true);
+	}
+
+	private int guardarTodos(Collection<Alumno> alumnos, boolean conservarNias) {
+		int insertados = 0;
+
+		try (Connection conexion = PoolConexiones.getConnection()) {
+			boolean autoCommitOriginal = conexion.getAutoCommit();
+			conexion.setAutoCommit(false);
+
+			try (PreparedStatement sentenciaGrupo = conexion.prepareStatement(SQL_NUMERO_GRUPO);
+					PreparedStatement sentencia = conexion
+							.prepareStatement(conservarNias ? SQL_INSERTAR_ALUMNO_CON_NIA : SQL_INSERTAR_ALUMNO)) {
+				Set<Integer> niasOcupados = conservarNias ? buscarNiasExistentes(conexion, alumnos) : Set.of();
+				int filasEnLote = 0;
+
+				for (Alumno alumno : alumnos) {
+					if (conservarNias && !niasOcupados.add(alumno.getNia())) {
+						loggerGeneral.warn("El NIA {} ya existe. Alumno ignorado.", alumno.getNia());
+						continue;
+					}
+					String nombreGrupo = alumno.getGrupo() == null ? null : alumno.getGrupo().getNombreGrupo();
+					int numeroGrupo = nombreGrupo == null ? -1 : obtenerNumeroGrupo(sentenciaGrupo, nombreGrupo);
+					if (numeroGrupo == -1) {
+						loggerGeneral.warn("El grupo '{}' no existe en la base de datos. Alumno ignorado.", nombreGrupo);
+						continue;
+					}
+
+					alumno.getGrupo().setNumeroGrupo(numeroGrupo);
+					if (conservarNias) {
+						sentencia.setInt(8, alumno.getNia());
+					}
+					anadirAlLote(sentencia, alumno);
+
+					if (++filasEnLote == tamanoLote) {
+						insertados += ejecutarLote(conexion, sentencia, filasEnLote);
+						filasEnLote = 0;
+					}
+				}
+
+				if (filasEnLote > 0) {
+					insertados += ejecutarLote(conexion, sentencia, filasEnLote);
+				}
+			} catch (SQLException e) {
+				conexion.rollback();
+				throw e;
+			} finally {
+				conexion.setAutoCommit(autoCommitOriginal);
+			}
+		} catch (SQLException e) {
+			loggerExcepciones.error("Error al guardar {} alumnos ({} ya confirmados): {}", alumnos.size(), insertados,
+					e.getMessage(), e);
+		}
+
+		return insertados;
+	}
+
+	/**
+	 * @return los NIA de {@code alumnos} que ya están en la tabla (en un conjunto
+	 *         modificable), consultados con un IN de hasta {@code tamanoLote}
+	 *         NIA por sentencia.
+	 */
+	private Set<Integer> buscarNiasExistentes(Connection conexion, Collection<Alumno> alumnos) throws SQLException {
+		Set<Integer> existentes = new HashSet<>();
+		List<Alumno> lista = new ArrayList<>(alumnos);
+
+		for (int desde = 0; desde < lista.size(); desde += tamanoLote) {
+			List<Alumno> tramo = lista.subList(desde, Math.min(desde + tamanoLote, lista.size()));
+			String sql = "SELECT nia FROM alumnos WHERE nia IN (" + "?, ".repeat(tramo.size() - 1) + "?)";
+
+			try (PreparedStatement sentencia = conexion.prepareStatement(sql)) {
+				for (int i = 0; i < tramo.size(); i++) {
+					sentencia.setInt(i + 1, tramo.get(i).getNia());
+				}
+				try (ResultSet resultado = sentencia.executeQuery()) {
+					while (resultado.next()) {
+						existentes.add(resultado.getInt(1));
+					}
+				}
+			}
+		}
+		return existentes;
+	}
+
+	/**
+	 * Escribe la copia binaria con una única consulta leída fila a fila, en lugar
+	 * de una consulta por página.
+	 */
+	@Override
+	public long exportarSnapshot(Path fichero) {
+		String sql = """
+				    SELECT a.nia, a.nombre, a.apellidos, a.genero, a.fechaNacimiento,
+				           a.ciclo, a.curso, a.numeroGrupo, g.nombreGrupo
+				    FROM alumnos a
+				    LEFT JOIN grupos g ON a.numeroGrupo = g.numeroGrupo
+				    ORDER BY a.nia
+				""";
+
+		return EscritorSnapshot.exportar(this, fichero, escritor -> {
+			try (Connection conexion = PoolConexiones.getConnection();
+					PreparedStatement sentencia = conexion.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+							ResultSet.CONCUR_READ_ONLY)) {
+
+				// Con Integer.MIN_VALUE el driver de MySQL lee el resultado fila a fila
+				sentencia.setFetchSize(Integer.MIN_VALUE);
+
+				try (ResultSet resultado = sentencia.executeQuery()) {
+					while (resultado.next()) {
+						escritor.escribirAlumno(mapearAlumno(resultado));
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Calcula los cuatro recuentos con GROUP BY en la base de datos, en una
+	 * misma conexión.
+	 */
+	@Override
+	public Optional<EstadisticasAlumnos> calcularEstadisticas() {
+		EstadisticasAlumnos estadisticas = new EstadisticasAlumnos();
+
+		try (Connection conexion = PoolConexiones.getConnection()) {
+			try (PreparedStatement sentencia = conexion.prepareStatement(SQL_ALUMNOS_POR_GRUPO);
+					ResultSet resultado = sentencia.executeQuery()) {
+				while (resultado.next()) {
+					estadisticas.sumarGrupo(resultado.getString("nombreGrupo"), resultado.getLong("alumnos"));
+				}
+			}
+			try (PreparedStatement sentencia = conexion.prepareStatement(SQL_ALUMNOS_POR_CICLO_CURSO);
+					ResultSet resultado = sentencia.executeQuery()) {
+				while (resultado.next()) {
+					estadisticas.sumarCicloCurso(resultado.getString("ciclo"), resultado.getString("curso"),
+							resultado.getLong("alumnos"));
+				}
+			}
+			try (PreparedStatement sentencia = conexion.prepareStatement(SQL_ALUMNOS_POR_GENERO);
+					ResultSet resultado = sentencia.executeQuery()) {
+				while (resultado.next()) {
+					String genero = resultado.getString("genero");
+					estadisticas.sumarGenero(genero == null || genero.isEmpty() ? 'S' : genero.charAt(0),
+							resultado.getLong("alumnos"));
+				}
+			}
+			try (PreparedStatement sentencia = conexion.prepareStatement(SQL_ALUMNOS_POR_ANIO);
+					ResultSet resultado = sentencia.executeQuery()) {
+				while (resultado.next()) {
+					estadisticas.sumarAnioNacimiento(resultado.getObject("anio", Integer.class),
+							resultado.getLong("alumnos"));
+				}
+			}
+		} catch (SQLException e) {
+			loggerExcepciones.error("Error al calcular las estadísticas de alumnos: {}", e.getMessage(), e);
+			return Optional.empty();
+		}
+
+		return Optional.of(estadisticas);
+	}
+
+	/**
+	 * Guarda todos los alumnos en un fichero de texto. La información incluye sus
+	 * datos y el grupo al que pertenecen. Los alumnos se ordenan de forma
+	 * ascendente por su NIA.
+	 */
+	@Override
+	public void guardarAlumnosEnFicheroTexto(boolean sobrescribir) {
+		Path fichero = FicherosComprimidos.rutaExportacion(Path.of("alumnos.txt"));
+		String nombreFichero = fichero.toString();
+
+		if (Files.exists(fichero) && !sobrescribir) {
+			System.out.println("Operación cancelada. El fichero no se sobrescribirá.");
+			loggerGeneral.info("No se sobrescribe el fichero existente '{}'.", nombreFichero);
+			return;
+		}
+
+		String sql = """
+				    SELECT a.nia, a.nombre, a.apellidos, a.genero,
+				           a.fechaNacimiento, a.ciclo, a.curso, a.numeroGrupo, g.nombreGrupo
+				    FROM alumnos a
+				    LEFT JOIN grupos g ON a.numeroGrupo = g.numeroGrupo
+				    ORDER BY a.nia ASC
+				""";
+
+		// Intentar escribir en el fichero
+		try (BufferedWriter writer = FicherosComprimidos.abrirEscritor(fichero);
+				Connection conexion = PoolConexiones.getConnection();
+				PreparedStatement sentencia = conexion.prepareStatement(sql);
+				ResultSet resultado = sentencia.executeQuery()) {
+
+			// Escribir encabezados en el fichero
+			CodecCSVAlumnos.escribirCabecera(writer);
+
+			if (!resultado.isBeforeFirst()) {
+				System.out.println("No hay alumnos registrados para guardar en el fichero.");
+				loggerGeneral.info("No se encontraron alumnos en la base de datos para guardar en el fichero.");
+				return;
+			}
+
+			// Escribir los datos de los alumnos en el fichero
+			CodecCSVAlumnos codec = CodecCSVAlumnos.delHilo();
+			while (resultado.next()) {
+				codec.escribir(mapearAlumno(resultado), writer);
+			}
+
+			System.out.println("Datos de los alumnos guardados correctamente en el fichero '" + nombreFichero + "'.");
+			loggerGeneral.info("Los datos de los alumnos se guardaron correctamente en el fichero '{}'.",
+					nombreFichero);
+
+		} catch (SQLException e) {
+			loggerExcepciones.error("Error al ejecutar la consulta SQL: {}", e.getMessage(), e);
+			System.out.println("Se produjo un error al recuperar los datos. Revisa los logs para más detalles.");
+		} catch (IOException e) {
+			loggerExcepciones.error("Error al escribir en el fichero '{}': {}", nombreFichero, e.getMessage(), e);
+			System.out.println("Se produjo un error al escribir en el fichero. Revisa los logs para más detalles.");
+		}
+	}
+
+	/**
+	 * Lee los alumnos desde el fichero de texto 'alumnos.txt' y los inserta en la
+	 * base de datos. El formato del fichero debe ser:
+	 * NIA,Nombre,Apellidos,Género,Fecha Nacimiento,Ciclo,Curso,Nombre del Grupo
+	 *
+	 * Según el modo de importación configurado, los alumnos se insertan de uno en
+	 * uno, por lotes (ver {@link #importarAlumnosPorLotes(String, int)}), con el
+	 * pipeline concurrente (ver {@link #importarAlumnosEnParalelo(String)}) o con
+	 * la carga masiva del servidor (ver
+	 * {@link #importarAlumnosConLoadData(String)}).
+	 *
+	 * @return true si todos los alumnos fueron insertados correctamente, false si
+	 *         ocurrió algún error.
+	 */
+	@Override
+	public boolean leerAlumnosDeFicheroTexto() {
+		String fichero = FicherosComprimidos.rutaImportacion(Path.of("alumnos.txt")).toString();
+
+		switch (modoImportacion) {
+		case LOTES -> {
+			return importarAlumnosPorLotes(fichero, tamanoLote);
+		}
+		case CONCURRENTE -> {
+			return importarAlumnosEnParalelo(fichero);
+		}
+		case LOAD_DATA -> {
+			return importarAlumnosConLoadData(fichero);
+		}
+		default -> {
+			// FILA_A_FILA: se sigue con la inserción de uno en uno
+		}
+		}
+
+		int lineasInsertadas = 0;
+
+		try (BufferedReader br = FicherosComprimidos.abrirLector(Path.of(fichero))) {
+			CodecCSVAlumnos codec = CodecCSVAlumnos.delHilo();
+			String linea;
+
+			// Ignorar la primera línea (cabecera)
+			br.readLine();
+
+			while ((linea = CodecCSVAlumnos.leerRegistro(br)) != null) {
+				loggerGeneral.info("Leyendo línea: {}", linea);
+
+				Alumno alumno = codec.analizar(linea);
+				if (alumno == null) {
+					loggerGeneral.warn("Línea inválida en el fichero: {}", linea);
+					continue;
+				}
+				if (alumno.getGrupo() == null) {
+					loggerGeneral.warn("Alumno sin grupo en el fichero. Alumno ignorado: {}", linea);
+					continue;
+				}
+
+				// Obtener el número del grupo
+				String grupo = alumno.getGrupo().getNombreGrupo();
+				int numeroGrupo = obtenerNumeroGrupo(grupo);
+
+				if (numeroGrupo != -1) {
+					alumno.getGrupo().setNumeroGrupo(numeroGrupo);
+
+					// Insertar el alumno en la base de datos
+					if (insertarAlumno(alumno)) {
+						lineasInsertadas++;
+						loggerGeneral.info("Alumno insertado: {} {}", alumno.getNombre(), alumno.getApellidos());
+					} else {
+						loggerGeneral.warn("No se pudo insertar el alumno: {} {}", alumno.getNombre(),
+								alumno.getApellidos());
+					}
+				} else {
+					loggerGeneral.warn("El grupo '{}' no existe en la base de datos. Alumno ignorado.", grupo);
+				}
+			}
+
+			if (lineasInsertadas > 0) {
+				System.out.println("Alumnos leídos e insertados correctamente desde el fichero 'alumnos.txt'.");
+				loggerGeneral.info("Alumnos leídos e insertados correctamente.");
+				return true;
+			} else {
+				System.out.println("No se insertaron alumnos.");
+				loggerGeneral.info("No se insertaron alumnos.");
+				return false;
+			}
+		} catch (IOException e) {
+			loggerExcepciones.error("Ocurrió un error al leer el archivo '{}': {}", fichero, e.getMessage(), e);
+			System.out.println("Ocurrió un error al leer el archivo: " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Importa los alumnos de un fichero de texto usando una única conexión del
+	 * pool. El fichero se lee mapeado en memoria con {@link LectorAlumnosMapeado}
+	 * y las inserciones se agrupan con addBatch/executeBatch, confirmando una
+	 * transacción por cada lote de {@code tamanoLote} filas. Los números de grupo
+	 * se resuelven una sola vez por nombre de grupo. Al terminar se informa del
+	 * rendimiento en filas por segundo.
+	 *
+	 * @param fichero    Ruta del fichero con el formato de 'alumnos.txt'.
+	 * @param tamanoLote Número de filas por lote y por commit.
+	 * @return true si se insertó al menos un alumno y no hubo errores de base de
+	 *         datos, false en caso contrario.
+	 */
+	public boolean importarAlumnosPorLotes(String fichero, int tamanoLote) {
+		Set<String> gruposInexistentes = new HashSet<>();
+		LectorAlumnosMapeado lector = new LectorAlumnosMapeado();
+
+		// Contadores modificados desde el receptor: filas insertadas, en lote e ignoradas
+		int[] filas = new int[3];
+		long inicio = System.nanoTime();
+
+		try (Connection conexion = PoolConexiones.getConnection()) {
+
+			boolean autoCommitOriginal = conexion.getAutoCommit();
+			conexion.setAutoCommit(false);
+
+			try (PreparedStatement sentenciaGrupo = conexion.prepareStatement(SQL_NUMERO_GRUPO);
+					PreparedStatement sentencia = conexion.prepareStatement(SQL_INSERTAR_ALUMNO)) {
+
+				lector.leer(Path.of(fichero), alumno -> {
+					String grupo = alumno.getGrupo().getNombreGrupo();
+					int numeroGrupo = gruposInexistentes.contains(grupo) ? -1
+							: obtenerNumeroGrupo(sentenciaGrupo, grupo);
+
+					if (numeroGrupo == -1) {
+						gruposInexistentes.add(grupo);
+						loggerGeneral.warn("El grupo '{}' no existe en la base de datos. Alumno ignorado.", grupo);
+						filas[2]++;
+						return;
+					}
+
+					alumno.getGrupo().setNumeroGrupo(numeroGrupo);
+					anadirAlLote(sentencia, alumno);
+
+					if (++filas[1] == tamanoLote) {
+						filas[0] += ejecutarLote(conexion, sentencia, filas[1]);
+						filas[1] = 0;
+					}
+				});
+
+				if (filas[1] > 0) {
+					filas[0] += ejecutarLote(conexion, sentencia, filas[1]);
+				}
+			} catch (SQLException | IOException e) {
+				conexion.rollback();
+				throw e;
+			} finally {
+				conexion.setAutoCommit(autoCommitOriginal);
+			}
+		} catch (IOException e) {
+			loggerExcepciones.error("Ocurrió un error al leer el archivo '{}': {}", fichero, e.getMessage(), e);
+			System.out.println("Ocurrió un error al leer el archivo: " + e.getMessage());
+			return false;
+		} catch (SQLException e) {
+			loggerExcepciones.error("Error al importar por lotes desde '{}' ({} alumnos ya confirmados): {}", fichero,
+					filas[0], e.getMessage(), e);
+			System.out.println("Error en la base de datos durante la importación. Alumnos confirmados: " + filas[0]
+					+ ". Revisa los logs.");
+			return false;
+		}
+
+		int lineasInsertadas = filas[0];
+		long lineasIgnoradas = filas[2] + lector.getLineasInvalidas();
+		double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+		double filasPorSegundo = segundos > 0 ? lineasInsertadas / segundos : lineasInsertadas;
+		loggerGeneral.info("Importación por lotes de '{}': {} alumnos insertados, {} líneas ignoradas, {} s ({} filas/s).",
+				fichero, lineasInsertadas, lineasIgnoradas, String.format("%.2f", segundos),
+				String.format("%.0f", filasPorSegundo));
+		loggerGeneral.info("{}", cacheGrupos);
+		System.out.printf("Importados %d alumnos en %.2f s (%.0f filas/s). Líneas ignoradas: %d.%n", lineasInsertadas,
+				segundos, filasPorSegundo, lineasIgnoradas);
+
+		return lineasInsertadas > 0;
+	}
+
+	/**
+	 * Importa los alumnos de un fichero de texto con {@link PipelineImportacion}:
+	 * un hilo lector, varios hilos virtuales que analizan y validan las líneas y
+	 * esta etapa final de escritura, que es la dueña de una única conexión del
+	 * pool y envía los alumnos por lotes con commit por lote.
+	 *
+	 * @param fichero Ruta del fichero con el formato de 'alumnos.txt'.
+	 * @return true si se insertó al menos un alumno y no hubo errores, false en
+	 *         caso contrario.
+	 */
+	public boolean importarAlumnosEnParalelo(String fichero) {
+		Set<String> gruposInexistentes = ConcurrentHashMap.newKeySet();
+		PipelineImportacion pipeline = new PipelineImportacion(tamanoLote);
+
+		try (Connection conexion = PoolConexiones.getConnection()) {
+			boolean autoCommitOriginal = conexion.getAutoCommit();
+			conexion.setAutoCommit(false);
+
+			try (PreparedStatement sentenciaGrupo = conexion.prepareStatement(SQL_NUMERO_GRUPO);
+					PreparedStatement sentencia = conexion.prepareStatement(SQL_INSERTAR_ALUMNO)) {
+
+				PipelineImportacion.Resultado resultado = pipeline.ejecutar(Path.of(fichero),
+						PipelineImportacion::analizarLinea, lote -> {
+							int filasEnLote = 0;
+							for (Alumno alumno : lote) {
+								String grupo = alumno.getGrupo().getNombreGrupo();
+								int numeroGrupo = gruposInexistentes.contains(grupo) ? -1
+										: obtenerNumeroGrupo(sentenciaGrupo, grupo);
+
+								if (numeroGrupo == -1) {
+									gruposInexistentes.add(grupo);
+									loggerGeneral.warn("El grupo '{}' no existe en la base de datos. Alumno ignorado.",
+											grupo);
+									continue;
+								}
+
+								alumno.getGrupo().setNumeroGrupo(numeroGrupo);
+								anadirAlLote(sentencia, alumno);
+								filasEnLote++;
+							}
+							return ejecutarLote(conexion, sentencia, filasEnLote);
+						});
+
+				System.out.println("Importación en paralelo: " + resultado + ".");
+				loggerGeneral.info("{}", cacheGrupos);
+				return resultado.alumnosInsertados() > 0;
+			} catch (Exception e) {
+				conexion.rollback();
+				throw e;
+			} finally {
+				conexion.setAutoCommit(autoCommitOriginal);
+			}
+		} catch (IOException e) {
+			loggerExcepciones.error("Ocurrió un error al leer el archivo '{}': {}", fichero, e.getMessage(), e);
+			System.out.println("Ocurrió un error al leer el archivo: " + e.getMessage());
+		} catch (Exception e) {
+			loggerExcepciones.error("Error en la importación en paralelo desde '{}': {}", fichero, e.getMessage(), e);
+			System.out.println("Error en la base de datos durante la importación. Revisa los logs.");
+		}
+		return false;
+	}
+
+	/**
+	 * Importa los alumnos con la carga masiva del servidor MySQL: el fichero se
+	 * envía con {@code LOAD DATA LOCAL INFILE} desde un InputStream (no hace falta
+	 * que el fichero esté en el servidor) a una tabla temporal, y desde ahí se
+	 * insertan en 'alumnos' con un único {@code INSERT ... SELECT} que resuelve el
+	 * numeroGrupo con un JOIN a 'grupos'. Los alumnos cuyo grupo no existe se
+	 * informan agrupados por grupo.
+	 *
+	 * Requiere {@code db.allowLoadLocalInfile=true} en db.properties y
+	 * {@code local_infile=ON} en el servidor; si la opción del cliente está
+	 * desactivada se importa por lotes.
+	 *
+	 * @param fichero Ruta del fichero con el formato de 'alumnos.txt'.
+	 * @return true si se insertó al menos un alumno, false en caso contrario.
+	 */
+	public boolean importarAlumnosConLoadData(String fichero) {
+		if (!PoolConexiones.isLoadLocalInfilePermitido()) {
+			loggerGeneral.warn("LOAD DATA LOCAL INFILE no está habilitado (db.allowLoadLocalInfile). Se importa por lotes.");
+			return importarAlumnosPorLotes(fichero, tamanoLote);
+		}
+
+		long inicio = System.nanoTime();
+
+		try (Connection conexion = PoolConexiones.getConnection()) {
+			boolean autoCommitOriginal = conexion.getAutoCommit();
+			conexion.setAutoCommit(false);
+
+			try (Statement sentencia = conexion.createStatement();
+					InputStream entrada = FicherosComprimidos.abrirEntrada(Path.of(fichero))) {
+
+				sentencia.execute("DROP TEMPORARY TABLE IF EXISTS carga_alumnos");
+				sentencia.execute(SQL_CREAR_TABLA_CARGA);
+
+				// El driver envía este flujo en lugar de abrir el fichero por su nombre
+				sentencia.unwrap(JdbcStatement.class).setLocalInfileInputStream(entrada);
+				int lineasCargadas = sentencia
+						.executeUpdate(String.format(SQL_LOAD_DATA, Path.of(fichero).getFileName().toString().replace("'", "")));
+
+				int alumnosInsertados = sentencia.executeUpdate(SQL_INSERTAR_DESDE_CARGA);
+
+				int rechazadosPorGrupo = 0;
+				try (ResultSet rechazados = sentencia.executeQuery(SQL_GRUPOS_RECHAZADOS)) {
+					while (rechazados.next()) {
+						int alumnos = rechazados.getInt("alumnos");
+						rechazadosPorGrupo += alumnos;
+						loggerGeneral.warn("El grupo '{}' no existe en la base de datos. {} alumnos ignorados.",
+								rechazados.getString("nombreGrupo"), alumnos);
+					}
+				}
+
+				conexion.commit();
+				sentencia.execute("DROP TEMPORARY TABLE IF EXISTS carga_alumnos");
+
+				int lineasInvalidas = lineasCargadas - alumnosInsertados - rechazadosPorGrupo;
+				double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+				double filasPorSegundo = segundos > 0 ? alumnosInsertados / segundos : alumnosInsertados;
+				loggerGeneral.info(
+						"LOAD DATA de '{}': {} líneas cargadas, {} alumnos insertados, {} rechazados por grupo, {} líneas inválidas, {} s ({} filas/s).",
+						fichero, lineasCargadas, alumnosInsertados, rechazadosPorGrupo, lineasInvalidas,
+						String.format("%.2f", segundos), String.format("%.0f", filasPorSegundo));
+				System.out.printf(
+						"Importados %d alumnos en %.2f s (%.0f filas/s). Rechazados por grupo inexistente: %d. Líneas inválidas: %d.%n",
+						alumnosInsertados, segundos, filasPorSegundo, rechazadosPorGrupo, lineasInvalidas);
+
+				return alumnosInsertados > 0;
+			} catch (SQLException | IOException e) {
+				conexion.rollback();
+				throw e;
+			} finally {
+				conexion.setAutoCommit(autoCommitOriginal);
+			}
+		} catch (IOException e) {
+			loggerExcepciones.error("Ocurrió un error al leer el archivo '{}': {}", fichero, e.getMessage(), e);
+			System.out.println("Ocurrió un error al leer el archivo: " + e.getMessage());
+		} catch (SQLException e) {
+			loggerExcepciones.error("Error en LOAD DATA desde '{}': {}", fichero, e.getMessage(), e);
+			System.out.println("Error en la base de datos durante la importación. Revisa los logs.");
+		}
+		return false;
+	}
+
+	/**
+	 * Añade un alumno al lote de la sentencia {@link #SQL_INSERTAR_ALUMNO}. El
+	 * grupo del alumno debe llevar ya su numeroGrupo.
+	 */
+	private void anadirAlLote(PreparedStatement sentencia, Alumno alumno) throws SQLException {
+		sentencia.setString(1, alumno.getNombre());
+		sentencia.setString(2, alumno.getApellidos());
+		sentencia.setString(3, String.valueOf(alumno.getGenero()));
+		sentencia.setObject(4, alumno.getFechaNacimiento());
+		sentencia.setString(5, alumno.getCiclo());
+		sentencia.setString(6, alumno.getCurso());
+		sentencia.setInt(7, alumno.getGrupo().getNumeroGrupo());
+		sentencia.addBatch();
+	}
+
+	/**
+	 * Ejecuta el lote pendiente de la sentencia y confirma la transacción.
+	 *
+	 * @param conexion     Conexión con el autocommit desactivado.
+	 * @param sentencia    Sentencia con las filas añadidas mediante addBatch.
+	 * @param filasEnLote  Número de filas añadidas al lote.
+	 * @return el número de filas insertadas.
+	 * @throws SQLException si falla la ejecución del lote o el commit.
+	 */
+	private int ejecutarLote(Connection conexion, PreparedStatement sentencia, int filasEnLote) throws SQLException {
+		int[] resultados = sentencia.executeBatch();
+		conexion.commit();
+
+		int insertadas = 0;
+		for (int resultado : resultados) {
+			// Con rewriteBatchedStatements el driver devuelve SUCCESS_NO_INFO por fila
+			if (resultado > 0 || resultado == Statement.SUCCESS_NO_INFO) {
+				insertadas++;
+			}
+		}
+		loggerGeneral.debug("Lote de {} filas confirmado ({} insertadas).", filasEnLote, insertadas);
+		return insertadas;
+	}
+
+	/**
+	 * Ejecuta una operación genérica en la base de datos basada en un NIA.
+	 * 
+	 * @param sql                 La consulta SQL a ejecutar.
+	 * @param configuracionParams Función para configurar los parámetros del
+	 *                            PreparedStatement.
+	 * @return true si la operación afecta filas en la base de datos, false en caso
+	 *         contrario.
+	 */
+	public boolean ejecutarOperacionConNIA(String sql, Consumer<PreparedStatement> configuracionParams) {
+		try (Connection conexion = PoolConexiones.getConnection();
+				PreparedStatement sentencia = conexion.prepareStatement(sql)) {
+
+			// Configurar los parámetros usando la función pasada como argumento
+			configuracionParams.accept(sentencia);
+
+			// Ejecutar la consulta
+			int filasAfectadas = sentencia.executeUpdate();
+
+			if (filasAfectadas > 0) {
+				loggerGeneral.info("Operación ejecutada correctamente. SQL: {}", sql);
+				return true;
+			} else {
+				loggerGeneral.warn("Operación no afectó filas. SQL: {}", sql);
+				return false;
+			}
+		} catch (SQLException e) {
+			loggerExcepciones.error("Error al ejecutar la operación SQL '{}': {}", sql, e.getMessage(), e);
+			System.out.println("Error en la operación: " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Modifica el nombre de un alumno en la base de datos basado en su NIA.
+	 * 
+	 * @param nia         NIA del alumno.
+	 * @param nuevoNombre Nuevo nombre del alumno.
+	 * @return true si la modificación fue exitosa; false en caso contrario.
+	 */
+	@Override
+	public boolean modificarNombreAlumnoPorNIA(int nia, String nuevoNombre) {
+		String sql = "UPDATE alumnos SET nombre = ? WHERE nia = ?";
+
+		return ejecutarOperacionConNIA(sql, sentencia -> {
+			try {
+				sentencia.setString(1, nuevoNombre);
+				sentencia.setInt(2, nia);
+			} catch (SQLException e) {
+				throw new RuntimeException("Error al configurar los parámetros", e);
+			}
+		});
+	}
+
+	/**
+	 * Elimina un alumno de la base de datos a partir de su NIA.
+	 * 
+	 * @param nia el NIA del alumno a eliminar.
+	 * @return true si el alumno fue eliminado correctamente, false en caso
+	 *         contrario.
+	 */
+	
+	@Override
+	public boolean eliminarAlumnoPorNIA(int nia) {
+		String sql = "DELETE FROM alumnos WHERE nia = ?";
+
+		return ejecutarOperacionConNIA(sql, sentencia -> {
+			try {
+				sentencia.setInt(1, nia);
+			} catch (SQLException e) {
+				throw new RuntimeException("Error al configurar los parámetros", e);
+			}
+		});
+	}
+
+	/**
+	 * Muestra toda la información de un alumno basándose en su NIA.
+	 * 
+	 * @param nia El NIA del alumno a mostrar.
+	 * @return true si el alumno fue encontrado y mostrado; false en caso contrario.
+	 */
+	@Override
+	public boolean mostrarAlumnoPorNIA(int nia) {
+		String sql = """
+				    SELECT a.nia, a.nombre, a.apellidos, a.genero, a.fechaNacimiento,
+				           a.ciclo, a.curso, g.nombreGrupo
+				    FROM alumnos a
+				    LEFT JOIN grupos g ON a.numeroGrupo = g.numeroGrupo
+				    WHERE a.nia = ?
+				""";
+
+		try (Connection conexion = PoolConexiones.getConnection();
+				PreparedStatement sentencia = conexion.prepareStatement(sql)) {
+
+			sentencia.setInt(1, nia);
+
+			try (ResultSet resultado = sentencia.executeQuery()) {
+				if (!resultado.isBeforeFirst()) {
+					System.out.println("No se encontró un alumno con el NIA proporcionado.");
+					loggerGeneral.warn("No se encontró un alumno con NIA {}.", nia);
+					return false;
+				}
+
+				// Mostrar datos del alumno
+				while (resultado.next()) {
+					System.out.printf("""
+							NIA: %d
+							Nombre: %s
+							Apellidos: %s
+							Género: %s
+							Fecha de nacimiento: %s
+							Ciclo: %s
+							Curso: %s
+							Grupo: %s
+							-------------------------
+							""", resultado.getInt("nia"), resultado.getString("nombre"),
+							resultado.getString("apellidos"), resultado.getString("genero"),
+							resultado.getDate("fechaNacimiento"), resultado.getString("ciclo"),
+							resultado.getString("curso"), resultado.getString("nombreGrupo") == null ? "Sin grupo"
+									: resultado.getString("nombreGrupo"));
+				}
+
+				loggerGeneral.info("Información del alumno con NIA {} mostrada correctamente.", nia);
+				return true;
+			}
+		} catch (SQLException e) {
+			loggerExcepciones.error("Error al consultar información del alumno con NIA {}: {}", nia, e.getMessage(), e);
+			System.out.println("Se produjo un error al mostrar la información del alumno. Revisa los logs.");
+			return false;
+		}
+	}
+
+	/**
+	 * Inserta un nuevo grupo en la base de datos.
+	 *
+	 * @param grupo El objeto Grupo que se desea insertar.
+	 * @return true si la inserción fue exitosa, false en caso contrario.
+	 */
+	@Override
+	public boolean insertarGrupo(Grupo grupo) {
+		String sql = "INSERT INTO grupos (nombreGrupo) VALUES (?)";
+
+		try (Connection conexion = PoolConexiones.getConnection();
+				PreparedStatement sentencia = conexion.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+			// Convertir el nombre del grupo a mayúsculas antes de insertar
+			String nombreGrupo = grupo.getNombreGrupo().toUpperCase();
+			sentencia.setString(1, nombreGrupo);
+
+			int filasAfectadas = sentencia.executeUpdate();
+
+			if (filasAfectadas > 0) {
+				try (ResultSet clavesGeneradas = sentencia.getGeneratedKeys()) {
+					if (clavesGeneradas.next()) {
+						grupo.setNumeroGrupo(clavesGeneradas.getInt(1));
+						cacheGrupos.registrar(nombreGrupo, grupo.getNumeroGrupo());
+					}
+				}
+				loggerGeneral.info("Grupo '{}' insertado exitosamente", nombreGrupo);
+				return true;
+			} else {
+				loggerGeneral.warn("No se pudo insertar el grupo '{}'", nombreGrupo);
+				return false;
+			}
+		} catch (SQLException e) {
+			loggerExcepciones.error("Error al insertar el grupo '{}': {}", grupo.getNombreGrupo(), e.getMessage(), e);
+			System.out.println("Error al insertar el grupo: " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Elimina a todos los alumnos de un grupo específico.
+	 * 
+	 * @param nombreGrupo el nombre del grupo cuyos alumnos serán eliminados.
+	 * @return true si se eliminaron correctamente, false si ocurrió un error.
+	 */
+	@Override
+	public boolean eliminarAlumnosPorGrupo(String nombreGrupo) {
+		String comprobarAlumnosSql = "SELECT COUNT(*) FROM alumnos WHERE numeroGrupo = (SELECT numeroGrupo FROM grupos WHERE nombreGrupo = ?)";
+		String eliminarAlumnosSql = "DELETE FROM alumnos WHERE numeroGrupo = (SELECT numeroGrupo FROM grupos WHERE nombreGrupo = ?)";
+
+		try (Connection conexion = PoolConexiones.getConnection();
+				PreparedStatement comprobarAlumnosSentencia = conexion.prepareStatement(comprobarAlumnosSql)) {
+
+			comprobarAlumnosSentencia.setString(1, nombreGrupo);
+
+			try (ResultSet resultado = comprobarAlumnosSentencia.executeQuery()) {
+				if (resultado.next() && resultado.getInt(1) == 0) {
+					loggerGeneral.info("No se encontraron alumnos en el grupo '{}'", nombreGrupo);
+					return false;
+				}
+			}
+
+			// Procedemos a eliminar los alumnos si existen
+			try (PreparedStatement sentencia = conexion.prepareStatement(eliminarAlumnosSql)) {
+				sentencia.setString(1, nombreGrupo);
+
+				int filasAfectadas = sentencia.executeUpdate();
+				if (filasAfectadas > 0) {
+					loggerGeneral.info("Alumnos del grupo '{}' eliminados exitosamente", nombreGrupo);
+					return true;
+				} else {
+					loggerGeneral.warn("No se eliminaron alumnos del grupo '{}'", nombreGrupo);
+					return false;
+				}
+			}
+		} catch (SQLException e) {
+			loggerExcepciones.error("Error al eliminar alumnos del grupo '{}': {}", nombreGrupo, e.getMessage(), e);
+			System.out.println("Error al eliminar alumnos del grupo: " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Muestra todos los grupos disponibles en la base de datos.
+	 * 
+	 * @return true si se muestran los grupos correctamente, false si no hay grupos
+	 *         o hay un error.
+	 */
+
+	@Override
+	public boolean mostrarTodosLosGrupos() {
+		String sql = "SELECT nombreGrupo FROM grupos";
+
+		try (Connection conexion = PoolConexiones.getConnection();
+				PreparedStatement sentencia = conexion.prepareStatement(sql);
+				ResultSet resultado = sentencia.executeQuery()) {
+
+			boolean hayGrupos = false;
+			while (resultado.next()) {
+				hayGrupos = true;
+				System.out.println("- " + resultado.getString("nombreGrupo"));
+			}
+
+			if (hayGrupos) {
+				loggerGeneral.info("Grupos mostrados exitosamente desde la base de datos.");
+				return true;
+			} else {
+				loggerGeneral.warn("No se encontraron grupos en la base de datos.");
+				return false;
+			}
+		} catch (SQLException e) {
+			loggerExcepciones.error("Error al mostrar los grupos: {}", e.getMessage(), e);
+			System.out.println("Error al mostrar los grupos: " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Guarda todos los grupos y sus alumnos en un archivo XML llamado 'grupos.xml'
+	 * ('grupos.xml.gz' si la compresión está activada, ver
+	 * {@link FicherosComprimidos}). Si el archivo ya existe, solo se sobrescribe
+	 * con {@code sobrescribir}. El fichero se escribe en streaming con
+	 * {@link EscritorXMLGrupos}, con memoria constante.
+	 * 
+	 * @param sobrescribir Si el archivo ya existe, true lo sustituye.
+	 * @return true si el archivo se guarda correctamente, false si ya existía y
+	 *         no se podía sobrescribir o si ocurre un error.
+	 */
+	@Override
+	public boolean guardarGruposEnXML(boolean sobrescribir) {
+		File archivoXML = FicherosComprimidos.rutaExportacion(Path.of("grupos.xml")).toFile();
+		String nombreArchivo = archivoXML.getPath();
+
+		if (archivoXML.exists() && !sobrescribir) {
+			loggerGeneral.warn("No se ha sobrescrito el archivo XML '{}' porque ya existe.", nombreArchivo);
+			System.out.println("El archivo no se ha sobrescrito.");
+			return false;
+		}
+
+		// Una única consulta ordenada por grupo y NIA: cada fila se escribe en cuanto
+		// se lee, sin construir el árbol DOM ni lanzar una consulta por grupo
+		String sql = """
+				SELECT g.numeroGrupo, g.nombreGrupo, a.nia, a.nombre, a.apellidos, a.genero,
+				       a.fechaNacimiento, a.ciclo, a.curso
+				FROM grupos g
+				LEFT JOIN alumnos a ON a.numeroGrupo = g.numeroGrupo
+				ORDER BY g.numeroGrupo, a.nia
+				""";
+
+		try (Connection conexion = PoolConexiones.getConnection();
+				PreparedStatement sentencia = conexion.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+						ResultSet.CONCUR_READ_ONLY)) {
+
+			// Con Integer.MIN_VALUE el driver de MySQL lee el resultado fila a fila
+			sentencia.setFetchSize(Integer.MIN_VALUE);
+
+			try (ResultSet resultado = sentencia.executeQuery();
+					EscritorXMLGrupos escritor = new EscritorXMLGrupos(archivoXML.toPath())) {
+
+				int grupoActual = -1;
+				while (resultado.next()) {
+					int numeroGrupo = resultado.getInt("numeroGrupo");
+					if (numeroGrupo != grupoActual) {
+						escritor.abrirGrupo(numeroGrupo, resultado.getString("nombreGrupo"));
+						grupoActual = numeroGrupo;
+					}
+
+					int nia = resultado.getInt("nia");
+					if (!resultado.wasNull()) { // Grupo sin alumnos en el LEFT JOIN
+						escritor.escribirAlumno(nia, resultado.getString("nombre"), resultado.getString("apellidos"),
+								resultado.getString("genero"), resultado.getString("fechaNacimiento"),
+								resultado.getString("ciclo"), resultado.getString("curso"));
+					}
+				}
+			}
+
+			loggerGeneral.info("El archivo XML se ha guardado correctamente en {}", nombreArchivo);
+			System.out.println("El archivo XML se ha guardado correctamente.");
+			return true;
+		} catch (XMLStreamException | IOException e) {
+			loggerExcepciones.error("Error al generar el archivo XML: {}", e.getMessage(), e);
+			System.out.println("Error al generar el archivo XML: " + e.getMessage());
+		} catch (SQLException e) {
+			loggerExcepciones.error("Error al consultar la base de datos: {}", e.getMessage(), e);
+			System.out.println("Error al consultar la base de datos: " + e.getMessage());
+		}
+		return false;
+	}
+
+	/**
+	 * Lee un archivo XML que contiene información sobre grupos y alumnos, y guarda
+	 * los datos en las tablas correspondientes de la base de datos. El fichero se
+	 * recorre en streaming con {@link LectorXMLGrupos} y los alumnos se insertan
+	 * por lotes, confirmando cada {@code tamanoLote} filas.
+	 *
+	 * @param rutaArchivo Ruta del archivo XML a procesar.
+	 * @return true si los datos fueron procesados e insertados correctamente, false
+	 *         en caso de error.
+	 */
+
+	public boolean leerYGuardarGruposXML(String rutaArchivo) {
+		File archivoXML = FicherosComprimidos.rutaImportacion(Path.of(rutaArchivo)).toFile();
+		if (!archivoXML.exists()) {
+			loggerExcepciones.error("El archivo XML no existe: {}", rutaArchivo);
+			System.err.println("El archivo XML no existe: " + rutaArchivo);
+			return false;
+		}
+
+		String sqlInsertarGrupo = "INSERT INTO grupos (nombreGrupo) VALUES (?)";
+		LectorXMLGrupos lector = new LectorXMLGrupos();
+		int[] alumnosInsertados = { 0 };
+		// Grupos creados que aún no se han confirmado: solo pasan a la caché tras el commit
+		Map<String, Integer> gruposSinConfirmar = new HashMap<>();
+
+		try (Connection conexion = PoolConexiones.getConnection()) {
+			boolean autoCommitOriginal = conexion.getAutoCommit();
+			conexion.setAutoCommit(false);
+
+			try (PreparedStatement consultaVerificarGrupo = conexion.prepareStatement(SQL_NUMERO_GRUPO);
+					PreparedStatement consultaInsertarGrupo = conexion.prepareStatement(sqlInsertarGrupo,
+							Statement.RETURN_GENERATED_KEYS);
+					PreparedStatement consultaInsertarAlumno = conexion.prepareStatement(SQL_INSERTAR_ALUMNO)) {
+
+				// Cada grupo se crea una sola vez y sus alumnos se insertan por lotes,
+				// confirmando la transacción cada 'tamanoLote' filas
+				lector.leer(archivoXML.toPath(), new LectorXMLGrupos.Destino() {
+					private int filasEnLote = 0;
+
+					@Override
+					public Grupo inicioGrupo(String nombreGrupo) throws SQLException {
+						// Verificar si el grupo ya existe (creado en esta importación, caché de
+						// grupos o base de datos). Los de esta importación no se consultan, porque
+						// la consulta los registraría en la caché antes del commit
+						Integer sinConfirmar = gruposSinConfirmar.get(nombreGrupo);
+						int numeroGrupo = sinConfirmar != null ? sinConfirmar
+								: obtenerNumeroGrupo(consultaVerificarGrupo, nombreGrupo);
+
+						// Si el grupo no existe, lo insertamos
+						if (numeroGrupo == -1) {
+							consultaInsertarGrupo.setString(1, nombreGrupo);
+							consultaInsertarGrupo.executeUpdate();
+
+							try (ResultSet clavesGeneradas = consultaInsertarGrupo.getGeneratedKeys()) {
+								if (clavesGeneradas.next()) {
+									numeroGrupo = clavesGeneradas.getInt(1);
+									gruposSinConfirmar.put(nombreGrupo, numeroGrupo);
+								}
+							}
+						}
+						return new Grupo(numeroGrupo, nombreGrupo);
+					}
+
+					@Override
+					public void alumno(Alumno alumno) throws SQLException {
+						anadirAlLote(consultaInsertarAlumno, alumno);
+
+						if (++filasEnLote == tamanoLote) {
+							alumnosInsertados[0] += ejecutarLote(conexion, consultaInsertarAlumno, filasEnLote);
+							registrarGruposConfirmados(gruposSinConfirmar);
+							filasEnLote = 0;
+						}
+					}
+
+					@Override
+					public void finGrupo(Grupo grupo) throws SQLException {
+						loggerGeneral.debug("Grupo '{}' leído del XML.", grupo.getNombreGrupo());
+					}
+				});
+
+				// Último lote (y grupos creados sin alumnos pendientes de confirmar)
+				alumnosInsertados[0] += ejecutarLote(conexion, consultaInsertarAlumno, 0);
+				registrarGruposConfirmados(gruposSinConfirmar);
+			} catch (SQLException | XMLStreamException | IOException e) {
+				conexion.rollback();
+				throw e;
+			} finally {
+				conexion.setAutoCommit(autoCommitOriginal);
+			}
+
+			loggerGeneral.info("Datos cargados correctamente desde el archivo XML: {} grupos, {} alumnos insertados.",
+					lector.getGruposLeidos(), alumnosInsertados[0]);
+			System.out.println("Datos cargados correctamente desde el archivo XML.");
+			return true;
+		} catch (XMLStreamException | IOException e) {
+			loggerExcepciones.error("Error al procesar el archivo XML: {}", e.getMessage(), e);
+			System.err.println("Error al procesar el archivo XML: " + e.getMessage());
+		} catch (SQLException e) {
+			loggerExcepciones.error("Error al insertar datos en la base de datos ({} alumnos ya confirmados): {}",
+					alumnosInsertados[0], e.getMessage(), e);
+			System.err.println("Error al insertar datos en la base de datos: " + e.getMessage());
+		}
+
+		return false;
+	}
+
+	/**
+	 * Pasa a la caché de grupos los creados en una transacción que ya se ha
+	 * confirmado. Tras un rollback no se llama, así que la caché nunca apunta a
+	 * un numeroGrupo que no existe.
+	 */
+	private void registrarGruposConfirmados(Map<String, Integer> gruposSinConfirmar) {
+		gruposSinConfirmar.forEach(cacheGrupos::registrar);
+		gruposSinConfirmar.clear();
+	}
+
+	/**
+	 * Muestra todos los alumnos del grupo seleccionado por el usuario.
+	 */
+	@Override
+	public void mostrarAlumnosPorGrupo() {
+		// Mostrar todos los grupos
+		if (!mostrarTodosLosGrupos()) {
+			System.out.println("No hay grupos disponibles para mostrar.");
+			return;
+		}
+
+		System.out.println("Introduce el nombre del grupo del que quieres ver los alumnos:");
+		String nombreGrupo = sc.nextLine().trim().toUpperCase();
+
+		// Obtener el número del grupo
+		int numeroGrupo = obtenerNumeroGrupo(nombreGrupo);
+		if (numeroGrupo == -1) {
+			System.out.println("El grupo especificado no existe. Inténtalo de nuevo.");
+			return;
+		}
+
+		String sql = """
+				    SELECT a.nia, a.nombre, a.apellidos, a.genero, a.fechaNacimiento,
+				           a.ciclo, a.curso, g.nombreGrupo
+				    FROM alumnos a
+				    JOIN grupos g ON a.numeroGrupo = g.numeroGrupo
+				    WHERE g.numeroGrupo = ?
+				    ORDER BY a.nia
+				""";
+
+		try (Connection conexion = PoolConexiones.getConnection();
+				PreparedStatement sentencia = conexion.prepareStatement(sql)) {
+
+			sentencia.setInt(1, numeroGrupo);
+
+			try (ResultSet resultado = sentencia.executeQuery()) {
+				if (!resultado.isBeforeFirst()) {
+					System.out.println("No hay alumnos registrados en este grupo.");
+					return;
+				}
+
+				System.out.println("Alumnos del grupo '" + nombreGrupo + "':");
+				while (resultado.next()) {
+					System.out.printf("""
+							NIA: %d
+							Nombre: %s
+							Apellidos: %s
+							Género: %s
+							Fecha de nacimiento: %s
+							Ciclo: %s
+							Curso: %s
+							Grupo: %s
+							-------------------------\n
+							""", resultado.getInt("nia"), resultado.getString("nombre"),
+							resultado.getString("apellidos"), resultado.getString("genero"),
+							resultado.getDate("fechaNacimiento"), resultado.getString("ciclo"),
+							resultado.getString("curso"), resultado.getString("nombreGrupo"));
+				}
+			}
+		} catch (SQLException e) {
+			loggerExcepciones.error("Error al mostrar los alumnos del grupo '{}': {}", nombreGrupo, e.getMessage(), e);
+			System.out.println("Se produjo un error al intentar mostrar los alumnos. Revisa los logs.");
+		}
+	}
+
+	/**
+	 * Muestra solo los NIA y nombres de los alumnos, sin interacción adicional.
+	 * 
+	 * @return true si hay alumnos, false si la lista está vacía.
+	 */
+	public boolean listarNiasYNombresAlumnos() {
+		String sql = "SELECT nia, nombre FROM alumnos ORDER BY nia";
+
+		try (Connection conexion = PoolConexiones.getConnection();
+				PreparedStatement sentencia = conexion.prepareStatement(sql);
+				ResultSet resultado = sentencia.executeQuery()) {
+
+			if (!resultado.isBeforeFirst()) {
+				System.out.println("❌ No hay alumnos registrados.");
+				return false;
+			}
+
+			System.out.println("Lista de alumnos disponibles para cambiar de grupo:");
+			while (resultado.next()) {
+				System.out.printf("NIA: %d, Nombre: %s%n", resultado.getInt("nia"), resultado.getString("nombre"));
+			}
+
+			return true;
+		} catch (SQLException e) {
+			System.out.println("❌ Error al recuperar la lista de alumnos: " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Cambia el grupo de un alumno seleccionado por el usuario.
+	 * 
+	 * @return true si el cambio se realizó correctamente, false en caso de error.
+	 */
+	@Override
+	public boolean cambiarGrupoAlumno() {
+		// Mostrar lista de alumnos sin interacción extra
+		if (!listarNiasYNombresAlumnos()) {
+			System.out.println("❌ No hay alumnos disponibles.");
+			return false;
+		}
+
+		// Solicitar NIA del alumno
+		System.out.println("\nIntroduce el NIA del alumno al que deseas cambiar de grupo:");
+		int niaSeleccionado;
+		try {
+			niaSeleccionado = Integer.parseInt(sc.nextLine().trim());
+		} catch (NumberFormatException e) {
+			System.out.println("❌ El NIA debe ser un número válido.");
+			return false;
+		}
+
+		// Verificar si el NIA existe
+		String sqlExistencia = "SELECT numeroGrupo FROM alumnos WHERE nia = ?";
+		int grupoActual = -1;
+
+		try (Connection conexion = PoolConexiones.getConnection();
+				PreparedStatement consulta = conexion.prepareStatement(sqlExistencia)) {
+
+			consulta.setInt(1, niaSeleccionado);
+			try (ResultSet resultado = consulta.executeQuery()) {
+				if (resultado.next()) {
+					grupoActual = resultado.getInt("numeroGrupo");
+				} else {
+					System.out.println("❌ No se encontró ningún alumno con el NIA proporcionado.");
+					return false;
+				}
+			}
+		} catch (SQLException e) {
+			System.out.println("❌ Error al verificar el grupo actual del alumno: " + e.getMessage());
+			return false;
+		}
+
+		// Mostrar grupos disponibles
+		System.out.println("\nGrupos disponibles:");
+		if (!mostrarTodosLosGrupos()) {
+			System.out.println("❌ No hay grupos disponibles.");
+			return false;
+		}
+
+		// Solicitar el nuevo grupo
+		System.out.println("\nIntroduce el nombre del grupo al que deseas cambiar al alumno:");
+		String nuevoGrupo = sc.nextLine().trim().toUpperCase();
+
+		int numeroGrupo = obtenerNumeroGrupo(nuevoGrupo);
+		if (numeroGrupo == -1) {
+			System.out.println("❌ El grupo especificado no existe.");
+			return false;
+		}
+
+		if (grupoActual == numeroGrupo) {
+			System.out.println("⚠️ El alumno ya pertenece al grupo '" + nuevoGrupo + "'.");
+			return false;
+		}
+
+		// Actualizar grupo
+		String sqlUpdate = "UPDATE alumnos SET numeroGrupo = ? WHERE nia = ?";
+		try (Connection conexion = PoolConexiones.getConnection();
+				PreparedStatement sentencia = conexion.prepareStatement(sqlUpdate)) {
+
+			sentencia.setInt(1, numeroGrupo);
+			sentencia.setInt(2, niaSeleccionado);
+
+			int filasAfectadas = sentencia.executeUpdate();
+			if (filasAfectadas > 0) {
+				System.out.println("✅ El grupo del alumno ha sido cambiado exitosamente.");
+				return true;
+			} else {
+				System.out.println("❌ No se pudo cambiar el grupo del alumno.");
+				return false;
+			}
+		} catch (SQLException e) {
+			System.out.println("❌ Error al cambiar el grupo del alumno: " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Guarda un grupo específico con toda su información (incluyendo los alumnos)
+	 * en un archivo XML. Solicita al usuario el nombre del grupo.
+	 * 
+	 * @return true si el archivo se guarda correctamente, false si ocurre un error.
+	 */
+	@Override
+	public boolean guardarGrupoEspecificoEnXML() {
+		// 📌 Mostrar los grupos disponibles antes de la elección
+		if (!mostrarTodosLosGrupos()) {
+			System.out.println("❌ No hay grupos disponibles. No se puede continuar.");
+			return false;
+		}
+
+		// Solicitar el nombre del grupo al usuario
+		System.out.print("\nIntroduce el nombre del grupo que deseas guardar en fichero XML: ");
+		String nombreGrupo = sc.nextLine().trim().toUpperCase();
+
+		// Validar si el grupo existe
+		if (!validarNombreGrupo(nombreGrupo)) {
+			System.out.println("❌ El grupo '" + nombreGrupo + "' no existe en la base de datos.");
+			loggerGeneral.warn("El grupo '{}' no existe en la base de datos.", nombreGrupo);
+			return false;
+		}
+
+		// Obtener el número del grupo
+		int numeroGrupo = obtenerNumeroGrupo(nombreGrupo);
+		if (numeroGrupo == -1) {
+			System.out.println("❌ Error al obtener el número del grupo para: " + nombreGrupo);
+			loggerGeneral.error("No se pudo obtener el número del grupo para '{}'.", nombreGrupo);
+			return false;
+		}
+
+		String nombreArchivo = "grupo_" + nombreGrupo + ".xml";
+		File archivoXML = new File(nombreArchivo);
+
+		// Verificar si el archivo ya existe y preguntar si sobrescribir
+		if (archivoXML.exists()) {
+			System.out.print("⚠️ El archivo '" + nombreArchivo + "' ya existe. ¿Deseas sobrescribirlo? (S/N): ");
+			String respuesta = sc.nextLine().trim().toUpperCase();
+			if (!respuesta.equals("S")) {
+				System.out.println("❌ Operación cancelada. El archivo no se ha sobrescrito.");
+				return false;
+			}
+		}
+
+		DocumentBuilderFactory documentoFactory = DocumentBuilderFactory.newInstance();
+		try {
+			DocumentBuilder documentoBuilder = documentoFactory.newDocumentBuilder();
+			Document documentoXML = documentoBuilder.newDocument();
+			Element raizElement = documentoXML.createElement("grupo");
+			documentoXML.appendChild(raizElement);
+
+			String consultaGrupo = "SELECT numeroGrupo, nombreGrupo FROM grupos WHERE numeroGrupo = ?";
+			String consultaAlumnos = """
+					SELECT nia, nombre, apellidos, genero, fechaNacimiento, curso
+					FROM alumnos
+					WHERE numeroGrupo = ?
+					""";
+
+			try (Connection conexion = PoolConexiones.getConnection();
+					PreparedStatement stmtGrupo = conexion.prepareStatement(consultaGrupo);
+					PreparedStatement stmtAlumnos = conexion.prepareStatement(consultaAlumnos)) {
+
+				// Obtener la información del grupo
+				stmtGrupo.setInt(1, numeroGrupo);
+				try (ResultSet rsGrupo = stmtGrupo.executeQuery()) {
+					if (rsGrupo.next()) {
+						raizElement.setAttribute("numeroGrupo", String.valueOf(numeroGrupo));
+						raizElement.setAttribute("nombreGrupo", rsGrupo.getString("nombreGrupo"));
+					} else {
+						System.out.println("❌ No se encontró el grupo con el número " + numeroGrupo + ".");
+						loggerGeneral.warn("El grupo con número {} no existe en la base de datos.", numeroGrupo);
+						return false;
+					}
+				}
+
+				// Obtener la información de los alumnos del grupo
+				stmtAlumnos.setInt(1, numeroGrupo);
+				try (ResultSet rsAlumnos = stmtAlumnos.executeQuery()) {
+					while (rsAlumnos.next()) {
+						Element alumnoElement = documentoXML.createElement("alumno");
+						alumnoElement.setAttribute("nia", rsAlumnos.getString("nia"));
+						alumnoElement.setAttribute("nombre", rsAlumnos.getString("nombre"));
+						alumnoElement.setAttribute("apellidos", rsAlumnos.getString("apellidos"));
+						alumnoElement.setAttribute("genero", rsAlumnos.getString("genero"));
+						alumnoElement.setAttribute("fechaNacimiento", rsAlumnos.getString("fechaNacimiento"));
+						alumnoElement.setAttribute("curso", rsAlumnos.getString("curso"));
+
+						raizElement.appendChild(alumnoElement);
+					}
+				}
+
+				// Guardar el archivo XML
+				TransformerFactory transformerFactory = TransformerFactory.newInstance();
+				Transformer transformer = transformerFactory.newTransformer();
+				transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+
+				DOMSource source = new DOMSource(documentoXML);
+				StreamResult result = new StreamResult(new File(nombreArchivo));
+				transformer.transform(source, result);
+
+				loggerGeneral.info("✅ El archivo XML del grupo {} se ha guardado correctamente en '{}'.", nombreGrupo,
+						nombreArchivo);
+				System.out.println("✅ El archivo XML del grupo '" + nombreGrupo + "' se ha guardado correctamente en '"
+						+ nombreArchivo + "'.");
+				return true;
+
+			} catch (SQLException e) {
+				loggerExcepciones.error("❌ Error al consultar el grupo o los alumnos: {}", e.getMessage(), e);
+				System.out.println("❌ Error al consultar el grupo o los alumnos: " + e.getMessage());
+			}
+		} catch (ParserConfigurationException | TransformerException e) {
+			loggerExcepciones.error("❌ Error al generar el archivo XML: {}", e.getMessage(), e);
+			System.out.println("❌ Error al generar el archivo XML: " + e.getMessage());
+		}
+
+		return false;
+	}
+
+}
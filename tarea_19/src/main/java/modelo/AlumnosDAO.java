@@ -1,42 +1,99 @@
-package modelo;
-
-public interface AlumnosDAO {
-
-	// ALUMNOS:
-
-	public boolean insertarAlumno(Alumno alumno);
-
-	public Alumno solicitarDatosAlumno();
-
-	public boolean mostrarTodosLosAlumnos(boolean mostrarTodaLaInformacion);
-
-	public boolean modificarNombreAlumnoPorNIA(int nia, String nuevoNombre);
-
-	public boolean eliminarAlumnoPorNIA(int nia);
-
-	boolean mostrarAlumnoPorNIA(int nia);
-
-	// FICHEROS:
-
-	public void guardarAlumnosEnFicheroTexto();
-
-	public boolean leerAlumnosDeFicheroTexto();
-
-	// GRUPOS:
-
-	public boolean insertarGrupo(Grupo grupo);
-
-	public boolean eliminarAlumnosPorGrupo(String grupo);
-
-	boolean mostrarTodosLosGrupos();
-
-	boolean guardarGruposEnXML();
-
-	boolean leerYGuardarGruposXML(String rutaArchivo);
-
-	void mostrarAlumnosPorGrupo();
-
-	boolean cambiarGrupoAlumno();
-
-	boolean guardarGrupoEspecificoEnXML();
+package modelo;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Operaciones del menú de consola. Las consultas que devuelven datos sin
+ * interactuar con el usuario están en {@link RepositorioAlumnos}.
+ */
+public interface AlumnosDAO extends RepositorioAlumnos {
+
+	// ALUMNOS:
+
+	public boolean insertarAlumno(Alumno alumno);
+
+	public Alumno solicitarDatosAlumno();
+
+	public boolean mostrarTodosLosAlumnos(boolean mostrarTodaLaInformacion);
+
+	public boolean modificarNombreAlumnoPorNIA(int nia, String nuevoNombre);
+
+	public boolean eliminarAlumnoPorNIA(int nia);
+
+	boolean mostrarAlumnoPorNIA(int nia);
+
+	// FICHEROS:
+
+	/**
+	 * Exporta todos los alumnos a 'alumnos.txt' sin preguntar nada: la
+	 * confirmación para sobrescribir la pide la vista.
+	 *
+	 * @param sobrescribir Si el fichero ya existe, true lo sustituye y false lo
+	 *                     deja como está y no exporta nada.
+	 */
+	public void guardarAlumnosEnFicheroTexto(boolean sobrescribir);
+
+	public boolean leerAlumnosDeFicheroTexto();
+
+	// GRUPOS:
+
+	public boolean insertarGrupo(Grupo grupo);
+
+	public boolean eliminarAlumnosPorGrupo(String grupo);
+
+	boolean mostrarTodosLosGrupos();
+
+	/**
+	 * Guarda todos los grupos y sus alumnos en 'grupos.xml' sin preguntar nada.
+	 *
+	 * @param sobrescribir Si el fichero ya existe, true lo sustituye y false lo
+	 *                     deja como está.
+	 * @return true si se ha guardado, false si ya existía y no se podía
+	 *         sobrescribir o si ha habido un error.
+	 */
+	boolean guardarGruposEnXML(boolean sobrescribir);
+
+	boolean leerYGuardarGruposXML(String rutaArchivo);
+
+	void mostrarAlumnosPorGrupo();
+
+	boolean cambiarGrupoAlumno();
+
+	boolean guardarGrupoEspecificoEnXML();
+
+	/**
+	 * Carga una copia binaria guardada con
+	 * {@link RepositorioAlumnos#exportarSnapshot(Path)}, de este o de cualquier
+	 * otro modelo (ver {@link LectorSnapshot#restaurar(AlumnosDAO, Path, boolean)}).
+	 *
+	 * @param fichero       Copia binaria.
+	 * @param conservarNias true para insertar los alumnos con el NIA de la copia
+	 *                      (copia de seguridad o clonado), false para que el
+	 *                      modelo les asigne NIA nuevos (añadirlos a los que ya
+	 *                      hay).
+	 * @return el número de alumnos insertados, o -1 si hay algún error.
+	 */
+	default long importarSnapshot(Path fichero, boolean conservarNias) {
+		return LectorSnapshot.restaurar(this, fichero, conservarNias);
+	}
+
+	/**
+	 * @return el modelo que accede realmente a los datos; los decoradores (por
+	 *         ejemplo {@link AlumnosDAOCacheado}) devuelven el que envuelven.
+	 */
+	default AlumnosDAO getModeloBase() {
+		return this;
+	}
+
+	/**
+	 * Busca en la cadena de decoradores (empezando por este modelo) el que sea
+	 * del tipo indicado.
+	 *
+	 * @param tipo Clase del decorador o del modelo buscado.
+	 * @return el modelo de ese tipo, o vacío si no hay ninguno.
+	 */
+	default <T extends AlumnosDAO> Optional<T> buscarCapa(Class<T> tipo) {
+		return tipo.isInstance(this) ? Optional.of(tipo.cast(this)) : Optional.empty();
+	}
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package modelo;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Versión asíncrona de las operaciones de {@link AlumnosDAO} que no necesitan
+ * la consola. Cada operación devuelve enseguida un {@link CompletableFuture},
+ * de modo que un cliente puede lanzar cientos de consultas o actualizaciones a
+ * la vez y combinar los resultados.
+ *
+ * Las operaciones interactivas (solicitarDatosAlumno, mostrar..., cambiar de
+ * grupo) no se incluyen porque leen de teclado, y las exportaciones reciben si
+ * se puede sobrescribir el fichero en lugar de preguntarlo.
+ */
+public interface AlumnosDAOAsincrono extends AutoCloseable {
+
+	// ALUMNOS:
+
+	public CompletableFuture<Boolean> insertarAlumno(Alumno alumno);
+
+	public CompletableFuture<Boolean> modificarNombreAlumnoPorNIA(int nia, String nuevoNombre);
+
+	public CompletableFuture<Boolean> eliminarAlumnoPorNIA(int nia);
+
+	public CompletableFuture<Optional<Alumno>> buscarPorNia(int nia);
+
+	public CompletableFuture<List<Alumno>> obtenerPaginaAlumnos(int niaAnterior, int tamanoPagina);
+
+	// FICHEROS:
+
+	public CompletableFuture<Void> guardarAlumnosEnFicheroTexto(boolean sobrescribir);
+
+	public CompletableFuture<Boolean> leerAlumnosDeFicheroTexto();
+
+	// GRUPOS:
+
+	public CompletableFuture<Boolean> insertarGrupo(Grupo grupo);
+
+	public CompletableFuture<Boolean> eliminarAlumnosPorGrupo(String grupo);
+
+	public CompletableFuture<Boolean> guardarGruposEnXML(boolean sobrescribir);
+
+	public CompletableFuture<Boolean> leerYGuardarGruposXML(String rutaArchivo);
+
+	/**
+	 * Espera a que terminen las operaciones en curso y libera los hilos.
+	 */
+	@Override
+	public void close();
+}
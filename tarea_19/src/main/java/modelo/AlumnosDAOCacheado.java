@@ -0,0 +1,233 @@
+package modelo;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Decorador de {@link AlumnosDAO} que mantiene una {@link CacheAlumnos} delante
+ * de las búsquedas por NIA. Funciona igual con AlumnosBD, AlumnosHibernate y
+ * AlumnosMongoDB.
+ *
+ * La caché se llena con {@link #buscarPorNia(int)} y con las páginas de los
+ * listados, de forma que el flujo habitual de la consola (listar los alumnos y
+ * después elegir uno por su NIA) no vuelve a consultar la base de datos. Las
+ * operaciones que modifican o eliminan alumnos invalidan sus entradas, y las
+ * cargas masivas e importaciones vacían la caché; las inserciones sueltas no,
+ * porque crean NIA nuevos.
+ */
+public class AlumnosDAOCacheado implements AlumnosDAO {
+
+	private final AlumnosDAO modelo;
+	private final CacheAlumnos cache;
+
+	public AlumnosDAOCacheado(AlumnosDAO modelo) {
+		this(modelo, new CacheAlumnos());
+	}
+
+	public AlumnosDAOCacheado(AlumnosDAO modelo, CacheAlumnos cache) {
+		this.modelo = modelo;
+		this.cache = cache;
+	}
+
+	public CacheAlumnos getCache() {
+		return cache;
+	}
+
+	@Override
+	public AlumnosDAO getModeloBase() {
+		return modelo.getModeloBase();
+	}
+
+	@Override
+	public <T extends AlumnosDAO> Optional<T> buscarCapa(Class<T> tipo) {
+		return AlumnosDAO.super.buscarCapa(tipo).or(() -> modelo.buscarCapa(tipo));
+	}
+
+	// CONSULTAS CACHEADAS:
+
+	@Override
+	public Optional<Alumno> buscarPorNia(int nia) {
+		Alumno alumno = cache.obtener(nia);
+		if (alumno != null) {
+			return Optional.of(alumno);
+		}
+		Optional<Alumno> encontrado = modelo.buscarPorNia(nia);
+		encontrado.ifPresent(cache::guardar);
+		return encontrado;
+	}
+
+	@Override
+	public List<Alumno> obtenerPaginaAlumnos(int niaAnterior, int tamanoPagina) {
+		List<Alumno> pagina = modelo.obtenerPaginaAlumnos(niaAnterior, tamanoPagina);
+		pagina.forEach(cache::guardar);
+		return pagina;
+	}
+
+	@Override
+	public List<Alumno> obtenerPaginaAlumnosPorGrupo(String nombreGrupo, int niaAnterior, int tamanoPagina) {
+		List<Alumno> pagina = modelo.obtenerPaginaAlumnosPorGrupo(nombreGrupo, niaAnterior, tamanoPagina);
+		pagina.forEach(cache::guardar);
+		return pagina;
+	}
+
+	// OPERACIONES QUE INVALIDAN LA CACHÉ:
+
+	@Override
+	public boolean modificarNombreAlumnoPorNIA(int nia, String nuevoNombre) {
+		try {
+			return modelo.modificarNombreAlumnoPorNIA(nia, nuevoNombre);
+		} finally {
+			cache.invalidar(nia);
+		}
+	}
+
+	@Override
+	public boolean eliminarAlumnoPorNIA(int nia) {
+		try {
+			return modelo.eliminarAlumnoPorNIA(nia);
+		} finally {
+			cache.invalidar(nia);
+		}
+	}
+
+	@Override
+	public boolean eliminarAlumnosPorGrupo(String grupo) {
+		try {
+			return modelo.eliminarAlumnosPorGrupo(grupo);
+		} finally {
+			cache.invalidarGrupo(grupo);
+		}
+	}
+
+	/**
+	 * El alumno y el grupo se piden por consola dentro del modelo, así que no se
+	 * sabe qué NIA ha cambiado: se vacía la caché completa.
+	 */
+	@Override
+	public boolean cambiarGrupoAlumno() {
+		try {
+			return modelo.cambiarGrupoAlumno();
+		} finally {
+			cache.invalidarTodo();
+		}
+	}
+
+	/**
+	 * Las cargas masivas e importaciones pueden sobrescribir alumnos con NIA que
+	 * ya estaban en la caché (los modelos de fichero reemplazan por NIA), y no se
+	 * sabe cuáles: se vacía la caché completa aunque la carga falle a medias.
+	 */
+	@Override
+	public int guardarTodos(Collection<Alumno> alumnos) {
+		try {
+			return modelo.guardarTodos(alumnos);
+		} finally {
+			cache.invalidarTodo();
+		}
+	}
+
+	@Override
+	public int guardarTodosConNia(Collection<Alumno> alumnos) {
+		try {
+			return modelo.guardarTodosConNia(alumnos);
+		} finally {
+			cache.invalidarTodo();
+		}
+	}
+
+	@Override
+	public long importarSnapshot(Path fichero, boolean conservarNias) {
+		try {
+			return modelo.importarSnapshot(fichero, conservarNias);
+		} finally {
+			cache.invalidarTodo();
+		}
+	}
+
+	@Override
+	public boolean leerAlumnosDeFicheroTexto() {
+		try {
+			return modelo.leerAlumnosDeFicheroTexto();
+		} finally {
+			cache.invalidarTodo();
+		}
+	}
+
+	@Override
+	public boolean leerYGuardarGruposXML(String rutaArchivo) {
+		try {
+			return modelo.leerYGuardarGruposXML(rutaArchivo);
+		} finally {
+			cache.invalidarTodo();
+		}
+	}
+
+	// RESTO DE OPERACIONES (SIN CACHÉ):
+
+	@Override
+	public boolean insertarAlumno(Alumno alumno) {
+		return modelo.insertarAlumno(alumno);
+	}
+
+	@Override
+	public Alumno solicitarDatosAlumno() {
+		return modelo.solicitarDatosAlumno();
+	}
+
+	@Override
+	public boolean mostrarTodosLosAlumnos(boolean mostrarTodaLaInformacion) {
+		return modelo.mostrarTodosLosAlumnos(mostrarTodaLaInformacion);
+	}
+
+	@Override
+	public boolean mostrarAlumnoPorNIA(int nia) {
+		return modelo.mostrarAlumnoPorNIA(nia);
+	}
+
+	@Override
+	public List<Grupo> buscarGrupos() {
+		return modelo.buscarGrupos();
+	}
+
+	@Override
+	public Optional<EstadisticasAlumnos> calcularEstadisticas() {
+		return modelo.calcularEstadisticas();
+	}
+
+	@Override
+	public long exportarSnapshot(Path fichero) {
+		return modelo.exportarSnapshot(fichero);
+	}
+
+	@Override
+	public void guardarAlumnosEnFicheroTexto(boolean sobrescribir) {
+		modelo.guardarAlumnosEnFicheroTexto(sobrescribir);
+	}
+
+	@Override
+	public boolean insertarGrupo(Grupo grupo) {
+		return modelo.insertarGrupo(grupo);
+	}
+
+	@Override
+	public boolean mostrarTodosLosGrupos() {
+		return modelo.mostrarTodosLosGrupos();
+	}
+
+	@Override
+	public boolean guardarGruposEnXML(boolean sobrescribir) {
+		return modelo.guardarGruposEnXML(sobrescribir);
+	}
+
+	@Override
+	public void mostrarAlumnosPorGrupo() {
+		modelo.mostrarAlumnosPorGrupo();
+	}
+
+	@Override
+	public boolean guardarGrupoEspecificoEnXML() {
+		return modelo.guardarGrupoEspecificoEnXML();
+	}
+}
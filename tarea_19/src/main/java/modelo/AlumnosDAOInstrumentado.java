@@ -0,0 +1,250 @@
+package modelo;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Decorador de {@link AlumnosDAO} que mide cada operación del modelo envuelto:
+ * un {@link HistogramaLatencias} por método (p50, p95, p99 y máximo), el
+ * número de llamadas, las que terminan con excepción y las que devuelven
+ * false (la forma habitual del modelo de indicar un error).
+ *
+ * Las operaciones que piden datos por consola dentro del modelo (por ejemplo
+ * solicitarDatosAlumno o cambiarGrupoAlumno) incluyen el tiempo que tarda el
+ * usuario en responder.
+ */
+public class AlumnosDAOInstrumentado implements AlumnosDAO {
+
+	/**
+	 * Métricas de un método del modelo.
+	 */
+	public static class EstadisticasOperacion {
+		private final HistogramaLatencias latencias = new HistogramaLatencias();
+		private final LongAdder excepciones = new LongAdder();
+		private final LongAdder resultadosFalse = new LongAdder();
+
+		public HistogramaLatencias getLatencias() {
+			return latencias;
+		}
+
+		public long getLlamadas() {
+			return latencias.getMedidas();
+		}
+
+		public long getExcepciones() {
+			return excepciones.sum();
+		}
+
+		public long getResultadosFalse() {
+			return resultadosFalse.sum();
+		}
+	}
+
+	private final AlumnosDAO modelo;
+	private final Map<String, EstadisticasOperacion> estadisticas = new ConcurrentHashMap<>();
+
+	public AlumnosDAOInstrumentado(AlumnosDAO modelo) {
+		this.modelo = modelo;
+	}
+
+	@Override
+	public AlumnosDAO getModeloBase() {
+		return modelo.getModeloBase();
+	}
+
+	@Override
+	public <T extends AlumnosDAO> Optional<T> buscarCapa(Class<T> tipo) {
+		return AlumnosDAO.super.buscarCapa(tipo).or(() -> modelo.buscarCapa(tipo));
+	}
+
+	/**
+	 * @return las métricas de cada método llamado al menos una vez, ordenadas
+	 *         por nombre.
+	 */
+	public Map<String, EstadisticasOperacion> getEstadisticas() {
+		return new TreeMap<>(estadisticas);
+	}
+
+	public void reiniciar() {
+		estadisticas.clear();
+	}
+
+	/**
+	 * @return una tabla de texto con las métricas de cada método, en
+	 *         milisegundos.
+	 */
+	public String resumen() {
+		StringBuilder texto = new StringBuilder(String.format("%-30s %9s %6s %6s %10s %10s %10s %10s%n", "Operación",
+				"Llamadas", "Excep.", "False", "p50 ms", "p95 ms", "p99 ms", "Máx. ms"));
+		getEstadisticas().forEach((metodo, e) -> {
+			HistogramaLatencias h = e.getLatencias();
+			texto.append(String.format("%-30s %9d %6d %6d %10.3f %10.3f %10.3f %10.3f%n", metodo, e.getLlamadas(),
+					e.getExcepciones(), e.getResultadosFalse(), h.getPercentil(50) / 1e6, h.getPercentil(95) / 1e6,
+					h.getPercentil(99) / 1e6, h.getMaximoNanos() / 1e6));
+		});
+		return texto.toString();
+	}
+
+	private <T> T medir(String metodo, Supplier<T> operacion) {
+		EstadisticasOperacion e = estadisticas.computeIfAbsent(metodo, m -> new EstadisticasOperacion());
+		long inicio = System.nanoTime();
+		try {
+			T resultado = operacion.get();
+			if (Boolean.FALSE.equals(resultado)) {
+				e.resultadosFalse.increment();
+			}
+			return resultado;
+		} catch (RuntimeException | Error ex) {
+			e.excepciones.increment();
+			throw ex;
+		} finally {
+			e.latencias.registrar(System.nanoTime() - inicio);
+		}
+	}
+
+	private void medir(String metodo, Runnable operacion) {
+		medir(metodo, () -> {
+			operacion.run();
+			return null;
+		});
+	}
+
+	// ALUMNOS:
+
+	@Override
+	public boolean insertarAlumno(Alumno alumno) {
+		return medir("insertarAlumno", () -> modelo.insertarAlumno(alumno));
+	}
+
+	@Override
+	public Alumno solicitarDatosAlumno() {
+		return medir("solicitarDatosAlumno", modelo::solicitarDatosAlumno);
+	}
+
+	@Override
+	public boolean mostrarTodosLosAlumnos(boolean mostrarTodaLaInformacion) {
+		return medir("mostrarTodosLosAlumnos", () -> modelo.mostrarTodosLosAlumnos(mostrarTodaLaInformacion));
+	}
+
+	@Override
+	public boolean modificarNombreAlumnoPorNIA(int nia, String nuevoNombre) {
+		return medir("modificarNombreAlumnoPorNIA", () -> modelo.modificarNombreAlumnoPorNIA(nia, nuevoNombre));
+	}
+
+	@Override
+	public boolean eliminarAlumnoPorNIA(int nia) {
+		return medir("eliminarAlumnoPorNIA", () -> modelo.eliminarAlumnoPorNIA(nia));
+	}
+
+	@Override
+	public boolean mostrarAlumnoPorNIA(int nia) {
+		return medir("mostrarAlumnoPorNIA", () -> modelo.mostrarAlumnoPorNIA(nia));
+	}
+
+	@Override
+	public Optional<Alumno> buscarPorNia(int nia) {
+		return medir("buscarPorNia", () -> modelo.buscarPorNia(nia));
+	}
+
+	@Override
+	public List<Alumno> obtenerPaginaAlumnos(int niaAnterior, int tamanoPagina) {
+		return medir("obtenerPaginaAlumnos", () -> modelo.obtenerPaginaAlumnos(niaAnterior, tamanoPagina));
+	}
+
+	@Override
+	public List<Alumno> obtenerPaginaAlumnosPorGrupo(String nombreGrupo, int niaAnterior, int tamanoPagina) {
+		return medir("obtenerPaginaAlumnosPorGrupo",
+				() -> modelo.obtenerPaginaAlumnosPorGrupo(nombreGrupo, niaAnterior, tamanoPagina));
+	}
+
+	@Override
+	public int guardarTodos(Collection<Alumno> alumnos) {
+		return medir("guardarTodos", () -> modelo.guardarTodos(alumnos));
+	}
+
+	@Override
+	public int guardarTodosConNia(Collection<Alumno> alumnos) {
+		return medir("guardarTodosConNia", () -> modelo.guardarTodosConNia(alumnos));
+	}
+
+	@Override
+	public Optional<EstadisticasAlumnos> calcularEstadisticas() {
+		return medir("calcularEstadisticas", modelo::calcularEstadisticas);
+	}
+
+	// FICHEROS:
+
+	@Override
+	public long exportarSnapshot(Path fichero) {
+		return medir("exportarSnapshot", () -> modelo.exportarSnapshot(fichero));
+	}
+
+	@Override
+	public long importarSnapshot(Path fichero, boolean conservarNias) {
+		return medir("importarSnapshot", () -> modelo.importarSnapshot(fichero, conservarNias));
+	}
+
+	@Override
+	public void guardarAlumnosEnFicheroTexto(boolean sobrescribir) {
+		medir("guardarAlumnosEnFicheroTexto", () -> modelo.guardarAlumnosEnFicheroTexto(sobrescribir));
+	}
+
+	@Override
+	public boolean leerAlumnosDeFicheroTexto() {
+		return medir("leerAlumnosDeFicheroTexto", modelo::leerAlumnosDeFicheroTexto);
+	}
+
+	// GRUPOS:
+
+	@Override
+	public boolean insertarGrupo(Grupo grupo) {
+		return medir("insertarGrupo", () -> modelo.insertarGrupo(grupo));
+	}
+
+	@Override
+	public boolean eliminarAlumnosPorGrupo(String grupo) {
+		return medir("eliminarAlumnosPorGrupo", () -> modelo.eliminarAlumnosPorGrupo(grupo));
+	}
+
+	@Override
+	public boolean mostrarTodosLosGrupos() {
+		return medir("mostrarTodosLosGrupos", modelo::mostrarTodosLosGrupos);
+	}
+
+	@Override
+	public List<Grupo> buscarGrupos() {
+		return medir("buscarGrupos", modelo::buscarGrupos);
+	}
+
+	@Override
+	public boolean guardarGruposEnXML(boolean sobrescribir) {
+		return medir("guardarGruposEnXML", () -> modelo.guardarGruposEnXML(sobrescribir));
+	}
+
+	@Override
+	public boolean leerYGuardarGruposXML(String rutaArchivo) {
+		return medir("leerYGuardarGruposXML", () -> modelo.leerYGuardarGruposXML(rutaArchivo));
+	}
+
+	@Override
+	public void mostrarAlumnosPorGrupo() {
+		medir("mostrarAlumnosPorGrupo", modelo::mostrarAlumnosPorGrupo);
+	}
+
+	@Override
+	public boolean cambiarGrupoAlumno() {
+		return medir("cambiarGrupoAlumno", modelo::cambiarGrupoAlumno);
+	}
+
+	@Override
+	public boolean guardarGrupoEspecificoEnXML() {
+		return medir("guardarGrupoEspecificoEnXML", modelo::guardarGrupoEspecificoEnXML);
+	}
+}
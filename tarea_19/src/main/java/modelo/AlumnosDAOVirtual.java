@@ -0,0 +1,169 @@
+package modelo;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Implementación de {@link AlumnosDAOAsincrono} que ejecuta cada operación del
+ * {@link AlumnosDAO} envuelto en su propio hilo virtual.
+ *
+ * Los hilos virtuales son baratos, pero las conexiones no: un semáforo limita
+ * las operaciones simultáneas al tamaño del pool del backend (HikariCP en
+ * AlumnosBD, el pool de Hibernate en AlumnosHibernate y el del driver en
+ * AlumnosMongoDB). El resto espera su turno sin ocupar una conexión ni un
+ * hilo de plataforma.
+ */
+public class AlumnosDAOVirtual implements AlumnosDAOAsincrono {
+
+	private final AlumnosDAO modelo;
+	private final int maximoConcurrentes;
+	private final Semaphore permisos;
+	private final ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor();
+
+	/**
+	 * Crea el adaptador limitando la concurrencia al tamaño del pool del modelo.
+	 *
+	 * @param modelo Modelo síncrono sobre el que se ejecutan las operaciones.
+	 */
+	public AlumnosDAOVirtual(AlumnosDAO modelo) {
+		this(modelo, limitePara(modelo));
+	}
+
+	/**
+	 * @param modelo             Modelo síncrono sobre el que se ejecutan las
+	 *                           operaciones.
+	 * @param maximoConcurrentes Operaciones que pueden ejecutarse a la vez.
+	 */
+	public AlumnosDAOVirtual(AlumnosDAO modelo, int maximoConcurrentes) {
+		if (maximoConcurrentes < 1) {
+			throw new IllegalArgumentException(
+					"El máximo de operaciones concurrentes debe ser mayor que 0: " + maximoConcurrentes);
+		}
+		this.modelo = modelo;
+		this.maximoConcurrentes = maximoConcurrentes;
+		this.permisos = new Semaphore(maximoConcurrentes, true);
+	}
+
+	/**
+	 * @return el número de conexiones que el backend puede usar a la vez.
+	 */
+	static int limitePara(AlumnosDAO modelo) {
+		return switch (modelo.getModeloBase()) {
+		case AlumnosBD bd -> bd.getTamanoPool();
+		case AlumnosHibernate hibernate -> hibernate.getTamanoPool();
+		case AlumnosMongoDB mongo -> mongo.getTamanoPool();
+		default -> Runtime.getRuntime().availableProcessors();
+		};
+	}
+
+	/**
+	 * Ejecuta la operación en un hilo virtual cuando haya un permiso libre.
+	 */
+	private <T> CompletableFuture<T> ejecutar(Supplier<T> operacion) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				permisos.acquire();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CompletionException(e);
+			}
+			try {
+				return operacion.get();
+			} finally {
+				permisos.release();
+			}
+		}, hilos);
+	}
+
+	@Override
+	public CompletableFuture<Boolean> insertarAlumno(Alumno alumno) {
+		// Con escritura diferida el alumno va al buffer sin ocupar un permiso: así
+		// un lote puede reunir más inserciones que conexiones tiene el pool
+		if (modelo.getModeloBase() instanceof InsercionDiferida diferida && diferida.isEscrituraDiferida()) {
+			return diferida.insertarAlumnoDiferido(alumno);
+		}
+		return ejecutar(() -> modelo.insertarAlumno(alumno));
+	}
+
+	@Override
+	public CompletableFuture<Boolean> modificarNombreAlumnoPorNIA(int nia, String nuevoNombre) {
+		return ejecutar(() -> modelo.modificarNombreAlumnoPorNIA(nia, nuevoNombre));
+	}
+
+	@Override
+	public CompletableFuture<Boolean> eliminarAlumnoPorNIA(int nia) {
+		return ejecutar(() -> modelo.eliminarAlumnoPorNIA(nia));
+	}
+
+	@Override
+	public CompletableFuture<Optional<Alumno>> buscarPorNia(int nia) {
+		return ejecutar(() -> modelo.buscarPorNia(nia));
+	}
+
+	@Override
+	public CompletableFuture<List<Alumno>> obtenerPaginaAlumnos(int niaAnterior, int tamanoPagina) {
+		return ejecutar(() -> modelo.obtenerPaginaAlumnos(niaAnterior, tamanoPagina));
+	}
+
+	@Override
+	public CompletableFuture<Void> guardarAlumnosEnFicheroTexto(boolean sobrescribir) {
+		return ejecutar(() -> {
+			modelo.guardarAlumnosEnFicheroTexto(sobrescribir);
+			return null;
+		});
+	}
+
+	@Override
+	public CompletableFuture<Boolean> leerAlumnosDeFicheroTexto() {
+		return ejecutar(modelo::leerAlumnosDeFicheroTexto);
+	}
+
+	@Override
+	public CompletableFuture<Boolean> insertarGrupo(Grupo grupo) {
+		return ejecutar(() -> modelo.insertarGrupo(grupo));
+	}
+
+	@Override
+	public CompletableFuture<Boolean> eliminarAlumnosPorGrupo(String grupo) {
+		return ejecutar(() -> modelo.eliminarAlumnosPorGrupo(grupo));
+	}
+
+	@Override
+	public CompletableFuture<Boolean> guardarGruposEnXML(boolean sobrescribir) {
+		return ejecutar(() -> modelo.guardarGruposEnXML(sobrescribir));
+	}
+
+	@Override
+	public CompletableFuture<Boolean> leerYGuardarGruposXML(String rutaArchivo) {
+		return ejecutar(() -> modelo.leerYGuardarGruposXML(rutaArchivo));
+	}
+
+	public int getMaximoConcurrentes() {
+		return maximoConcurrentes;
+	}
+
+	/**
+	 * @return las operaciones que se están ejecutando ahora mismo.
+	 */
+	public int getOperacionesEnCurso() {
+		return maximoConcurrentes - permisos.availablePermits();
+	}
+
+	/**
+	 * @return las operaciones que esperan un permiso (aproximado).
+	 */
+	public int getOperacionesEnEspera() {
+		return permisos.getQueueLength();
+	}
+
+	@Override
+	public void close() {
+		hilos.close();
+	}
+}
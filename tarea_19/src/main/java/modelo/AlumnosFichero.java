@@ -1,101 +1,923 @@
-package modelo;
-
-public class AlumnosFichero implements AlumnosDAO {
-
-	@Override
-	public boolean insertarAlumno(Alumno alumno) {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public Alumno solicitarDatosAlumno() {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
-	@Override
-	public boolean mostrarTodosLosAlumnos(boolean mostrarTodaLaInformacion) {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public boolean modificarNombreAlumnoPorNIA(int nia, String nuevoNombre) {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public boolean eliminarAlumnoPorNIA(int nia) {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public boolean mostrarAlumnoPorNIA(int nia) {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public void guardarAlumnosEnFicheroTexto() {
-		// TODO Auto-generated method stub
-		
-	}
-
-	@Override
-	public boolean leerAlumnosDeFicheroTexto() {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public boolean insertarGrupo(Grupo grupo) {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public boolean eliminarAlumnosPorGrupo(String grupo) {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public boolean mostrarTodosLosGrupos() {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public boolean guardarGruposEnXML() {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public boolean leerYGuardarGruposXML(String rutaArchivo) {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public void mostrarAlumnosPorGrupo() {
-		// TODO Auto-generated method stub
-		
-	}
-
-	@Override
-	public boolean cambiarGrupoAlumno() {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public boolean guardarGrupoEspecificoEnXML() {
-		// TODO Auto-generated method stub
-		return false;
-	}
-	
-}
+package modelo;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Scanner;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Modelo sin base de datos: alumnos y grupos se guardan en un
+ * {@link RegistroAlumnos} ('alumnos.log'), un fichero de solo añadir en el que
+ * cada alta, modificación o baja es un registro nuevo. Así una escritura no
+ * depende del número de alumnos, y al arrancar el fichero se recorre una vez
+ * para reconstruir los índices (descartando una escritura cortada a medias).
+ *
+ * En memoria solo están los índices: el registro guarda NIA → posición en el
+ * fichero, y aquí se guarda el grupo de cada NIA en un {@link MapaEnteros} y,
+ * por cada grupo, una {@link ListaEnterosOrdenada} de sus NIA, de modo que
+ * buscar un alumno o listar una página de un grupo no recorre el resto de
+ * alumnos. Los datos de cada alumno se leen del fichero al pedirlos.
+ *
+ * 'alumnos.txt' queda como formato de exportación e importación, igual que en
+ * el resto de modelos. Si al arrancar no existe el registro pero sí
+ * 'alumnos.txt' y 'grupos.txt' (de versiones anteriores), se importan.
+ */
+public class AlumnosFichero implements AlumnosDAO {
+
+	private static final Logger loggerGeneral = LogManager.getRootLogger();
+	private static final Logger loggerExcepciones = LogManager.getLogger("exceptions");
+
+	private static final Path FICHERO_ALUMNOS = Path.of("alumnos.txt");
+	private static final Path FICHERO_GRUPOS = Path.of("grupos.txt");
+	private static final int TAMANO_LOTE_IMPORTACION = 1000;
+
+	private final Scanner sc = new Scanner(System.in);
+
+	private final RegistroAlumnos registro;
+
+	// Índices en memoria, protegidos por el cerrojo
+	private final ReentrantReadWriteLock cerrojo = new ReentrantReadWriteLock();
+	private final MapaEnteros<Grupo> grupoDeAlumno = new MapaEnteros<>();
+	private final ListaEnterosOrdenada nias = new ListaEnterosOrdenada();
+	private final TreeMap<String, Grupo> grupos = new TreeMap<>();
+	private final MapaEnteros<Grupo> gruposPorNumero = new MapaEnteros<>();
+	private final TreeMap<String, ListaEnterosOrdenada> niasPorGrupo = new TreeMap<>();
+	private int siguienteNia = 1;
+	private int siguienteNumeroGrupo = 1;
+
+	/**
+	 * Usa 'alumnos.log' del directorio de trabajo, sin fsync en cada escritura.
+	 */
+	public AlumnosFichero() {
+		this(Path.of("alumnos.log"), false);
+	}
+
+	/**
+	 * Abre (o crea) el registro y reconstruye los índices.
+	 *
+	 * @param ficheroRegistro Fichero del registro.
+	 * @param sincronizar     Forzar cada escritura al disco.
+	 */
+	public AlumnosFichero(Path ficheroRegistro, boolean sincronizar) {
+		this.registro = new RegistroAlumnos(ficheroRegistro, sincronizar,
+				RegistroAlumnos.TAMANO_MINIMO_COMPACTACION);
+
+		cerrojo.writeLock().lock();
+		try {
+			registro.abrir(new RegistroAlumnos.Oyente() {
+				@Override
+				public void grupo(int numeroGrupo, String nombreGrupo) {
+					registrarGrupo(new Grupo(numeroGrupo, nombreGrupo));
+				}
+
+				@Override
+				public void alumno(int nia, int numeroGrupo) {
+					indexar(nia, gruposPorNumero.obtener(numeroGrupo));
+				}
+
+				@Override
+				public void baja(int nia) {
+					desindexar(nia);
+				}
+			});
+		} catch (IOException | RuntimeException e) {
+			loggerExcepciones.error("Error al abrir el registro '{}': {}", ficheroRegistro, e.getMessage(), e);
+			return;
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+
+		if (grupos.isEmpty() && nias.estaVacia() && Files.exists(FICHERO_ALUMNOS) && Files.exists(FICHERO_GRUPOS)) {
+			loggerGeneral.info("Registro vacío: se importan '{}' y '{}'.", FICHERO_GRUPOS, FICHERO_ALUMNOS);
+			importarGrupos(FICHERO_GRUPOS);
+			importarAlumnos(FICHERO_ALUMNOS);
+		}
+	}
+
+	// ÍNDICES EN MEMORIA //////////////////////////////////////////////////////
+	// Se llaman con el cerrojo de escritura y después de escribir en el registro
+
+	private void registrarGrupo(Grupo grupo) {
+		grupos.put(grupo.getNombreGrupo(), grupo);
+		gruposPorNumero.guardar(grupo.getNumeroGrupo(), grupo);
+		niasPorGrupo.computeIfAbsent(grupo.getNombreGrupo(), n -> new ListaEnterosOrdenada());
+		siguienteNumeroGrupo = Math.max(siguienteNumeroGrupo, grupo.getNumeroGrupo() + 1);
+	}
+
+	private void indexar(int nia, Grupo grupo) {
+		Grupo anterior = grupoDeAlumno.guardar(nia, grupo);
+		if (anterior != null) {
+			niasPorGrupo.get(anterior.getNombreGrupo()).eliminar(nia);
+		}
+		nias.anadir(nia);
+		niasPorGrupo.get(grupo.getNombreGrupo()).anadir(nia);
+		siguienteNia = Math.max(siguienteNia, nia + 1);
+	}
+
+	private boolean desindexar(int nia) {
+		Grupo grupo = grupoDeAlumno.eliminar(nia);
+		if (grupo == null) {
+			return false;
+		}
+		nias.eliminar(nia);
+		niasPorGrupo.get(grupo.getNombreGrupo()).eliminar(nia);
+		return true;
+	}
+
+	/**
+	 * Devuelve el grupo con ese nombre, creándolo (y escribiéndolo en el registro)
+	 * si no existe.
+	 */
+	private Grupo obtenerOCrearGrupo(String nombreGrupo) throws IOException {
+		Grupo grupo = grupos.get(nombreGrupo);
+		if (grupo == null) {
+			grupo = new Grupo(siguienteNumeroGrupo, nombreGrupo);
+			registro.guardarGrupo(grupo);
+			registrarGrupo(grupo);
+		}
+		return grupo;
+	}
+
+	/**
+	 * Escribe los alumnos en el registro (los que no tienen NIA reciben el
+	 * siguiente) y después los indexa.
+	 */
+	private void escribirAlumnos(List<Alumno> lote) throws IOException {
+		int nia = siguienteNia;
+		for (Alumno alumno : lote) {
+			if (alumno.getNia() <= 0) {
+				alumno.setNia(nia++);
+			}
+			nia = Math.max(nia, alumno.getNia() + 1);
+		}
+		registro.guardarAlumnos(lote);
+		for (Alumno alumno : lote) {
+			indexar(alumno.getNia(), alumno.getGrupo());
+		}
+	}
+
+	/**
+	 * Lee el alumno del registro con su grupo. Se llama con el cerrojo adquirido.
+	 */
+	private Alumno leer(int nia) throws IOException {
+		Alumno alumno = registro.leerAlumno(nia);
+		if (alumno != null) {
+			Grupo grupo = grupoDeAlumno.obtener(nia);
+			alumno.setGrupo(new Grupo(grupo.getNumeroGrupo(), grupo.getNombreGrupo()));
+		}
+		return alumno;
+	}
+
+	/**
+	 * Lee los alumnos de {@code indice} con NIA mayor que {@code niaAnterior}.
+	 */
+	private List<Alumno> pagina(ListaEnterosOrdenada indice, int niaAnterior, int tamanoPagina) throws IOException {
+		List<Alumno> pagina = new ArrayList<>(Math.min(tamanoPagina, indice.getTamano()));
+		for (int i = indice.posicionSiguiente(niaAnterior); i < indice.getTamano() && pagina.size() < tamanoPagina; i++) {
+			pagina.add(leer(indice.obtener(i)));
+		}
+		return pagina;
+	}
+
+	// ALUMNOS /////////////////////////////////////////////////////////////////
+
+	/**
+	 * Inserta el alumno con el siguiente NIA libre, que también se asigna al
+	 * objeto recibido. El grupo debe existir.
+	 */
+	@Override
+	public boolean insertarAlumno(Alumno alumno) {
+		String nombreGrupo = alumno.getGrupo() == null ? null : alumno.getGrupo().getNombreGrupo();
+
+		cerrojo.writeLock().lock();
+		try {
+			Grupo grupo = grupos.get(nombreGrupo);
+			if (grupo == null) {
+				loggerExcepciones.error("Error: El grupo '{}' no existe.", nombreGrupo);
+				return false;
+			}
+
+			Alumno nuevo = new Alumno(alumno);
+			nuevo.setNia(0);
+			nuevo.setGrupo(grupo);
+			escribirAlumnos(List.of(nuevo));
+			alumno.setNia(nuevo.getNia());
+			loggerGeneral.info("Alumno '{}' '{}' insertado correctamente con NIA {}.", alumno.getNombre(),
+					alumno.getApellidos(), alumno.getNia());
+			return true;
+		} catch (IOException e) {
+			loggerExcepciones.error("Error al insertar el alumno '{}' '{}': {}", alumno.getNombre(),
+					alumno.getApellidos(), e.getMessage(), e);
+			return false;
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+
+	/**
+	 * Solicita al usuario los datos necesarios para crear un objeto Alumno.
+	 *
+	 * @return Un objeto Alumno con los datos ingresados por el usuario.
+	 */
+	@Override
+	public Alumno solicitarDatosAlumno() {
+		System.out.println("Introduce el nombre del alumno:");
+		String nombre = sc.nextLine().trim().toUpperCase();
+
+		System.out.println("Introduce los apellidos del alumno:");
+		String apellidos = sc.nextLine().trim().toUpperCase();
+
+		char genero;
+		do {
+			System.out.println("Introduce el género del alumno (M/F):");
+			String entrada = sc.nextLine().trim().toUpperCase();
+			genero = entrada.length() == 1 ? entrada.charAt(0) : ' ';
+			if (genero != 'M' && genero != 'F') {
+				System.out.println("Respuesta no válida. Introduce 'M' o 'F'.");
+			}
+		} while (genero != 'M' && genero != 'F');
+
+		LocalDate fechaNacimiento;
+		do {
+			System.out.println("Introduce la fecha de nacimiento (dd-MM-aaaa):");
+			fechaNacimiento = Fechas.analizar(sc.nextLine().trim());
+			if (fechaNacimiento == null) {
+				System.out.println("Formato de fecha inválido. Intenta de nuevo.");
+			}
+		} while (fechaNacimiento == null);
+
+		System.out.println("Introduce el ciclo del alumno:");
+		String ciclo = sc.nextLine().trim().toUpperCase();
+
+		System.out.println("Introduce el curso del alumno:");
+		String curso = sc.nextLine().trim().toUpperCase();
+
+		String nombreGrupo;
+		do {
+			System.out.println("Introduce el nombre del grupo del alumno:");
+			nombreGrupo = sc.nextLine().trim().toUpperCase();
+			if (!existeGrupo(nombreGrupo)) {
+				System.out.println("El nombre del grupo no es válido. Intenta de nuevo.");
+			}
+		} while (!existeGrupo(nombreGrupo));
+
+		return new Alumno(nombre, apellidos, genero, fechaNacimiento, ciclo, curso, new Grupo(nombreGrupo));
+	}
+
+	private boolean existeGrupo(String nombreGrupo) {
+		cerrojo.readLock().lock();
+		try {
+			return grupos.containsKey(nombreGrupo);
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean mostrarTodosLosAlumnos(boolean mostrarTodaLaInformacion) {
+		ListaAlumnosCompacta todos = ListaAlumnosCompacta.de(buscarTodos());
+		if (todos.estaVacia()) {
+			System.out.println("No hay alumnos registrados.");
+			return false;
+		}
+
+		if (!mostrarTodaLaInformacion) {
+			System.out.println("Lista de alumnos (NIA y Nombre):");
+			imprimirNiaYNombre(todos);
+
+			System.out.println("\nIntroduce el NIA del alumno que deseas visualizar (o 0 para salir):");
+			while (true) {
+				try {
+					int nia = Integer.parseInt(sc.nextLine().trim());
+					if (nia == 0) {
+						System.out.println("Saliendo sin seleccionar un alumno.");
+						return true;
+					}
+					if (mostrarAlumnoPorNIA(nia)) {
+						return true;
+					}
+					System.out.println("El NIA seleccionado no está en la lista. Inténtalo de nuevo.");
+				} catch (NumberFormatException e) {
+					System.out.println("El NIA debe ser un número válido. Inténtalo de nuevo:");
+				}
+			}
+		}
+
+		System.out.println("Lista completa de alumnos registrados:");
+		todos.forEach(AlumnosFichero::imprimir);
+		return true;
+	}
+
+	private static void imprimirNiaYNombre(ListaAlumnosCompacta alumnos) {
+		for (int i = 0; i < alumnos.getTamano(); i++) {
+			System.out.printf("NIA: %d, Nombre: %s%n", alumnos.getNia(i), alumnos.getNombre(i));
+		}
+	}
+
+	private static void imprimir(Alumno alumno) {
+		System.out.printf("""
+				NIA: %d
+				Nombre: %s
+				Apellidos: %s
+				Género: %s
+				Fecha de nacimiento: %s
+				Ciclo: %s
+				Curso: %s
+				Grupo: %s
+				-------------------------
+				""", alumno.getNia(), alumno.getNombre(), alumno.getApellidos(), alumno.getGenero(),
+				Fechas.formatear(alumno.getFechaNacimiento()), alumno.getCiclo(),
+				alumno.getCurso(), alumno.getGrupo().getNombreGrupo());
+	}
+
+
+	@Override
+	public boolean modificarNombreAlumnoPorNIA(int nia, String nuevoNombre) {
+		cerrojo.writeLock().lock();
+		try {
+			Alumno alumno = leer(nia);
+			if (alumno == null) {
+				loggerGeneral.warn("No se encontró un alumno con NIA {}.", nia);
+				return false;
+			}
+			alumno.setNombre(nuevoNombre);
+			alumno.setGrupo(grupoDeAlumno.obtener(nia));
+			escribirAlumnos(List.of(alumno));
+			loggerGeneral.info("Nombre del alumno con NIA {} cambiado a '{}'.", nia, nuevoNombre);
+			return true;
+		} catch (IOException e) {
+			loggerExcepciones.error("Error al modificar el alumno con NIA {}: {}", nia, e.getMessage(), e);
+			return false;
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean eliminarAlumnoPorNIA(int nia) {
+		cerrojo.writeLock().lock();
+		try {
+			if (!registro.eliminarAlumno(nia)) {
+				loggerGeneral.warn("No se encontró un alumno con NIA {}.", nia);
+				return false;
+			}
+			desindexar(nia);
+			loggerGeneral.info("Alumno con NIA {} eliminado.", nia);
+			return true;
+		} catch (IOException e) {
+			loggerExcepciones.error("Error al eliminar el alumno con NIA {}: {}", nia, e.getMessage(), e);
+			return false;
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean mostrarAlumnoPorNIA(int nia) {
+		Optional<Alumno> alumno = buscarPorNia(nia);
+		if (alumno.isEmpty()) {
+			System.out.println("No se encontró un alumno con el NIA proporcionado.");
+			return false;
+		}
+		imprimir(alumno.get());
+		return true;
+	}
+
+
+	// Repositorio sin consola (RepositorioAlumnos) ////////////////////////////
+
+	@Override
+	public Optional<Alumno> buscarPorNia(int nia) {
+		cerrojo.readLock().lock();
+		try {
+			return Optional.ofNullable(leer(nia));
+		} catch (IOException e) {
+			loggerExcepciones.error("Error al leer el alumno con NIA {}: {}", nia, e.getMessage(), e);
+			return Optional.empty();
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	@Override
+	public List<Alumno> obtenerPaginaAlumnos(int niaAnterior, int tamanoPagina) {
+		cerrojo.readLock().lock();
+		try {
+			return pagina(nias, niaAnterior, tamanoPagina);
+		} catch (IOException e) {
+			loggerExcepciones.error("Error al leer la página de alumnos tras el NIA {}: {}", niaAnterior,
+					e.getMessage(), e);
+			throw new ExcepcionAccesoDatos("Error al leer la página de alumnos tras el NIA " + niaAnterior, e);
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	@Override
+	public List<Alumno> obtenerPaginaAlumnosPorGrupo(String nombreGrupo, int niaAnterior, int tamanoPagina) {
+		cerrojo.readLock().lock();
+		try {
+			ListaEnterosOrdenada indice = niasPorGrupo.get(nombreGrupo);
+			return indice == null ? List.of() : pagina(indice, niaAnterior, tamanoPagina);
+		} catch (IOException e) {
+			loggerExcepciones.error("Error al leer la página del grupo '{}' tras el NIA {}: {}", nombreGrupo,
+					niaAnterior, e.getMessage(), e);
+			throw new ExcepcionAccesoDatos(
+					"Error al leer la página del grupo '" + nombreGrupo + "' tras el NIA " + niaAnterior, e);
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	@Override
+	public List<Grupo> buscarGrupos() {
+		cerrojo.readLock().lock();
+		try {
+			List<Grupo> copia = new ArrayList<>(grupos.size());
+			grupos.values().forEach(grupo -> copia.add(new Grupo(grupo.getNumeroGrupo(), grupo.getNombreGrupo())));
+			return copia;
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Inserta todos los alumnos con una sola escritura en el registro.
+	 */
+	@Override
+	public int guardarTodos(Collection<Alumno> nuevos) {
+		return guardarTodos(nuevos, false);
+	}
+
+	@Override
+	public int guardarTodosConNia(Collection<Alumno> nuevos) {
+		return guardarTodos(nuevos, true);
+	}
+
+	private int guardarTodos(Collection<Alumno> nuevos, boolean conservarNias) {
+		List<Alumno> lote = new ArrayList<>(nuevos.size());
+		List<Alumno> originales = new ArrayList<>(nuevos.size());
+		ListaEnterosOrdenada niasDelLote = new ListaEnterosOrdenada();
+
+		cerrojo.writeLock().lock();
+		try {
+			for (Alumno alumno : nuevos) {
+				if (conservarNias && (nias.contiene(alumno.getNia()) || !niasDelLote.anadir(alumno.getNia()))) {
+					loggerGeneral.warn("El NIA {} ya existe. Alumno ignorado.", alumno.getNia());
+					continue;
+				}
+				Grupo grupo = alumno.getGrupo() == null ? null : grupos.get(alumno.getGrupo().getNombreGrupo());
+				if (grupo == null) {
+					loggerGeneral.warn("El grupo '{}' no existe. Alumno ignorado.",
+							alumno.getGrupo() == null ? null : alumno.getGrupo().getNombreGrupo());
+					continue;
+				}
+				Alumno nuevo = new Alumno(alumno);
+				if (!conservarNias) {
+					nuevo.setNia(0); // escribirAlumnos le asigna el siguiente
+				}
+				nuevo.setGrupo(grupo);
+				lote.add(nuevo);
+				originales.add(alumno);
+			}
+			if (!lote.isEmpty()) {
+				escribirAlumnos(lote);
+			}
+			// Igual que en insertarAlumno, el NIA asignado se copia al alumno recibido
+			for (int i = 0; i < lote.size(); i++) {
+				originales.get(i).setNia(lote.get(i).getNia());
+			}
+		} catch (IOException e) {
+			loggerExcepciones.error("Error al guardar {} alumnos: {}", lote.size(), e.getMessage(), e);
+			return 0;
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+
+		return lote.size();
+	}
+
+	// FICHEROS ////////////////////////////////////////////////////////////////
+
+	/**
+	 * Exporta todos los alumnos a 'alumnos.txt' o, con la compresión activada, a
+	 * 'alumnos.txt.gz' (primero en un temporal que luego sustituye al original,
+	 * para no dejarlo a medio escribir).
+	 */
+	@Override
+	public void guardarAlumnosEnFicheroTexto(boolean sobrescribir) {
+		Path destino = FicherosComprimidos.rutaExportacion(FICHERO_ALUMNOS);
+		if (Files.exists(destino) && !sobrescribir) {
+			System.out.println("Operación cancelada. El fichero no se sobrescribirá.");
+			return;
+		}
+		Path temporal = destino.resolveSibling(destino.getFileName() + ".tmp");
+
+		cerrojo.readLock().lock();
+		try {
+			try (BufferedWriter salida = FicherosComprimidos.abrirEscritor(temporal,
+					FicherosComprimidos.esRutaComprimida(destino))) {
+				CodecCSVAlumnos.escribirCabecera(salida);
+				CodecCSVAlumnos codec = CodecCSVAlumnos.delHilo();
+				for (int i = 0; i < nias.getTamano(); i++) {
+					codec.escribir(leer(nias.obtener(i)), salida);
+				}
+			}
+			Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			System.out.println("Datos de los alumnos guardados correctamente en el fichero '" + destino + "'.");
+		} catch (IOException e) {
+			loggerExcepciones.error("Error al guardar el fichero '{}': {}", destino, e.getMessage(), e);
+			System.out.println("Se produjo un error al guardar el fichero. Revisa los logs para más detalles.");
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Importa 'alumnos.txt' conservando los NIA del fichero: un NIA que ya existe
+	 * se sobrescribe con los datos del fichero. Los grupos que no existen se
+	 * crean.
+	 */
+	@Override
+	public boolean leerAlumnosDeFicheroTexto() {
+		Path fichero = FicherosComprimidos.rutaImportacion(FICHERO_ALUMNOS);
+		if (!Files.exists(fichero)) {
+			loggerExcepciones.error("El fichero '{}' no existe.", fichero);
+			return false;
+		}
+		return importarAlumnos(fichero) > 0;
+	}
+
+	/**
+	 * @return el número de alumnos importados, o -1 si ha habido un error.
+	 */
+	private long importarAlumnos(Path fichero) {
+		LectorAlumnosMapeado lector = new LectorAlumnosMapeado();
+		List<Alumno> lote = new ArrayList<>(TAMANO_LOTE_IMPORTACION);
+		long[] importados = { 0 };
+
+		cerrojo.writeLock().lock();
+		try {
+			// El lector reutiliza el mismo objeto Alumno en cada línea
+			lector.leer(fichero, alumno -> {
+				try {
+					Alumno copia = new Alumno(alumno);
+					copia.setGrupo(obtenerOCrearGrupo(alumno.getGrupo().getNombreGrupo()));
+					lote.add(copia);
+					if (lote.size() == TAMANO_LOTE_IMPORTACION) {
+						escribirAlumnos(lote);
+						importados[0] += lote.size();
+						lote.clear();
+					}
+				} catch (IOException e) {
+					throw new SQLException("Error al escribir en el registro: " + e.getMessage(), e);
+				}
+			});
+			if (!lote.isEmpty()) {
+				escribirAlumnos(lote);
+				importados[0] += lote.size();
+			}
+			loggerGeneral.info("Fichero '{}' importado: {} alumnos ({} líneas no válidas).", fichero, importados[0],
+					lector.getLineasInvalidas());
+			return importados[0];
+		} catch (IOException | SQLException e) {
+			loggerExcepciones.error("Error al importar el fichero '{}' ({} alumnos importados): {}", fichero,
+					importados[0], e.getMessage(), e);
+			return -1;
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Importa las líneas "número,nombre" de 'grupos.txt'.
+	 */
+	private void importarGrupos(Path fichero) {
+		cerrojo.writeLock().lock();
+		try {
+			for (String linea : Files.readAllLines(fichero, StandardCharsets.UTF_8)) {
+				String[] datos = linea.split(",", 2);
+				if (datos.length == 2 && !datos[0].isEmpty() && Character.isDigit(datos[0].charAt(0))
+						&& !grupos.containsKey(datos[1])) {
+					Grupo grupo = new Grupo(Integer.parseInt(datos[0]), datos[1]);
+					registro.guardarGrupo(grupo);
+					registrarGrupo(grupo);
+				}
+			}
+		} catch (IOException | NumberFormatException e) {
+			loggerExcepciones.error("Error al importar el fichero '{}': {}", fichero, e.getMessage(), e);
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	// GRUPOS //////////////////////////////////////////////////////////////////
+
+	@Override
+	public boolean insertarGrupo(Grupo grupo) {
+		String nombreGrupo = grupo.getNombreGrupo().toUpperCase();
+
+		cerrojo.writeLock().lock();
+		try {
+			if (grupos.containsKey(nombreGrupo)) {
+				loggerGeneral.warn("No se pudo insertar el grupo '{}': ya existe.", nombreGrupo);
+				return false;
+			}
+			Grupo nuevo = obtenerOCrearGrupo(nombreGrupo);
+			grupo.setNumeroGrupo(nuevo.getNumeroGrupo());
+			loggerGeneral.info("Grupo '{}' insertado exitosamente", nombreGrupo);
+			return true;
+		} catch (IOException e) {
+			loggerExcepciones.error("Error al insertar el grupo '{}': {}", nombreGrupo, e.getMessage(), e);
+			return false;
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean eliminarAlumnosPorGrupo(String nombreGrupo) {
+		cerrojo.writeLock().lock();
+		try {
+			ListaEnterosOrdenada indice = niasPorGrupo.get(nombreGrupo);
+			if (indice == null || indice.estaVacia()) {
+				loggerGeneral.info("No se encontraron alumnos en el grupo '{}'", nombreGrupo);
+				return false;
+			}
+			for (int nia : indice.aArray()) {
+				registro.eliminarAlumno(nia);
+				desindexar(nia);
+			}
+			loggerGeneral.info("Alumnos del grupo '{}' eliminados exitosamente", nombreGrupo);
+			return true;
+		} catch (IOException e) {
+			loggerExcepciones.error("Error al eliminar los alumnos del grupo '{}': {}", nombreGrupo, e.getMessage(),
+					e);
+			return false;
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean mostrarTodosLosGrupos() {
+		List<Grupo> todos = buscarGrupos();
+		todos.forEach(grupo -> System.out.println("- " + grupo.getNombreGrupo()));
+		return !todos.isEmpty();
+	}
+
+	/**
+	 * Guarda todos los grupos y sus alumnos en 'grupos.xml'.
+	 */
+	@Override
+	public boolean guardarGruposEnXML(boolean sobrescribir) {
+		Path archivo = FicherosComprimidos.rutaExportacion(Path.of("grupos.xml"));
+		if (Files.exists(archivo) && !sobrescribir) {
+			System.out.println("El archivo no se ha sobrescrito.");
+			return false;
+		}
+		return escribirXML(archivo, buscarGrupos());
+	}
+
+	/**
+	 * Guarda en 'grupo_NOMBRE.xml' el grupo que elija el usuario.
+	 */
+	@Override
+	public boolean guardarGrupoEspecificoEnXML() {
+		if (!mostrarTodosLosGrupos()) {
+			System.out.println("❌ No hay grupos disponibles. No se puede continuar.");
+			return false;
+		}
+
+		System.out.print("\nIntroduce el nombre del grupo que deseas guardar en fichero XML: ");
+		String nombreGrupo = sc.nextLine().trim().toUpperCase();
+
+		Optional<Grupo> grupo = buscarGrupos().stream().filter(g -> g.getNombreGrupo().equals(nombreGrupo))
+				.findFirst();
+		if (grupo.isEmpty()) {
+			System.out.println("❌ El grupo '" + nombreGrupo + "' no existe.");
+			return false;
+		}
+
+		Path archivo = Path.of("grupo_" + nombreGrupo + ".xml");
+		if (Files.exists(archivo) && !confirmarSobrescribir(archivo)) {
+			return false;
+		}
+		return escribirXML(archivo, List.of(grupo.get()));
+	}
+
+	private boolean confirmarSobrescribir(Path archivo) {
+		System.out.print("El archivo " + archivo + " ya existe. ¿Deseas sobrescribirlo? (S/N): ");
+		if (sc.nextLine().trim().equalsIgnoreCase("S")) {
+			return true;
+		}
+		System.out.println("El archivo no se ha sobrescrito.");
+		return false;
+	}
+
+
+	private boolean escribirXML(Path archivo, List<Grupo> gruposAGuardar) {
+		cerrojo.readLock().lock();
+		try (EscritorXMLGrupos escritor = new EscritorXMLGrupos(archivo)) {
+			for (Grupo grupo : gruposAGuardar) {
+				escritor.abrirGrupo(grupo.getNumeroGrupo(), grupo.getNombreGrupo());
+				ListaEnterosOrdenada indice = niasPorGrupo.get(grupo.getNombreGrupo());
+				for (int i = 0; indice != null && i < indice.getTamano(); i++) {
+					Alumno alumno = leer(indice.obtener(i));
+					escritor.escribirAlumno(alumno.getNia(), alumno.getNombre(), alumno.getApellidos(),
+							String.valueOf(alumno.getGenero()), Fechas.formatearIso(alumno.getFechaNacimiento()),
+							alumno.getCiclo(), alumno.getCurso());
+				}
+			}
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al generar el archivo XML '{}': {}", archivo, e.getMessage(), e);
+			System.out.println("Error al generar el archivo XML: " + e.getMessage());
+			return false;
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+
+		loggerGeneral.info("El archivo XML se ha guardado correctamente en {}", archivo);
+		System.out.println("El archivo XML se ha guardado correctamente.");
+		return true;
+	}
+
+	/**
+	 * Crea los grupos del XML que no existan e inserta sus alumnos con NIA nuevos,
+	 * escribiéndolos en el registro por lotes.
+	 */
+	@Override
+	public boolean leerYGuardarGruposXML(String rutaArchivo) {
+		Path archivo = FicherosComprimidos.rutaImportacion(Path.of(rutaArchivo));
+		if (!Files.exists(archivo)) {
+			loggerExcepciones.error("El archivo XML no existe: {}", rutaArchivo);
+			System.err.println("El archivo XML no existe: " + rutaArchivo);
+			return false;
+		}
+
+		LectorXMLGrupos lector = new LectorXMLGrupos();
+		List<Alumno> lote = new ArrayList<>(TAMANO_LOTE_IMPORTACION);
+		cerrojo.writeLock().lock();
+		try {
+			lector.leer(archivo, new LectorXMLGrupos.Destino() {
+				@Override
+				public Grupo inicioGrupo(String nombreGrupo) throws SQLException {
+					try {
+						return obtenerOCrearGrupo(nombreGrupo);
+					} catch (IOException e) {
+						throw new SQLException("Error al escribir en el registro: " + e.getMessage(), e);
+					}
+				}
+
+				@Override
+				public void alumno(Alumno alumno) throws SQLException {
+					lote.add(alumno);
+					if (lote.size() == TAMANO_LOTE_IMPORTACION) {
+						escribirLote();
+					}
+				}
+
+				@Override
+				public void finGrupo(Grupo grupo) throws SQLException {
+					escribirLote();
+				}
+
+				private void escribirLote() throws SQLException {
+					if (lote.isEmpty()) {
+						return;
+					}
+					try {
+						escribirAlumnos(lote);
+						lote.clear();
+					} catch (IOException e) {
+						throw new SQLException("Error al escribir en el registro: " + e.getMessage(), e);
+					}
+				}
+			});
+		} catch (IOException | XMLStreamException | SQLException e) {
+			loggerExcepciones.error("Error al procesar el archivo XML: {}", e.getMessage(), e);
+			System.err.println("Error al procesar el archivo XML: " + e.getMessage());
+			return false;
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+
+		loggerGeneral.info("Datos cargados correctamente desde el archivo XML: {} grupos, {} alumnos.",
+				lector.getGruposLeidos(), lector.getAlumnosLeidos());
+		System.out.println("Datos cargados correctamente desde el archivo XML.");
+		return true;
+	}
+
+	@Override
+	public void mostrarAlumnosPorGrupo() {
+		if (!mostrarTodosLosGrupos()) {
+			System.out.println("No hay grupos disponibles para mostrar.");
+			return;
+		}
+
+		System.out.println("Introduce el nombre del grupo del que quieres ver los alumnos:");
+		String nombreGrupo = sc.nextLine().trim().toUpperCase();
+		if (!existeGrupo(nombreGrupo)) {
+			System.out.println("El grupo especificado no existe. Inténtalo de nuevo.");
+			return;
+		}
+
+		ListaAlumnosCompacta delGrupo = ListaAlumnosCompacta.de(buscarPorGrupo(nombreGrupo));
+		if (delGrupo.estaVacia()) {
+			System.out.println("No hay alumnos registrados en este grupo.");
+			return;
+		}
+		System.out.println("Alumnos del grupo '" + nombreGrupo + "':");
+		delGrupo.forEach(AlumnosFichero::imprimir);
+	}
+
+	@Override
+	public boolean cambiarGrupoAlumno() {
+		ListaAlumnosCompacta todos = ListaAlumnosCompacta.de(buscarTodos());
+		if (todos.estaVacia()) {
+			System.out.println("❌ No hay alumnos disponibles.");
+			return false;
+		}
+		System.out.println("Lista de alumnos disponibles para cambiar de grupo:");
+		imprimirNiaYNombre(todos);
+
+		System.out.println("\nIntroduce el NIA del alumno al que deseas cambiar de grupo:");
+		int nia;
+		try {
+			nia = Integer.parseInt(sc.nextLine().trim());
+		} catch (NumberFormatException e) {
+			System.out.println("❌ El NIA debe ser un número válido.");
+			return false;
+		}
+
+		System.out.println("\nGrupos disponibles:");
+		mostrarTodosLosGrupos();
+		System.out.println("\nIntroduce el nombre del grupo al que deseas cambiar al alumno:");
+		String nuevoGrupo = sc.nextLine().trim().toUpperCase();
+
+		cerrojo.writeLock().lock();
+		try {
+			Alumno alumno = leer(nia);
+			if (alumno == null) {
+				System.out.println("❌ No se encontró ningún alumno con el NIA proporcionado.");
+				return false;
+			}
+			Grupo grupo = grupos.get(nuevoGrupo);
+			if (grupo == null) {
+				System.out.println("❌ El grupo especificado no existe.");
+				return false;
+			}
+			if (grupo == grupoDeAlumno.obtener(nia)) {
+				System.out.println("⚠️ El alumno ya pertenece al grupo '" + nuevoGrupo + "'.");
+				return false;
+			}
+
+			alumno.setGrupo(grupo);
+			escribirAlumnos(List.of(alumno));
+			System.out.println("✅ El grupo del alumno ha sido cambiado exitosamente.");
+			return true;
+		} catch (IOException e) {
+			loggerExcepciones.error("Error al cambiar de grupo al alumno con NIA {}: {}", nia, e.getMessage(), e);
+			System.out.println("❌ No se pudo guardar el cambio de grupo.");
+			return false;
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * @return el número de alumnos.
+	 */
+	public int getNumeroAlumnos() {
+		cerrojo.readLock().lock();
+		try {
+			return grupoDeAlumno.getTamano();
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return el registro en el que se guardan los datos (tamaño, compactaciones).
+	 */
+	public RegistroAlumnos getRegistro() {
+		return registro;
+	}
+}
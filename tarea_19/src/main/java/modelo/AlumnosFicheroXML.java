@@ -1,101 +1,1321 @@
-package modelo;
-
-public class AlumnosFicheroXML implements AlumnosDAO {
-
-	@Override
-	public boolean insertarAlumno(Alumno alumno) {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public Alumno solicitarDatosAlumno() {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
-	@Override
-	public boolean mostrarTodosLosAlumnos(boolean mostrarTodaLaInformacion) {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public boolean modificarNombreAlumnoPorNIA(int nia, String nuevoNombre) {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public boolean eliminarAlumnoPorNIA(int nia) {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public boolean mostrarAlumnoPorNIA(int nia) {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public void guardarAlumnosEnFicheroTexto() {
-		// TODO Auto-generated method stub
-		
-	}
-
-	@Override
-	public boolean leerAlumnosDeFicheroTexto() {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public boolean insertarGrupo(Grupo grupo) {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public boolean eliminarAlumnosPorGrupo(String grupo) {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public boolean mostrarTodosLosGrupos() {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public boolean guardarGruposEnXML() {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public boolean leerYGuardarGruposXML(String rutaArchivo) {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public void mostrarAlumnosPorGrupo() {
-		// TODO Auto-generated method stub
-		
-	}
-
-	@Override
-	public boolean cambiarGrupoAlumno() {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public boolean guardarGrupoEspecificoEnXML() {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-}
+package modelo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Scanner;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Modelo sobre un fichero 'grupos.xml' con el mismo formato que genera
+ * {@code guardarGruposEnXML} ({@code <grupos><grupo><alumno/>...}).
+ *
+ * La primera vez que se usa se recorre el fichero con StAX para construir un
+ * índice en memoria (grupos, grupo de cada NIA y NIA de cada grupo); si el
+ * fichero cambia fuera de la aplicación, el índice se vuelve a construir. Las
+ * consultas leen el fichero en streaming y usan el índice para saber qué
+ * alumnos buscar y saltarse los grupos en los que no están, sin cargar nunca
+ * el documento completo.
+ *
+ * Las escrituras se hacen con {@link ReescritorXMLGrupos}: una copia en
+ * streaming del fichero en la que solo se modifican los elementos afectados, en
+ * lugar de cargar un DOM y serializarlo entero.
+ */
+public class AlumnosFicheroXML implements AlumnosDAO {
+
+	private static final Logger loggerGeneral = LogManager.getRootLogger();
+	private static final Logger loggerExcepciones = LogManager.getLogger("exceptions");
+
+	private static final Path FICHERO_ALUMNOS = Path.of("alumnos.txt");
+	private static final int TAMANO_BUFFER = 64 * 1024;
+
+	private final Scanner sc = new Scanner(System.in);
+
+	private final Path fichero;
+	private final ReescritorXMLGrupos reescritor = new ReescritorXMLGrupos();
+	private final XMLInputFactory factoryEntrada = XMLInputFactory.newInstance();
+
+	// Índice en memoria, protegido por el cerrojo
+	private final ReentrantReadWriteLock cerrojo = new ReentrantReadWriteLock();
+	private boolean indiceCargado = false;
+	private long tamanoIndexado = -1;
+	private FileTime modificacionIndexada;
+	private final TreeMap<String, Grupo> grupos = new TreeMap<>();
+	private final MapaEnteros<Grupo> grupoDeAlumno = new MapaEnteros<>();
+	private final ListaEnterosOrdenada nias = new ListaEnterosOrdenada();
+	private final TreeMap<String, ListaEnterosOrdenada> niasPorGrupo = new TreeMap<>();
+	private int siguienteNia = 1;
+	private int siguienteNumeroGrupo = 1;
+
+	/**
+	 * Usa 'grupos.xml' del directorio de trabajo.
+	 */
+	public AlumnosFicheroXML() {
+		this(Path.of("grupos.xml"));
+	}
+
+	/**
+	 * @param fichero Fichero XML de grupos. Se crea al hacer el primer cambio si
+	 *                no existe.
+	 */
+	public AlumnosFicheroXML(Path fichero) {
+		this.fichero = fichero;
+		// Sin DTD ni entidades externas
+		factoryEntrada.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factoryEntrada.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+	}
+
+	// ÍNDICE //////////////////////////////////////////////////////////////////
+
+	/**
+	 * Construye el índice si aún no se ha hecho o si el fichero ha cambiado desde
+	 * la última vez.
+	 */
+	private void asegurarIndice() throws IOException, XMLStreamException {
+		cerrojo.readLock().lock();
+		try {
+			if (indiceActualizado()) {
+				return;
+			}
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+
+		cerrojo.writeLock().lock();
+		try {
+			if (!indiceActualizado()) {
+				construirIndice();
+			}
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	private boolean indiceActualizado() throws IOException {
+		if (!indiceCargado) {
+			return false;
+		}
+		if (!Files.exists(fichero)) {
+			return tamanoIndexado == -1;
+		}
+		return Files.size(fichero) == tamanoIndexado
+				&& Files.getLastModifiedTime(fichero).equals(modificacionIndexada);
+	}
+
+	private void recordarEstadoFichero() throws IOException {
+		if (Files.exists(fichero)) {
+			tamanoIndexado = Files.size(fichero);
+			modificacionIndexada = Files.getLastModifiedTime(fichero);
+		} else {
+			tamanoIndexado = -1;
+			modificacionIndexada = null;
+		}
+		indiceCargado = true;
+	}
+
+	/**
+	 * Recorre el fichero completo guardando solo números, nombres de grupo y NIA.
+	 * Se llama con el cerrojo de escritura.
+	 */
+	private void construirIndice() throws IOException, XMLStreamException {
+		long inicio = System.nanoTime();
+		indiceCargado = false;
+		grupos.clear();
+		grupoDeAlumno.vaciar();
+		nias.vaciar();
+		niasPorGrupo.clear();
+		siguienteNia = 1;
+		siguienteNumeroGrupo = 1;
+
+		if (Files.exists(fichero)) {
+			recorrer(new Visitante() {
+				private Grupo actual;
+
+				@Override
+				public boolean grupo(int numeroGrupo, String nombreGrupo) {
+					actual = grupos.get(nombreGrupo);
+					if (actual == null) {
+						actual = new Grupo(numeroGrupo, nombreGrupo);
+						registrarGrupo(actual);
+					}
+					return true;
+				}
+
+				@Override
+				public boolean alumno(XMLStreamReader xml, int nia) {
+					if (nia > 0) {
+						indexar(nia, actual);
+					}
+					return true;
+				}
+			});
+		}
+		recordarEstadoFichero();
+		loggerGeneral.info("Índice de '{}' construido: {} grupos, {} alumnos en {} ms.", fichero, grupos.size(),
+				grupoDeAlumno.getTamano(), (System.nanoTime() - inicio) / 1_000_000);
+	}
+
+	private void registrarGrupo(Grupo grupo) {
+		grupos.put(grupo.getNombreGrupo(), grupo);
+		niasPorGrupo.computeIfAbsent(grupo.getNombreGrupo(), n -> new ListaEnterosOrdenada());
+		siguienteNumeroGrupo = Math.max(siguienteNumeroGrupo, grupo.getNumeroGrupo() + 1);
+	}
+
+	private void indexar(int nia, Grupo grupo) {
+		Grupo anterior = grupoDeAlumno.guardar(nia, grupo);
+		if (anterior != null) {
+			niasPorGrupo.get(anterior.getNombreGrupo()).eliminar(nia);
+		}
+		nias.anadir(nia);
+		niasPorGrupo.get(grupo.getNombreGrupo()).anadir(nia);
+		siguienteNia = Math.max(siguienteNia, nia + 1);
+	}
+
+	private void desindexar(int nia) {
+		Grupo grupo = grupoDeAlumno.eliminar(nia);
+		if (grupo != null) {
+			nias.eliminar(nia);
+			niasPorGrupo.get(grupo.getNombreGrupo()).eliminar(nia);
+		}
+	}
+
+	// LECTURA EN STREAMING ////////////////////////////////////////////////////
+
+	/**
+	 * Recibe los elementos del XML a medida que se leen.
+	 */
+	private interface Visitante {
+
+		/** @return false para saltarse los alumnos de este grupo. */
+		boolean grupo(int numeroGrupo, String nombreGrupo) throws XMLStreamException;
+
+		/**
+		 * @param xml Lector situado en el {@code <alumno>}.
+		 * @return false para dejar de leer el fichero.
+		 */
+		boolean alumno(XMLStreamReader xml, int nia) throws XMLStreamException;
+	}
+
+	private void recorrer(Visitante visitante) throws IOException, XMLStreamException {
+		try (InputStream entrada = new BufferedInputStream(Files.newInputStream(fichero), TAMANO_BUFFER)) {
+			XMLStreamReader xml = factoryEntrada.createXMLStreamReader(entrada);
+			try {
+				boolean saltarGrupo = false;
+				while (xml.hasNext()) {
+					int evento = xml.next();
+					if (evento == XMLStreamConstants.START_ELEMENT) {
+						String elemento = xml.getLocalName();
+						if (elemento.equals("grupo")) {
+							String numero = atributo(xml, "numeroGrupo").trim();
+							String nombreGrupo = atributo(xml, "nombreGrupo").trim();
+							if (nombreGrupo.isEmpty()) {
+								throw new XMLStreamException("Nombre del grupo vacío en el XML.", xml.getLocation());
+							}
+							saltarGrupo = !visitante.grupo(numero.isEmpty() ? 0 : Integer.parseInt(numero),
+									nombreGrupo);
+						} else if (elemento.equals("alumno") && !saltarGrupo
+								&& !visitante.alumno(xml, ReescritorXMLGrupos.leerNia(xml))) {
+							return;
+						}
+					} else if (evento == XMLStreamConstants.END_ELEMENT && xml.getLocalName().equals("grupo")) {
+						saltarGrupo = false;
+					}
+				}
+			} catch (NumberFormatException e) {
+				throw new XMLStreamException("Número de grupo no válido en '" + fichero + "'", xml.getLocation(), e);
+			} finally {
+				xml.close();
+			}
+		}
+	}
+
+	private static Alumno leerAlumno(XMLStreamReader xml, int nia, Grupo grupo) throws XMLStreamException {
+		String fecha = atributo(xml, "fechaNacimiento");
+		LocalDate fechaNacimiento = fecha.isEmpty() ? null : Fechas.analizar(fecha);
+		if (!fecha.isEmpty() && fechaNacimiento == null) {
+			throw new XMLStreamException("Fecha de nacimiento no válida: '" + fecha + "'", xml.getLocation());
+		}
+		String genero = atributo(xml, "genero");
+		return new Alumno(nia, atributo(xml, "nombre"), atributo(xml, "apellidos"),
+				genero.isEmpty() ? 'S' : genero.charAt(0), fechaNacimiento, atributo(xml, "ciclo"),
+				atributo(xml, "curso"), new Grupo(grupo.getNumeroGrupo(), grupo.getNombreGrupo()));
+	}
+
+	private static String atributo(XMLStreamReader xml, String nombre) {
+		String valor = xml.getAttributeValue(null, nombre);
+		return valor == null ? "" : valor;
+	}
+
+	/**
+	 * Lee del fichero los alumnos con los NIA indicados (ordenados) en una sola
+	 * pasada, saltándose los grupos en los que no hay ninguno y parando en cuanto
+	 * los ha encontrado todos. Se llama con el cerrojo adquirido.
+	 *
+	 * @return los alumnos en el orden de {@code niasBuscados}.
+	 */
+	private List<Alumno> leerAlumnos(int[] niasBuscados) throws IOException, XMLStreamException {
+		if (niasBuscados.length == 0) {
+			return List.of();
+		}
+		Set<String> gruposConAlumnos = new HashSet<>();
+		for (int nia : niasBuscados) {
+			gruposConAlumnos.add(grupoDeAlumno.obtener(nia).getNombreGrupo());
+		}
+
+		MapaEnteros<Alumno> encontrados = new MapaEnteros<>(niasBuscados.length);
+		recorrer(new Visitante() {
+			private Grupo actual;
+
+			@Override
+			public boolean grupo(int numeroGrupo, String nombreGrupo) {
+				actual = grupos.get(nombreGrupo);
+				return gruposConAlumnos.contains(nombreGrupo);
+			}
+
+			@Override
+			public boolean alumno(XMLStreamReader xml, int nia) throws XMLStreamException {
+				if (Arrays.binarySearch(niasBuscados, nia) >= 0) {
+					encontrados.guardar(nia, leerAlumno(xml, nia, actual));
+				}
+				return encontrados.getTamano() < niasBuscados.length;
+			}
+		});
+
+		List<Alumno> resultado = new ArrayList<>(niasBuscados.length);
+		for (int nia : niasBuscados) {
+			Alumno alumno = encontrados.obtener(nia);
+			if (alumno != null) {
+				resultado.add(alumno);
+			}
+		}
+		return resultado;
+	}
+
+	/**
+	 * @return los NIA de {@code indice} mayores que {@code niaAnterior}, hasta
+	 *         {@code tamanoPagina}.
+	 */
+	private static int[] niasDePagina(ListaEnterosOrdenada indice, int niaAnterior, int tamanoPagina) {
+		int desde = indice.posicionSiguiente(niaAnterior);
+		int[] pagina = new int[Math.max(0, Math.min(tamanoPagina, indice.getTamano() - desde))];
+		for (int i = 0; i < pagina.length; i++) {
+			pagina[i] = indice.obtener(desde + i);
+		}
+		return pagina;
+	}
+
+	/**
+	 * Aplica los cambios al fichero y guarda el nuevo estado del fichero para no
+	 * reconstruir el índice. Se llama con el cerrojo de escritura.
+	 */
+	private void aplicar(ReescritorXMLGrupos.Cambios cambios) throws IOException, XMLStreamException {
+		long inicio = System.nanoTime();
+		reescritor.aplicar(fichero, cambios);
+		recordarEstadoFichero();
+		loggerGeneral.debug("'{}' reescrito en {} ms.", fichero, (System.nanoTime() - inicio) / 1_000_000);
+	}
+
+	/**
+	 * Adquiere el cerrojo de escritura con el índice actualizado.
+	 */
+	private void bloquearParaEscribir() throws IOException, XMLStreamException {
+		cerrojo.writeLock().lock();
+		try {
+			if (!indiceActualizado()) {
+				construirIndice();
+			}
+		} catch (IOException | XMLStreamException | RuntimeException e) {
+			cerrojo.writeLock().unlock();
+			throw e;
+		}
+	}
+
+	/**
+	 * Adquiere el cerrojo de lectura con el índice actualizado.
+	 */
+	private void bloquearParaLeer() throws IOException, XMLStreamException {
+		asegurarIndice();
+		cerrojo.readLock().lock();
+	}
+
+	// ALUMNOS /////////////////////////////////////////////////////////////////
+
+	@Override
+	public boolean insertarAlumno(Alumno alumno) {
+		String nombreGrupo = alumno.getGrupo() == null ? null : alumno.getGrupo().getNombreGrupo();
+		try {
+			bloquearParaEscribir();
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al leer '{}': {}", fichero, e.getMessage(), e);
+			return false;
+		}
+		try {
+			Grupo grupo = grupos.get(nombreGrupo);
+			if (grupo == null) {
+				loggerExcepciones.error("Error: El grupo '{}' no existe.", nombreGrupo);
+				return false;
+			}
+
+			Alumno nuevo = new Alumno(alumno);
+			nuevo.setNia(siguienteNia);
+			nuevo.setGrupo(grupo);
+			aplicar(new ReescritorXMLGrupos.Cambios().anadirAlumno(nuevo));
+			indexar(nuevo.getNia(), grupo);
+			alumno.setNia(nuevo.getNia());
+			loggerGeneral.info("Alumno '{}' '{}' insertado correctamente con NIA {}.", alumno.getNombre(),
+					alumno.getApellidos(), alumno.getNia());
+			return true;
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al insertar el alumno '{}' '{}': {}", alumno.getNombre(),
+					alumno.getApellidos(), e.getMessage(), e);
+			return false;
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Solicita al usuario los datos necesarios para crear un objeto Alumno.
+	 *
+	 * @return Un objeto Alumno con los datos ingresados por el usuario.
+	 */
+	@Override
+	public Alumno solicitarDatosAlumno() {
+		System.out.println("Introduce el nombre del alumno:");
+		String nombre = sc.nextLine().trim().toUpperCase();
+
+		System.out.println("Introduce los apellidos del alumno:");
+		String apellidos = sc.nextLine().trim().toUpperCase();
+
+		char genero;
+		do {
+			System.out.println("Introduce el género del alumno (M/F):");
+			String entrada = sc.nextLine().trim().toUpperCase();
+			genero = entrada.length() == 1 ? entrada.charAt(0) : ' ';
+			if (genero != 'M' && genero != 'F') {
+				System.out.println("Respuesta no válida. Introduce 'M' o 'F'.");
+			}
+		} while (genero != 'M' && genero != 'F');
+
+		LocalDate fechaNacimiento;
+		do {
+			System.out.println("Introduce la fecha de nacimiento (dd-MM-aaaa):");
+			fechaNacimiento = Fechas.analizar(sc.nextLine().trim());
+			if (fechaNacimiento == null) {
+				System.out.println("Formato de fecha inválido. Intenta de nuevo.");
+			}
+		} while (fechaNacimiento == null);
+
+		System.out.println("Introduce el ciclo del alumno:");
+		String ciclo = sc.nextLine().trim().toUpperCase();
+
+		System.out.println("Introduce el curso del alumno:");
+		String curso = sc.nextLine().trim().toUpperCase();
+
+		String nombreGrupo;
+		do {
+			System.out.println("Introduce el nombre del grupo del alumno:");
+			nombreGrupo = sc.nextLine().trim().toUpperCase();
+			if (!existeGrupo(nombreGrupo)) {
+				System.out.println("El nombre del grupo no es válido. Intenta de nuevo.");
+			}
+		} while (!existeGrupo(nombreGrupo));
+
+		return new Alumno(nombre, apellidos, genero, fechaNacimiento, ciclo, curso, new Grupo(nombreGrupo));
+	}
+
+	private boolean existeGrupo(String nombreGrupo) {
+		return buscarGrupos().stream().anyMatch(grupo -> grupo.getNombreGrupo().equals(nombreGrupo));
+	}
+
+	@Override
+	public boolean mostrarTodosLosAlumnos(boolean mostrarTodaLaInformacion) {
+		ListaAlumnosCompacta todos = ListaAlumnosCompacta.de(buscarTodos());
+		if (todos.estaVacia()) {
+			System.out.println("No hay alumnos registrados.");
+			return false;
+		}
+
+		if (!mostrarTodaLaInformacion) {
+			System.out.println("Lista de alumnos (NIA y Nombre):");
+			imprimirNiaYNombre(todos);
+
+			System.out.println("\nIntroduce el NIA del alumno que deseas visualizar (o 0 para salir):");
+			while (true) {
+				try {
+					int nia = Integer.parseInt(sc.nextLine().trim());
+					if (nia == 0) {
+						System.out.println("Saliendo sin seleccionar un alumno.");
+						return true;
+					}
+					if (mostrarAlumnoPorNIA(nia)) {
+						return true;
+					}
+					System.out.println("El NIA seleccionado no está en la lista. Inténtalo de nuevo.");
+				} catch (NumberFormatException e) {
+					System.out.println("El NIA debe ser un número válido. Inténtalo de nuevo:");
+				}
+			}
+		}
+
+		System.out.println("Lista completa de alumnos registrados:");
+		todos.forEach(AlumnosFicheroXML::imprimir);
+		return true;
+	}
+
+	private static void imprimirNiaYNombre(ListaAlumnosCompacta alumnos) {
+		for (int i = 0; i < alumnos.getTamano(); i++) {
+			System.out.printf("NIA: %d, Nombre: %s%n", alumnos.getNia(i), alumnos.getNombre(i));
+		}
+	}
+
+	private static void imprimir(Alumno alumno) {
+		System.out.printf("""
+				NIA: %d
+				Nombre: %s
+				Apellidos: %s
+				Género: %s
+				Fecha de nacimiento: %s
+				Ciclo: %s
+				Curso: %s
+				Grupo: %s
+				-------------------------
+				""", alumno.getNia(), alumno.getNombre(), alumno.getApellidos(), alumno.getGenero(),
+				Fechas.formatear(alumno.getFechaNacimiento()), alumno.getCiclo(),
+				alumno.getCurso(), alumno.getGrupo().getNombreGrupo());
+	}
+
+
+	@Override
+	public boolean modificarNombreAlumnoPorNIA(int nia, String nuevoNombre) {
+		try {
+			bloquearParaEscribir();
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al leer '{}': {}", fichero, e.getMessage(), e);
+			return false;
+		}
+		try {
+			if (!grupoDeAlumno.contiene(nia)) {
+				loggerGeneral.warn("No se encontró un alumno con NIA {}.", nia);
+				return false;
+			}
+			aplicar(new ReescritorXMLGrupos.Cambios().cambiarNombre(nia, nuevoNombre));
+			loggerGeneral.info("Nombre del alumno con NIA {} cambiado a '{}'.", nia, nuevoNombre);
+			return true;
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al modificar el alumno con NIA {}: {}", nia, e.getMessage(), e);
+			return false;
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean eliminarAlumnoPorNIA(int nia) {
+		try {
+			bloquearParaEscribir();
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al leer '{}': {}", fichero, e.getMessage(), e);
+			return false;
+		}
+		try {
+			if (!grupoDeAlumno.contiene(nia)) {
+				loggerGeneral.warn("No se encontró un alumno con NIA {}.", nia);
+				return false;
+			}
+			aplicar(new ReescritorXMLGrupos.Cambios().eliminarAlumno(nia));
+			desindexar(nia);
+			loggerGeneral.info("Alumno con NIA {} eliminado.", nia);
+			return true;
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al eliminar el alumno con NIA {}: {}", nia, e.getMessage(), e);
+			return false;
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean mostrarAlumnoPorNIA(int nia) {
+		Optional<Alumno> alumno = buscarPorNia(nia);
+		if (alumno.isEmpty()) {
+			System.out.println("No se encontró un alumno con el NIA proporcionado.");
+			return false;
+		}
+		imprimir(alumno.get());
+		return true;
+	}
+
+
+	// Repositorio sin consola (RepositorioAlumnos) ////////////////////////////
+
+	@Override
+	public Optional<Alumno> buscarPorNia(int nia) {
+		try {
+			bloquearParaLeer();
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al leer '{}': {}", fichero, e.getMessage(), e);
+			return Optional.empty();
+		}
+		try {
+			if (!grupoDeAlumno.contiene(nia)) {
+				return Optional.empty();
+			}
+			return leerAlumnos(new int[] { nia }).stream().findFirst();
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al leer el alumno con NIA {}: {}", nia, e.getMessage(), e);
+			return Optional.empty();
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	@Override
+	public List<Alumno> obtenerPaginaAlumnos(int niaAnterior, int tamanoPagina) {
+		try {
+			bloquearParaLeer();
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al leer '{}': {}", fichero, e.getMessage(), e);
+			throw new ExcepcionAccesoDatos("Error al leer '" + fichero + "'", e);
+		}
+		try {
+			return leerAlumnos(niasDePagina(nias, niaAnterior, tamanoPagina));
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al leer la página de alumnos tras el NIA {}: {}", niaAnterior,
+					e.getMessage(), e);
+			throw new ExcepcionAccesoDatos("Error al leer la página de alumnos tras el NIA " + niaAnterior, e);
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	@Override
+	public List<Alumno> obtenerPaginaAlumnosPorGrupo(String nombreGrupo, int niaAnterior, int tamanoPagina) {
+		try {
+			bloquearParaLeer();
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al leer '{}': {}", fichero, e.getMessage(), e);
+			throw new ExcepcionAccesoDatos("Error al leer '" + fichero + "'", e);
+		}
+		try {
+			ListaEnterosOrdenada indice = niasPorGrupo.get(nombreGrupo);
+			return indice == null ? List.of() : leerAlumnos(niasDePagina(indice, niaAnterior, tamanoPagina));
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al leer la página del grupo '{}' tras el NIA {}: {}", nombreGrupo,
+					niaAnterior, e.getMessage(), e);
+			throw new ExcepcionAccesoDatos(
+					"Error al leer la página del grupo '" + nombreGrupo + "' tras el NIA " + niaAnterior, e);
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Lee el fichero una sola vez, en lugar de una pasada por el XML por cada
+	 * página de {@link RepositorioAlumnos#buscarTodos()}. La lectura se hace al
+	 * empezar a consumir el Stream y guarda los alumnos en una
+	 * {@link ListaAlumnosCompacta} para devolverlos ordenados por NIA (en el
+	 * fichero están agrupados por grupo).
+	 */
+	@Override
+	public Stream<Alumno> buscarTodos() {
+		return leerOrdenadosPorNia(null);
+	}
+
+	/**
+	 * Como {@link #buscarTodos()}, saltándose al leer los demás grupos.
+	 */
+	@Override
+	public Stream<Alumno> buscarPorGrupo(String nombreGrupo) {
+		return leerOrdenadosPorNia(nombreGrupo);
+	}
+
+	/**
+	 * @param nombreGrupo Grupo cuyos alumnos se leen, o null para todos.
+	 */
+	private Stream<Alumno> leerOrdenadosPorNia(String nombreGrupo) {
+		return StreamSupport.stream(() -> {
+			ListaAlumnosCompacta leidos = leerEnUnaPasada(nombreGrupo);
+			// NIA en los 32 bits altos y posición en los bajos: al ordenar las claves
+			// quedan ordenadas las posiciones por NIA sin crear ningún objeto
+			long[] claves = new long[leidos.getTamano()];
+			for (int i = 0; i < claves.length; i++) {
+				claves[i] = (long) leidos.getNia(i) << 32 | i;
+			}
+			Arrays.sort(claves);
+			return Spliterators.spliteratorUnknownSize(
+					Arrays.stream(claves).mapToObj(clave -> leidos.obtener((int) clave)).iterator(),
+					Spliterator.ORDERED);
+		}, Spliterator.ORDERED, false);
+	}
+
+	private ListaAlumnosCompacta leerEnUnaPasada(String nombreGrupo) {
+		try {
+			bloquearParaLeer();
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al leer '{}': {}", fichero, e.getMessage(), e);
+			throw new ExcepcionAccesoDatos("Error al leer '" + fichero + "'", e);
+		}
+		try {
+			ListaEnterosOrdenada indice = nombreGrupo == null ? nias : niasPorGrupo.get(nombreGrupo);
+			if (indice == null || indice.getTamano() == 0 || !Files.exists(fichero)) {
+				return new ListaAlumnosCompacta();
+			}
+			ListaAlumnosCompacta leidos = new ListaAlumnosCompacta(new DiccionarioAlumnos(), indice.getTamano());
+			recorrer(new Visitante() {
+				private Grupo actual;
+
+				@Override
+				public boolean grupo(int numeroGrupo, String nombre) {
+					actual = new Grupo(numeroGrupo, nombre);
+					return nombreGrupo == null || nombreGrupo.equals(nombre);
+				}
+
+				@Override
+				public boolean alumno(XMLStreamReader xml, int nia) throws XMLStreamException {
+					leidos.anadir(leerAlumno(xml, nia, actual));
+					return true;
+				}
+			});
+			return leidos;
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al leer los alumnos de '{}': {}", fichero, e.getMessage(), e);
+			throw new ExcepcionAccesoDatos("Error al leer los alumnos de '" + fichero + "'", e);
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	@Override
+	public List<Grupo> buscarGrupos() {
+		try {
+			bloquearParaLeer();
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al leer '{}': {}", fichero, e.getMessage(), e);
+			return List.of();
+		}
+		try {
+			List<Grupo> copia = new ArrayList<>(grupos.size());
+			grupos.values().forEach(grupo -> copia.add(new Grupo(grupo.getNumeroGrupo(), grupo.getNombreGrupo())));
+			return copia;
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Inserta todos los alumnos reescribiendo el fichero una sola vez.
+	 */
+	@Override
+	public int guardarTodos(Collection<Alumno> alumnos) {
+		return guardarTodos(alumnos, false);
+	}
+
+	@Override
+	public int guardarTodosConNia(Collection<Alumno> alumnos) {
+		return guardarTodos(alumnos, true);
+	}
+
+	private int guardarTodos(Collection<Alumno> alumnos, boolean conservarNias) {
+		try {
+			bloquearParaEscribir();
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al leer '{}': {}", fichero, e.getMessage(), e);
+			return 0;
+		}
+		try {
+			ReescritorXMLGrupos.Cambios cambios = new ReescritorXMLGrupos.Cambios();
+			List<Alumno> nuevos = new ArrayList<>(alumnos.size());
+			List<Alumno> originales = new ArrayList<>(alumnos.size());
+			ListaEnterosOrdenada niasDelLote = new ListaEnterosOrdenada();
+			int nia = siguienteNia;
+			for (Alumno alumno : alumnos) {
+				if (conservarNias && (nias.contiene(alumno.getNia()) || !niasDelLote.anadir(alumno.getNia()))) {
+					loggerGeneral.warn("El NIA {} ya existe. Alumno ignorado.", alumno.getNia());
+					continue;
+				}
+				Grupo grupo = alumno.getGrupo() == null ? null : grupos.get(alumno.getGrupo().getNombreGrupo());
+				if (grupo == null) {
+					loggerGeneral.warn("El grupo '{}' no existe. Alumno ignorado.",
+							alumno.getGrupo() == null ? null : alumno.getGrupo().getNombreGrupo());
+					continue;
+				}
+				Alumno nuevo = new Alumno(alumno);
+				if (!conservarNias) {
+					nuevo.setNia(nia++);
+				}
+				nuevo.setGrupo(grupo);
+				cambios.anadirAlumno(nuevo);
+				nuevos.add(nuevo);
+				originales.add(alumno);
+			}
+			if (nuevos.isEmpty()) {
+				return 0;
+			}
+
+			aplicar(cambios);
+			for (int i = 0; i < nuevos.size(); i++) {
+				indexar(nuevos.get(i).getNia(), nuevos.get(i).getGrupo());
+				originales.get(i).setNia(nuevos.get(i).getNia());
+			}
+			return nuevos.size();
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al guardar {} alumnos: {}", alumnos.size(), e.getMessage(), e);
+			return 0;
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Escribe la copia binaria en una pasada por el XML (en el orden del fichero)
+	 * en lugar de una pasada por página.
+	 */
+	@Override
+	public long exportarSnapshot(Path destino) {
+		try {
+			bloquearParaLeer();
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al leer '{}': {}", fichero, e.getMessage(), e);
+			return -1;
+		}
+		try {
+			return EscritorSnapshot.exportar(this, destino, escritor -> {
+				if (!Files.exists(fichero)) {
+					return;
+				}
+				try {
+					recorrer(new Visitante() {
+						private Grupo actual;
+
+						@Override
+						public boolean grupo(int numeroGrupo, String nombreGrupo) {
+							actual = new Grupo(numeroGrupo, nombreGrupo);
+							return true;
+						}
+
+						@Override
+						public boolean alumno(XMLStreamReader xml, int nia) throws XMLStreamException {
+							try {
+								escritor.escribirAlumno(leerAlumno(xml, nia, actual));
+							} catch (IOException e) {
+								throw new XMLStreamException("Error al escribir '" + destino + "'", e);
+							}
+							return true;
+						}
+					});
+				} catch (XMLStreamException e) {
+					throw new IOException("Error al leer '" + fichero + "': " + e.getMessage(), e);
+				}
+			});
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	// FICHEROS ////////////////////////////////////////////////////////////////
+
+	/**
+	 * Exporta todos los alumnos a 'alumnos.txt' ('alumnos.txt.gz' con la
+	 * compresión activada) en una pasada por el XML (en el orden del fichero, es
+	 * decir, agrupados por grupo).
+	 */
+	@Override
+	public void guardarAlumnosEnFicheroTexto(boolean sobrescribir) {
+		Path destino = FicherosComprimidos.rutaExportacion(FICHERO_ALUMNOS);
+		if (Files.exists(destino) && !sobrescribir) {
+			System.out.println("Operación cancelada. El fichero no se sobrescribirá.");
+			return;
+		}
+
+		try {
+			bloquearParaLeer();
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al leer '{}': {}", fichero, e.getMessage(), e);
+			System.out.println("Se produjo un error al guardar el fichero. Revisa los logs para más detalles.");
+			return;
+		}
+
+		Path temporal = destino.resolveSibling(destino.getFileName() + ".tmp");
+		try {
+			try (BufferedWriter salida = FicherosComprimidos.abrirEscritor(temporal,
+					FicherosComprimidos.esRutaComprimida(destino))) {
+				CodecCSVAlumnos.escribirCabecera(salida);
+				if (Files.exists(fichero)) {
+					CodecCSVAlumnos codec = CodecCSVAlumnos.delHilo();
+					recorrer(new Visitante() {
+						private Grupo actual;
+
+						@Override
+						public boolean grupo(int numeroGrupo, String nombreGrupo) {
+							actual = new Grupo(numeroGrupo, nombreGrupo);
+							return true;
+						}
+
+						@Override
+						public boolean alumno(XMLStreamReader xml, int nia) throws XMLStreamException {
+							Alumno alumno = leerAlumno(xml, nia, actual);
+							try {
+								codec.escribir(alumno, salida);
+							} catch (IOException e) {
+								throw new XMLStreamException("Error al escribir '" + destino + "'", e);
+							}
+							return true;
+						}
+					});
+				}
+			}
+			Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			System.out.println("Datos de los alumnos guardados correctamente en el fichero '" + destino + "'.");
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al guardar el fichero '{}': {}", destino, e.getMessage(), e);
+			System.out.println("Se produjo un error al guardar el fichero. Revisa los logs para más detalles.");
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Importa 'alumnos.txt' conservando los NIA del fichero: un NIA que ya existe
+	 * se sustituye por los datos del fichero. Los grupos que no existen se crean.
+	 * El XML se reescribe una sola vez.
+	 */
+	@Override
+	public boolean leerAlumnosDeFicheroTexto() {
+		Path ficheroAlumnos = FicherosComprimidos.rutaImportacion(FICHERO_ALUMNOS);
+		if (!Files.exists(ficheroAlumnos)) {
+			loggerExcepciones.error("El fichero '{}' no existe.", ficheroAlumnos);
+			return false;
+		}
+		try {
+			bloquearParaEscribir();
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al leer '{}': {}", fichero, e.getMessage(), e);
+			return false;
+		}
+
+		try {
+			ReescritorXMLGrupos.Cambios cambios = new ReescritorXMLGrupos.Cambios();
+			Map<String, Grupo> gruposNuevos = new LinkedHashMap<>();
+			List<Alumno> importados = new ArrayList<>();
+			int[] siguientes = { siguienteNia, siguienteNumeroGrupo };
+
+			LectorAlumnosMapeado lector = new LectorAlumnosMapeado();
+			// El lector reutiliza el mismo objeto Alumno en cada línea
+			lector.leer(ficheroAlumnos, alumno -> {
+				String nombreGrupo = alumno.getGrupo().getNombreGrupo();
+				Grupo grupo = grupos.get(nombreGrupo);
+				if (grupo == null) {
+					grupo = gruposNuevos.computeIfAbsent(nombreGrupo, n -> {
+						Grupo nuevo = new Grupo(siguientes[1]++, n);
+						cambios.anadirGrupo(nuevo);
+						return nuevo;
+					});
+				}
+				Alumno copia = new Alumno(alumno);
+				copia.setGrupo(grupo);
+				if (copia.getNia() <= 0) {
+					copia.setNia(siguientes[0]);
+				} else if (grupoDeAlumno.contiene(copia.getNia())) {
+					cambios.eliminarAlumno(copia.getNia());
+				}
+				siguientes[0] = Math.max(siguientes[0], copia.getNia() + 1);
+				cambios.anadirAlumno(copia);
+				importados.add(copia);
+			});
+
+			if (importados.isEmpty()) {
+				loggerGeneral.warn("No se insertaron alumnos.");
+				return false;
+			}
+			aplicar(cambios);
+			gruposNuevos.values().forEach(this::registrarGrupo);
+			for (Alumno alumno : importados) {
+				indexar(alumno.getNia(), alumno.getGrupo());
+			}
+			loggerGeneral.info("Fichero '{}' importado: {} alumnos ({} líneas no válidas).", ficheroAlumnos,
+					importados.size(), lector.getLineasInvalidas());
+			return true;
+		} catch (IOException | XMLStreamException | SQLException e) {
+			loggerExcepciones.error("Error al importar el fichero '{}': {}", ficheroAlumnos, e.getMessage(), e);
+			return false;
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	// GRUPOS //////////////////////////////////////////////////////////////////
+
+	@Override
+	public boolean insertarGrupo(Grupo grupo) {
+		String nombreGrupo = grupo.getNombreGrupo().toUpperCase();
+		try {
+			bloquearParaEscribir();
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al leer '{}': {}", fichero, e.getMessage(), e);
+			return false;
+		}
+		try {
+			if (grupos.containsKey(nombreGrupo)) {
+				loggerGeneral.warn("No se pudo insertar el grupo '{}': ya existe.", nombreGrupo);
+				return false;
+			}
+			Grupo nuevo = new Grupo(siguienteNumeroGrupo, nombreGrupo);
+			aplicar(new ReescritorXMLGrupos.Cambios().anadirGrupo(nuevo));
+			registrarGrupo(nuevo);
+			grupo.setNumeroGrupo(nuevo.getNumeroGrupo());
+			loggerGeneral.info("Grupo '{}' insertado exitosamente", nombreGrupo);
+			return true;
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al insertar el grupo '{}': {}", nombreGrupo, e.getMessage(), e);
+			return false;
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean eliminarAlumnosPorGrupo(String nombreGrupo) {
+		try {
+			bloquearParaEscribir();
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al leer '{}': {}", fichero, e.getMessage(), e);
+			return false;
+		}
+		try {
+			ListaEnterosOrdenada indice = niasPorGrupo.get(nombreGrupo);
+			if (indice == null || indice.estaVacia()) {
+				loggerGeneral.info("No se encontraron alumnos en el grupo '{}'", nombreGrupo);
+				return false;
+			}
+			int[] delGrupo = indice.aArray();
+			ReescritorXMLGrupos.Cambios cambios = new ReescritorXMLGrupos.Cambios();
+			for (int nia : delGrupo) {
+				cambios.eliminarAlumno(nia);
+			}
+			aplicar(cambios);
+			for (int nia : delGrupo) {
+				desindexar(nia);
+			}
+			loggerGeneral.info("Alumnos del grupo '{}' eliminados exitosamente", nombreGrupo);
+			return true;
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al eliminar los alumnos del grupo '{}': {}", nombreGrupo, e.getMessage(),
+					e);
+			return false;
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean mostrarTodosLosGrupos() {
+		List<Grupo> todos = buscarGrupos();
+		todos.forEach(grupo -> System.out.println("- " + grupo.getNombreGrupo()));
+		return !todos.isEmpty();
+	}
+
+	/**
+	 * Los datos ya están en el fichero XML: si es 'grupos.xml' no hay nada que
+	 * hacer y, si no, se copia a 'grupos.xml'.
+	 */
+	@Override
+	public boolean guardarGruposEnXML(boolean sobrescribir) {
+		Path archivo = FicherosComprimidos.rutaExportacion(Path.of("grupos.xml"));
+		cerrojo.readLock().lock();
+		try {
+			if (Files.exists(archivo) && Files.isSameFile(archivo, fichero)) {
+				System.out.println("Los datos ya están guardados en '" + archivo + "'.");
+				return true;
+			}
+			if (Files.exists(archivo) && !sobrescribir) {
+				System.out.println("El archivo no se ha sobrescrito.");
+				return false;
+			}
+			if (Files.exists(fichero) && FicherosComprimidos.esRutaComprimida(archivo)) {
+				try (InputStream entrada = Files.newInputStream(fichero);
+						OutputStream salida = FicherosComprimidos.abrirSalida(archivo)) {
+					entrada.transferTo(salida);
+				}
+			} else if (Files.exists(fichero)) {
+				Files.copy(fichero, archivo, StandardCopyOption.REPLACE_EXISTING);
+			} else {
+				new EscritorXMLGrupos(archivo).close();
+			}
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al generar el archivo XML '{}': {}", archivo, e.getMessage(), e);
+			System.out.println("Error al generar el archivo XML: " + e.getMessage());
+			return false;
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+
+		loggerGeneral.info("El archivo XML se ha guardado correctamente en {}", archivo);
+		System.out.println("El archivo XML se ha guardado correctamente.");
+		return true;
+	}
+
+	/**
+	 * Guarda en 'grupo_NOMBRE.xml' el grupo que elija el usuario.
+	 */
+	@Override
+	public boolean guardarGrupoEspecificoEnXML() {
+		if (!mostrarTodosLosGrupos()) {
+			System.out.println("❌ No hay grupos disponibles. No se puede continuar.");
+			return false;
+		}
+
+		System.out.print("\nIntroduce el nombre del grupo que deseas guardar en fichero XML: ");
+		String nombreGrupo = sc.nextLine().trim().toUpperCase();
+
+		Optional<Grupo> grupo = buscarGrupos().stream().filter(g -> g.getNombreGrupo().equals(nombreGrupo))
+				.findFirst();
+		if (grupo.isEmpty()) {
+			System.out.println("❌ El grupo '" + nombreGrupo + "' no existe.");
+			return false;
+		}
+
+		Path archivo = Path.of("grupo_" + nombreGrupo + ".xml");
+		if (Files.exists(archivo) && !confirmarSobrescribir(archivo)) {
+			return false;
+		}
+		return escribirXML(archivo, grupo.get());
+	}
+
+	private boolean confirmarSobrescribir(Path archivo) {
+		System.out.print("El archivo " + archivo + " ya existe. ¿Deseas sobrescribirlo? (S/N): ");
+		if (sc.nextLine().trim().equalsIgnoreCase("S")) {
+			return true;
+		}
+		System.out.println("El archivo no se ha sobrescrito.");
+		return false;
+	}
+
+
+	/**
+	 * Copia un grupo del fichero a otro XML en streaming.
+	 */
+	private boolean escribirXML(Path archivo, Grupo grupo) {
+		try {
+			bloquearParaLeer();
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al leer '{}': {}", fichero, e.getMessage(), e);
+			return false;
+		}
+
+		try (EscritorXMLGrupos escritor = new EscritorXMLGrupos(archivo)) {
+			escritor.abrirGrupo(grupo.getNumeroGrupo(), grupo.getNombreGrupo());
+			int[] pendientes = { niasPorGrupo.get(grupo.getNombreGrupo()).getTamano() };
+			if (pendientes[0] > 0) {
+				recorrer(new Visitante() {
+					@Override
+					public boolean grupo(int numeroGrupo, String nombreGrupo) {
+						return nombreGrupo.equals(grupo.getNombreGrupo());
+					}
+
+					@Override
+					public boolean alumno(XMLStreamReader xml, int nia) throws XMLStreamException {
+						escritor.escribirAlumno(nia, atributo(xml, "nombre"), atributo(xml, "apellidos"),
+								atributo(xml, "genero"), atributo(xml, "fechaNacimiento"), atributo(xml, "ciclo"),
+								atributo(xml, "curso"));
+						return --pendientes[0] > 0;
+					}
+				});
+			}
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al generar el archivo XML '{}': {}", archivo, e.getMessage(), e);
+			System.out.println("Error al generar el archivo XML: " + e.getMessage());
+			return false;
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+
+		loggerGeneral.info("El archivo XML se ha guardado correctamente en {}", archivo);
+		System.out.println("El archivo XML se ha guardado correctamente.");
+		return true;
+	}
+
+	/**
+	 * Añade los grupos del XML que no existan y todos sus alumnos con NIA nuevos,
+	 * reescribiendo el fichero una sola vez.
+	 */
+	@Override
+	public boolean leerYGuardarGruposXML(String rutaArchivo) {
+		Path archivo = FicherosComprimidos.rutaImportacion(Path.of(rutaArchivo));
+		if (!Files.exists(archivo)) {
+			loggerExcepciones.error("El archivo XML no existe: {}", rutaArchivo);
+			System.err.println("El archivo XML no existe: " + rutaArchivo);
+			return false;
+		}
+		try {
+			bloquearParaEscribir();
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al leer '{}': {}", fichero, e.getMessage(), e);
+			return false;
+		}
+
+		LectorXMLGrupos lector = new LectorXMLGrupos();
+		try {
+			ReescritorXMLGrupos.Cambios cambios = new ReescritorXMLGrupos.Cambios();
+			Map<String, Grupo> gruposNuevos = new LinkedHashMap<>();
+			List<Alumno> importados = new ArrayList<>();
+			int[] siguientes = { siguienteNia, siguienteNumeroGrupo };
+
+			lector.leer(archivo, new LectorXMLGrupos.Destino() {
+				@Override
+				public Grupo inicioGrupo(String nombreGrupo) {
+					Grupo grupo = grupos.get(nombreGrupo);
+					return grupo != null ? grupo : gruposNuevos.computeIfAbsent(nombreGrupo, n -> {
+						Grupo nuevo = new Grupo(siguientes[1]++, n);
+						cambios.anadirGrupo(nuevo);
+						return nuevo;
+					});
+				}
+
+				@Override
+				public void alumno(Alumno alumno) {
+					alumno.setNia(siguientes[0]++);
+					cambios.anadirAlumno(alumno);
+					importados.add(alumno);
+				}
+
+				@Override
+				public void finGrupo(Grupo grupo) {
+					loggerGeneral.debug("Grupo '{}' leído del XML.", grupo.getNombreGrupo());
+				}
+			});
+
+			aplicar(cambios);
+			gruposNuevos.values().forEach(this::registrarGrupo);
+			for (Alumno alumno : importados) {
+				indexar(alumno.getNia(), alumno.getGrupo());
+			}
+		} catch (IOException | XMLStreamException | SQLException e) {
+			loggerExcepciones.error("Error al procesar el archivo XML: {}", e.getMessage(), e);
+			System.err.println("Error al procesar el archivo XML: " + e.getMessage());
+			return false;
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+
+		loggerGeneral.info("Datos cargados correctamente desde el archivo XML: {} grupos, {} alumnos.",
+				lector.getGruposLeidos(), lector.getAlumnosLeidos());
+		System.out.println("Datos cargados correctamente desde el archivo XML.");
+		return true;
+	}
+
+	@Override
+	public void mostrarAlumnosPorGrupo() {
+		if (!mostrarTodosLosGrupos()) {
+			System.out.println("No hay grupos disponibles para mostrar.");
+			return;
+		}
+
+		System.out.println("Introduce el nombre del grupo del que quieres ver los alumnos:");
+		String nombreGrupo = sc.nextLine().trim().toUpperCase();
+		if (!existeGrupo(nombreGrupo)) {
+			System.out.println("El grupo especificado no existe. Inténtalo de nuevo.");
+			return;
+		}
+
+		ListaAlumnosCompacta delGrupo = ListaAlumnosCompacta.de(buscarPorGrupo(nombreGrupo));
+		if (delGrupo.estaVacia()) {
+			System.out.println("No hay alumnos registrados en este grupo.");
+			return;
+		}
+		System.out.println("Alumnos del grupo '" + nombreGrupo + "':");
+		delGrupo.forEach(AlumnosFicheroXML::imprimir);
+	}
+
+	@Override
+	public boolean cambiarGrupoAlumno() {
+		ListaAlumnosCompacta todos = ListaAlumnosCompacta.de(buscarTodos());
+		if (todos.estaVacia()) {
+			System.out.println("❌ No hay alumnos disponibles.");
+			return false;
+		}
+		System.out.println("Lista de alumnos disponibles para cambiar de grupo:");
+		imprimirNiaYNombre(todos);
+
+		System.out.println("\nIntroduce el NIA del alumno al que deseas cambiar de grupo:");
+		int nia;
+		try {
+			nia = Integer.parseInt(sc.nextLine().trim());
+		} catch (NumberFormatException e) {
+			System.out.println("❌ El NIA debe ser un número válido.");
+			return false;
+		}
+
+		System.out.println("\nGrupos disponibles:");
+		mostrarTodosLosGrupos();
+		System.out.println("\nIntroduce el nombre del grupo al que deseas cambiar al alumno:");
+		String nuevoGrupo = sc.nextLine().trim().toUpperCase();
+
+		try {
+			bloquearParaEscribir();
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al leer '{}': {}", fichero, e.getMessage(), e);
+			return false;
+		}
+		try {
+			Grupo actual = grupoDeAlumno.obtener(nia);
+			if (actual == null) {
+				System.out.println("❌ No se encontró ningún alumno con el NIA proporcionado.");
+				return false;
+			}
+			Grupo grupo = grupos.get(nuevoGrupo);
+			if (grupo == null) {
+				System.out.println("❌ El grupo especificado no existe.");
+				return false;
+			}
+			if (grupo == actual) {
+				System.out.println("⚠️ El alumno ya pertenece al grupo '" + nuevoGrupo + "'.");
+				return false;
+			}
+
+			// Baja en el grupo actual y alta al final del nuevo, en la misma pasada
+			Alumno alumno = leerAlumnos(new int[] { nia }).get(0);
+			alumno.setGrupo(grupo);
+			aplicar(new ReescritorXMLGrupos.Cambios().eliminarAlumno(nia).anadirAlumno(alumno));
+			indexar(nia, grupo);
+			System.out.println("✅ El grupo del alumno ha sido cambiado exitosamente.");
+			return true;
+		} catch (IOException | XMLStreamException e) {
+			loggerExcepciones.error("Error al cambiar de grupo al alumno con NIA {}: {}", nia, e.getMessage(), e);
+			System.out.println("❌ No se pudo guardar el cambio de grupo.");
+			return false;
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+}
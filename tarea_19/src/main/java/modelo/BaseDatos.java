@@ -1,5 +1,5 @@
-package modelo;
-
-public enum BaseDatos {
-	MYSQL, ORACLE, MONGODB
-}
+package modelo;
+
+public enum BaseDatos {
+	MYSQL, ORACLE, MONGODB
+}
@@ -0,0 +1,204 @@
+package modelo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Buffer de escritura diferida (write-behind) para las inserciones de alumnos.
+ * Las inserciones se acumulan en memoria y se escriben juntas, en una sola
+ * transacción o un solo insertMany (group commit), cuando hay
+ * {@code maximoFilas} pendientes o han pasado {@code maximaEsperaMilis} desde
+ * la última escritura.
+ *
+ * Cada inserción devuelve un {@link CompletableFuture} que se completa con true
+ * cuando el lote está confirmado en la base de datos, o con false si el alumno
+ * no se ha podido guardar. Las escrituras se hacen siempre en el mismo hilo,
+ * por lo que los lotes se confirman en orden. Un shutdown hook vacía el buffer
+ * al terminar la aplicación.
+ */
+public class BufferEscrituraAlumnos implements AutoCloseable {
+
+	private static final Logger loggerGeneral = LogManager.getRootLogger();
+	private static final Logger loggerExcepciones = LogManager.getLogger("exceptions");
+
+	/**
+	 * Escribe un lote completo y confirma la transacción.
+	 */
+	@FunctionalInterface
+	public interface EscritorLote {
+		/**
+		 * @param lote Alumnos a insertar, en orden de llegada.
+		 * @return para cada alumno del lote, si se ha insertado.
+		 * @throws Exception si el lote no se ha podido confirmar (ningún alumno se
+		 *                   considera insertado).
+		 */
+		boolean[] escribir(List<Alumno> lote) throws Exception;
+	}
+
+	private record Pendiente(Alumno alumno, CompletableFuture<Boolean> resultado) {
+	}
+
+	private final String nombre;
+	private final EscritorLote escritor;
+	private final int maximoFilas;
+	private final ScheduledExecutorService hiloEscritor;
+	private final Thread ganchoCierre;
+
+	// Protegidos por el monitor del buffer. El hilo escritor solo recibe tareas
+	// con el monitor adquirido y sin cerrar, así que nunca las rechaza
+	private List<Pendiente> pendientes = new ArrayList<>();
+	private boolean cerrado = false;
+
+	private BufferEscrituraAlumnos(String nombre, EscritorLote escritor, int maximoFilas) {
+		this.nombre = nombre;
+		this.escritor = escritor;
+		this.maximoFilas = maximoFilas;
+		this.hiloEscritor = Executors.newSingleThreadScheduledExecutor(tarea -> {
+			Thread hilo = new Thread(tarea, "escritura-diferida-" + nombre);
+			hilo.setDaemon(true);
+			return hilo;
+		});
+		this.ganchoCierre = new Thread(this::cerrarSinGancho, "cierre-escritura-diferida-" + nombre);
+	}
+
+	/**
+	 * Crea el buffer, programa la escritura periódica y registra el shutdown
+	 * hook, una vez que el buffer está construido.
+	 *
+	 * @param nombre            Nombre del buffer para los logs y el hilo.
+	 * @param escritor          Escribe y confirma cada lote.
+	 * @param maximoFilas       Filas pendientes que provocan una escritura.
+	 * @param maximaEsperaMilis Tiempo máximo que una fila espera a ser escrita.
+	 */
+	public static BufferEscrituraAlumnos iniciar(String nombre, EscritorLote escritor, int maximoFilas,
+			long maximaEsperaMilis) {
+		if (maximoFilas < 1 || maximaEsperaMilis < 1) {
+			throw new IllegalArgumentException("Filas y espera del buffer deben ser mayores que 0: " + maximoFilas
+					+ ", " + maximaEsperaMilis);
+		}
+		BufferEscrituraAlumnos buffer = new BufferEscrituraAlumnos(nombre, escritor, maximoFilas);
+		buffer.hiloEscritor.scheduleWithFixedDelay(buffer::vaciar, maximaEsperaMilis, maximaEsperaMilis,
+				TimeUnit.MILLISECONDS);
+		Runtime.getRuntime().addShutdownHook(buffer.ganchoCierre);
+		return buffer;
+	}
+
+	/**
+	 * Añade el alumno al buffer.
+	 *
+	 * @return un futuro que se completa cuando el alumno está confirmado en la
+	 *         base de datos (true) o no se ha podido insertar (false).
+	 */
+	public CompletableFuture<Boolean> anadir(Alumno alumno) {
+		CompletableFuture<Boolean> resultado = new CompletableFuture<>();
+		synchronized (this) {
+			if (cerrado) {
+				loggerExcepciones.error("Buffer de escritura '{}' cerrado: alumno '{}' '{}' no insertado.", nombre,
+						alumno.getNombre(), alumno.getApellidos());
+				resultado.complete(false);
+				return resultado;
+			}
+			pendientes.add(new Pendiente(alumno, resultado));
+			if (pendientes.size() == maximoFilas) {
+				hiloEscritor.execute(this::vaciar);
+			}
+		}
+		return resultado;
+	}
+
+	/**
+	 * Escribe ahora los alumnos pendientes y espera a que se confirmen.
+	 */
+	public void vaciarYEsperar() {
+		try {
+			hiloEscritor.submit(this::vaciar).get();
+		} catch (Exception e) {
+			loggerExcepciones.error("Error al vaciar el buffer de escritura '{}': {}", nombre, e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * @return el número de alumnos que esperan a ser escritos.
+	 */
+	public synchronized int getPendientes() {
+		return pendientes.size();
+	}
+
+	/**
+	 * Solo se ejecuta en el hilo escritor.
+	 */
+	private void vaciar() {
+		List<Pendiente> lote;
+		synchronized (this) {
+			if (pendientes.isEmpty()) {
+				return;
+			}
+			lote = pendientes;
+			pendientes = new ArrayList<>(Math.min(lote.size() * 2, maximoFilas));
+		}
+
+		// Si hay más de maximoFilas (llegaron mientras se escribía) se parten
+		for (int desde = 0; desde < lote.size(); desde += maximoFilas) {
+			escribir(lote.subList(desde, Math.min(desde + maximoFilas, lote.size())));
+		}
+	}
+
+	private void escribir(List<Pendiente> lote) {
+		List<Alumno> alumnos = new ArrayList<>(lote.size());
+		for (Pendiente pendiente : lote) {
+			alumnos.add(pendiente.alumno());
+		}
+
+		try {
+			boolean[] insertados = escritor.escribir(alumnos);
+			for (int i = 0; i < lote.size(); i++) {
+				lote.get(i).resultado().complete(insertados[i]);
+			}
+			loggerGeneral.debug("Buffer '{}': lote de {} alumnos confirmado.", nombre, lote.size());
+		} catch (Exception e) {
+			loggerExcepciones.error("Buffer '{}': no se pudo confirmar un lote de {} alumnos: {}", nombre,
+					lote.size(), e.getMessage(), e);
+			lote.forEach(pendiente -> pendiente.resultado().complete(false));
+		}
+	}
+
+	/**
+	 * Deja de aceptar alumnos, escribe los pendientes y para el hilo escritor.
+	 */
+	@Override
+	public void close() {
+		try {
+			Runtime.getRuntime().removeShutdownHook(ganchoCierre);
+		} catch (IllegalStateException e) {
+			// La JVM ya se está cerrando: el gancho se está ejecutando
+		}
+		cerrarSinGancho();
+	}
+
+	private void cerrarSinGancho() {
+		synchronized (this) {
+			if (cerrado) {
+				return;
+			}
+			cerrado = true;
+			hiloEscritor.execute(this::vaciar);
+			hiloEscritor.shutdown();
+		}
+		try {
+			if (!hiloEscritor.awaitTermination(30, TimeUnit.SECONDS)) {
+				loggerExcepciones.error("Buffer '{}': tiempo agotado al vaciar; {} alumnos sin escribir.", nombre,
+						getPendientes());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		loggerGeneral.info("Buffer de escritura '{}' cerrado.", nombre);
+	}
+}
@@ -0,0 +1,222 @@
+package modelo;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caché acotada de alumnos por NIA con expulsión LRU y caducidad (TTL). Se usa
+ * como caché de lectura en {@link AlumnosDAOCacheado}.
+ *
+ * Los alumnos se guardan compactos ({@link AlumnoCompacto}, con ciclo, curso y
+ * grupo en un {@link DiccionarioAlumnos} propio de la caché) y se devuelve un
+ * Alumno nuevo en cada acierto, de modo que un cambio en un objeto devuelto no
+ * altera la caché. Es segura entre hilos (todas las operaciones se
+ * sincronizan sobre el mapa, que es pequeño y rápido).
+ */
+public class CacheAlumnos {
+
+	public static final int CAPACIDAD_POR_DEFECTO = 10_000;
+	public static final long TTL_POR_DEFECTO_MILIS = TimeUnit.MINUTES.toMillis(5);
+
+	// Estimación aproximada (JVM de 64 bits con punteros comprimidos) de lo que
+	// ocupa una entrada sin contar nombre y apellidos: nodo del LinkedHashMap,
+	// Integer, Entrada y AlumnoCompacto. Ciclo, curso y grupo están en el
+	// diccionario, que se comparte entre todas las entradas
+	private static final int BYTES_FIJOS_POR_ENTRADA = 40 + 16 + 24 + 48;
+	// Cabecera de String más su array de bytes
+	private static final int BYTES_FIJOS_POR_TEXTO = 24 + 16;
+
+	private record Entrada(AlumnoCompacto alumno, long caducaNanos, int bytes) {
+	}
+
+	private final int capacidad;
+	private final long ttlNanos;
+	private final LinkedHashMap<Integer, Entrada> entradas;
+	private final DiccionarioAlumnos diccionario = new DiccionarioAlumnos();
+
+	private long aciertos = 0;
+	private long fallos = 0;
+	private long expulsiones = 0;
+	private long caducadas = 0;
+	private long invalidaciones = 0;
+	private long bytesEstimados = 0;
+
+	public CacheAlumnos() {
+		this(CAPACIDAD_POR_DEFECTO, TTL_POR_DEFECTO_MILIS);
+	}
+
+	/**
+	 * @param capacidad Número máximo de alumnos en la caché.
+	 * @param ttlMilis  Tiempo que una entrada es válida desde que se guarda.
+	 */
+	public CacheAlumnos(int capacidad, long ttlMilis) {
+		if (capacidad < 1 || ttlMilis < 1) {
+			throw new IllegalArgumentException(
+					"Capacidad y TTL de la caché deben ser mayores que 0: " + capacidad + ", " + ttlMilis);
+		}
+		this.capacidad = capacidad;
+		this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMilis);
+
+		// Orden de acceso: el primer elemento es el menos usado recientemente
+		this.entradas = new LinkedHashMap<>(Math.min(capacidad, 1024), 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, Entrada> masAntigua) {
+				if (size() > CacheAlumnos.this.capacidad) {
+					bytesEstimados -= masAntigua.getValue().bytes();
+					expulsiones++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * @param nia NIA del alumno.
+	 * @return una copia del alumno, o null si no está o ha caducado.
+	 */
+	public synchronized Alumno obtener(int nia) {
+		Entrada entrada = entradas.get(nia);
+		if (entrada == null) {
+			fallos++;
+			return null;
+		}
+		if (System.nanoTime() - entrada.caducaNanos() > 0) {
+			eliminar(nia);
+			caducadas++;
+			fallos++;
+			return null;
+		}
+		aciertos++;
+		return entrada.alumno().aAlumno(diccionario);
+	}
+
+	/**
+	 * Guarda (o renueva) un alumno en la caché.
+	 */
+	public synchronized void guardar(Alumno alumno) {
+		if (alumno == null || alumno.getNia() == 0) {
+			return;
+		}
+		int bytes = estimarBytes(alumno);
+		Entrada anterior = entradas.put(alumno.getNia(),
+				new Entrada(AlumnoCompacto.de(alumno, diccionario), System.nanoTime() + ttlNanos, bytes));
+		if (anterior != null) {
+			bytesEstimados -= anterior.bytes();
+		}
+		bytesEstimados += bytes;
+	}
+
+	/**
+	 * Elimina el alumno con ese NIA, si estaba en la caché.
+	 */
+	public synchronized void invalidar(int nia) {
+		if (eliminar(nia)) {
+			invalidaciones++;
+		}
+	}
+
+	/**
+	 * Elimina todos los alumnos del grupo indicado.
+	 */
+	public synchronized void invalidarGrupo(String nombreGrupo) {
+		Iterator<Entrada> it = entradas.values().iterator();
+		while (it.hasNext()) {
+			Entrada entrada = it.next();
+			int grupo = entrada.alumno().grupo();
+			if (grupo != DiccionarioAlumnos.SIN_VALOR
+					&& Objects.equals(diccionario.nombreGrupo(grupo), nombreGrupo)) {
+				bytesEstimados -= entrada.bytes();
+				invalidaciones++;
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Vacía la caché.
+	 */
+	public synchronized void invalidarTodo() {
+		invalidaciones += entradas.size();
+		entradas.clear();
+		// Sin entradas ya no queda ningún código en uso
+		diccionario.vaciar();
+		bytesEstimados = 0;
+	}
+
+	private boolean eliminar(int nia) {
+		Entrada entrada = entradas.remove(nia);
+		if (entrada != null) {
+			bytesEstimados -= entrada.bytes();
+			return true;
+		}
+		return false;
+	}
+
+	private static int estimarBytes(Alumno alumno) {
+		int bytes = BYTES_FIJOS_POR_ENTRADA;
+		for (String texto : new String[] { alumno.getNombre(), alumno.getApellidos() }) {
+			if (texto != null) {
+				// Cadenas compactas: 1 byte por carácter latino, 2 en otro caso
+				bytes += BYTES_FIJOS_POR_TEXTO + texto.length() * (texto.chars().allMatch(c -> c < 256) ? 1 : 2);
+			}
+		}
+		return bytes;
+	}
+
+	public synchronized long getAciertos() {
+		return aciertos;
+	}
+
+	public synchronized long getFallos() {
+		return fallos;
+	}
+
+	/**
+	 * @return aciertos / (aciertos + fallos), o 0 si no ha habido consultas.
+	 */
+	public synchronized double getTasaAciertos() {
+		long total = aciertos + fallos;
+		return total == 0 ? 0 : (double) aciertos / total;
+	}
+
+	/** Entradas expulsadas por falta de capacidad (LRU). */
+	public synchronized long getExpulsiones() {
+		return expulsiones;
+	}
+
+	/** Entradas descartadas por haber superado el TTL. */
+	public synchronized long getCaducadas() {
+		return caducadas;
+	}
+
+	public synchronized long getInvalidaciones() {
+		return invalidaciones;
+	}
+
+	public synchronized int getTamano() {
+		return entradas.size();
+	}
+
+	public int getCapacidad() {
+		return capacidad;
+	}
+
+	/** Memoria aproximada que ocupan las entradas, en bytes. */
+	public synchronized long getMemoriaEstimadaBytes() {
+		return bytesEstimados;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return String.format(
+				"CacheAlumnos[alumnos=%d/%d, aciertos=%d, fallos=%d, tasa=%.1f%%, expulsiones=%d, caducadas=%d, invalidaciones=%d, memoria≈%d KiB]",
+				entradas.size(), capacidad, aciertos, fallos, getTasaAciertos() * 100, expulsiones, caducadas,
+				invalidaciones, bytesEstimados / 1024);
+	}
+}
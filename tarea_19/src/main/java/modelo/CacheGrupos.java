@@ -0,0 +1,124 @@
+package modelo;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché acotada y segura entre hilos de la correspondencia nombreGrupo →
+ * numeroGrupo de la tabla 'grupos'. Evita repetir la consulta
+ * {@code SELECT numeroGrupo FROM grupos WHERE nombreGrupo = ?} en cada alumno
+ * insertado o importado.
+ *
+ * Solo se guardan grupos existentes: un fallo no se memoriza, para que un grupo
+ * creado desde otro proceso se encuentre en la siguiente consulta.
+ */
+public class CacheGrupos {
+
+	public static final int CAPACIDAD_POR_DEFECTO = 1024;
+
+	private final ConcurrentHashMap<String, Integer> numerosPorNombre = new ConcurrentHashMap<>();
+	private final int capacidad;
+
+	private final LongAdder aciertos = new LongAdder();
+	private final LongAdder fallos = new LongAdder();
+
+	private volatile boolean precargada = false;
+
+	public CacheGrupos() {
+		this(CAPACIDAD_POR_DEFECTO);
+	}
+
+	public CacheGrupos(int capacidad) {
+		if (capacidad < 1) {
+			throw new IllegalArgumentException("La capacidad de la caché debe ser mayor que 0: " + capacidad);
+		}
+		this.capacidad = capacidad;
+	}
+
+	/**
+	 * Carga en la caché todos los grupos de la tabla 'grupos'. Solo se ejecuta la
+	 * primera vez que se llama.
+	 *
+	 * @param conexion Conexión con la que se consulta la tabla.
+	 * @throws SQLException si falla la consulta.
+	 */
+	public synchronized void precargar(Connection conexion) throws SQLException {
+		if (precargada) {
+			return;
+		}
+
+		try (PreparedStatement sentencia = conexion.prepareStatement("SELECT numeroGrupo, nombreGrupo FROM grupos");
+				ResultSet resultado = sentencia.executeQuery()) {
+			while (resultado.next()) {
+				registrar(resultado.getString("nombreGrupo"), resultado.getInt("numeroGrupo"));
+			}
+		}
+		precargada = true;
+	}
+
+	/**
+	 * Busca el número de un grupo por su nombre, contabilizando el acierto o el
+	 * fallo.
+	 *
+	 * @param nombreGrupo Nombre del grupo.
+	 * @return el numeroGrupo, o null si el grupo no está en la caché.
+	 */
+	public Integer obtener(String nombreGrupo) {
+		Integer numeroGrupo = numerosPorNombre.get(nombreGrupo);
+		if (numeroGrupo != null) {
+			aciertos.increment();
+		} else {
+			fallos.increment();
+		}
+		return numeroGrupo;
+	}
+
+	/**
+	 * Añade o actualiza un grupo. Si la caché está llena se descarta una entrada
+	 * cualquiera antes de añadir la nueva.
+	 *
+	 * @param nombreGrupo Nombre del grupo.
+	 * @param numeroGrupo Número asignado por la base de datos.
+	 */
+	public void registrar(String nombreGrupo, int numeroGrupo) {
+		if (!numerosPorNombre.containsKey(nombreGrupo) && numerosPorNombre.size() >= capacidad) {
+			Iterator<String> claves = numerosPorNombre.keySet().iterator();
+			if (claves.hasNext()) {
+				numerosPorNombre.remove(claves.next());
+			}
+		}
+		numerosPorNombre.put(nombreGrupo, numeroGrupo);
+	}
+
+	/**
+	 * Elimina un grupo de la caché.
+	 *
+	 * @param nombreGrupo Nombre del grupo.
+	 */
+	public void invalidar(String nombreGrupo) {
+		numerosPorNombre.remove(nombreGrupo);
+	}
+
+	public long getAciertos() {
+		return aciertos.sum();
+	}
+
+	public long getFallos() {
+		return fallos.sum();
+	}
+
+	public int getTamano() {
+		return numerosPorNombre.size();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("CacheGrupos[grupos=%d/%d, aciertos=%d, fallos=%d]", getTamano(), capacidad, getAciertos(),
+				getFallos());
+	}
+}
@@ -0,0 +1,398 @@
+package modelo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.time.LocalDate;
+
+/**
+ * Formato CSV de 'alumnos.txt' (RFC 4180) que comparten todos los modelos al
+ * importar y exportar:
+ * <ul>
+ * <li>La cabecera es {@link #CABECERA} y cada registro tiene
+ * {@value #NUM_CAMPOS} campos separados por comas.</li>
+ * <li>Los campos con comas, comillas o saltos de línea se escriben entre
+ * comillas dobles, duplicando las comillas que contengan. Al leer, un campo
+ * entre comillas puede ocupar varias líneas ({@link #leerRegistro}).</li>
+ * <li>La fecha de nacimiento se escribe como dd-MM-yyyy. Al leer se admite
+ * también yyyy-MM-dd, el formato de las exportaciones antiguas de la base de
+ * datos (ver {@link Fechas}).</li>
+ * <li>Un alumno sin grupo se escribe con el último campo vacío (antes, según el
+ * modelo, con el texto "Sin grupo").</li>
+ * </ul>
+ * Los registros terminan en '\n' y no en CRLF para que {@code LOAD DATA} y
+ * {@link LectorAlumnosMapeado} los lean igual; al leer se admiten los dos.
+ *
+ * Para no crear objetos por registro, cada instancia reutiliza sus búferes y un
+ * pequeño diccionario para ciclo, curso y grupo, así que no es segura entre
+ * hilos: {@link #delHilo()} devuelve la del hilo actual.
+ */
+public final class CodecCSVAlumnos {
+
+	public static final String CABECERA = "NIA,Nombre,Apellidos,Género,Fecha Nacimiento,Ciclo,Curso,Nombre del Grupo";
+	public static final int NUM_CAMPOS = 8;
+
+	private static final char SEPARADOR = ',';
+	private static final char COMILLAS = '"';
+	private static final char FIN_REGISTRO = '\n';
+
+	// Primera línea más larga que se puede volver a leer carácter a carácter
+	private static final int LIMITE_RELECTURA = 64 * 1024;
+
+	private static final int TAMANO_DICCIONARIO = 256;
+
+	private static final ThreadLocal<CodecCSVAlumnos> POR_HILO = ThreadLocal.withInitial(CodecCSVAlumnos::new);
+
+	// Campos del último registro analizado, ya sin comillas, uno tras otro
+	private char[] valores = new char[256];
+	private CharBuffer vistaValores = CharBuffer.wrap(valores);
+	private final int[] inicioCampo = new int[NUM_CAMPOS];
+	private final int[] finCampo = new int[NUM_CAMPOS];
+
+	// Registro que se está escribiendo
+	private final StringBuilder salida = new StringBuilder(256);
+	private char[] volcado = new char[256];
+
+	// Diccionario de acceso directo para ciclo, curso y grupo
+	private final String[] diccionario = new String[TAMANO_DICCIONARIO];
+	private final byte[] campoDiccionario = new byte[TAMANO_DICCIONARIO];
+
+	/**
+	 * @return la instancia del hilo actual.
+	 */
+	public static CodecCSVAlumnos delHilo() {
+		return POR_HILO.get();
+	}
+
+	// ---------------------------------------------------------------- Lectura
+
+	/**
+	 * Lee el siguiente registro: una línea o, si tiene un campo entre comillas con
+	 * saltos de línea, hasta el fin de línea que sigue a las comillas de cierre.
+	 * Los saltos de línea de dentro de las comillas ('\n', '\r' o "\r\n") se
+	 * conservan tal cual: readLine los descartaría, así que en ese caso el
+	 * registro se vuelve a leer carácter a carácter desde el principio.
+	 *
+	 * @param entrada Fichero abierto.
+	 * @return el registro, o null al final del fichero. Un registro con comillas
+	 *         sin cerrar al final del fichero se devuelve tal cual (y no será
+	 *         válido al analizarlo).
+	 * @throws IOException si no se puede leer.
+	 */
+	public static String leerRegistro(BufferedReader entrada) throws IOException {
+		entrada.mark(LIMITE_RELECTURA);
+		String linea = entrada.readLine();
+		if (linea == null || linea.indexOf(COMILLAS) < 0 || comillasEquilibradas(linea)) {
+			return linea;
+		}
+		// readLine ha leído la línea y hasta dos caracteres de fin de línea
+		if (linea.length() + 2 <= LIMITE_RELECTURA) {
+			entrada.reset();
+			return leerHastaFinDeRegistro(entrada, new StringBuilder(linea.length() * 2), false);
+		}
+		// Primera línea demasiado larga para volver a leerla: su salto se toma
+		// como '\n'
+		return leerHastaFinDeRegistro(entrada, new StringBuilder(linea).append(FIN_REGISTRO), true);
+	}
+
+	/**
+	 * Añade al registro los caracteres hasta el primer fin de línea fuera de
+	 * comillas, que se consume ("\r\n" entero) pero no se añade.
+	 *
+	 * @param dentro Si el registro termina ahora dentro de un campo entre
+	 *               comillas.
+	 */
+	private static String leerHastaFinDeRegistro(BufferedReader entrada, StringBuilder registro, boolean dentro)
+			throws IOException {
+		int c;
+		while ((c = entrada.read()) >= 0) {
+			if (c == COMILLAS) {
+				dentro = !dentro;
+			} else if (!dentro && (c == '\n' || c == '\r')) {
+				if (c == '\r') {
+					entrada.mark(1);
+					if (entrada.read() != '\n') {
+						entrada.reset();
+					}
+				}
+				break;
+			}
+			registro.append((char) c);
+		}
+		return registro.toString();
+	}
+
+	/**
+	 * @return si el texto tiene un número par de comillas, es decir, si no termina
+	 *         dentro de un campo entre comillas.
+	 */
+	public static boolean comillasEquilibradas(CharSequence texto) {
+		boolean dentro = false;
+		for (int i = 0, n = texto.length(); i < n; i++) {
+			if (texto.charAt(i) == COMILLAS) {
+				dentro = !dentro;
+			}
+		}
+		return !dentro;
+	}
+
+	/**
+	 * Analiza un registro y crea el alumno.
+	 *
+	 * @param registro Registro sin el fin de línea (se ignora un '\r' final).
+	 * @return el alumno, con un Grupo que solo tiene el nombre (o sin grupo si el
+	 *         campo está vacío), o null si el registro no es válido.
+	 */
+	public Alumno analizar(CharSequence registro) {
+		Alumno alumno = new Alumno();
+		return analizar(registro, alumno) ? alumno : null;
+	}
+
+	/**
+	 * Analiza un registro y rellena {@code destino}, reutilizando su Grupo si lo
+	 * tiene. Si el campo del grupo está vacío, el grupo queda a null.
+	 *
+	 * @param registro Registro sin el fin de línea (se ignora un '\r' final).
+	 * @param destino  Alumno a rellenar; si el registro no es válido puede quedar
+	 *                 a medias.
+	 * @return false si el registro no tiene {@value #NUM_CAMPOS} campos, tiene
+	 *         comillas mal cerradas o la fecha no es válida.
+	 */
+	public boolean analizar(CharSequence registro, Alumno destino) {
+		if (!separarCampos(registro)) {
+			return false;
+		}
+		LocalDate fecha = Fechas.analizar(vistaValores, inicioCampo[4], finCampo[4]);
+		if (fecha == null) {
+			return false;
+		}
+
+		destino.setFechaNacimiento(fecha);
+		destino.setNia(analizarNia(inicioCampo[0], finCampo[0]));
+		destino.setNombre(texto(1));
+		destino.setApellidos(texto(2));
+		destino.setGenero(finCampo[3] == inicioCampo[3] ? 'S' : valores[inicioCampo[3]]);
+		destino.setCiclo(textoFrecuente(5));
+		destino.setCurso(textoFrecuente(6));
+
+		if (finCampo[7] == inicioCampo[7]) {
+			destino.setGrupo(null);
+		} else if (destino.getGrupo() == null) {
+			destino.setGrupo(new Grupo(textoFrecuente(7)));
+		} else {
+			destino.getGrupo().setNumeroGrupo(0);
+			destino.getGrupo().setNombreGrupo(textoFrecuente(7));
+		}
+		return true;
+	}
+
+	/**
+	 * Copia los campos del registro, sin comillas, en {@link #valores}.
+	 *
+	 * @return false si no hay {@value #NUM_CAMPOS} campos o hay comillas mal
+	 *         cerradas.
+	 */
+	private boolean separarCampos(CharSequence registro) {
+		int n = registro.length();
+		if (n > 0 && registro.charAt(n - 1) == '\r') {
+			n--;
+		}
+		if (valores.length < n) {
+			valores = new char[Math.max(n, valores.length * 2)];
+			vistaValores = CharBuffer.wrap(valores);
+		}
+
+		int usado = 0;
+		int campo = 0;
+		int i = 0;
+		while (true) {
+			if (campo == NUM_CAMPOS) {
+				return false;
+			}
+			inicioCampo[campo] = usado;
+			if (i < n && registro.charAt(i) == COMILLAS) {
+				i++;
+				while (true) {
+					if (i == n) {
+						return false; // Comillas sin cerrar
+					}
+					char c = registro.charAt(i++);
+					if (c == COMILLAS) {
+						if (i < n && registro.charAt(i) == COMILLAS) {
+							i++;
+						} else {
+							break;
+						}
+					}
+					valores[usado++] = c;
+				}
+				if (i < n && registro.charAt(i) != SEPARADOR) {
+					return false; // Texto tras las comillas de cierre
+				}
+			} else {
+				char c;
+				while (i < n && (c = registro.charAt(i)) != SEPARADOR) {
+					valores[usado++] = c;
+					i++;
+				}
+			}
+			finCampo[campo++] = usado;
+			if (i >= n) {
+				return campo == NUM_CAMPOS;
+			}
+			i++; // Separador
+		}
+	}
+
+	/** NIA del registro si es numérico; 0 en caso contrario. */
+	private int analizarNia(int desde, int hasta) {
+		while (desde < hasta && valores[desde] == ' ') {
+			desde++;
+		}
+		while (hasta > desde && valores[hasta - 1] == ' ') {
+			hasta--;
+		}
+		if (desde == hasta || hasta - desde > 9) {
+			return 0;
+		}
+		int nia = 0;
+		for (int i = desde; i < hasta; i++) {
+			int digito = valores[i] - '0';
+			if (digito < 0 || digito > 9) {
+				return 0;
+			}
+			nia = nia * 10 + digito;
+		}
+		return nia;
+	}
+
+	private String texto(int campo) {
+		return new String(valores, inicioCampo[campo], finCampo[campo] - inicioCampo[campo]);
+	}
+
+	/**
+	 * Devuelve el texto del campo reutilizando el String de la entrada del
+	 * diccionario si coincide.
+	 */
+	private String textoFrecuente(int campo) {
+		int desde = inicioCampo[campo];
+		int longitud = finCampo[campo] - desde;
+
+		int hash = campo;
+		for (int i = desde; i < desde + longitud; i++) {
+			hash = 31 * hash + valores[i];
+		}
+		int posicion = (hash ^ (hash >>> 16)) & (TAMANO_DICCIONARIO - 1);
+
+		String valor = diccionario[posicion];
+		if (valor != null && campoDiccionario[posicion] == campo && valor.length() == longitud) {
+			boolean iguales = true;
+			for (int i = 0; i < longitud && iguales; i++) {
+				iguales = valor.charAt(i) == valores[desde + i];
+			}
+			if (iguales) {
+				return valor;
+			}
+		}
+
+		// Se guarda también el número de campo para no mezclar, por ejemplo, un
+		// curso y un grupo con el mismo texto
+		valor = new String(valores, desde, longitud);
+		diccionario[posicion] = valor;
+		campoDiccionario[posicion] = (byte) campo;
+		return valor;
+	}
+
+	// -------------------------------------------------------------- Escritura
+
+	/**
+	 * Escribe la cabecera y su fin de línea.
+	 */
+	public static void escribirCabecera(Writer destino) throws IOException {
+		destino.write(CABECERA);
+		destino.write(FIN_REGISTRO);
+	}
+
+	/**
+	 * Escribe el alumno como un registro, con su fin de línea.
+	 *
+	 * @param alumno  Alumno a escribir.
+	 * @param destino Fichero de destino (mejor con búfer).
+	 * @throws IOException si no se puede escribir.
+	 */
+	public void escribir(Alumno alumno, Writer destino) throws IOException {
+		formatear(alumno);
+		salida.append(FIN_REGISTRO);
+		int longitud = salida.length();
+		if (volcado.length < longitud) {
+			volcado = new char[Math.max(longitud, volcado.length * 2)];
+		}
+		salida.getChars(0, longitud, volcado, 0);
+		destino.write(volcado, 0, longitud);
+	}
+
+	/**
+	 * @return el alumno como un registro, sin el fin de línea.
+	 */
+	public String aRegistro(Alumno alumno) {
+		formatear(alumno);
+		return salida.toString();
+	}
+
+	private void formatear(Alumno alumno) {
+		salida.setLength(0);
+		salida.append(alumno.getNia()).append(SEPARADOR);
+		campo(alumno.getNombre());
+		salida.append(SEPARADOR);
+		campo(alumno.getApellidos());
+		salida.append(SEPARADOR);
+		char genero = alumno.getGenero();
+		if (genero == SEPARADOR || genero == COMILLAS || genero == '\n' || genero == '\r') {
+			campo(String.valueOf(genero));
+		} else {
+			salida.append(genero);
+		}
+		salida.append(SEPARADOR);
+		Fechas.formatear(alumno.getFechaNacimiento(), salida);
+		salida.append(SEPARADOR);
+		campo(alumno.getCiclo());
+		salida.append(SEPARADOR);
+		campo(alumno.getCurso());
+		salida.append(SEPARADOR);
+		campo(alumno.getGrupo() == null ? null : alumno.getGrupo().getNombreGrupo());
+	}
+
+	/**
+	 * Añade el texto, entre comillas solo si contiene separadores, comillas o
+	 * saltos de línea. null se escribe como un campo vacío.
+	 */
+	private void campo(String texto) {
+		if (texto == null) {
+			return;
+		}
+		int n = texto.length();
+		int i = 0;
+		while (i < n) {
+			char c = texto.charAt(i);
+			if (c == SEPARADOR || c == COMILLAS || c == '\n' || c == '\r') {
+				break;
+			}
+			i++;
+		}
+		if (i == n) {
+			salida.append(texto);
+			return;
+		}
+
+		salida.append(COMILLAS).append(texto, 0, i);
+		for (; i < n; i++) {
+			char c = texto.charAt(i);
+			if (c == COMILLAS) {
+				salida.append(COMILLAS);
+			}
+			salida.append(c);
+		}
+		salida.append(COMILLAS);
+	}
+}
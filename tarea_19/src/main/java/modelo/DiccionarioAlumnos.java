@@ -0,0 +1,138 @@
+package modelo;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Diccionario de los valores que se repiten en muchos alumnos: ciclos y cursos
+ * (textos) y grupos (número y nombre). Cada valor distinto se guarda una sola
+ * vez y se identifica por un entero consecutivo desde 0, de modo que las
+ * representaciones compactas ({@link AlumnoCompacto},
+ * {@link ListaAlumnosCompacta}) guardan un int en lugar de una referencia a un
+ * String o a un Grupo propios.
+ *
+ * Los códigos solo tienen sentido dentro del diccionario que los asignó. Es
+ * seguro entre hilos: la consulta de un valor ya conocido no bloquea y solo se
+ * sincroniza el alta de uno nuevo. El diccionario no olvida valores hasta que se
+ * vacía, pero su tamaño es el número de ciclos, cursos y grupos distintos.
+ */
+public class DiccionarioAlumnos {
+
+	/** Código de un valor null. */
+	public static final int SIN_VALOR = -1;
+
+	private record ClaveGrupo(int numeroGrupo, String nombreGrupo) {
+	}
+
+	/**
+	 * Valores y códigos de un tipo. El array de valores se sustituye entero al
+	 * crecer y se publica con una escritura volatile después de rellenarlo, así
+	 * que quien ha obtenido un código ve siempre su valor.
+	 */
+	private static class Tabla<T> {
+
+		private final ConcurrentHashMap<T, Integer> codigos = new ConcurrentHashMap<>();
+		private volatile Object[] valores = new Object[16];
+		private int tamano = 0;
+
+		int codificar(T valor) {
+			Integer codigo = codigos.get(valor);
+			if (codigo != null) {
+				return codigo;
+			}
+			synchronized (this) {
+				codigo = codigos.get(valor);
+				if (codigo != null) {
+					return codigo;
+				}
+				Object[] destino = tamano < valores.length ? valores : Arrays.copyOf(valores, tamano * 2);
+				destino[tamano] = valor;
+				valores = destino;
+				codigos.put(valor, tamano);
+				return tamano++;
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		T valor(int codigo) {
+			return (T) valores[codigo];
+		}
+
+		synchronized void vaciar() {
+			codigos.clear();
+			valores = new Object[16];
+			tamano = 0;
+		}
+
+		int getTamano() {
+			return codigos.size();
+		}
+	}
+
+	private final Tabla<String> textos = new Tabla<>();
+	private final Tabla<ClaveGrupo> grupos = new Tabla<>();
+
+	/**
+	 * @return el código del texto (ciclo o curso), o {@link #SIN_VALOR} si es
+	 *         null.
+	 */
+	public int codificarTexto(String texto) {
+		return texto == null ? SIN_VALOR : textos.codificar(texto);
+	}
+
+	/**
+	 * @return el texto del código, o null si es {@link #SIN_VALOR}.
+	 */
+	public String texto(int codigo) {
+		return codigo == SIN_VALOR ? null : textos.valor(codigo);
+	}
+
+	/**
+	 * @return el código del grupo (número y nombre), o {@link #SIN_VALOR} si es
+	 *         null.
+	 */
+	public int codificarGrupo(Grupo grupo) {
+		return grupo == null ? SIN_VALOR
+				: grupos.codificar(new ClaveGrupo(grupo.getNumeroGrupo(), grupo.getNombreGrupo()));
+	}
+
+	/**
+	 * @return un Grupo nuevo con el número y el nombre del código (se puede
+	 *         modificar sin afectar al diccionario), o null si es
+	 *         {@link #SIN_VALOR}.
+	 */
+	public Grupo grupo(int codigo) {
+		if (codigo == SIN_VALOR) {
+			return null;
+		}
+		ClaveGrupo clave = grupos.valor(codigo);
+		return new Grupo(clave.numeroGrupo(), clave.nombreGrupo());
+	}
+
+	/**
+	 * @return el nombre del grupo del código, sin crear el Grupo, o null si es
+	 *         {@link #SIN_VALOR}.
+	 */
+	public String nombreGrupo(int codigo) {
+		return codigo == SIN_VALOR ? null : grupos.valor(codigo).nombreGrupo();
+	}
+
+	/**
+	 * Olvida todos los valores. Solo se puede llamar cuando ya no queda ningún
+	 * código en uso.
+	 */
+	public void vaciar() {
+		textos.vaciar();
+		grupos.vaciar();
+	}
+
+	/** Número de textos y grupos distintos guardados. */
+	public int getTamano() {
+		return textos.getTamano() + grupos.getTamano();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("DiccionarioAlumnos[textos=%d, grupos=%d]", textos.getTamano(), grupos.getTamano());
+	}
+}
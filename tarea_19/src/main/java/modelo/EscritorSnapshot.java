@@ -0,0 +1,265 @@
+package modelo;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Escribe una copia binaria (snapshot) de todos los grupos y alumnos, pensada
+ * para exportar y recargar el conjunto completo de datos mucho más rápido que
+ * con el texto o el XML. Se escribe en streaming: los alumnos se reciben de uno
+ * en uno y nunca se tienen todos en memoria.
+ *
+ * Formato (enteros big-endian):
+ * <ul>
+ * <li>Cabecera: {@link #MAGICO} ("ASNP") y la versión ({@link #VERSION}).</li>
+ * <li>Registros: longitud (short sin signo, sin contarse a sí misma), tipo (un
+ * byte) y datos. Los textos son un short sin signo con la longitud y los bytes
+ * en UTF-8.</li>
+ * <li>{@link #TIPO_TEXTO}: entrada del diccionario. Ciclos, cursos y nombres de
+ * grupo se escriben una sola vez, la primera vez que aparecen, y después se
+ * referencian por su posición en el diccionario (-1 si son null).</li>
+ * <li>{@link #TIPO_GRUPO}: número e identificador del nombre.</li>
+ * <li>{@link #TIPO_ALUMNO}: NIA, nombre, apellidos, género (char), fecha de
+ * nacimiento en días desde 1970-01-01 ({@link Integer#MIN_VALUE} si no tiene) e
+ * identificadores de ciclo, curso y grupo.</li>
+ * <li>{@link #TIPO_FIN}: número de grupos y de alumnos escritos. Un fichero sin
+ * este registro está incompleto.</li>
+ * </ul>
+ *
+ * Se escribe en un fichero temporal que sustituye al destino en
+ * {@link #terminar()}, así que una copia a medias nunca pisa la anterior. No es
+ * seguro entre hilos.
+ */
+public class EscritorSnapshot implements Closeable {
+
+	private static final Logger loggerGeneral = LogManager.getRootLogger();
+	private static final Logger loggerExcepciones = LogManager.getLogger("exceptions");
+
+	/** "ASNP" en ASCII. */
+	static final int MAGICO = 0x41534E50;
+	static final short VERSION = 1;
+
+	static final byte TIPO_TEXTO = 1;
+	static final byte TIPO_GRUPO = 2;
+	static final byte TIPO_ALUMNO = 3;
+	static final byte TIPO_FIN = 4;
+
+	/** Sin fecha de nacimiento. */
+	static final int SIN_FECHA = Integer.MIN_VALUE;
+	/** Texto del diccionario null. */
+	static final int SIN_TEXTO = -1;
+
+	static final int LONGITUD_MAXIMA_REGISTRO = 0xFFFF;
+	private static final int LONGITUD_MAXIMA_TEXTO = 0x3FFF;
+	private static final int TAMANO_BUFFER = 256 * 1024;
+
+	/**
+	 * Escribe todos los alumnos en la copia con
+	 * {@link EscritorSnapshot#escribirAlumno(Alumno)}.
+	 */
+	@FunctionalInterface
+	public interface Recorrido {
+		void recorrer(EscritorSnapshot escritor) throws IOException, SQLException;
+	}
+
+	private final Path fichero;
+	private final Path temporal;
+	private final FileChannel canal;
+	private final ByteBuffer buffer = ByteBuffer.allocate(TAMANO_BUFFER);
+
+	private final Map<String, Integer> diccionario = new HashMap<>();
+
+	private long gruposEscritos = 0;
+	private long alumnosEscritos = 0;
+	private boolean terminado = false;
+
+	/**
+	 * @param fichero Fichero de destino; se sustituye en {@link #terminar()}.
+	 * @throws IOException si no se puede crear el fichero temporal.
+	 */
+	public EscritorSnapshot(Path fichero) throws IOException {
+		this.fichero = fichero;
+		this.temporal = fichero.resolveSibling(fichero.getFileName() + ".tmp");
+		this.canal = FileChannel.open(temporal, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		buffer.putInt(MAGICO).putShort(VERSION);
+	}
+
+	public void escribirGrupo(Grupo grupo) throws IOException {
+		int nombre = idTexto(grupo.getNombreGrupo());
+		iniciarRegistro(TIPO_GRUPO, 8);
+		buffer.putInt(grupo.getNumeroGrupo()).putInt(nombre);
+		gruposEscritos++;
+	}
+
+	public void escribirAlumno(Alumno alumno) throws IOException {
+		int ciclo = idTexto(alumno.getCiclo());
+		int curso = idTexto(alumno.getCurso());
+		int grupo = idTexto(alumno.getGrupo() == null ? null : alumno.getGrupo().getNombreGrupo());
+		byte[] nombre = bytes(alumno.getNombre());
+		byte[] apellidos = bytes(alumno.getApellidos());
+
+		iniciarRegistro(TIPO_ALUMNO, 4 + 2 + nombre.length + 2 + apellidos.length + 2 + 4 + 12);
+		buffer.putInt(alumno.getNia());
+		buffer.putShort((short) nombre.length).put(nombre);
+		buffer.putShort((short) apellidos.length).put(apellidos);
+		buffer.putChar(alumno.getGenero());
+		buffer.putInt(diaEpoca(alumno.getFechaNacimiento()));
+		buffer.putInt(ciclo).putInt(curso).putInt(grupo);
+		alumnosEscritos++;
+	}
+
+	/**
+	 * @return la posición del texto en el diccionario, escribiéndolo si es la
+	 *         primera vez que aparece.
+	 */
+	private int idTexto(String texto) throws IOException {
+		if (texto == null) {
+			return SIN_TEXTO;
+		}
+		Integer id = diccionario.get(texto);
+		if (id != null) {
+			return id;
+		}
+		byte[] datos = bytes(texto);
+		iniciarRegistro(TIPO_TEXTO, 2 + datos.length);
+		buffer.putShort((short) datos.length).put(datos);
+		id = diccionario.size();
+		diccionario.put(texto, id);
+		return id;
+	}
+
+	private static byte[] bytes(String texto) throws IOException {
+		byte[] datos = (texto == null ? "" : texto).getBytes(StandardCharsets.UTF_8);
+		if (datos.length > LONGITUD_MAXIMA_TEXTO) {
+			throw new IOException("Texto de más de " + LONGITUD_MAXIMA_TEXTO + " bytes: '"
+					+ texto.substring(0, 20) + "...'");
+		}
+		return datos;
+	}
+
+	private static int diaEpoca(LocalDate fecha) {
+		return fecha == null ? SIN_FECHA : (int) fecha.toEpochDay();
+	}
+
+	/**
+	 * Escribe la longitud y el tipo, vaciando antes el buffer si el registro no
+	 * cabe.
+	 */
+	private void iniciarRegistro(byte tipo, int longitudDatos) throws IOException {
+		if (buffer.remaining() < 2 + 1 + longitudDatos) {
+			vaciarBuffer();
+		}
+		buffer.putShort((short) (1 + longitudDatos)).put(tipo);
+	}
+
+	private void vaciarBuffer() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			canal.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	public long getGruposEscritos() {
+		return gruposEscritos;
+	}
+
+	public long getAlumnosEscritos() {
+		return alumnosEscritos;
+	}
+
+	/**
+	 * Escribe el registro de fin y sustituye el fichero de destino por la copia.
+	 * Hasta que no se llama, el destino no cambia.
+	 *
+	 * @throws IOException si no se puede escribir o mover el fichero.
+	 */
+	public void terminar() throws IOException {
+		iniciarRegistro(TIPO_FIN, 16);
+		buffer.putLong(gruposEscritos).putLong(alumnosEscritos);
+		vaciarBuffer();
+		canal.force(true);
+		canal.close();
+		Files.move(temporal, fichero, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		terminado = true;
+	}
+
+	/**
+	 * Cierra el fichero. Si no se ha llamado a {@link #terminar()}, la copia a
+	 * medias se borra.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!terminado) {
+			canal.close();
+			Files.deleteIfExists(temporal);
+		}
+	}
+
+	/**
+	 * Escribe una copia de todos los grupos y alumnos del repositorio usando
+	 * {@link RepositorioAlumnos#buscarGrupos()} y
+	 * {@link RepositorioAlumnos#buscarTodos()}, que se recorre página a página. Si
+	 * falla alguna página, la copia se descarta y el destino no cambia.
+	 *
+	 * @param repositorio Origen de los datos.
+	 * @param fichero     Fichero de destino.
+	 * @return el número de alumnos escritos, o -1 si hay algún error.
+	 */
+	public static long exportar(RepositorioAlumnos repositorio, Path fichero) {
+		return exportar(repositorio, fichero, escritor -> {
+			try (Stream<Alumno> alumnos = repositorio.buscarTodos()) {
+				Iterator<Alumno> it = alumnos.iterator();
+				while (it.hasNext()) {
+					escritor.escribirAlumno(it.next());
+				}
+			}
+		});
+	}
+
+	/**
+	 * Igual que {@link #exportar(RepositorioAlumnos, Path)} pero con los alumnos
+	 * que escribe {@code recorrido}, para los modelos que pueden leerlos todos con
+	 * un único cursor.
+	 *
+	 * @param repositorio Origen de los grupos.
+	 * @param fichero     Fichero de destino.
+	 * @param recorrido   Escribe todos los alumnos.
+	 * @return el número de alumnos escritos, o -1 si hay algún error.
+	 */
+	public static long exportar(RepositorioAlumnos repositorio, Path fichero, Recorrido recorrido) {
+		long inicio = System.nanoTime();
+		try (EscritorSnapshot escritor = new EscritorSnapshot(fichero)) {
+			for (Grupo grupo : repositorio.buscarGrupos()) {
+				escritor.escribirGrupo(grupo);
+			}
+			recorrido.recorrer(escritor);
+			escritor.terminar();
+
+			loggerGeneral.info("Copia binaria guardada en '{}': {} grupos, {} alumnos, {} bytes en {} ms.", fichero,
+					escritor.getGruposEscritos(), escritor.getAlumnosEscritos(), Files.size(fichero),
+					(System.nanoTime() - inicio) / 1_000_000);
+			return escritor.getAlumnosEscritos();
+		} catch (IOException | SQLException | RuntimeException e) {
+			loggerExcepciones.error("Error al guardar la copia binaria en '{}': {}", fichero, e.getMessage(), e);
+			return -1;
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package modelo;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Escribe el fichero XML de grupos ({@code <grupos><grupo><alumno/>...}) en
+ * streaming con StAX. Cada elemento se vuelca al fichero a través de un búfer,
+ * de modo que la memoria usada no depende del número de alumnos. Si el nombre
+ * del fichero termina en '.gz', se comprime en paralelo
+ * ({@link FicherosComprimidos#abrirSalida(Path)}).
+ *
+ * Los grupos deben recibirse en orden: al abrir un grupo se cierra el anterior.
+ */
+public class EscritorXMLGrupos implements Closeable {
+
+	private final OutputStream salida;
+	private final XMLStreamWriter xml;
+	private boolean grupoAbierto = false;
+	private boolean grupoConAlumnos = false;
+
+	/**
+	 * Crea (o sobrescribe) el fichero y escribe la cabecera y el elemento raíz
+	 * {@code <grupos>}.
+	 *
+	 * @param ruta Ruta del fichero XML.
+	 * @throws IOException        si no se puede abrir el fichero.
+	 * @throws XMLStreamException si falla la escritura XML.
+	 */
+	public EscritorXMLGrupos(Path ruta) throws IOException, XMLStreamException {
+		salida = FicherosComprimidos.abrirSalida(ruta);
+		xml = XMLOutputFactory.newInstance().createXMLStreamWriter(salida, "UTF-8");
+
+		xml.writeStartDocument("UTF-8", "1.0");
+		xml.writeCharacters("\n");
+		xml.writeStartElement("grupos");
+	}
+
+	/**
+	 * Abre un nuevo elemento {@code <grupo>}, cerrando antes el grupo anterior si
+	 * lo hubiera.
+	 *
+	 * @param numeroGrupo Número del grupo.
+	 * @param nombreGrupo Nombre del grupo.
+	 * @throws XMLStreamException si falla la escritura XML.
+	 */
+	public void abrirGrupo(int numeroGrupo, String nombreGrupo) throws XMLStreamException {
+		cerrarGrupo();
+		xml.writeCharacters("\n    ");
+		xml.writeStartElement("grupo");
+		xml.writeAttribute("numeroGrupo", String.valueOf(numeroGrupo));
+		xml.writeAttribute("nombreGrupo", valor(nombreGrupo));
+		grupoAbierto = true;
+		grupoConAlumnos = false;
+	}
+
+	/**
+	 * Escribe un elemento {@code <alumno>} dentro del grupo abierto.
+	 *
+	 * @throws XMLStreamException si falla la escritura XML o no hay grupo abierto.
+	 */
+	public void escribirAlumno(int nia, String nombre, String apellidos, String genero, String fechaNacimiento,
+			String ciclo, String curso) throws XMLStreamException {
+		if (!grupoAbierto) {
+			throw new XMLStreamException("No se puede escribir un alumno fuera de un elemento <grupo>.");
+		}
+		xml.writeCharacters("\n        ");
+		xml.writeEmptyElement("alumno");
+		xml.writeAttribute("nia", String.valueOf(nia));
+		xml.writeAttribute("nombre", valor(nombre));
+		xml.writeAttribute("apellidos", valor(apellidos));
+		xml.writeAttribute("genero", valor(genero));
+		xml.writeAttribute("fechaNacimiento", valor(fechaNacimiento));
+		xml.writeAttribute("ciclo", valor(ciclo));
+		xml.writeAttribute("curso", valor(curso));
+		grupoConAlumnos = true;
+	}
+
+	private void cerrarGrupo() throws XMLStreamException {
+		if (grupoAbierto) {
+			if (grupoConAlumnos) {
+				xml.writeCharacters("\n    ");
+			}
+			xml.writeEndElement();
+			grupoAbierto = false;
+		}
+	}
+
+	private static String valor(String texto) {
+		return texto == null ? "" : texto;
+	}
+
+	/**
+	 * Cierra el grupo pendiente y el elemento raíz, vuelca el búfer y cierra el
+	 * fichero.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			cerrarGrupo();
+			xml.writeCharacters("\n");
+			xml.writeEndElement();
+			xml.writeEndDocument();
+			xml.close();
+		} catch (XMLStreamException e) {
+			throw new IOException("Error al cerrar el documento XML: " + e.getMessage(), e);
+		} finally {
+			salida.close();
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package modelo;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Número de alumnos por grupo, por ciclo y curso, por género y por año de
+ * nacimiento (ver {@link RepositorioAlumnos#calcularEstadisticas()}).
+ *
+ * Los modelos con base de datos agrupan en el servidor y solo añaden aquí los
+ * recuentos que reciben ({@code sumar...}); {@link #de(Stream)} los calcula
+ * recorriendo los alumnos. Cada recuento se ordena por su clave, con la clave
+ * null (alumnos sin grupo, sin ciclo o sin fecha) en primer lugar.
+ */
+public class EstadisticasAlumnos {
+
+	/** Clave del recuento por ciclo y curso. */
+	public record CicloCurso(String ciclo, String curso) {
+
+		private static final Comparator<CicloCurso> ORDEN = Comparator
+				.comparing(CicloCurso::ciclo, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+				.thenComparing(CicloCurso::curso, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+	}
+
+	private final Map<String, Long> porGrupo = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+	private final Map<CicloCurso, Long> porCicloCurso = new TreeMap<>(CicloCurso.ORDEN);
+	private final Map<Character, Long> porGenero = new TreeMap<>();
+	private final Map<Integer, Long> porAnioNacimiento = new TreeMap<>(
+			Comparator.nullsFirst(Comparator.naturalOrder()));
+
+	/**
+	 * Calcula las estadísticas recorriendo los alumnos del stream, que se cierra
+	 * al terminar.
+	 */
+	public static EstadisticasAlumnos de(Stream<Alumno> alumnos) {
+		EstadisticasAlumnos estadisticas = new EstadisticasAlumnos();
+		try (alumnos) {
+			alumnos.forEach(estadisticas::sumar);
+		}
+		return estadisticas;
+	}
+
+	/**
+	 * Cuenta un alumno en todos los recuentos.
+	 */
+	public void sumar(Alumno alumno) {
+		sumarGrupo(alumno.getGrupo() == null ? null : alumno.getGrupo().getNombreGrupo(), 1);
+		sumarCicloCurso(alumno.getCiclo(), alumno.getCurso(), 1);
+		sumarGenero(alumno.getGenero(), 1);
+		sumarAnioNacimiento(
+				alumno.getFechaNacimiento() == null ? null : alumno.getFechaNacimiento().getYear(), 1);
+	}
+
+	public void sumarGrupo(String nombreGrupo, long alumnos) {
+		porGrupo.merge(nombreGrupo, alumnos, Long::sum);
+	}
+
+	public void sumarCicloCurso(String ciclo, String curso, long alumnos) {
+		porCicloCurso.merge(new CicloCurso(ciclo, curso), alumnos, Long::sum);
+	}
+
+	public void sumarGenero(char genero, long alumnos) {
+		porGenero.merge(genero, alumnos, Long::sum);
+	}
+
+	/**
+	 * @param anio Año de nacimiento, o null para los alumnos sin fecha.
+	 */
+	public void sumarAnioNacimiento(Integer anio, long alumnos) {
+		porAnioNacimiento.merge(anio, alumnos, Long::sum);
+	}
+
+	public Map<String, Long> getPorGrupo() {
+		return Collections.unmodifiableMap(porGrupo);
+	}
+
+	public Map<CicloCurso, Long> getPorCicloCurso() {
+		return Collections.unmodifiableMap(porCicloCurso);
+	}
+
+	public Map<Character, Long> getPorGenero() {
+		return Collections.unmodifiableMap(porGenero);
+	}
+
+	public Map<Integer, Long> getPorAnioNacimiento() {
+		return Collections.unmodifiableMap(porAnioNacimiento);
+	}
+
+	/**
+	 * @return el número total de alumnos (todos tienen género, así que es la suma
+	 *         de ese recuento).
+	 */
+	public long getTotal() {
+		return porGenero.values().stream().mapToLong(Long::longValue).sum();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("EstadisticasAlumnos[total=%d, grupos=%s, ciclosCursos=%s, generos=%s, anios=%s]",
+				getTotal(), porGrupo, porCicloCurso, porGenero, porAnioNacimiento);
+	}
+}
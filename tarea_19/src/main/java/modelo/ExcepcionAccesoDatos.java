@@ -0,0 +1,16 @@
+package modelo;
+
+/**
+ * Error de acceso a datos que no se puede representar con un resultado vacío:
+ * lo lanzan las páginas de {@link RepositorioAlumnos} (y, por tanto, los Stream
+ * que las recorren), donde una lista vacía significaría que no hay más alumnos.
+ * Quien lo lanza ya lo ha registrado en el log de excepciones.
+ */
+public class ExcepcionAccesoDatos extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public ExcepcionAccesoDatos(String mensaje, Throwable causa) {
+		super(mensaje, causa);
+	}
+}
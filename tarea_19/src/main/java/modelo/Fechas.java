@@ -0,0 +1,162 @@
+package modelo;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+
+/**
+ * Conversión de las fechas de nacimiento entre {@link LocalDate} y los dos
+ * formatos de texto de la aplicación:
+ * <ul>
+ * <li>dd-MM-yyyy ({@link #FORMATO_TEXTO}): ficheros de texto, MongoDB y
+ * consola.</li>
+ * <li>yyyy-MM-dd ({@link #FORMATO_ISO}): XML y exportaciones antiguas de
+ * MySQL.</li>
+ * </ul>
+ * Los formateadores son inmutables y seguros entre hilos, así que se comparten
+ * en lugar de crear un {@code SimpleDateFormat} por fila o por hilo. Como los
+ * dos formatos tienen longitud fija, el caso normal se analiza y se escribe a
+ * mano, sin pasar por el formateador. Las fechas imposibles (31-02-2000) se
+ * rechazan siempre.
+ */
+public final class Fechas {
+
+	/** dd-MM-yyyy, estricto. */
+	public static final DateTimeFormatter FORMATO_TEXTO = DateTimeFormatter.ofPattern("dd-MM-uuuu")
+			.withResolverStyle(ResolverStyle.STRICT);
+
+	/** yyyy-MM-dd. */
+	public static final DateTimeFormatter FORMATO_ISO = DateTimeFormatter.ISO_LOCAL_DATE;
+
+	// Como SimpleDateFormat, admite día y mes de una cifra al leer (1-2-2000)
+	private static final DateTimeFormatter LECTURA_TEXTO = DateTimeFormatter.ofPattern("d-M-uuuu")
+			.withResolverStyle(ResolverStyle.STRICT);
+
+	private static final int LONGITUD = 10;
+
+	private Fechas() {
+	}
+
+	/**
+	 * @param texto Fecha dd-MM-yyyy (también d-M-yyyy) o yyyy-MM-dd.
+	 * @return la fecha, o null si el texto es null o no es una fecha válida.
+	 */
+	public static LocalDate analizar(CharSequence texto) {
+		return texto == null ? null : analizar(texto, 0, texto.length());
+	}
+
+	/**
+	 * Igual que {@link #analizar(CharSequence)} pero con los caracteres
+	 * {@code [desde, hasta)} del texto.
+	 */
+	public static LocalDate analizar(CharSequence texto, int desde, int hasta) {
+		if (hasta - desde == LONGITUD) {
+			if (texto.charAt(desde + 2) == '-' && texto.charAt(desde + 5) == '-') {
+				return crear(digitos(texto, desde + 6, 4), digitos(texto, desde + 3, 2), digitos(texto, desde, 2));
+			}
+			if (texto.charAt(desde + 4) == '-' && texto.charAt(desde + 7) == '-') {
+				return crear(digitos(texto, desde, 4), digitos(texto, desde + 5, 2), digitos(texto, desde + 8, 2));
+			}
+		}
+		try {
+			return LocalDate.parse(texto.subSequence(desde, hasta), LECTURA_TEXTO);
+		} catch (DateTimeParseException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Igual que {@link #analizar(CharSequence, int, int)} pero sobre bytes en
+	 * ASCII o UTF-8, para los lectores que no decodifican la línea.
+	 */
+	public static LocalDate analizar(byte[] texto, int desde, int hasta) {
+		if (hasta - desde == LONGITUD) {
+			if (texto[desde + 2] == '-' && texto[desde + 5] == '-') {
+				return crear(digitos(texto, desde + 6, 4), digitos(texto, desde + 3, 2), digitos(texto, desde, 2));
+			}
+			if (texto[desde + 4] == '-' && texto[desde + 7] == '-') {
+				return crear(digitos(texto, desde, 4), digitos(texto, desde + 5, 2), digitos(texto, desde + 8, 2));
+			}
+			return null;
+		}
+		// Los formatos de una cifra son ASCII
+		return hasta - desde < LONGITUD && hasta > desde
+				? analizar(new String(texto, desde, hasta - desde, StandardCharsets.US_ASCII))
+				: null;
+	}
+
+	private static LocalDate crear(int anio, int mes, int dia) {
+		if (anio < 0 || mes < 0 || dia < 0) {
+			return null;
+		}
+		try {
+			return LocalDate.of(anio, mes, dia);
+		} catch (DateTimeException e) {
+			return null;
+		}
+	}
+
+	private static int digitos(CharSequence texto, int desde, int cuantos) {
+		int valor = 0;
+		for (int i = desde; i < desde + cuantos; i++) {
+			int digito = texto.charAt(i) - '0';
+			if (digito < 0 || digito > 9) {
+				return -1;
+			}
+			valor = valor * 10 + digito;
+		}
+		return valor;
+	}
+
+	private static int digitos(byte[] texto, int desde, int cuantos) {
+		int valor = 0;
+		for (int i = desde; i < desde + cuantos; i++) {
+			int digito = texto[i] - '0';
+			if (digito < 0 || digito > 9) {
+				return -1;
+			}
+			valor = valor * 10 + digito;
+		}
+		return valor;
+	}
+
+	/**
+	 * @return la fecha como dd-MM-yyyy, o "" si es null.
+	 */
+	public static String formatear(LocalDate fecha) {
+		return fecha == null ? "" : formatear(fecha, new StringBuilder(LONGITUD)).toString();
+	}
+
+	/**
+	 * Añade la fecha como dd-MM-yyyy (nada si es null).
+	 *
+	 * @return {@code destino}.
+	 */
+	public static StringBuilder formatear(LocalDate fecha, StringBuilder destino) {
+		if (fecha == null) {
+			return destino;
+		}
+		int anio = fecha.getYear();
+		if (anio < 0 || anio > 9999) {
+			FORMATO_TEXTO.formatTo(fecha, destino);
+			return destino;
+		}
+		dosDigitos(destino, fecha.getDayOfMonth()).append('-');
+		dosDigitos(destino, fecha.getMonthValue()).append('-');
+		return dosDigitos(dosDigitos(destino, anio / 100), anio % 100);
+	}
+
+	/**
+	 * @return la fecha como yyyy-MM-dd, o "" si es null.
+	 */
+	public static String formatearIso(LocalDate fecha) {
+		return fecha == null ? "" : FORMATO_ISO.format(fecha);
+	}
+
+	private static StringBuilder dosDigitos(StringBuilder destino, int valor) {
+		return destino.append((char) ('0' + valor / 10)).append((char) ('0' + valor % 10));
+	}
+}
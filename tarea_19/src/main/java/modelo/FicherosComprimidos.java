@@ -0,0 +1,188 @@
+package modelo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Apertura de los ficheros de exportación e importación (texto y XML) con
+ * compresión gzip opcional.
+ *
+ * <ul>
+ * <li>Al exportar, si la compresión está activada ({@link #setComprimir} o la
+ * propiedad del sistema {@code exportacion.comprimir=true}), el fichero se
+ * escribe con la extensión {@link #EXTENSION} y se comprime en paralelo con
+ * {@link SalidaGzipParalela}.</li>
+ * <li>Al importar, si el fichero pedido no existe pero sí su versión
+ * comprimida (o la comprimida es más reciente), se lee esa. Los ficheros gzip se
+ * reconocen por su contenido, no por el nombre, y se descomprimen en
+ * streaming.</li>
+ * </ul>
+ */
+public final class FicherosComprimidos {
+
+	public static final String EXTENSION = ".gz";
+
+	private static final int TAMANO_BUFFER = 64 * 1024;
+
+	// Dos primeros bytes de un fichero gzip
+	private static final int MAGICO_GZIP_1 = 0x1F;
+	private static final int MAGICO_GZIP_2 = 0x8B;
+
+	private static volatile boolean comprimir = Boolean.getBoolean("exportacion.comprimir");
+
+	private FicherosComprimidos() {
+	}
+
+	/**
+	 * @return si las exportaciones se escriben comprimidas.
+	 */
+	public static boolean isComprimir() {
+		return comprimir;
+	}
+
+	/**
+	 * @param activar true para escribir las exportaciones comprimidas en gzip.
+	 */
+	public static void setComprimir(boolean activar) {
+		comprimir = activar;
+	}
+
+	/**
+	 * @param fichero Fichero de exportación sin comprimir (por ejemplo
+	 *                'alumnos.txt').
+	 * @return el fichero en el que se debe exportar: el mismo o, si la compresión
+	 *         está activada, el mismo con {@link #EXTENSION}.
+	 */
+	public static Path rutaExportacion(Path fichero) {
+		return comprimir && !esRutaComprimida(fichero) ? conExtension(fichero) : fichero;
+	}
+
+	/**
+	 * @param fichero Fichero de importación sin comprimir (por ejemplo
+	 *                'alumnos.txt').
+	 * @return el fichero que se debe leer: la versión comprimida si es la única
+	 *         que existe o es más reciente; si no, el propio fichero.
+	 */
+	public static Path rutaImportacion(Path fichero) {
+		if (esRutaComprimida(fichero)) {
+			return fichero;
+		}
+		Path comprimido = conExtension(fichero);
+		if (!Files.exists(comprimido)) {
+			return fichero;
+		}
+		try {
+			return !Files.exists(fichero)
+					|| Files.getLastModifiedTime(comprimido).compareTo(Files.getLastModifiedTime(fichero)) > 0
+							? comprimido
+							: fichero;
+		} catch (IOException e) {
+			return fichero;
+		}
+	}
+
+	/**
+	 * @return si el nombre del fichero termina en {@link #EXTENSION}.
+	 */
+	public static boolean esRutaComprimida(Path fichero) {
+		return fichero.getFileName().toString().endsWith(EXTENSION);
+	}
+
+	private static Path conExtension(Path fichero) {
+		return fichero.resolveSibling(fichero.getFileName() + EXTENSION);
+	}
+
+	/**
+	 * Abre el fichero para escribir, comprimiendo en paralelo si su nombre termina
+	 * en {@link #EXTENSION}.
+	 *
+	 * @param fichero Fichero de destino; se crea o se sobrescribe.
+	 * @return el flujo de salida, con búfer.
+	 * @throws IOException si no se puede crear el fichero.
+	 */
+	public static OutputStream abrirSalida(Path fichero) throws IOException {
+		return abrirSalida(fichero, esRutaComprimida(fichero));
+	}
+
+	/**
+	 * Igual que {@link #abrirSalida(Path)} pero indicando si se comprime, para
+	 * escribir en un temporal con otro nombre.
+	 */
+	public static OutputStream abrirSalida(Path fichero, boolean comprimido) throws IOException {
+		OutputStream salida = Files.newOutputStream(fichero);
+		return comprimido ? new SalidaGzipParalela(salida) : new BufferedOutputStream(salida, TAMANO_BUFFER);
+	}
+
+	/**
+	 * Igual que {@link #abrirSalida(Path, boolean)} pero para escribir texto en
+	 * UTF-8.
+	 */
+	public static BufferedWriter abrirEscritor(Path fichero, boolean comprimido) throws IOException {
+		return new BufferedWriter(new OutputStreamWriter(abrirSalida(fichero, comprimido), StandardCharsets.UTF_8),
+				TAMANO_BUFFER);
+	}
+
+	/**
+	 * Igual que {@link #abrirSalida(Path)} pero para escribir texto en UTF-8.
+	 */
+	public static BufferedWriter abrirEscritor(Path fichero) throws IOException {
+		return abrirEscritor(fichero, esRutaComprimida(fichero));
+	}
+
+	/**
+	 * Abre el fichero para leer, descomprimiéndolo si es un gzip (de uno o varios
+	 * miembros).
+	 *
+	 * @param fichero Fichero de origen.
+	 * @return el flujo de entrada, con búfer.
+	 * @throws IOException si no se puede abrir el fichero.
+	 */
+	public static InputStream abrirEntrada(Path fichero) throws IOException {
+		InputStream entrada = new BufferedInputStream(Files.newInputStream(fichero), TAMANO_BUFFER);
+		try {
+			if (!esGzip(entrada)) {
+				return entrada;
+			}
+			return new BufferedInputStream(new GZIPInputStream(entrada, TAMANO_BUFFER), TAMANO_BUFFER);
+		} catch (IOException e) {
+			entrada.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Igual que {@link #abrirEntrada(Path)} pero para leer texto en UTF-8.
+	 */
+	public static BufferedReader abrirLector(Path fichero) throws IOException {
+		return new BufferedReader(new InputStreamReader(abrirEntrada(fichero), StandardCharsets.UTF_8),
+				TAMANO_BUFFER);
+	}
+
+	/**
+	 * @return si el fichero empieza por la firma de gzip.
+	 */
+	public static boolean esGzip(Path fichero) throws IOException {
+		try (InputStream entrada = new BufferedInputStream(Files.newInputStream(fichero), 2)) {
+			return esGzip(entrada);
+		}
+	}
+
+	private static boolean esGzip(InputStream entrada) throws IOException {
+		entrada.mark(2);
+		int primero = entrada.read();
+		int segundo = entrada.read();
+		entrada.reset();
+		return primero == MAGICO_GZIP_1 && segundo == MAGICO_GZIP_2;
+	}
+}
@@ -0,0 +1,159 @@
+package modelo;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Comprueba al arrancar que las tablas de alumnos y grupos (MySQL u Oracle)
+ * tienen los índices secundarios que usan las consultas por grupo, y crea los
+ * que faltan.
+ *
+ * Los índices se buscan con {@link DatabaseMetaData#getIndexInfo}: un índice
+ * requerido está presente si existe cualquier índice de la tabla cuyas
+ * primeras columnas sean las requeridas, se llame como se llame (por ejemplo,
+ * el índice único que crea la restricción UNIQUE de grupos.nombreGrupo).
+ */
+public final class GestorEsquema {
+
+	private static final Logger loggerGeneral = LogManager.getRootLogger();
+	private static final Logger loggerExcepciones = LogManager.getLogger("exceptions");
+
+	/**
+	 * Índice que necesita el esquema.
+	 */
+	public record IndiceRequerido(String nombre, String tabla, List<String> columnas) {
+
+		String sqlCrear() {
+			return "CREATE INDEX " + nombre + " ON " + tabla + " (" + String.join(", ", columnas) + ")";
+		}
+	}
+
+	/**
+	 * Índices requeridos:
+	 * <ul>
+	 * <li>alumnos(numeroGrupo, nia): el DELETE y los SELECT por grupo buscan por
+	 * numeroGrupo, y el listado paginado de un grupo ({@code numeroGrupo = ? AND
+	 * nia > ? ORDER BY nia}) se resuelve recorriendo el índice en orden, sin
+	 * ordenar ni leer filas de otros grupos. Cubre el filtro y el orden; el resto
+	 * de columnas se leen por clave primaria solo para las filas de la página.
+	 * Oracle, a diferencia de InnoDB, no indexa las claves ajenas.</li>
+	 * <li>grupos(nombreGrupo): las subconsultas y la caché de grupos traducen el
+	 * nombre a numeroGrupo.</li>
+	 * </ul>
+	 */
+	public static final List<IndiceRequerido> INDICES = List.of(
+			new IndiceRequerido("idx_alumnos_grupo_nia", "alumnos", List.of("numeroGrupo", "nia")),
+			new IndiceRequerido("idx_grupos_nombre", "grupos", List.of("nombreGrupo")));
+
+	private GestorEsquema() {
+	}
+
+	/**
+	 * @param conexion Conexión a la base de datos.
+	 * @return los índices requeridos que no existen.
+	 * @throws SQLException si no se pueden leer los metadatos.
+	 */
+	public static List<IndiceRequerido> buscarIndicesQueFaltan(Connection conexion) throws SQLException {
+		DatabaseMetaData metadatos = conexion.getMetaData();
+		List<IndiceRequerido> faltan = new ArrayList<>();
+
+		for (IndiceRequerido indice : INDICES) {
+			if (!existeIndice(metadatos, conexion, indice)) {
+				faltan.add(indice);
+			}
+		}
+		return faltan;
+	}
+
+	/**
+	 * Informa en el log de los índices que faltan y, si {@code crear} es true,
+	 * los crea.
+	 *
+	 * @param conexion Conexión a la base de datos.
+	 * @param crear    false para solo comprobar (por ejemplo, si el usuario no
+	 *                 tiene permisos de DDL).
+	 * @return true si al terminar existen todos los índices requeridos.
+	 */
+	public static boolean comprobarIndices(Connection conexion, boolean crear) {
+		try {
+			List<IndiceRequerido> faltan = buscarIndicesQueFaltan(conexion);
+			if (faltan.isEmpty()) {
+				loggerGeneral.info("Esquema: están todos los índices requeridos ({}).", INDICES.size());
+				return true;
+			}
+
+			boolean completo = true;
+			for (IndiceRequerido indice : faltan) {
+				loggerGeneral.warn("Esquema: falta el índice {} sobre {}{}.", indice.nombre(), indice.tabla(),
+						indice.columnas());
+				if (!crear) {
+					completo = false;
+					continue;
+				}
+				try (Statement sentencia = conexion.createStatement()) {
+					sentencia.executeUpdate(indice.sqlCrear());
+					loggerGeneral.info("Esquema: índice {} creado.", indice.nombre());
+				} catch (SQLException e) {
+					loggerExcepciones.error("Esquema: no se pudo crear el índice {}: {}", indice.nombre(),
+							e.getMessage(), e);
+					completo = false;
+				}
+			}
+			return completo;
+		} catch (SQLException e) {
+			loggerExcepciones.error("Esquema: no se pudieron comprobar los índices: {}", e.getMessage(), e);
+			return false;
+		}
+	}
+
+	private static boolean existeIndice(DatabaseMetaData metadatos, Connection conexion, IndiceRequerido indice)
+			throws SQLException {
+		// Oracle guarda en mayúsculas los identificadores sin comillas
+		String tabla = metadatos.storesUpperCaseIdentifiers() ? indice.tabla().toUpperCase(Locale.ROOT)
+				: indice.tabla();
+
+		// Columnas de cada índice de la tabla, en orden
+		Map<String, TreeMap<Short, String>> columnasPorIndice = new TreeMap<>();
+		try (ResultSet resultado = metadatos.getIndexInfo(conexion.getCatalog(), conexion.getSchema(), tabla, false,
+				true)) {
+			while (resultado.next()) {
+				String nombre = resultado.getString("INDEX_NAME");
+				String columna = resultado.getString("COLUMN_NAME");
+				if (nombre != null && columna != null) {
+					columnasPorIndice.computeIfAbsent(nombre, n -> new TreeMap<>())
+							.put(resultado.getShort("ORDINAL_POSITION"), columna);
+				}
+			}
+		}
+
+		for (TreeMap<Short, String> columnas : columnasPorIndice.values()) {
+			if (empiezaPor(new ArrayList<>(columnas.values()), indice.columnas())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean empiezaPor(List<String> columnas, List<String> prefijo) {
+		if (columnas.size() < prefijo.size()) {
+			return false;
+		}
+		for (int i = 0; i < prefijo.size(); i++) {
+			if (!columnas.get(i).equalsIgnoreCase(prefijo.get(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
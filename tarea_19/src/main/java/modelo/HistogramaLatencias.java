@@ -0,0 +1,112 @@
+package modelo;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias log-lineal (como HdrHistogram): cada potencia de dos
+ * se divide en 32 cubetas, así que un percentil se conoce con un error
+ * relativo menor del 3,2 % ocupando solo unos pocos KB, sea cual sea el número
+ * de medidas.
+ *
+ * El registro no usa bloqueos (un incremento atómico por medida) y puede
+ * hacerse desde varios hilos a la vez. Las lecturas no son una instantánea
+ * exacta mientras se registran medidas, lo que basta para unas métricas.
+ */
+public class HistogramaLatencias {
+
+	private static final int BITS_SUBCUBETA = 5;
+	private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+	// 2^40 ns son unos 18 minutos; las medidas mayores van a la última cubeta
+	private static final int EXPONENTE_MAXIMO = 40;
+
+	private final AtomicLongArray cubetas = new AtomicLongArray(
+			(EXPONENTE_MAXIMO - BITS_SUBCUBETA + 2) * SUBCUBETAS);
+	private final LongAdder medidas = new LongAdder();
+	private final LongAdder sumaNanos = new LongAdder();
+	private final LongAccumulator maximoNanos = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * @param nanos Duración de la operación en nanosegundos.
+	 */
+	public void registrar(long nanos) {
+		if (nanos < 0) {
+			nanos = 0;
+		}
+		cubetas.incrementAndGet(indice(nanos));
+		medidas.increment();
+		sumaNanos.add(nanos);
+		maximoNanos.accumulate(nanos);
+	}
+
+	private static int indice(long valor) {
+		if (valor < SUBCUBETAS) {
+			return (int) valor;
+		}
+		int exponente = Math.min(63 - Long.numberOfLeadingZeros(valor), EXPONENTE_MAXIMO);
+		int desplazamiento = exponente - BITS_SUBCUBETA;
+		int subcubeta = (int) Math.min((valor >>> desplazamiento) - SUBCUBETAS, SUBCUBETAS - 1);
+		return (desplazamiento + 1) * SUBCUBETAS + subcubeta;
+	}
+
+	/**
+	 * @return el mayor valor que cae en la cubeta.
+	 */
+	private static long limiteSuperior(int indice) {
+		int bloque = indice / SUBCUBETAS;
+		if (bloque == 0) {
+			return indice;
+		}
+		int desplazamiento = bloque - 1;
+		long inferior = (long) (SUBCUBETAS + indice % SUBCUBETAS) << desplazamiento;
+		return inferior + (1L << desplazamiento) - 1;
+	}
+
+	/**
+	 * @param percentil Percentil entre 0 y 100 (por ejemplo 99 o 99.9).
+	 * @return la latencia en nanosegundos por debajo de la cual está ese
+	 *         porcentaje de las medidas, o 0 si no hay medidas.
+	 */
+	public long getPercentil(double percentil) {
+		long total = 0;
+		for (int i = 0; i < cubetas.length(); i++) {
+			total += cubetas.get(i);
+		}
+		if (total == 0) {
+			return 0;
+		}
+
+		long objetivo = Math.max(1, (long) Math.ceil(percentil / 100 * total));
+		long acumulado = 0;
+		for (int i = 0; i < cubetas.length(); i++) {
+			acumulado += cubetas.get(i);
+			if (acumulado >= objetivo) {
+				return Math.min(limiteSuperior(i), getMaximoNanos());
+			}
+		}
+		return getMaximoNanos();
+	}
+
+	public long getMedidas() {
+		return medidas.sum();
+	}
+
+	public long getMaximoNanos() {
+		return maximoNanos.get();
+	}
+
+	public double getMediaNanos() {
+		long n = medidas.sum();
+		return n == 0 ? 0 : sumaNanos.sum() / (double) n;
+	}
+
+	public void reiniciar() {
+		for (int i = 0; i < cubetas.length(); i++) {
+			cubetas.set(i, 0);
+		}
+		medidas.reset();
+		sumaNanos.reset();
+		maximoNanos.reset();
+	}
+}
@@ -0,0 +1,32 @@
+package modelo;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Modelos que pueden insertar alumnos con escritura diferida (write-behind)
+ * mediante un {@link BufferEscrituraAlumnos}.
+ */
+public interface InsercionDiferida {
+
+	/**
+	 * Encola el alumno para insertarlo junto con otros en el siguiente lote.
+	 *
+	 * @param alumno Alumno a insertar.
+	 * @return un futuro que se completa con true cuando el alumno está confirmado
+	 *         en la base de datos, o con false si no se ha podido insertar.
+	 */
+	CompletableFuture<Boolean> insertarAlumnoDiferido(Alumno alumno);
+
+	/**
+	 * @return true si {@code insertarAlumno} usa la escritura diferida (se activa
+	 *         en el fichero de configuración y deja de usarse al cerrarla).
+	 */
+	boolean isEscrituraDiferida();
+
+	/**
+	 * Escribe los alumnos pendientes y deja de aceptar inserciones diferidas: las
+	 * siguientes llamadas a {@link #insertarAlumnoDiferido(Alumno)} se completan
+	 * con false, e {@code insertarAlumno} vuelve a insertar de forma síncrona.
+	 */
+	void cerrarEscrituraDiferida();
+}
@@ -0,0 +1,400 @@
+package modelo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Lector de 'alumnos.txt' sobre el fichero mapeado en memoria
+ * ({@link FileChannel#map}). Recorre los bytes buscando comas y saltos de línea
+ * y decodifica los campos directamente en un {@link Alumno}, sin
+ * {@code readLine} y sin {@code split}.
+ *
+ * Para no crear objetos por línea, el alumno entregado al {@link Receptor} (y su
+ * grupo) es siempre la misma instancia: el receptor debe usarlo
+ * antes de volver y no guardarlo. Los campos con pocos valores distintos
+ * (ciclo, curso y grupo) se decodifican una sola vez gracias a un pequeño
+ * diccionario.
+ *
+ * Las líneas con comillas, poco frecuentes, se analizan con
+ * {@link CodecCSVAlumnos}, que admite campos entre comillas con comas, comillas
+ * duplicadas y saltos de línea.
+ *
+ * El fichero se mapea por regiones de {@link #TAMANO_REGION} bytes, por lo que
+ * no hay límite de tamaño. Si está comprimido en gzip, se descomprime en
+ * streaming en lugar de mapearse. No es seguro entre hilos.
+ */
+public class LectorAlumnosMapeado {
+
+	private static final Logger loggerGeneral = LogManager.getRootLogger();
+
+	/** Bytes que se mapean de una vez. */
+	static final long TAMANO_REGION = 256L * 1024 * 1024;
+
+	private final long tamanoRegion;
+
+	private static final int NUM_CAMPOS = 8;
+	private static final int LONGITUD_MAXIMA_LINEA = 64 * 1024;
+	private static final int TAMANO_DICCIONARIO = 256;
+	private static final int TAMANO_BUFFER_COMPRIMIDO = 64 * 1024;
+
+	/**
+	 * Recibe cada alumno válido del fichero.
+	 */
+	@FunctionalInterface
+	public interface Receptor {
+
+		/**
+		 * @param alumno Alumno leído. La instancia se reutiliza para la siguiente
+		 *               línea.
+		 */
+		void alumno(Alumno alumno) throws SQLException;
+	}
+
+	// Registro reutilizable
+	private final Grupo grupo = new Grupo();
+	private final Alumno alumno = new Alumno();
+
+	// Línea actual y posición de sus campos
+	private final byte[] linea = new byte[LONGITUD_MAXIMA_LINEA];
+	private final int[] inicioCampo = new int[NUM_CAMPOS];
+	private final int[] finCampo = new int[NUM_CAMPOS];
+
+	// Diccionario de acceso directo bytes -> String para ciclo, curso y grupo
+	private final byte[][] claves = new byte[TAMANO_DICCIONARIO][];
+	private final String[] valores = new String[TAMANO_DICCIONARIO];
+
+	// Registro con comillas: se analiza con el códec, que lo puede recibir en
+	// varias líneas
+	private final CodecCSVAlumnos codec = new CodecCSVAlumnos();
+	private StringBuilder registroPendiente;
+
+	// Última fecha convertida: en ficheros reales se repiten mucho
+	private final byte[] ultimaFechaTexto = new byte[10];
+	private LocalDate ultimaFecha;
+
+	private boolean cabeceraPendiente;
+	private long lineasLeidas = 0;
+	private long lineasInvalidas = 0;
+
+	public LectorAlumnosMapeado() {
+		this(TAMANO_REGION);
+	}
+
+	/**
+	 * @param tamanoRegion Bytes que se mapean de una vez (útil para probar líneas
+	 *                     partidas entre regiones).
+	 */
+	LectorAlumnosMapeado(long tamanoRegion) {
+		this.tamanoRegion = tamanoRegion;
+		alumno.setGrupo(grupo);
+	}
+
+	/**
+	 * Lee el fichero completo (ignorando la cabecera) y entrega cada alumno válido
+	 * al receptor. Las líneas inválidas se registran y se cuentan.
+	 *
+	 * @param fichero  Fichero con el formato de 'alumnos.txt'.
+	 * @param receptor Destino de los alumnos.
+	 * @throws IOException  si no se puede leer el fichero o una línea supera
+	 *                      {@value #LONGITUD_MAXIMA_LINEA} bytes.
+	 * @throws SQLException si falla el receptor.
+	 */
+	public void leer(Path fichero, Receptor receptor) throws IOException, SQLException {
+		cabeceraPendiente = true;
+		registroPendiente = null;
+		if (FicherosComprimidos.esGzip(fichero)) {
+			leerComprimido(fichero, receptor);
+			descartarRegistroPendiente();
+			return;
+		}
+
+		try (FileChannel canal = FileChannel.open(fichero, StandardOpenOption.READ)) {
+			long tamano = canal.size();
+			long posicion = 0;
+
+			while (posicion < tamano) {
+				long longitudRegion = Math.min(tamanoRegion, tamano - posicion);
+				MappedByteBuffer region = canal.map(FileChannel.MapMode.READ_ONLY, posicion, longitudRegion);
+				boolean ultimaRegion = posicion + longitudRegion == tamano;
+				int limite = (int) longitudRegion;
+				int inicio = 0;
+
+				if (posicion == 0 && limite >= 3 && region.get(0) == (byte) 0xEF && region.get(1) == (byte) 0xBB
+						&& region.get(2) == (byte) 0xBF) {
+					inicio = 3; // BOM UTF-8
+				}
+
+				int i = inicio;
+				while (true) {
+					while (i < limite && region.get(i) != '\n') {
+						i++;
+					}
+					if (i == limite && !ultimaRegion) {
+						break; // Línea partida entre regiones: se vuelve a mapear desde su inicio
+					}
+
+					int longitud = i - inicio;
+					if (longitud > LONGITUD_MAXIMA_LINEA) {
+						throw new IOException("Línea de más de " + LONGITUD_MAXIMA_LINEA + " bytes en la posición "
+								+ (posicion + inicio) + " de '" + fichero + "'.");
+					}
+					region.get(inicio, linea, 0, longitud);
+					procesarLinea(longitud, receptor);
+
+					if (i >= limite) {
+						break;
+					}
+					inicio = ++i;
+				}
+
+				if (inicio == 0 && !ultimaRegion) {
+					throw new IOException("Línea de más de " + tamanoRegion + " bytes en '" + fichero + "'.");
+				}
+				posicion += ultimaRegion ? longitudRegion : inicio;
+			}
+		}
+		descartarRegistroPendiente();
+	}
+
+	/**
+	 * Un gzip no se puede mapear: se descomprime en streaming y se copian los
+	 * bytes de cada línea al mismo búfer que usa la lectura mapeada.
+	 */
+	private void leerComprimido(Path fichero, Receptor receptor) throws IOException, SQLException {
+		try (InputStream entrada = FicherosComprimidos.abrirEntrada(fichero)) {
+			byte[] buffer = new byte[TAMANO_BUFFER_COMPRIMIDO];
+			int longitud = 0;
+			int leidos;
+			while ((leidos = entrada.read(buffer)) != -1) {
+				for (int i = 0; i < leidos; i++) {
+					byte b = buffer[i];
+					if (b == '\n') {
+						procesarLinea(longitud, receptor);
+						longitud = 0;
+					} else if (longitud == LONGITUD_MAXIMA_LINEA) {
+						throw new IOException(
+								"Línea de más de " + LONGITUD_MAXIMA_LINEA + " bytes en '" + fichero + "'.");
+					} else {
+						linea[longitud++] = b;
+					}
+				}
+			}
+			procesarLinea(longitud, receptor);
+		}
+	}
+
+	/**
+	 * Analiza la línea de {@code longitud} bytes copiada en {@link #linea} y, si
+	 * es válida, la entrega al receptor. La primera línea es la cabecera.
+	 */
+	private void procesarLinea(int longitud, Receptor receptor) throws SQLException {
+		if (longitud > 0 && linea[longitud - 1] == '\r') {
+			longitud--;
+		}
+
+		if (cabeceraPendiente) {
+			cabeceraPendiente = false;
+		} else if (registroPendiente != null || contieneComillas(longitud)) {
+			procesarConComillas(longitud, receptor);
+		} else if (longitud > 0) {
+			lineasLeidas++;
+			if (analizar(longitud)) {
+				receptor.alumno(alumno);
+			} else {
+				lineasInvalidas++;
+				loggerGeneral.warn("Línea inválida en el fichero: {}",
+						new String(linea, 0, longitud, StandardCharsets.UTF_8));
+			}
+		}
+	}
+
+	private boolean contieneComillas(int longitud) {
+		for (int i = 0; i < longitud; i++) {
+			if (linea[i] == '"') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Añade la línea al registro con comillas y, si ya están cerradas, lo analiza
+	 * con el códec y lo entrega al receptor.
+	 */
+	private void procesarConComillas(int longitud, Receptor receptor) throws SQLException {
+		String texto = new String(linea, 0, longitud, StandardCharsets.UTF_8);
+		if (registroPendiente == null) {
+			registroPendiente = new StringBuilder(texto);
+		} else {
+			registroPendiente.append('\n').append(texto);
+		}
+		if (!CodecCSVAlumnos.comillasEquilibradas(registroPendiente)) {
+			return; // El campo entre comillas sigue en la línea siguiente
+		}
+		String registro = registroPendiente.toString();
+		registroPendiente = null;
+
+		lineasLeidas++;
+		alumno.setGrupo(grupo);
+		if (codec.analizar(registro, alumno) && alumno.getGrupo() != null) {
+			receptor.alumno(alumno);
+		} else {
+			alumno.setGrupo(grupo);
+			lineasInvalidas++;
+			loggerGeneral.warn("Línea inválida en el fichero: {}", registro);
+		}
+	}
+
+	/** Un registro con las comillas sin cerrar al final del fichero no es válido. */
+	private void descartarRegistroPendiente() {
+		if (registroPendiente != null) {
+			lineasLeidas++;
+			lineasInvalidas++;
+			loggerGeneral.warn("Comillas sin cerrar al final del fichero: {}", registroPendiente);
+			registroPendiente = null;
+		}
+	}
+
+	/**
+	 * Separa los campos de la línea actual y rellena el alumno reutilizable con
+	 * los mismos valores por defecto que {@link CodecCSVAlumnos#analizar}: un
+	 * género vacío se lee como 'S' y un grupo vacío deja al alumno sin grupo, que
+	 * aquí no es válido (igual que en las líneas con comillas).
+	 *
+	 * @return false si la línea no tiene 8 campos, la fecha no es válida o no
+	 *         tiene grupo.
+	 */
+	private boolean analizar(int longitud) {
+		int campo = 0;
+		inicioCampo[0] = 0;
+		for (int i = 0; i < longitud; i++) {
+			if (linea[i] == ',') {
+				if (campo == NUM_CAMPOS - 1) {
+					return false;
+				}
+				finCampo[campo] = i;
+				inicioCampo[++campo] = i + 1;
+			}
+		}
+		if (campo != NUM_CAMPOS - 1) {
+			return false;
+		}
+		finCampo[campo] = longitud;
+
+		if (finCampo[7] == inicioCampo[7] || !analizarFecha(inicioCampo[4], finCampo[4])) {
+			return false;
+		}
+
+		alumno.setNia(analizarNia(inicioCampo[0], finCampo[0]));
+		alumno.setNombre(texto(1));
+		alumno.setApellidos(texto(2));
+		if (finCampo[3] == inicioCampo[3]) {
+			alumno.setGenero('S');
+		} else {
+			byte genero = linea[inicioCampo[3]];
+			alumno.setGenero(genero >= 0 ? (char) genero : texto(3).charAt(0));
+		}
+		alumno.setCiclo(textoFrecuente(5));
+		alumno.setCurso(textoFrecuente(6));
+		grupo.setNumeroGrupo(0);
+		grupo.setNombreGrupo(textoFrecuente(7));
+		return true;
+	}
+
+	/** NIA del fichero si es numérico; 0 en caso contrario. */
+	private int analizarNia(int desde, int hasta) {
+		if (desde == hasta || hasta - desde > 9) {
+			return 0;
+		}
+		int nia = 0;
+		for (int i = desde; i < hasta; i++) {
+			int digito = linea[i] - '0';
+			if (digito < 0 || digito > 9) {
+				return 0;
+			}
+			nia = nia * 10 + digito;
+		}
+		return nia;
+	}
+
+	/**
+	 * Convierte la fecha con {@link Fechas#analizar(byte[], int, int)}, que
+	 * rechaza fechas como 31-02-2000, y la guarda en el alumno. Si los bytes son
+	 * los de la línea anterior se reutiliza su LocalDate.
+	 */
+	private boolean analizarFecha(int desde, int hasta) {
+		if (ultimaFecha != null && Arrays.equals(linea, desde, hasta, ultimaFechaTexto, 0, ultimaFechaTexto.length)) {
+			alumno.setFechaNacimiento(ultimaFecha);
+			return true;
+		}
+		LocalDate fecha = Fechas.analizar(linea, desde, hasta);
+		if (fecha == null) {
+			return false;
+		}
+		if (hasta - desde == ultimaFechaTexto.length) {
+			System.arraycopy(linea, desde, ultimaFechaTexto, 0, ultimaFechaTexto.length);
+			ultimaFecha = fecha;
+		}
+		alumno.setFechaNacimiento(fecha);
+		return true;
+	}
+
+	private String texto(int campo) {
+		return new String(linea, inicioCampo[campo], finCampo[campo] - inicioCampo[campo], StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Devuelve el texto del campo reutilizando el String ya decodificado si los
+	 * bytes coinciden con la entrada del diccionario.
+	 */
+	private String textoFrecuente(int campo) {
+		int desde = inicioCampo[campo];
+		int longitud = finCampo[campo] - desde;
+
+		int hash = campo;
+		for (int i = desde; i < desde + longitud; i++) {
+			hash = 31 * hash + linea[i];
+		}
+		int posicion = (hash ^ (hash >>> 16)) & (TAMANO_DICCIONARIO - 1);
+
+		byte[] clave = claves[posicion];
+		if (clave != null && clave.length == longitud + 1 && clave[longitud] == campo) {
+			boolean iguales = true;
+			for (int i = 0; i < longitud && iguales; i++) {
+				iguales = clave[i] == linea[desde + i];
+			}
+			if (iguales) {
+				return valores[posicion];
+			}
+		}
+
+		// La clave guarda también el número de campo para no mezclar, por ejemplo,
+		// un curso y un grupo con el mismo texto
+		clave = new byte[longitud + 1];
+		System.arraycopy(linea, desde, clave, 0, longitud);
+		clave[longitud] = (byte) campo;
+		claves[posicion] = clave;
+		valores[posicion] = new String(linea, desde, longitud, StandardCharsets.UTF_8);
+		return valores[posicion];
+	}
+
+	/** Líneas de datos leídas (sin contar la cabecera ni las vacías). */
+	public long getLineasLeidas() {
+		return lineasLeidas;
+	}
+
+	public long getLineasInvalidas() {
+		return lineasInvalidas;
+	}
+}
@@ -0,0 +1,316 @@
+package modelo;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Lector de las copias binarias de {@link EscritorSnapshot} sobre el fichero
+ * mapeado en memoria, por regiones de {@link LectorAlumnosMapeado#TAMANO_REGION}
+ * bytes como en {@link LectorAlumnosMapeado}.
+ *
+ * A diferencia de aquel, cada alumno entregado es un objeto nuevo que el
+ * {@link Destino} puede guardar; los textos del diccionario (ciclo, curso y
+ * grupo) sí se comparten entre alumnos. No es seguro entre hilos.
+ */
+public class LectorSnapshot {
+
+	private static final Logger loggerGeneral = LogManager.getRootLogger();
+	private static final Logger loggerExcepciones = LogManager.getLogger("exceptions");
+
+	/** Alumnos que se insertan de una vez al restaurar. */
+	private static final int TAMANO_LOTE = 1000;
+
+	/**
+	 * Recibe los grupos y los alumnos en el orden en que están en la copia: todos
+	 * los grupos primero.
+	 */
+	public interface Destino {
+
+		void grupo(Grupo grupo) throws SQLException;
+
+		void alumno(Alumno alumno) throws SQLException;
+	}
+
+	/** Destino que no hace nada con los datos, para validar una copia. */
+	private static final Destino DESCARTAR = new Destino() {
+		@Override
+		public void grupo(Grupo grupo) {
+		}
+
+		@Override
+		public void alumno(Alumno alumno) {
+		}
+	};
+
+	private final long tamanoRegion;
+
+	private final byte[] texto = new byte[EscritorSnapshot.LONGITUD_MAXIMA_REGISTRO];
+	private final List<String> diccionario = new ArrayList<>();
+	private final List<Grupo> gruposPorTexto = new ArrayList<>();
+
+	// Último día convertido: LocalDate es inmutable y se puede compartir
+	private int ultimoDia = EscritorSnapshot.SIN_FECHA;
+	private LocalDate ultimaFecha;
+
+	private long gruposLeidos = 0;
+	private long alumnosLeidos = 0;
+
+	public LectorSnapshot() {
+		this(LectorAlumnosMapeado.TAMANO_REGION);
+	}
+
+	/**
+	 * @param tamanoRegion Bytes que se mapean de una vez (útil para probar
+	 *                     registros partidos entre regiones).
+	 */
+	LectorSnapshot(long tamanoRegion) {
+		this.tamanoRegion = tamanoRegion;
+	}
+
+	/**
+	 * Lee la copia completa y entrega sus grupos y alumnos al destino.
+	 *
+	 * @param fichero Copia escrita por {@link EscritorSnapshot}.
+	 * @param destino Destino de los datos.
+	 * @throws IOException  si no se puede leer el fichero, no es una copia binaria
+	 *                      o está incompleta.
+	 * @throws SQLException si falla el destino.
+	 */
+	public void leer(Path fichero, Destino destino) throws IOException, SQLException {
+		diccionario.clear();
+		gruposPorTexto.clear();
+		gruposLeidos = 0;
+		alumnosLeidos = 0;
+
+		try (FileChannel canal = FileChannel.open(fichero, StandardOpenOption.READ)) {
+			long tamano = canal.size();
+			if (tamano < 6) {
+				throw new IOException("'" + fichero + "' no es una copia binaria.");
+			}
+			long posicion = 0;
+			boolean fin = false;
+
+			while (posicion < tamano && !fin) {
+				long longitudRegion = Math.min(tamanoRegion, tamano - posicion);
+				MappedByteBuffer region = canal.map(FileChannel.MapMode.READ_ONLY, posicion, longitudRegion);
+				boolean ultimaRegion = posicion + longitudRegion == tamano;
+
+				if (posicion == 0) {
+					if (region.getInt() != EscritorSnapshot.MAGICO) {
+						throw new IOException("'" + fichero + "' no es una copia binaria.");
+					}
+					short version = region.getShort();
+					if (version != EscritorSnapshot.VERSION) {
+						throw new IOException("Versión de copia binaria no admitida: " + version);
+					}
+				}
+
+				while (!fin) {
+					int inicio = region.position();
+					if (region.remaining() < 2 || region.remaining() < 2 + (region.getShort(inicio) & 0xFFFF)) {
+						if (ultimaRegion) {
+							throw new IOException("Copia binaria incompleta: '" + fichero + "'.");
+						}
+						break; // Registro partido entre regiones: se vuelve a mapear desde su inicio
+					}
+					int longitud = region.getShort() & 0xFFFF;
+					int siguiente = region.position() + longitud;
+					fin = leerRegistro(region, destino);
+					region.position(siguiente);
+				}
+				posicion += region.position();
+			}
+
+			if (!fin) {
+				throw new IOException("Copia binaria incompleta: '" + fichero + "'.");
+			}
+		}
+	}
+
+	/**
+	 * @return true si es el registro de fin.
+	 */
+	private boolean leerRegistro(MappedByteBuffer region, Destino destino) throws IOException, SQLException {
+		byte tipo = region.get();
+		switch (tipo) {
+		case EscritorSnapshot.TIPO_TEXTO -> {
+			diccionario.add(leerTexto(region));
+			gruposPorTexto.add(null);
+		}
+		case EscritorSnapshot.TIPO_GRUPO -> {
+			int numero = region.getInt();
+			int nombre = region.getInt();
+			Grupo grupo = new Grupo(numero, texto(nombre));
+			gruposPorTexto.set(nombre, grupo);
+			gruposLeidos++;
+			destino.grupo(grupo);
+		}
+		case EscritorSnapshot.TIPO_ALUMNO -> {
+			int nia = region.getInt();
+			String nombre = leerTexto(region);
+			String apellidos = leerTexto(region);
+			char genero = region.getChar();
+			LocalDate fecha = fecha(region.getInt());
+			String ciclo = texto(region.getInt());
+			String curso = texto(region.getInt());
+			int idGrupo = region.getInt();
+			alumnosLeidos++;
+			destino.alumno(new Alumno(nia, nombre, apellidos, genero, fecha, ciclo, curso, grupo(idGrupo)));
+		}
+		case EscritorSnapshot.TIPO_FIN -> {
+			long grupos = region.getLong();
+			long alumnos = region.getLong();
+			if (grupos != gruposLeidos || alumnos != alumnosLeidos) {
+				throw new IOException("La copia binaria dice tener " + grupos + " grupos y " + alumnos
+						+ " alumnos, pero se han leído " + gruposLeidos + " y " + alumnosLeidos + ".");
+			}
+			return true;
+		}
+		default -> throw new IOException("Tipo de registro desconocido en la copia binaria: " + tipo);
+		}
+		return false;
+	}
+
+	private String leerTexto(MappedByteBuffer region) {
+		int longitud = region.getShort() & 0xFFFF;
+		region.get(texto, 0, longitud);
+		return new String(texto, 0, longitud, StandardCharsets.UTF_8);
+	}
+
+	private String texto(int id) throws IOException {
+		if (id == EscritorSnapshot.SIN_TEXTO) {
+			return null;
+		}
+		if (id < 0 || id >= diccionario.size()) {
+			throw new IOException("Referencia a un texto inexistente en la copia binaria: " + id);
+		}
+		return diccionario.get(id);
+	}
+
+	/**
+	 * @return el grupo del alumno: una copia del escrito en la copia con ese
+	 *         nombre o, si no hay, uno nuevo solo con el nombre.
+	 */
+	private Grupo grupo(int id) throws IOException {
+		String nombre = texto(id);
+		if (nombre == null) {
+			return null;
+		}
+		Grupo grupo = gruposPorTexto.get(id);
+		return grupo == null ? new Grupo(nombre) : new Grupo(grupo.getNumeroGrupo(), nombre);
+	}
+
+	private LocalDate fecha(int dia) {
+		if (dia == EscritorSnapshot.SIN_FECHA) {
+			return null;
+		}
+		if (dia != ultimoDia) {
+			ultimaFecha = LocalDate.ofEpochDay(dia);
+			ultimoDia = dia;
+		}
+		return ultimaFecha;
+	}
+
+	public long getGruposLeidos() {
+		return gruposLeidos;
+	}
+
+	public long getAlumnosLeidos() {
+		return alumnosLeidos;
+	}
+
+	/**
+	 * Lee la copia completa sin entregar nada, para comprobar que está bien
+	 * formada y completa (el registro de fin y sus recuentos) antes de aplicarla.
+	 *
+	 * @param fichero Copia escrita por {@link EscritorSnapshot}.
+	 * @throws IOException si no se puede leer, no es una copia binaria o está
+	 *                     incompleta.
+	 */
+	public void validar(Path fichero) throws IOException {
+		try {
+			leer(fichero, DESCARTAR);
+		} catch (SQLException e) {
+			throw new IOException(e); // DESCARTAR no lanza SQLException
+		}
+	}
+
+	/**
+	 * Carga una copia binaria en cualquier modelo: crea los grupos que no existan
+	 * e inserta los alumnos por lotes. La copia se lee entera una primera vez para
+	 * validarla, de modo que una copia truncada o dañada no modifica el destino.
+	 *
+	 * @param modelo        Modelo de destino.
+	 * @param fichero       Copia escrita por {@link EscritorSnapshot}.
+	 * @param conservarNias true para insertar cada alumno con su NIA
+	 *                      ({@link RepositorioAlumnos#guardarTodosConNia}; los que
+	 *                      ya existen se ignoran), false para que el modelo asigne
+	 *                      NIA nuevos ({@link RepositorioAlumnos#guardarTodos}).
+	 * @return el número de alumnos insertados, o -1 si hay algún error.
+	 */
+	public static long restaurar(AlumnosDAO modelo, Path fichero, boolean conservarNias) {
+		long inicio = System.nanoTime();
+		LectorSnapshot lector = new LectorSnapshot();
+		try {
+			lector.validar(fichero);
+		} catch (IOException e) {
+			loggerExcepciones.error("La copia binaria '{}' no es válida: {}", fichero, e.getMessage(), e);
+			return -1;
+		}
+
+		Set<String> gruposExistentes = new HashSet<>();
+		for (Grupo grupo : modelo.buscarGrupos()) {
+			gruposExistentes.add(grupo.getNombreGrupo());
+		}
+
+		List<Alumno> lote = new ArrayList<>(TAMANO_LOTE);
+		long[] insertados = { 0 };
+		try {
+			lector.leer(fichero, new Destino() {
+				@Override
+				public void grupo(Grupo grupo) throws SQLException {
+					if (gruposExistentes.add(grupo.getNombreGrupo())
+							&& !modelo.insertarGrupo(new Grupo(grupo.getNombreGrupo()))) {
+						throw new SQLException("No se pudo crear el grupo '" + grupo.getNombreGrupo() + "'.");
+					}
+				}
+
+				@Override
+				public void alumno(Alumno alumno) {
+					lote.add(alumno);
+					if (lote.size() == TAMANO_LOTE) {
+						insertados[0] += guardar(modelo, lote, conservarNias);
+						lote.clear();
+					}
+				}
+			});
+			insertados[0] += guardar(modelo, lote, conservarNias);
+		} catch (IOException | SQLException e) {
+			loggerExcepciones.error("Error al restaurar la copia binaria '{}' ({} alumnos ya insertados): {}",
+					fichero, insertados[0], e.getMessage(), e);
+			return -1;
+		}
+
+		loggerGeneral.info("Copia binaria '{}' restaurada: {} grupos, {} de {} alumnos insertados en {} ms.", fichero,
+				lector.getGruposLeidos(), insertados[0], lector.getAlumnosLeidos(),
+				(System.nanoTime() - inicio) / 1_000_000);
+		return insertados[0];
+	}
+
+	private static int guardar(AlumnosDAO modelo, List<Alumno> lote, boolean conservarNias) {
+		return conservarNias ? modelo.guardarTodosConNia(lote) : modelo.guardarTodos(lote);
+	}
+}
@@ -0,0 +1,131 @@
+package modelo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Lee un fichero XML de grupos con un analizador de extracción (StAX) y entrega
+ * cada grupo y cada alumno a un {@link Destino} en cuanto se leen. Solo se
+ * mantiene en memoria el alumno actual, por lo que el consumo no depende del
+ * tamaño del fichero.
+ *
+ * Admite tanto el formato de 'grupos.xml' (raíz {@code <grupos>}) como el de
+ * un grupo suelto (raíz {@code <grupo>}), sin comprimir o comprimidos en gzip.
+ * Los grupos sin nombre se ignoran, con sus alumnos, y se avisa en el log.
+ */
+public class LectorXMLGrupos {
+
+	private static final Logger loggerExcepciones = LogManager.getLogger("exceptions");
+
+	/**
+	 * Recibe los datos a medida que se leen del XML. Cada backend lo implementa
+	 * con su forma de escribir por lotes.
+	 */
+	public interface Destino {
+
+		/**
+		 * Se llama al encontrar un {@code <grupo>}. Debe devolver el grupo ya
+		 * existente o recién creado al que se asignarán sus alumnos.
+		 */
+		Grupo inicioGrupo(String nombreGrupo) throws SQLException;
+
+		/** Se llama por cada {@code <alumno>} del grupo actual. */
+		void alumno(Alumno alumno) throws SQLException;
+
+		/** Se llama al cerrar el {@code <grupo>}. */
+		void finGrupo(Grupo grupo) throws SQLException;
+	}
+
+	private int gruposLeidos = 0;
+	private int alumnosLeidos = 0;
+
+	/**
+	 * Recorre el fichero completo entregando los elementos al destino.
+	 *
+	 * @param ruta    Ruta del fichero XML.
+	 * @param destino Receptor de los grupos y alumnos.
+	 * @throws IOException        si no se puede leer el fichero.
+	 * @throws XMLStreamException si el XML está mal formado o tiene una fecha no
+	 *                            válida.
+	 * @throws SQLException       si el destino falla al escribir.
+	 */
+	public void leer(Path ruta, Destino destino) throws IOException, XMLStreamException, SQLException {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		// Sin DTD ni entidades externas
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+		try (InputStream entrada = FicherosComprimidos.abrirEntrada(ruta)) {
+			XMLStreamReader xml = factory.createXMLStreamReader(entrada);
+			try {
+				Grupo grupoActual = null;
+
+				while (xml.hasNext()) {
+					int evento = xml.next();
+
+					if (evento == XMLStreamConstants.START_ELEMENT) {
+						String elemento = xml.getLocalName();
+
+						if (elemento.equals("grupo")) {
+							String nombreGrupo = atributo(xml, "nombreGrupo").trim();
+							if (nombreGrupo.isEmpty()) {
+								// Sin grupo actual, sus alumnos también se ignoran
+								loggerExcepciones.warn("Advertencia: Nombre del grupo vacío en el XML (línea {}).",
+										xml.getLocation().getLineNumber());
+								continue;
+							}
+							grupoActual = destino.inicioGrupo(nombreGrupo);
+							gruposLeidos++;
+						} else if (elemento.equals("alumno") && grupoActual != null) {
+							destino.alumno(leerAlumno(xml, grupoActual));
+							alumnosLeidos++;
+						}
+					} else if (evento == XMLStreamConstants.END_ELEMENT && xml.getLocalName().equals("grupo")
+							&& grupoActual != null) {
+						destino.finGrupo(grupoActual);
+						grupoActual = null;
+					}
+				}
+			} finally {
+				xml.close();
+			}
+		}
+	}
+
+	private Alumno leerAlumno(XMLStreamReader xml, Grupo grupo) throws XMLStreamException {
+		String fecha = atributo(xml, "fechaNacimiento");
+		LocalDate fechaNacimiento = Fechas.analizar(fecha);
+		if (fechaNacimiento == null) {
+			throw new XMLStreamException("Fecha de nacimiento no válida: '" + fecha + "'", xml.getLocation());
+		}
+
+		String genero = atributo(xml, "genero");
+		return new Alumno(atributo(xml, "nombre"), atributo(xml, "apellidos"),
+				genero.isEmpty() ? 'S' : genero.charAt(0), fechaNacimiento, atributo(xml, "ciclo"),
+				atributo(xml, "curso"), grupo);
+	}
+
+	private static String atributo(XMLStreamReader xml, String nombre) {
+		String valor = xml.getAttributeValue(null, nombre);
+		return valor == null ? "" : valor;
+	}
+
+	public int getGruposLeidos() {
+		return gruposLeidos;
+	}
+
+	public int getAlumnosLeidos() {
+		return alumnosLeidos;
+	}
+}
@@ -0,0 +1,149 @@
+package modelo;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * Lista de alumnos guardada por columnas (un array por campo) para cargar un
+ * grupo o la tabla completa en memoria: cada alumno ocupa un hueco en cada array
+ * (30 bytes) más su nombre y sus apellidos, sin objetos propios. Ciclo, curso y
+ * grupo se codifican en un {@link DiccionarioAlumnos} y la fecha de nacimiento
+ * se guarda como días desde 1970-01-01.
+ *
+ * Los Alumno se crean bajo demanda al recorrerla o con {@link #obtener(int)}, y
+ * cada uno es nuevo (modificarlo no cambia la lista). No es segura entre hilos.
+ */
+public class ListaAlumnosCompacta implements Iterable<Alumno> {
+
+	private static final int CAPACIDAD_MINIMA = 16;
+
+	private final DiccionarioAlumnos diccionario;
+
+	private int[] nias;
+	private String[] nombres;
+	private String[] apellidos;
+	private char[] generos;
+	private int[] diasNacimiento;
+	private int[] ciclos;
+	private int[] cursos;
+	private int[] grupos;
+	private int tamano = 0;
+
+	public ListaAlumnosCompacta() {
+		this(new DiccionarioAlumnos(), CAPACIDAD_MINIMA);
+	}
+
+	/**
+	 * @param diccionario       Diccionario para ciclos, cursos y grupos (se puede
+	 *                          compartir entre listas).
+	 * @param capacidadEsperada Número de alumnos que se espera guardar sin tener
+	 *                          que redimensionar.
+	 */
+	public ListaAlumnosCompacta(DiccionarioAlumnos diccionario, int capacidadEsperada) {
+		this.diccionario = diccionario;
+		reservar(Math.max(CAPACIDAD_MINIMA, capacidadEsperada));
+	}
+
+	/**
+	 * Carga todos los alumnos del stream, que se cierra al terminar.
+	 */
+	public static ListaAlumnosCompacta de(Stream<Alumno> alumnos) {
+		ListaAlumnosCompacta lista = new ListaAlumnosCompacta();
+		try (alumnos) {
+			alumnos.forEach(lista::anadir);
+		}
+		return lista;
+	}
+
+	private void reservar(int capacidad) {
+		nias = nias == null ? new int[capacidad] : Arrays.copyOf(nias, capacidad);
+		nombres = nombres == null ? new String[capacidad] : Arrays.copyOf(nombres, capacidad);
+		apellidos = apellidos == null ? new String[capacidad] : Arrays.copyOf(apellidos, capacidad);
+		generos = generos == null ? new char[capacidad] : Arrays.copyOf(generos, capacidad);
+		diasNacimiento = diasNacimiento == null ? new int[capacidad] : Arrays.copyOf(diasNacimiento, capacidad);
+		ciclos = ciclos == null ? new int[capacidad] : Arrays.copyOf(ciclos, capacidad);
+		cursos = cursos == null ? new int[capacidad] : Arrays.copyOf(cursos, capacidad);
+		grupos = grupos == null ? new int[capacidad] : Arrays.copyOf(grupos, capacidad);
+	}
+
+	/**
+	 * Añade una copia compacta del alumno (no se guarda ninguna referencia a él
+	 * ni a su grupo, así que se puede reutilizar después).
+	 */
+	public void anadir(Alumno alumno) {
+		if (tamano == nias.length) {
+			reservar(tamano + (tamano >> 1));
+		}
+		nias[tamano] = alumno.getNia();
+		nombres[tamano] = alumno.getNombre();
+		apellidos[tamano] = alumno.getApellidos();
+		generos[tamano] = alumno.getGenero();
+		diasNacimiento[tamano] = AlumnoCompacto.diaEpoca(alumno.getFechaNacimiento());
+		ciclos[tamano] = diccionario.codificarTexto(alumno.getCiclo());
+		cursos[tamano] = diccionario.codificarTexto(alumno.getCurso());
+		grupos[tamano] = diccionario.codificarGrupo(alumno.getGrupo());
+		tamano++;
+	}
+
+	/**
+	 * @return un Alumno nuevo con los datos de la posición indicada.
+	 */
+	public Alumno obtener(int indice) {
+		comprobarIndice(indice);
+		return new Alumno(nias[indice], nombres[indice], apellidos[indice], generos[indice],
+				AlumnoCompacto.fecha(diasNacimiento[indice]), diccionario.texto(ciclos[indice]),
+				diccionario.texto(cursos[indice]), diccionario.grupo(grupos[indice]));
+	}
+
+	// Acceso a un campo sin crear el Alumno
+
+	public int getNia(int indice) {
+		comprobarIndice(indice);
+		return nias[indice];
+	}
+
+	public String getNombre(int indice) {
+		comprobarIndice(indice);
+		return nombres[indice];
+	}
+
+	private void comprobarIndice(int indice) {
+		if (indice < 0 || indice >= tamano) {
+			throw new IndexOutOfBoundsException("Índice " + indice + " fuera de la lista de " + tamano + " alumnos");
+		}
+	}
+
+	public int getTamano() {
+		return tamano;
+	}
+
+	public boolean estaVacia() {
+		return tamano == 0;
+	}
+
+	public DiccionarioAlumnos getDiccionario() {
+		return diccionario;
+	}
+
+	@Override
+	public Iterator<Alumno> iterator() {
+		return new Iterator<>() {
+			private int siguiente = 0;
+
+			@Override
+			public boolean hasNext() {
+				return siguiente < tamano;
+			}
+
+			@Override
+			public Alumno next() {
+				if (siguiente >= tamano) {
+					throw new NoSuchElementException();
+				}
+				return obtener(siguiente++);
+			}
+		};
+	}
+}
@@ -0,0 +1,93 @@
+package modelo;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de enteros ordenado de menor a mayor sobre un int[]. Sirve de índice
+ * de NIA para recorrer alumnos en orden de NIA (paginación por clave) sin
+ * convertirlos en Integer.
+ *
+ * Añadir al final (el caso normal, porque los NIA nuevos son siempre los
+ * mayores) es O(1); en otra posición o al eliminar hay que desplazar el resto
+ * del array. No es seguro entre hilos.
+ */
+public class ListaEnterosOrdenada {
+
+	private int[] valores = new int[16];
+	private int tamano = 0;
+
+	/**
+	 * @return false si el valor ya estaba.
+	 */
+	public boolean anadir(int valor) {
+		int posicion;
+		if (tamano == 0 || valores[tamano - 1] < valor) {
+			posicion = tamano;
+		} else {
+			posicion = Arrays.binarySearch(valores, 0, tamano, valor);
+			if (posicion >= 0) {
+				return false;
+			}
+			posicion = -posicion - 1;
+		}
+
+		if (tamano == valores.length) {
+			valores = Arrays.copyOf(valores, tamano * 2);
+		}
+		System.arraycopy(valores, posicion, valores, posicion + 1, tamano - posicion);
+		valores[posicion] = valor;
+		tamano++;
+		return true;
+	}
+
+	/**
+	 * @return false si el valor no estaba.
+	 */
+	public boolean eliminar(int valor) {
+		int posicion = Arrays.binarySearch(valores, 0, tamano, valor);
+		if (posicion < 0) {
+			return false;
+		}
+		System.arraycopy(valores, posicion + 1, valores, posicion, tamano - posicion - 1);
+		tamano--;
+		return true;
+	}
+
+	public boolean contiene(int valor) {
+		return Arrays.binarySearch(valores, 0, tamano, valor) >= 0;
+	}
+
+	/**
+	 * @return la posición del primer valor mayor que {@code valor}.
+	 */
+	public int posicionSiguiente(int valor) {
+		int posicion = Arrays.binarySearch(valores, 0, tamano, valor);
+		return posicion >= 0 ? posicion + 1 : -posicion - 1;
+	}
+
+	public int obtener(int posicion) {
+		if (posicion >= tamano) {
+			throw new IndexOutOfBoundsException(posicion);
+		}
+		return valores[posicion];
+	}
+
+	/**
+	 * @return una copia de los valores, en orden.
+	 */
+	public int[] aArray() {
+		return Arrays.copyOf(valores, tamano);
+	}
+
+	public void vaciar() {
+		tamano = 0;
+	}
+
+	public int getTamano() {
+		return tamano;
+	}
+
+	public boolean estaVacia() {
+		return tamano == 0;
+	}
+}
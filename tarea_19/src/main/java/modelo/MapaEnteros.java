@@ -0,0 +1,189 @@
+package modelo;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Mapa de claves int a objetos con direccionamiento abierto (sondeo lineal).
+ * Las claves se guardan en un int[] sin convertirlas en Integer, así que una
+ * búsqueda no reserva memoria y suele resolverse en uno o dos accesos al
+ * array.
+ *
+ * La clave 0 no se admite: es el valor que marca una casilla libre (igual que
+ * en la base de datos, un NIA 0 significa "sin asignar"). No es seguro entre
+ * hilos.
+ *
+ * @param <V> Tipo de los valores.
+ */
+public class MapaEnteros<V> {
+
+	private static final int CAPACIDAD_MINIMA = 16;
+	private static final float CARGA_MAXIMA = 0.6f;
+
+	private int[] claves;
+	private Object[] valores;
+	private int tamano = 0;
+	private int umbral;
+
+	public MapaEnteros() {
+		this(CAPACIDAD_MINIMA);
+	}
+
+	/**
+	 * @param capacidadEsperada Número de elementos que se espera guardar sin tener
+	 *                          que redimensionar.
+	 */
+	public MapaEnteros(int capacidadEsperada) {
+		reservar(Math.max(CAPACIDAD_MINIMA,
+				Integer.highestOneBit((int) Math.ceil(capacidadEsperada / CARGA_MAXIMA) - 1) << 1));
+	}
+
+	private void reservar(int capacidad) {
+		claves = new int[capacidad];
+		valores = new Object[capacidad];
+		umbral = (int) (capacidad * CARGA_MAXIMA);
+	}
+
+	/**
+	 * Mezcla los bits de la clave para que NIA consecutivos no ocupen casillas
+	 * consecutivas (con sondeo lineal formarían grandes bloques ocupados).
+	 */
+	private int casilla(int clave) {
+		int h = clave * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & (claves.length - 1);
+	}
+
+	@SuppressWarnings("unchecked")
+	public V obtener(int clave) {
+		if (clave == 0) {
+			return null;
+		}
+		int mascara = claves.length - 1;
+		for (int i = casilla(clave);; i = (i + 1) & mascara) {
+			int actual = claves[i];
+			if (actual == clave) {
+				return (V) valores[i];
+			}
+			if (actual == 0) {
+				return null;
+			}
+		}
+	}
+
+	public boolean contiene(int clave) {
+		return obtener(clave) != null;
+	}
+
+	/**
+	 * @return el valor anterior de la clave, o null si no estaba.
+	 */
+	@SuppressWarnings("unchecked")
+	public V guardar(int clave, V valor) {
+		if (clave == 0) {
+			throw new IllegalArgumentException("La clave 0 no se admite.");
+		}
+		if (valor == null) {
+			throw new IllegalArgumentException("No se admiten valores null.");
+		}
+		int mascara = claves.length - 1;
+		for (int i = casilla(clave);; i = (i + 1) & mascara) {
+			if (claves[i] == clave) {
+				V anterior = (V) valores[i];
+				valores[i] = valor;
+				return anterior;
+			}
+			if (claves[i] == 0) {
+				claves[i] = clave;
+				valores[i] = valor;
+				if (++tamano > umbral) {
+					redimensionar();
+				}
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * @return el valor eliminado, o null si la clave no estaba.
+	 */
+	@SuppressWarnings("unchecked")
+	public V eliminar(int clave) {
+		if (clave == 0) {
+			return null;
+		}
+		int mascara = claves.length - 1;
+		int i = casilla(clave);
+		while (claves[i] != clave) {
+			if (claves[i] == 0) {
+				return null;
+			}
+			i = (i + 1) & mascara;
+		}
+		V anterior = (V) valores[i];
+
+		// Borrado hacia atrás: se adelantan los elementos siguientes del mismo bloque
+		// que estén fuera de su casilla, para no dejar huecos que corten el sondeo
+		int hueco = i;
+		for (int j = (i + 1) & mascara; claves[j] != 0; j = (j + 1) & mascara) {
+			int ideal = casilla(claves[j]);
+			if (((j - ideal) & mascara) >= ((j - hueco) & mascara)) {
+				claves[hueco] = claves[j];
+				valores[hueco] = valores[j];
+				hueco = j;
+			}
+		}
+		claves[hueco] = 0;
+		valores[hueco] = null;
+		tamano--;
+		return anterior;
+	}
+
+	private void redimensionar() {
+		int[] clavesAntiguas = claves;
+		Object[] valoresAntiguos = valores;
+		reservar(claves.length * 2);
+		tamano = 0;
+		for (int i = 0; i < clavesAntiguas.length; i++) {
+			if (clavesAntiguas[i] != 0) {
+				reinsertar(clavesAntiguas[i], valoresAntiguos[i]);
+			}
+		}
+	}
+
+	private void reinsertar(int clave, Object valor) {
+		int mascara = claves.length - 1;
+		int i = casilla(clave);
+		while (claves[i] != 0) {
+			i = (i + 1) & mascara;
+		}
+		claves[i] = clave;
+		valores[i] = valor;
+		tamano++;
+	}
+
+	/**
+	 * Recorre los valores sin un orden determinado.
+	 */
+	@SuppressWarnings("unchecked")
+	public void paraCada(Consumer<V> accion) {
+		for (int i = 0; i < claves.length; i++) {
+			if (claves[i] != 0) {
+				accion.accept((V) valores[i]);
+			}
+		}
+	}
+
+	public void vaciar() {
+		Arrays.fill(claves, 0);
+		Arrays.fill(valores, null);
+		tamano = 0;
+	}
+
+	public int getTamano() {
+		return tamano;
+	}
+
+	public boolean estaVacio() {
+		return tamano == 0;
+	}
+}
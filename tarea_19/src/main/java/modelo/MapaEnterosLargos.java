@@ -0,0 +1,180 @@
+package modelo;
+
+import java.util.Arrays;
+
+/**
+ * Versión de {@link MapaEnteros} con valores long guardados en un long[], sin
+ * objetos por entrada. Se usa como índice NIA → posición en
+ * {@link RegistroAlumnos}.
+ *
+ * La clave 0 no se admite y {@link #AUSENTE} (-1) indica que una clave no está.
+ * No es seguro entre hilos.
+ */
+public class MapaEnterosLargos {
+
+	public static final long AUSENTE = -1;
+
+	private static final int CAPACIDAD_MINIMA = 16;
+	private static final float CARGA_MAXIMA = 0.6f;
+
+	/**
+	 * Recibe cada pareja clave-valor del mapa.
+	 */
+	@FunctionalInterface
+	public interface Accion {
+		void aceptar(int clave, long valor);
+	}
+
+	private int[] claves;
+	private long[] valores;
+	private int tamano = 0;
+	private int umbral;
+
+	public MapaEnterosLargos() {
+		this(CAPACIDAD_MINIMA);
+	}
+
+	/**
+	 * @param capacidadEsperada Número de elementos que se espera guardar sin tener
+	 *                          que redimensionar.
+	 */
+	public MapaEnterosLargos(int capacidadEsperada) {
+		reservar(Math.max(CAPACIDAD_MINIMA,
+				Integer.highestOneBit((int) Math.ceil(capacidadEsperada / CARGA_MAXIMA) - 1) << 1));
+	}
+
+	private void reservar(int capacidad) {
+		claves = new int[capacidad];
+		valores = new long[capacidad];
+		umbral = (int) (capacidad * CARGA_MAXIMA);
+	}
+
+	private int casilla(int clave) {
+		int h = clave * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & (claves.length - 1);
+	}
+
+	/**
+	 * @return el valor de la clave, o {@link #AUSENTE}.
+	 */
+	public long obtener(int clave) {
+		if (clave == 0) {
+			return AUSENTE;
+		}
+		int mascara = claves.length - 1;
+		for (int i = casilla(clave);; i = (i + 1) & mascara) {
+			int actual = claves[i];
+			if (actual == clave) {
+				return valores[i];
+			}
+			if (actual == 0) {
+				return AUSENTE;
+			}
+		}
+	}
+
+	public boolean contiene(int clave) {
+		return obtener(clave) != AUSENTE;
+	}
+
+	/**
+	 * @return el valor anterior de la clave, o {@link #AUSENTE}.
+	 */
+	public long guardar(int clave, long valor) {
+		if (clave == 0) {
+			throw new IllegalArgumentException("La clave 0 no se admite.");
+		}
+		if (valor == AUSENTE) {
+			throw new IllegalArgumentException("El valor " + AUSENTE + " no se admite.");
+		}
+		int mascara = claves.length - 1;
+		for (int i = casilla(clave);; i = (i + 1) & mascara) {
+			if (claves[i] == clave) {
+				long anterior = valores[i];
+				valores[i] = valor;
+				return anterior;
+			}
+			if (claves[i] == 0) {
+				claves[i] = clave;
+				valores[i] = valor;
+				if (++tamano > umbral) {
+					redimensionar();
+				}
+				return AUSENTE;
+			}
+		}
+	}
+
+	/**
+	 * @return el valor eliminado, o {@link #AUSENTE}.
+	 */
+	public long eliminar(int clave) {
+		if (clave == 0) {
+			return AUSENTE;
+		}
+		int mascara = claves.length - 1;
+		int i = casilla(clave);
+		while (claves[i] != clave) {
+			if (claves[i] == 0) {
+				return AUSENTE;
+			}
+			i = (i + 1) & mascara;
+		}
+		long anterior = valores[i];
+
+		// Borrado hacia atrás, igual que en MapaEnteros
+		int hueco = i;
+		for (int j = (i + 1) & mascara; claves[j] != 0; j = (j + 1) & mascara) {
+			int ideal = casilla(claves[j]);
+			if (((j - ideal) & mascara) >= ((j - hueco) & mascara)) {
+				claves[hueco] = claves[j];
+				valores[hueco] = valores[j];
+				hueco = j;
+			}
+		}
+		claves[hueco] = 0;
+		tamano--;
+		return anterior;
+	}
+
+	private void redimensionar() {
+		int[] clavesAntiguas = claves;
+		long[] valoresAntiguos = valores;
+		reservar(claves.length * 2);
+		int mascara = claves.length - 1;
+		for (int i = 0; i < clavesAntiguas.length; i++) {
+			if (clavesAntiguas[i] != 0) {
+				int j = casilla(clavesAntiguas[i]);
+				while (claves[j] != 0) {
+					j = (j + 1) & mascara;
+				}
+				claves[j] = clavesAntiguas[i];
+				valores[j] = valoresAntiguos[i];
+			}
+		}
+	}
+
+	/**
+	 * Recorre las parejas sin un orden determinado.
+	 */
+	public void paraCada(Accion accion) {
+		for (int i = 0; i < claves.length; i++) {
+			if (claves[i] != 0) {
+				accion.aceptar(claves[i], valores[i]);
+			}
+		}
+	}
+
+	public void vaciar() {
+		Arrays.fill(claves, 0);
+		tamano = 0;
+	}
+
+	public int getTamano() {
+		return tamano;
+	}
+
+	public boolean estaVacio() {
+		return tamano == 0;
+	}
+}
@@ -0,0 +1,16 @@
+package modelo;
+
+/**
+ * Estrategias disponibles para importar el fichero 'alumnos.txt' en la base de
+ * datos.
+ */
+public enum ModoImportacion {
+	/** Un INSERT autocommit por alumno, con su propia conexión del pool. */
+	FILA_A_FILA,
+	/** Una sola conexión, inserciones con addBatch/executeBatch y commit por lote. */
+	LOTES,
+	/** Pipeline lector / analizadores en hilos virtuales / escritor por lotes. */
+	CONCURRENTE,
+	/** LOAD DATA LOCAL INFILE a una tabla temporal e INSERT ... SELECT (solo MySQL). */
+	LOAD_DATA
+}
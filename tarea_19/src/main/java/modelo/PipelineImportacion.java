@@ -0,0 +1,265 @@
+package modelo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Importación de 'alumnos.txt' en tres etapas conectadas por colas acotadas:
+ * <ol>
+ * <li>Un lector que lee los registros del fichero: una línea, o varias si un
+ * campo entre comillas tiene saltos de línea.</li>
+ * <li>N trabajadores en hilos virtuales que separan los campos, convierten la
+ * fecha y validan cada línea.</li>
+ * <li>Un escritor (el hilo que llama a {@link #ejecutar}) que agrupa los
+ * alumnos en lotes y los entrega al {@link EscritorLotes} del backend.</li>
+ * </ol>
+ * Las colas acotadas hacen de contrapresión: si el backend escribe más despacio
+ * de lo que se lee, el lector y los trabajadores se bloquean en lugar de llenar
+ * la memoria.
+ *
+ * Al analizar en paralelo, los alumnos no llegan al escritor necesariamente en
+ * el orden del fichero.
+ *
+ * Si el escritor falla, la importación se aborta: se vacían las colas y el
+ * lector y los trabajadores dejan de esperar sitio en ellas, de modo que
+ * {@link #ejecutar} termina y relanza el error.
+ */
+public class PipelineImportacion {
+
+	private static final Logger loggerGeneral = LogManager.getRootLogger();
+	private static final Logger loggerExcepciones = LogManager.getLogger("exceptions");
+
+	// Marcas de fin de flujo en las colas
+	private static final String FIN_LINEAS = new String("FIN");
+	private static final Alumno FIN_ALUMNOS = new Alumno();
+
+	// Cada cuánto se comprueba si la importación se ha abortado al esperar sitio en una cola
+	private static final long ESPERA_COLA_MS = 100;
+
+	/**
+	 * Etapa final de la importación: escribe un lote de alumnos en el backend.
+	 */
+	@FunctionalInterface
+	public interface EscritorLotes {
+
+		/**
+		 * @param lote Alumnos a escribir (la lista se reutiliza tras la llamada).
+		 * @return el número de alumnos realmente insertados.
+		 * @throws Exception si falla la escritura; la importación se detiene.
+		 */
+		int escribir(List<Alumno> lote) throws Exception;
+	}
+
+	/**
+	 * Resumen de una importación.
+	 */
+	public record Resultado(long lineasLeidas, long lineasInvalidas, long alumnosInsertados, double segundos) {
+
+		public double filasPorSegundo() {
+			return segundos > 0 ? alumnosInsertados / segundos : alumnosInsertados;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%d líneas leídas, %d inválidas, %d alumnos insertados en %.2f s (%.0f filas/s)",
+					lineasLeidas, lineasInvalidas, alumnosInsertados, segundos, filasPorSegundo());
+		}
+	}
+
+	private final int trabajadores;
+	private final int tamanoLote;
+	private final int capacidadCola;
+
+	/**
+	 * Crea un pipeline con un trabajador por procesador disponible.
+	 *
+	 * @param tamanoLote Alumnos por lote entregado al escritor.
+	 */
+	public PipelineImportacion(int tamanoLote) {
+		this(Runtime.getRuntime().availableProcessors(), tamanoLote);
+	}
+
+	/**
+	 * @param trabajadores Número de hilos virtuales de análisis.
+	 * @param tamanoLote   Alumnos por lote entregado al escritor.
+	 */
+	public PipelineImportacion(int trabajadores, int tamanoLote) {
+		if (trabajadores < 1 || tamanoLote < 1) {
+			throw new IllegalArgumentException(
+					"Trabajadores y tamaño de lote deben ser mayores que 0: " + trabajadores + ", " + tamanoLote);
+		}
+		this.trabajadores = trabajadores;
+		this.tamanoLote = tamanoLote;
+		this.capacidadCola = Math.max(tamanoLote * 2, 1024);
+	}
+
+	/**
+	 * Ejecuta la importación completa del fichero.
+	 *
+	 * @param fichero  Fichero con el formato de 'alumnos.txt' (con cabecera).
+	 * @param analizar Conversión de una línea en alumno; devuelve null si la línea
+	 *                 no es válida. Se ejecuta en paralelo, debe ser segura entre
+	 *                 hilos.
+	 * @param escritor Escritor de lotes del backend; siempre se llama desde el
+	 *                 hilo que invoca este método.
+	 * @return el resumen de la importación.
+	 * @throws IOException si no se puede leer el fichero.
+	 * @throws Exception   la excepción lanzada por el escritor, si falla.
+	 */
+	public Resultado ejecutar(Path fichero, Function<String, Alumno> analizar, EscritorLotes escritor)
+			throws Exception {
+		BlockingQueue<String> lineas = new ArrayBlockingQueue<>(capacidadCola);
+		BlockingQueue<Alumno> alumnos = new ArrayBlockingQueue<>(capacidadCola);
+		LongAdder lineasLeidas = new LongAdder();
+		LongAdder lineasInvalidas = new LongAdder();
+		AtomicInteger trabajadoresActivos = new AtomicInteger(trabajadores);
+		AtomicBoolean abortado = new AtomicBoolean(false);
+		long alumnosInsertados = 0;
+		long inicio = System.nanoTime();
+
+		ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor();
+		try {
+			// 1. Lector
+			Future<?> lector = hilos.submit(() -> {
+				try (BufferedReader br = FicherosComprimidos.abrirLector(fichero)) {
+					br.readLine(); // Ignorar la cabecera
+					String linea;
+					while ((linea = CodecCSVAlumnos.leerRegistro(br)) != null) {
+						if (!poner(lineas, linea, abortado)) {
+							return null;
+						}
+						lineasLeidas.increment();
+					}
+				} finally {
+					for (int i = 0; i < trabajadores; i++) {
+						if (!poner(lineas, FIN_LINEAS, abortado)) {
+							break;
+						}
+					}
+				}
+				return null;
+			});
+
+			// 2. Trabajadores de análisis y validación
+			for (int i = 0; i < trabajadores; i++) {
+				hilos.submit(() -> {
+					try {
+						String linea;
+						while ((linea = lineas.take()) != FIN_LINEAS) {
+							Alumno alumno;
+							try {
+								alumno = analizar.apply(linea);
+							} catch (RuntimeException e) {
+								loggerExcepciones.error("Error al procesar la línea: {}", linea, e);
+								alumno = null;
+							}
+							if (alumno != null) {
+								if (!poner(alumnos, alumno, abortado)) {
+									return null;
+								}
+							} else {
+								lineasInvalidas.increment();
+							}
+						}
+					} finally {
+						// El último trabajador en terminar avisa al escritor
+						if (trabajadoresActivos.decrementAndGet() == 0) {
+							poner(alumnos, FIN_ALUMNOS, abortado);
+						}
+					}
+					return null;
+				});
+			}
+
+			// 3. Escritor por lotes
+			List<Alumno> lote = new ArrayList<>(tamanoLote);
+			Alumno alumno;
+			while ((alumno = alumnos.take()) != FIN_ALUMNOS) {
+				lote.add(alumno);
+				if (lote.size() == tamanoLote) {
+					alumnosInsertados += escritor.escribir(lote);
+					lote.clear();
+				}
+			}
+			if (!lote.isEmpty()) {
+				alumnosInsertados += escritor.escribir(lote);
+			}
+
+			// Propaga un error de lectura del fichero
+			try {
+				lector.get();
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof IOException io) {
+					throw io;
+				}
+				throw e;
+			}
+		} catch (Exception | Error e) {
+			// Ha fallado el escritor (o el lector): se libera a las etapas anteriores y se descarta lo pendiente
+			abortado.set(true);
+			lineas.clear();
+			alumnos.clear();
+			throw e;
+		} finally {
+			// Interrumpe al lector y a los trabajadores que sigan bloqueados
+			hilos.shutdownNow();
+			hilos.close();
+		}
+
+		Resultado resultado = new Resultado(lineasLeidas.sum(), lineasInvalidas.sum(), alumnosInsertados,
+				(System.nanoTime() - inicio) / 1_000_000_000.0);
+		loggerGeneral.info("Importación en paralelo de '{}' ({} trabajadores): {}", fichero, trabajadores, resultado);
+		return resultado;
+	}
+
+	/**
+	 * Pone el elemento en la cola, esperando a que haya sitio mientras la
+	 * importación no se haya abortado.
+	 *
+	 * @return true si se puso, false si la importación se abortó antes.
+	 * @throws InterruptedException si se interrumpe el hilo mientras espera.
+	 */
+	private static <T> boolean poner(BlockingQueue<T> cola, T elemento, AtomicBoolean abortado)
+			throws InterruptedException {
+		while (!abortado.get()) {
+			if (cola.offer(elemento, ESPERA_COLA_MS, TimeUnit.MILLISECONDS)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Analiza una línea (un registro) de 'alumnos.txt' con
+	 * {@link CodecCSVAlumnos}. El NIA se conserva si es numérico.
+	 *
+	 * @param linea Registro del fichero.
+	 * @return el alumno, con un Grupo que solo tiene el nombre, o null si la línea
+	 *         no es válida o no tiene grupo.
+	 */
+	public static Alumno analizarLinea(String linea) {
+		Alumno alumno = CodecCSVAlumnos.delHilo().analizar(linea);
+		if (alumno == null || alumno.getGrupo() == null) {
+			loggerGeneral.warn("Línea inválida en el fichero: {}", linea);
+			return null;
+		}
+		return alumno;
+	}
+}
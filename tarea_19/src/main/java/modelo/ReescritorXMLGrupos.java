@@ -0,0 +1,262 @@
+package modelo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Aplica cambios a un fichero XML de grupos (el formato de
+ * {@link EscritorXMLGrupos}) copiándolo en streaming con StAX: se lee un evento,
+ * se escribe en un fichero temporal (modificado si le afecta algún cambio) y al
+ * terminar el temporal sustituye al original. No se construye ningún árbol
+ * DOM, así que la memoria usada no depende del tamaño del fichero, y todos los
+ * cambios de un {@link Cambios} se aplican en una sola pasada.
+ */
+public class ReescritorXMLGrupos {
+
+	private static final int TAMANO_BUFFER = 64 * 1024;
+	private static final String SANGRIA_GRUPO = "\n    ";
+	private static final String SANGRIA_ALUMNO = "\n        ";
+
+	/**
+	 * Cambios que se aplican en una pasada. Las bajas y los cambios de nombre
+	 * afectan a los alumnos que ya están en el fichero; los alumnos nuevos se
+	 * añaden al final de su grupo y los grupos nuevos, al final del fichero.
+	 */
+	public static class Cambios {
+
+		private final ListaEnterosOrdenada bajas = new ListaEnterosOrdenada();
+		private final MapaEnteros<String> nombres = new MapaEnteros<>();
+		private final Map<String, List<Alumno>> altas = new LinkedHashMap<>();
+		private final List<Grupo> gruposNuevos = new ArrayList<>();
+
+		public Cambios eliminarAlumno(int nia) {
+			bajas.anadir(nia);
+			return this;
+		}
+
+		public Cambios cambiarNombre(int nia, String nombre) {
+			nombres.guardar(nia, nombre);
+			return this;
+		}
+
+		/**
+		 * @param alumno Alumno con NIA y con el grupo (que debe existir en el
+		 *               fichero o añadirse en estos mismos cambios).
+		 */
+		public Cambios anadirAlumno(Alumno alumno) {
+			altas.computeIfAbsent(alumno.getGrupo().getNombreGrupo(), n -> new ArrayList<>()).add(alumno);
+			return this;
+		}
+
+		public Cambios anadirGrupo(Grupo grupo) {
+			gruposNuevos.add(grupo);
+			return this;
+		}
+
+		public boolean estaVacio() {
+			return bajas.estaVacia() && nombres.estaVacio() && altas.isEmpty() && gruposNuevos.isEmpty();
+		}
+	}
+
+	/**
+	 * Aplica los cambios al fichero. Si no existe, se parte de un
+	 * {@code <grupos>} vacío. Si algo falla, el fichero original no se modifica.
+	 *
+	 * @param fichero Fichero XML de grupos.
+	 * @param cambios Cambios a aplicar.
+	 * @throws IOException        si no se puede leer o escribir.
+	 * @throws XMLStreamException si el XML está mal formado.
+	 */
+	public void aplicar(Path fichero, Cambios cambios) throws IOException, XMLStreamException {
+		if (!Files.exists(fichero)) {
+			new EscritorXMLGrupos(fichero).close();
+		}
+
+		XMLInputFactory factoryEntrada = XMLInputFactory.newInstance();
+		// Sin DTD ni entidades externas
+		factoryEntrada.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factoryEntrada.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+		Path temporal = fichero.resolveSibling(fichero.getFileName() + ".tmp");
+		try (InputStream entrada = new BufferedInputStream(Files.newInputStream(fichero), TAMANO_BUFFER);
+				OutputStream salida = new BufferedOutputStream(Files.newOutputStream(temporal), TAMANO_BUFFER)) {
+			XMLStreamReader lector = factoryEntrada.createXMLStreamReader(entrada);
+			XMLStreamWriter escritor = XMLOutputFactory.newInstance().createXMLStreamWriter(salida, "UTF-8");
+			try {
+				copiar(lector, escritor, cambios);
+				escritor.flush();
+			} finally {
+				lector.close();
+				escritor.close();
+			}
+		} catch (IOException | XMLStreamException | RuntimeException e) {
+			Files.deleteIfExists(temporal);
+			throw e;
+		}
+		Files.move(temporal, fichero, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private void copiar(XMLStreamReader lector, XMLStreamWriter escritor, Cambios cambios) throws XMLStreamException {
+		// Los espacios entre elementos se retienen hasta saber si el elemento
+		// siguiente se conserva: así una baja no deja una línea en blanco
+		StringBuilder espacios = new StringBuilder();
+		String grupoActual = null;
+		boolean saltarFin = false;
+
+		escritor.writeStartDocument("UTF-8", "1.0");
+		escritor.writeCharacters("\n");
+
+		while (lector.hasNext()) {
+			int evento = lector.next();
+			switch (evento) {
+			case XMLStreamConstants.START_ELEMENT -> {
+				String elemento = lector.getLocalName();
+				if (elemento.equals("alumno")) {
+					int nia = leerNia(lector);
+					if (cambios.bajas.contiene(nia)) {
+						espacios.setLength(0);
+						saltarFin = true;
+						continue;
+					}
+					volcarEspacios(escritor, espacios);
+					escritor.writeEmptyElement("alumno");
+					String nuevoNombre = cambios.nombres.obtener(nia);
+					for (int i = 0; i < lector.getAttributeCount(); i++) {
+						String atributo = lector.getAttributeLocalName(i);
+						escritor.writeAttribute(atributo, nuevoNombre != null && atributo.equals("nombre")
+								? nuevoNombre : lector.getAttributeValue(i));
+					}
+					saltarFin = true;
+				} else {
+					volcarEspacios(escritor, espacios);
+					escritor.writeStartElement(elemento);
+					for (int i = 0; i < lector.getAttributeCount(); i++) {
+						escritor.writeAttribute(lector.getAttributeLocalName(i), lector.getAttributeValue(i));
+					}
+					if (elemento.equals("grupo")) {
+						grupoActual = lector.getAttributeValue(null, "nombreGrupo");
+					}
+				}
+			}
+			case XMLStreamConstants.END_ELEMENT -> {
+				String elemento = lector.getLocalName();
+				if (elemento.equals("alumno") && saltarFin) {
+					saltarFin = false;
+					continue;
+				}
+				if (elemento.equals("grupo")) {
+					List<Alumno> altas = cambios.altas.remove(grupoActual);
+					if (altas != null) {
+						for (Alumno alumno : altas) {
+							escribirAlumno(escritor, alumno);
+						}
+						espacios.setLength(0);
+						espacios.append(SANGRIA_GRUPO);
+					}
+					grupoActual = null;
+				} else if (elemento.equals("grupos")) {
+					for (Grupo grupo : cambios.gruposNuevos) {
+						escribirGrupo(escritor, grupo, cambios.altas.remove(grupo.getNombreGrupo()));
+					}
+					if (!cambios.gruposNuevos.isEmpty()) {
+						espacios.setLength(0);
+						espacios.append('\n');
+					}
+				}
+				volcarEspacios(escritor, espacios);
+				escritor.writeEndElement();
+			}
+			case XMLStreamConstants.CHARACTERS, XMLStreamConstants.SPACE -> {
+				if (lector.isWhiteSpace()) {
+					espacios.append(lector.getText());
+				} else {
+					volcarEspacios(escritor, espacios);
+					escritor.writeCharacters(lector.getText());
+				}
+			}
+			case XMLStreamConstants.COMMENT -> {
+				volcarEspacios(escritor, espacios);
+				escritor.writeComment(lector.getText());
+			}
+			case XMLStreamConstants.END_DOCUMENT -> {
+				volcarEspacios(escritor, espacios);
+				escritor.writeEndDocument();
+			}
+			default -> {
+				// Instrucciones de proceso, DTD...: no forman parte del formato
+			}
+			}
+		}
+
+		if (!cambios.altas.isEmpty()) {
+			throw new XMLStreamException("Grupos no encontrados en el XML: " + cambios.altas.keySet());
+		}
+	}
+
+	/**
+	 * @return el atributo nia del alumno actual, o 0 si no tiene.
+	 */
+	static int leerNia(XMLStreamReader lector) throws XMLStreamException {
+		String nia = lector.getAttributeValue(null, "nia");
+		try {
+			return nia == null || nia.isBlank() ? 0 : Integer.parseInt(nia.trim());
+		} catch (NumberFormatException e) {
+			throw new XMLStreamException("NIA no válido: '" + nia + "'", lector.getLocation(), e);
+		}
+	}
+
+	private static void volcarEspacios(XMLStreamWriter escritor, StringBuilder espacios) throws XMLStreamException {
+		if (!espacios.isEmpty()) {
+			escritor.writeCharacters(espacios.toString());
+			espacios.setLength(0);
+		}
+	}
+
+	private void escribirGrupo(XMLStreamWriter escritor, Grupo grupo, List<Alumno> alumnos)
+			throws XMLStreamException {
+		escritor.writeCharacters(SANGRIA_GRUPO);
+		escritor.writeStartElement("grupo");
+		escritor.writeAttribute("numeroGrupo", String.valueOf(grupo.getNumeroGrupo()));
+		escritor.writeAttribute("nombreGrupo", grupo.getNombreGrupo());
+		if (alumnos != null) {
+			for (Alumno alumno : alumnos) {
+				escribirAlumno(escritor, alumno);
+			}
+			escritor.writeCharacters(SANGRIA_GRUPO);
+		}
+		escritor.writeEndElement();
+	}
+
+	private void escribirAlumno(XMLStreamWriter escritor, Alumno alumno) throws XMLStreamException {
+		escritor.writeCharacters(SANGRIA_ALUMNO);
+		escritor.writeEmptyElement("alumno");
+		escritor.writeAttribute("nia", String.valueOf(alumno.getNia()));
+		escritor.writeAttribute("nombre", valor(alumno.getNombre()));
+		escritor.writeAttribute("apellidos", valor(alumno.getApellidos()));
+		escritor.writeAttribute("genero", String.valueOf(alumno.getGenero()));
+		escritor.writeAttribute("fechaNacimiento", Fechas.formatearIso(alumno.getFechaNacimiento()));
+		escritor.writeAttribute("ciclo", valor(alumno.getCiclo()));
+		escritor.writeAttribute("curso", valor(alumno.getCurso()));
+	}
+
+	private static String valor(String texto) {
+		return texto == null ? "" : texto;
+	}
+}
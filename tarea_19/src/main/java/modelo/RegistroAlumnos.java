@@ -0,0 +1,815 @@
+package modelo;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32C;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Almacenamiento de alumnos y grupos en un registro de solo añadir
+ * (log-structured). Cada alta, modificación o baja se escribe al final del
+ * fichero como un registro independiente, así que una escritura cuesta lo mismo
+ * con diez alumnos que con un millón. En memoria solo se guarda un índice NIA →
+ * posición del último registro del alumno; las lecturas van directamente a esa
+ * posición.
+ *
+ * Formato del fichero: cabecera {@code "ALOG"} + versión (1 byte) y después
+ * registros con longitud (int), CRC-32C (int) de tipo y datos, tipo (1 byte) y
+ * datos. En la versión 2 la fecha de nacimiento son los días desde 1970-01-01;
+ * los ficheros de la versión 1 (milisegundos de la medianoche en la zona del
+ * sistema) se siguen abriendo y escribiendo en su formato. Al abrir se recorre
+ * el registro completo para reconstruir el índice; si la aplicación se cortó a
+ * mitad de una escritura, el último registro no tiene la longitud o el CRC
+ * correctos y se descarta (el fichero se trunca en ese punto).
+ *
+ * Los registros sustituidos o borrados siguen ocupando espacio hasta que se
+ * compacta el fichero: cuando los registros vivos son menos de la mitad del
+ * fichero, un hilo en segundo plano copia los vivos a un fichero nuevo y lo
+ * cambia por el actual. Mientras copia, las lecturas y escrituras continúan; al
+ * final se copian también los registros escritos durante la compactación.
+ */
+public class RegistroAlumnos implements AutoCloseable {
+
+	private static final Logger loggerGeneral = LogManager.getRootLogger();
+	private static final Logger loggerExcepciones = LogManager.getLogger("exceptions");
+
+	private static final int MAGICO = 0x414C4F47; // "ALOG"
+	private static final byte VERSION = 2;
+	private static final byte VERSION_FECHA_EN_MILIS = 1;
+	private static final long SIN_FECHA = Long.MIN_VALUE;
+	private static final int TAMANO_CABECERA_FICHERO = 5;
+	// Longitud + CRC; el tipo cuenta como parte de los datos
+	private static final int TAMANO_CABECERA_REGISTRO = 8;
+	private static final int LONGITUD_MAXIMA_REGISTRO = 64 * 1024;
+
+	private static final byte TIPO_GRUPO = 1;
+	private static final byte TIPO_ALUMNO = 2;
+	private static final byte TIPO_BAJA = 3;
+
+	/** Tamaño a partir del cual se plantea compactar el fichero. */
+	public static final long TAMANO_MINIMO_COMPACTACION = 1024 * 1024;
+
+	/**
+	 * Recibe los cambios del registro en el orden en que se escribieron al
+	 * abrirlo.
+	 */
+	public interface Oyente {
+
+		void grupo(int numeroGrupo, String nombreGrupo);
+
+		/** Alta o modificación de un alumno. */
+		void alumno(int nia, int numeroGrupo);
+
+		void baja(int nia);
+	}
+
+	private final Path fichero;
+	private final Path ficheroCompactacion;
+	private final boolean sincronizar;
+	private final long tamanoMinimoCompactacion;
+
+	// Las escrituras y el cambio de fichero al compactar usan el cerrojo de
+	// escritura; las lecturas, el de lectura
+	private final ReentrantReadWriteLock cerrojo = new ReentrantReadWriteLock();
+	private FileChannel canal;
+	private byte version;
+	private long tamano;
+	private long bytesVivos;
+	private MapaEnterosLargos alumnos = new MapaEnterosLargos();
+	private MapaEnterosLargos grupos = new MapaEnterosLargos();
+	private final ByteBuffer escritura = ByteBuffer.allocate(LONGITUD_MAXIMA_REGISTRO + TAMANO_CABECERA_REGISTRO);
+	private final CRC32C crc = new CRC32C();
+
+	private final ExecutorService hiloCompactacion;
+	private boolean compactando = false;
+	private boolean cerrado = false;
+	private long compactaciones = 0;
+	private long compactacionesFallidas = 0;
+
+	/**
+	 * @param fichero                  Fichero del registro. Se crea si no existe.
+	 * @param sincronizar              Forzar cada escritura al disco (fsync). Sin
+	 *                                 ello un corte de luz puede perder las últimas
+	 *                                 escrituras, pero nunca deja el registro
+	 *                                 inconsistente.
+	 * @param tamanoMinimoCompactacion Tamaño por debajo del cual no se compacta.
+	 */
+	public RegistroAlumnos(Path fichero, boolean sincronizar, long tamanoMinimoCompactacion) {
+		this.fichero = fichero;
+		this.ficheroCompactacion = fichero.resolveSibling(fichero.getFileName() + ".compactando");
+		this.sincronizar = sincronizar;
+		this.tamanoMinimoCompactacion = tamanoMinimoCompactacion;
+		this.hiloCompactacion = Executors.newSingleThreadExecutor(tarea -> {
+			Thread hilo = new Thread(tarea, "compactacion-" + fichero.getFileName());
+			hilo.setDaemon(true);
+			return hilo;
+		});
+	}
+
+	// APERTURA Y RECUPERACIÓN /////////////////////////////////////////////////
+
+	/**
+	 * Abre el registro (o lo crea) y reconstruye el índice, avisando al oyente de
+	 * cada registro válido.
+	 *
+	 * @throws IOException si no se puede leer o no es un registro de alumnos.
+	 */
+	public void abrir(Oyente oyente) throws IOException {
+		cerrojo.writeLock().lock();
+		try {
+			// Restos de una compactación que no terminó: el fichero original sigue
+			// siendo válido
+			Files.deleteIfExists(ficheroCompactacion);
+
+			canal = FileChannel.open(fichero, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+			if (canal.size() == 0) {
+				version = VERSION;
+				escribirCabecera(canal, version);
+				canal.force(true);
+			} else {
+				version = comprobarCabecera(canal);
+			}
+
+			alumnos.vaciar();
+			grupos.vaciar();
+			tamano = recorrer(canal, TAMANO_CABECERA_FICHERO, alumnos, grupos, oyente);
+			bytesVivos = calcularBytesVivos(alumnos, grupos);
+
+			if (tamano < canal.size()) {
+				loggerGeneral.warn("Registro '{}': se descartan {} bytes incompletos o dañados al final del fichero.",
+						fichero, canal.size() - tamano);
+				canal.truncate(tamano);
+				canal.force(true);
+			}
+			loggerGeneral.info("Registro '{}' abierto: {} alumnos, {} grupos, {} KiB ({} KiB vivos).", fichero,
+					alumnos.getTamano(), grupos.getTamano(), tamano / 1024, bytesVivos / 1024);
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	private static void escribirCabecera(FileChannel destino, byte version) throws IOException {
+		ByteBuffer cabecera = ByteBuffer.allocate(TAMANO_CABECERA_FICHERO).putInt(MAGICO).put(version).flip();
+		escribirCompleto(destino, cabecera, 0);
+	}
+
+	/**
+	 * @return la versión del fichero.
+	 */
+	private byte comprobarCabecera(FileChannel origen) throws IOException {
+		ByteBuffer cabecera = ByteBuffer.allocate(TAMANO_CABECERA_FICHERO);
+		leerCompleto(origen, cabecera, 0);
+		cabecera.flip();
+		int magico = cabecera.getInt();
+		byte versionFichero = cabecera.get();
+		if (magico != MAGICO || (versionFichero != VERSION && versionFichero != VERSION_FECHA_EN_MILIS)) {
+			throw new IOException("El fichero '" + fichero + "' no es un registro de alumnos.");
+		}
+		return versionFichero;
+	}
+
+	/**
+	 * Recorre los registros desde {@code desde} aplicando cada uno a los índices.
+	 *
+	 * @return la posición siguiente al último registro válido.
+	 */
+	private long recorrer(FileChannel origen, long desde, MapaEnterosLargos indiceAlumnos,
+			MapaEnterosLargos indiceGrupos, Oyente oyente) throws IOException {
+		ByteBuffer lectura = ByteBuffer.allocate(1024 * 1024);
+		lectura.flip();
+		long posicionLectura = desde;
+		long posicion = desde;
+		long fin = origen.size();
+
+		while (true) {
+			if (lectura.remaining() < TAMANO_CABECERA_REGISTRO + LONGITUD_MAXIMA_REGISTRO
+					&& posicionLectura < fin) {
+				lectura.compact();
+				int leidos = origen.read(lectura, posicionLectura);
+				posicionLectura += Math.max(leidos, 0);
+				lectura.flip();
+			}
+			if (lectura.remaining() < TAMANO_CABECERA_REGISTRO) {
+				return posicion;
+			}
+
+			int longitud = lectura.getInt(lectura.position());
+			int crcEsperado = lectura.getInt(lectura.position() + 4);
+			if (longitud < 1 || longitud > LONGITUD_MAXIMA_REGISTRO
+					|| lectura.remaining() < TAMANO_CABECERA_REGISTRO + longitud) {
+				return posicion;
+			}
+			crc.reset();
+			crc.update(lectura.array(), lectura.position() + TAMANO_CABECERA_REGISTRO, longitud);
+			if ((int) crc.getValue() != crcEsperado) {
+				return posicion;
+			}
+
+			ByteBuffer datos = lectura.slice(lectura.position() + TAMANO_CABECERA_REGISTRO, longitud);
+			aplicar(datos, posicion, TAMANO_CABECERA_REGISTRO + longitud, indiceAlumnos, indiceGrupos, oyente);
+			lectura.position(lectura.position() + TAMANO_CABECERA_REGISTRO + longitud);
+			posicion += TAMANO_CABECERA_REGISTRO + longitud;
+		}
+	}
+
+	private static void aplicar(ByteBuffer datos, long posicion, int longitud, MapaEnterosLargos indiceAlumnos,
+			MapaEnterosLargos indiceGrupos, Oyente oyente) throws IOException {
+		byte tipo = datos.get();
+		switch (tipo) {
+		case TIPO_GRUPO -> {
+			int numeroGrupo = datos.getInt();
+			indiceGrupos.guardar(numeroGrupo, empaquetar(posicion, longitud));
+			if (oyente != null) {
+				oyente.grupo(numeroGrupo, leerTexto(datos));
+			}
+		}
+		case TIPO_ALUMNO -> {
+			int nia = datos.getInt();
+			indiceAlumnos.guardar(nia, empaquetar(posicion, longitud));
+			if (oyente != null) {
+				// Los campos de texto van antes que el grupo
+				for (int i = 0; i < 2; i++) {
+					leerTexto(datos);
+				}
+				datos.getChar();
+				datos.getLong();
+				for (int i = 0; i < 2; i++) {
+					leerTexto(datos);
+				}
+				oyente.alumno(nia, datos.getInt());
+			}
+		}
+		case TIPO_BAJA -> {
+			int nia = datos.getInt();
+			indiceAlumnos.eliminar(nia);
+			if (oyente != null) {
+				oyente.baja(nia);
+			}
+		}
+		default -> throw new IOException("Tipo de registro desconocido en la posición " + posicion + ": " + tipo);
+		}
+	}
+
+	private static long calcularBytesVivos(MapaEnterosLargos indiceAlumnos, MapaEnterosLargos indiceGrupos) {
+		long[] total = { TAMANO_CABECERA_FICHERO };
+		MapaEnterosLargos.Accion sumar = (clave, valor) -> total[0] += longitud(valor);
+		indiceAlumnos.paraCada(sumar);
+		indiceGrupos.paraCada(sumar);
+		return total[0];
+	}
+
+	// Posición y longitud de un registro en un solo long: 44 bits para la
+	// posición (16 TiB) y 20 para la longitud
+	private static long empaquetar(long posicion, int longitud) {
+		return posicion << 20 | longitud;
+	}
+
+	private static long posicion(long empaquetado) {
+		return empaquetado >>> 20;
+	}
+
+	private static int longitud(long empaquetado) {
+		return (int) (empaquetado & 0xFFFFF);
+	}
+
+	// ESCRITURA ///////////////////////////////////////////////////////////////
+
+	/**
+	 * Añade (o sustituye) un grupo.
+	 */
+	public void guardarGrupo(Grupo grupo) throws IOException {
+		cerrojo.writeLock().lock();
+		try {
+			comprobarAbierto();
+			escritura.clear();
+			int inicio = empezarRegistro(TIPO_GRUPO);
+			escritura.putInt(grupo.getNumeroGrupo());
+			escribirTexto(grupo.getNombreGrupo());
+			terminarRegistro(inicio);
+
+			long posicion = volcar();
+			sustituir(grupos, grupo.getNumeroGrupo(), posicion, escritura.limit());
+			despuesDeEscribir();
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Añade un alta o modificación del alumno. El alumno debe tener NIA y su
+	 * grupo, número de grupo.
+	 */
+	public void guardarAlumno(Alumno alumno) throws IOException {
+		guardarAlumnos(List.of(alumno));
+	}
+
+	/**
+	 * Añade varios alumnos con una sola escritura (y un solo fsync). Si la
+	 * aplicación se corta a mitad, al abrir se conservan los alumnos completos.
+	 */
+	public void guardarAlumnos(Collection<Alumno> lote) throws IOException {
+		cerrojo.writeLock().lock();
+		try {
+			comprobarAbierto();
+			escritura.clear();
+			long posicion = tamano;
+			MapaEnterosLargos nuevos = new MapaEnterosLargos(lote.size());
+
+			try {
+				for (Alumno alumno : lote) {
+					if (escritura.remaining() < TAMANO_CABECERA_REGISTRO + LONGITUD_MAXIMA_REGISTRO) {
+						escritura.flip();
+						posicion += escribirCompleto(canal, escritura, posicion);
+						escritura.clear();
+					}
+					int inicio = empezarRegistro(TIPO_ALUMNO);
+					escritura.putInt(alumno.getNia());
+					escribirTexto(alumno.getNombre());
+					escribirTexto(alumno.getApellidos());
+					escritura.putChar(alumno.getGenero());
+					escritura.putLong(codificarFecha(alumno.getFechaNacimiento()));
+					escribirTexto(alumno.getCiclo());
+					escribirTexto(alumno.getCurso());
+					escritura.putInt(alumno.getGrupo().getNumeroGrupo());
+					terminarRegistro(inicio);
+					nuevos.guardar(alumno.getNia(), empaquetar(posicion + inicio, escritura.position() - inicio));
+				}
+				escritura.flip();
+				escribirCompleto(canal, escritura, posicion);
+			} catch (IOException | RuntimeException e) {
+				// Los trozos del lote ya escritos son registros válidos: si se quedaran
+				// en el fichero, al abrirlo se aplicarían alumnos que nunca se guardaron
+				descartarDesde(tamano, e);
+				throw e;
+			}
+			tamano = posicion + escritura.limit();
+			if (sincronizar) {
+				canal.force(false);
+			}
+
+			// El índice se actualiza cuando todo el lote está escrito
+			nuevos.paraCada((nia, valor) -> sustituir(alumnos, nia, posicion(valor), longitud(valor)));
+			despuesDeEscribir();
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Añade la baja del alumno.
+	 *
+	 * @return false si el alumno no existía (no se escribe nada).
+	 */
+	public boolean eliminarAlumno(int nia) throws IOException {
+		cerrojo.writeLock().lock();
+		try {
+			comprobarAbierto();
+			if (!alumnos.contiene(nia)) {
+				return false;
+			}
+			escritura.clear();
+			int inicio = empezarRegistro(TIPO_BAJA);
+			escritura.putInt(nia);
+			terminarRegistro(inicio);
+			volcar();
+
+			bytesVivos -= longitud(alumnos.eliminar(nia));
+			despuesDeEscribir();
+			return true;
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Trunca el fichero en {@code posicion} tras una escritura fallida. Un error
+	 * al truncar se añade a la excepción original.
+	 */
+	private void descartarDesde(long posicion, Exception causa) {
+		try {
+			canal.truncate(posicion);
+		} catch (IOException e) {
+			causa.addSuppressed(e);
+		}
+	}
+
+	private int empezarRegistro(byte tipo) {
+		int inicio = escritura.position();
+		escritura.position(inicio + TAMANO_CABECERA_REGISTRO);
+		escritura.put(tipo);
+		return inicio;
+	}
+
+	private void terminarRegistro(int inicio) throws IOException {
+		int longitud = escritura.position() - inicio - TAMANO_CABECERA_REGISTRO;
+		if (longitud > LONGITUD_MAXIMA_REGISTRO) {
+			throw new IOException("Registro demasiado grande: " + longitud + " bytes.");
+		}
+		crc.reset();
+		crc.update(escritura.array(), inicio + TAMANO_CABECERA_REGISTRO, longitud);
+		escritura.putInt(inicio, longitud);
+		escritura.putInt(inicio + 4, (int) crc.getValue());
+	}
+
+	private void escribirTexto(String texto) {
+		if (texto == null) {
+			escritura.putShort((short) -1);
+			return;
+		}
+		byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+		escritura.putShort((short) Math.min(bytes.length, Short.MAX_VALUE));
+		escritura.put(bytes, 0, Math.min(bytes.length, Short.MAX_VALUE));
+	}
+
+	private static String leerTexto(ByteBuffer datos) {
+		int longitud = datos.getShort();
+		if (longitud < 0) {
+			return null;
+		}
+		String texto = new String(datos.array(), datos.arrayOffset() + datos.position(), longitud,
+				StandardCharsets.UTF_8);
+		datos.position(datos.position() + longitud);
+		return texto;
+	}
+
+	/**
+	 * La fecha se guarda como días desde 1970-01-01 (Long.MIN_VALUE si no hay),
+	 * que no dependen de la zona horaria. Los ficheros de la versión 1 guardaban
+	 * los milisegundos de su medianoche en la zona del sistema, como cuando era
+	 * un Date, y se siguen escribiendo así para no mezclar formatos.
+	 */
+	private long codificarFecha(LocalDate fecha) {
+		if (fecha == null) {
+			return SIN_FECHA;
+		}
+		return version == VERSION_FECHA_EN_MILIS
+				? fecha.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli()
+				: fecha.toEpochDay();
+	}
+
+	private LocalDate decodificarFecha(long valor) {
+		if (valor == SIN_FECHA) {
+			return null;
+		}
+		return version == VERSION_FECHA_EN_MILIS
+				? Instant.ofEpochMilli(valor).atZone(ZoneId.systemDefault()).toLocalDate()
+				: LocalDate.ofEpochDay(valor);
+	}
+
+	/**
+	 * Escribe el único registro del buffer al final del fichero.
+	 *
+	 * @return la posición del registro.
+	 */
+	private long volcar() throws IOException {
+		escritura.flip();
+		long posicion = tamano;
+		escribirCompleto(canal, escritura, posicion);
+		tamano += escritura.limit();
+		if (sincronizar) {
+			canal.force(false);
+		}
+		return posicion;
+	}
+
+	private void sustituir(MapaEnterosLargos indice, int clave, long posicion, int longitud) {
+		long anterior = indice.guardar(clave, empaquetar(posicion, longitud));
+		if (anterior != MapaEnterosLargos.AUSENTE) {
+			bytesVivos -= longitud(anterior);
+		}
+		bytesVivos += longitud;
+	}
+
+	private void comprobarAbierto() throws IOException {
+		if (cerrado || canal == null) {
+			throw new IOException("El registro '" + fichero + "' no está abierto.");
+		}
+	}
+
+	private static int escribirCompleto(FileChannel destino, ByteBuffer datos, long posicion) throws IOException {
+		int escritos = 0;
+		while (datos.hasRemaining()) {
+			escritos += destino.write(datos, posicion + escritos);
+		}
+		return escritos;
+	}
+
+	private static void leerCompleto(FileChannel origen, ByteBuffer destino, long posicion) throws IOException {
+		long actual = posicion;
+		while (destino.hasRemaining()) {
+			int leidos = origen.read(destino, actual);
+			if (leidos < 0) {
+				throw new EOFException("Fin de fichero inesperado en la posición " + actual);
+			}
+			actual += leidos;
+		}
+	}
+
+	// LECTURA /////////////////////////////////////////////////////////////////
+
+	/**
+	 * Lee el último estado del alumno.
+	 *
+	 * @return el alumno, con un {@link Grupo} que solo tiene el número, o null si
+	 *         no existe.
+	 */
+	public Alumno leerAlumno(int nia) throws IOException {
+		cerrojo.readLock().lock();
+		try {
+			comprobarAbierto();
+			long entrada = alumnos.obtener(nia);
+			if (entrada == MapaEnterosLargos.AUSENTE) {
+				return null;
+			}
+			ByteBuffer registro = ByteBuffer.allocate(longitud(entrada));
+			leerCompleto(canal, registro, posicion(entrada));
+			registro.flip();
+
+			int longitud = registro.getInt();
+			int crcEsperado = registro.getInt();
+			comprobarCrc(registro.array(), TAMANO_CABECERA_REGISTRO, longitud, crcEsperado, posicion(entrada));
+
+			registro.get(); // tipo
+			Alumno alumno = new Alumno();
+			alumno.setNia(registro.getInt());
+			alumno.setNombre(leerTexto(registro));
+			alumno.setApellidos(leerTexto(registro));
+			alumno.setGenero(registro.getChar());
+			alumno.setFechaNacimiento(decodificarFecha(registro.getLong()));
+			alumno.setCiclo(leerTexto(registro));
+			alumno.setCurso(leerTexto(registro));
+			alumno.setGrupo(new Grupo(registro.getInt(), null));
+			return alumno;
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	private void comprobarCrc(byte[] datos, int desde, int longitud, int esperado, long posicion) throws IOException {
+		CRC32C comprobacion = new CRC32C();
+		comprobacion.update(datos, desde, longitud);
+		if ((int) comprobacion.getValue() != esperado) {
+			throw new IOException("Registro dañado en '" + fichero + "', posición " + posicion);
+		}
+	}
+
+	// COMPACTACIÓN ////////////////////////////////////////////////////////////
+
+	/**
+	 * Programa una compactación si los registros vivos ocupan menos de la mitad
+	 * del fichero. Se llama con el cerrojo de escritura.
+	 */
+	private void despuesDeEscribir() {
+		if (!compactando && tamano >= tamanoMinimoCompactacion && bytesVivos * 2 < tamano) {
+			compactando = true;
+			hiloCompactacion.execute(this::compactarEnSegundoPlano);
+		}
+	}
+
+	private void compactarEnSegundoPlano() {
+		try {
+			compactar();
+		} catch (IOException | RuntimeException e) {
+			// Se lee con el cerrojo de lectura en getCompactacionesFallidas
+			cerrojo.writeLock().lock();
+			compactacionesFallidas++;
+			cerrojo.writeLock().unlock();
+			loggerExcepciones.error("Error al compactar el registro '{}': {}", fichero, e.getMessage(), e);
+			try {
+				Files.deleteIfExists(ficheroCompactacion);
+			} catch (IOException e2) {
+				loggerExcepciones.error("No se pudo borrar '{}': {}", ficheroCompactacion, e2.getMessage());
+			}
+		} finally {
+			cerrojo.writeLock().lock();
+			compactando = false;
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Copia los registros vivos a un fichero nuevo y lo cambia por el actual. Solo
+	 * bloquea las escrituras al final, para copiar lo escrito mientras tanto y
+	 * cambiar de fichero.
+	 */
+	void compactar() throws IOException {
+		long inicio = System.nanoTime();
+		FileChannel origen;
+		long fin;
+		int[] nias;
+		int[] numerosGrupo;
+		MapaEnterosLargos copiaAlumnos = new MapaEnterosLargos();
+		MapaEnterosLargos copiaGrupos = new MapaEnterosLargos();
+
+		cerrojo.readLock().lock();
+		try {
+			comprobarAbierto();
+			origen = canal;
+			fin = tamano;
+			alumnos.paraCada(copiaAlumnos::guardar);
+			grupos.paraCada(copiaGrupos::guardar);
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+		nias = claves(copiaAlumnos);
+		numerosGrupo = claves(copiaGrupos);
+
+		MapaEnterosLargos nuevosAlumnos = new MapaEnterosLargos(copiaAlumnos.getTamano());
+		MapaEnterosLargos nuevosGrupos = new MapaEnterosLargos(copiaGrupos.getTamano());
+		long nuevoTamano;
+
+		// El cerrojo se adquiere dentro del try-with-resources (para copiar lo
+		// escrito mientras tanto) y se libera después de cambiar de fichero
+		boolean bloqueado = false;
+		try {
+			try (FileChannel destino = FileChannel.open(ficheroCompactacion, StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				// Los registros se copian tal cual, así que el fichero nuevo conserva la
+				// versión
+				escribirCabecera(destino, version);
+
+				// Grupos primero para que, al abrir, los alumnos encuentren su grupo.
+				// Los alumnos en orden de NIA: así las páginas se leen casi seguidas
+				nuevoTamano = copiarVivos(origen, destino, TAMANO_CABECERA_FICHERO, numerosGrupo, copiaGrupos,
+						nuevosGrupos);
+				nuevoTamano = copiarVivos(origen, destino, nuevoTamano, nias, copiaAlumnos, nuevosAlumnos);
+
+				cerrojo.writeLock().lock();
+				bloqueado = true;
+				comprobarAbierto();
+				// Lo escrito durante la copia se añade tal cual y se aplica a los índices
+				// nuevos
+				long pendientes = tamano - fin;
+				if (pendientes > 0) {
+					ByteBuffer cola = ByteBuffer.allocate((int) Math.min(pendientes, Integer.MAX_VALUE - 8));
+					leerCompleto(canal, cola, fin);
+					cola.flip();
+					escribirCompleto(destino, cola, nuevoTamano);
+					long finCola = recorrer(destino, nuevoTamano, nuevosAlumnos, nuevosGrupos, null);
+					if (finCola != nuevoTamano + pendientes) {
+						throw new IOException("La copia de los registros pendientes no coincide.");
+					}
+					nuevoTamano = finCola;
+				}
+				destino.force(true);
+			}
+
+			// En Windows no se puede sustituir un fichero abierto, así que se cierra
+			// antes de moverlo. Si el cambio falla, 'fichero' sigue siendo el original
+			// y se vuelve a abrir con los índices de siempre
+			canal.close();
+			try {
+				Files.move(ficheroCompactacion, fichero, StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				canal = FileChannel.open(fichero, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			}
+
+			long tamanoAnterior = tamano;
+			alumnos = nuevosAlumnos;
+			grupos = nuevosGrupos;
+			tamano = nuevoTamano;
+			bytesVivos = calcularBytesVivos(alumnos, grupos);
+			compactaciones++;
+			loggerGeneral.info("Registro '{}' compactado: {} KiB → {} KiB en {} ms.", fichero, tamanoAnterior / 1024,
+					tamano / 1024, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+		} finally {
+			if (bloqueado) {
+				cerrojo.writeLock().unlock();
+			}
+		}
+	}
+
+	private static int[] claves(MapaEnterosLargos indice) {
+		int[] claves = new int[indice.getTamano()];
+		int[] i = { 0 };
+		indice.paraCada((clave, valor) -> claves[i[0]++] = clave);
+		Arrays.sort(claves);
+		return claves;
+	}
+
+	/**
+	 * Copia los registros de las claves indicadas (en ese orden) a partir de
+	 * {@code posicion} en el destino.
+	 *
+	 * @return la posición siguiente al último registro copiado.
+	 */
+	private static long copiarVivos(FileChannel origen, FileChannel destino, long posicion, int[] orden,
+			MapaEnterosLargos indice, MapaEnterosLargos indiceNuevo) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(1024 * 1024);
+		long inicioBuffer = posicion;
+		for (int clave : orden) {
+			long entrada = indice.obtener(clave);
+			int longitud = longitud(entrada);
+			if (buffer.remaining() < longitud) {
+				buffer.flip();
+				inicioBuffer += escribirCompleto(destino, buffer, inicioBuffer);
+				buffer.clear();
+			}
+			indiceNuevo.guardar(clave, empaquetar(inicioBuffer + buffer.position(), longitud));
+			leerCompleto(origen, buffer.limit(buffer.position() + longitud), posicion(entrada));
+			buffer.limit(buffer.capacity());
+		}
+		buffer.flip();
+		return inicioBuffer + escribirCompleto(destino, buffer, inicioBuffer);
+	}
+
+	// ESTADO //////////////////////////////////////////////////////////////////
+
+	public long getTamanoBytes() {
+		cerrojo.readLock().lock();
+		try {
+			return tamano;
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	/** Bytes de los registros que siguen siendo el último estado de algo. */
+	public long getBytesVivos() {
+		cerrojo.readLock().lock();
+		try {
+			return bytesVivos;
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	public long getCompactaciones() {
+		cerrojo.readLock().lock();
+		try {
+			return compactaciones;
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	/** Compactaciones que han fallado (el fichero original no se modifica). */
+	public long getCompactacionesFallidas() {
+		cerrojo.readLock().lock();
+		try {
+			return compactacionesFallidas;
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	public Path getFichero() {
+		return fichero;
+	}
+
+	/**
+	 * Espera a que termine la compactación en curso y cierra el fichero.
+	 */
+	@Override
+	public void close() throws IOException {
+		hiloCompactacion.shutdown();
+		try {
+			hiloCompactacion.awaitTermination(1, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		cerrojo.writeLock().lock();
+		try {
+			if (!cerrado && canal != null) {
+				cerrado = true;
+				canal.force(true);
+				canal.close();
+			}
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public String toString() {
+		cerrojo.readLock().lock();
+		try {
+			return String.format("RegistroAlumnos[%s: alumnos=%d, grupos=%d, tamaño=%d KiB, vivos=%d KiB, compactaciones=%d]",
+					fichero, alumnos.getTamano(), grupos.getTamano(), tamano / 1024, bytesVivos / 1024,
+					compactaciones);
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+}
@@ -0,0 +1,145 @@
+package modelo;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Acceso a los datos de alumnos y grupos sin entrada/salida por consola: los
+ * métodos devuelven datos en lugar de imprimirlos y nunca leen de teclado, por
+ * lo que pueden usarse desde procesos por lotes o desde varios hilos a la vez.
+ * La vista de consola se construye encima de esta interfaz.
+ *
+ * Igual que el resto del modelo, los errores de acceso a datos se registran en
+ * el log y se devuelve un resultado vacío, salvo en las páginas de alumnos y en
+ * los Stream que las recorren, donde una lista vacía significa que no hay más
+ * alumnos: ahí el error se registra y se lanza {@link ExcepcionAccesoDatos}.
+ */
+public interface RepositorioAlumnos {
+
+	/** Alumnos que se piden en cada consulta al recorrer los Stream. */
+	int TAMANO_PAGINA_STREAM = 500;
+
+	/**
+	 * @param nia NIA del alumno.
+	 * @return el alumno con ese NIA, con su grupo, o vacío si no existe.
+	 */
+	Optional<Alumno> buscarPorNia(int nia);
+
+	/**
+	 * Devuelve una página de alumnos ordenada por NIA usando paginación por clave
+	 * (keyset): solo los alumnos con NIA mayor que {@code niaAnterior}.
+	 *
+	 * @param niaAnterior  NIA del último alumno de la página anterior (0 para la
+	 *                     primera página).
+	 * @param tamanoPagina Número máximo de alumnos de la página.
+	 * @return los alumnos de la página; una lista más corta que
+	 *         {@code tamanoPagina} indica que es la última.
+	 * @throws ExcepcionAccesoDatos si no se puede leer la página.
+	 */
+	List<Alumno> obtenerPaginaAlumnos(int niaAnterior, int tamanoPagina);
+
+	/**
+	 * Igual que {@link #obtenerPaginaAlumnos(int, int)} pero solo con los alumnos
+	 * del grupo indicado.
+	 *
+	 * @param nombreGrupo  Nombre del grupo.
+	 * @param niaAnterior  NIA del último alumno de la página anterior.
+	 * @param tamanoPagina Número máximo de alumnos de la página.
+	 * @return los alumnos de la página.
+	 * @throws ExcepcionAccesoDatos si no se puede leer la página.
+	 */
+	List<Alumno> obtenerPaginaAlumnosPorGrupo(String nombreGrupo, int niaAnterior, int tamanoPagina);
+
+	/**
+	 * @return todos los grupos, ordenados por nombre.
+	 */
+	List<Grupo> buscarGrupos();
+
+	/**
+	 * Inserta varios alumnos de una vez. El grupo de cada alumno se busca por su
+	 * nombre; los alumnos de grupos que no existen se ignoran. El NIA lo asigna la
+	 * base de datos.
+	 *
+	 * @param alumnos Alumnos a insertar.
+	 * @return el número de alumnos insertados.
+	 */
+	int guardarTodos(Collection<Alumno> alumnos);
+
+	/**
+	 * Igual que {@link #guardarTodos(Collection)} pero conservando el NIA de cada
+	 * alumno, para restaurar una copia. Los alumnos cuyo NIA ya existe también se
+	 * ignoran, así que repetir la misma restauración no duplica alumnos.
+	 *
+	 * @param alumnos Alumnos a insertar, con su NIA.
+	 * @return el número de alumnos insertados.
+	 */
+	int guardarTodosConNia(Collection<Alumno> alumnos);
+
+	/**
+	 * Recorre todos los alumnos ordenados por NIA. Las páginas se piden a medida
+	 * que se consume el Stream, por lo que no se carga la tabla completa. Si
+	 * falla una página, el Stream lanza {@link ExcepcionAccesoDatos} al llegar a
+	 * ella en lugar de terminar antes de tiempo.
+	 *
+	 * @return los alumnos ordenados por NIA.
+	 */
+	default Stream<Alumno> buscarTodos() {
+		return recorrerPaginas(niaAnterior -> obtenerPaginaAlumnos(niaAnterior, TAMANO_PAGINA_STREAM));
+	}
+
+	/**
+	 * Recorre los alumnos de un grupo ordenados por NIA, página a página.
+	 *
+	 * @param nombreGrupo Nombre del grupo.
+	 * @return los alumnos del grupo ordenados por NIA.
+	 */
+	default Stream<Alumno> buscarPorGrupo(String nombreGrupo) {
+		return recorrerPaginas(
+				niaAnterior -> obtenerPaginaAlumnosPorGrupo(nombreGrupo, niaAnterior, TAMANO_PAGINA_STREAM));
+	}
+
+	/**
+	 * Guarda una copia binaria de todos los grupos y alumnos (ver
+	 * {@link EscritorSnapshot}). Por defecto recorre {@link #buscarTodos()}; los
+	 * modelos que pueden leer todos los alumnos con un único cursor lo
+	 * sobrescriben.
+	 *
+	 * @param fichero Fichero de destino.
+	 * @return el número de alumnos guardados, o -1 si hay algún error.
+	 */
+	default long exportarSnapshot(Path fichero) {
+		return EscritorSnapshot.exportar(this, fichero);
+	}
+
+	/**
+	 * Cuenta los alumnos por grupo, por ciclo y curso, por género y por año de
+	 * nacimiento. Por defecto recorre {@link #buscarTodos()}; los modelos con base
+	 * de datos lo sobrescriben para agrupar en el servidor y recibir solo los
+	 * recuentos.
+	 *
+	 * @return las estadísticas, o vacío si hay algún error.
+	 */
+	default Optional<EstadisticasAlumnos> calcularEstadisticas() {
+		try {
+			return Optional.of(EstadisticasAlumnos.de(buscarTodos()));
+		} catch (ExcepcionAccesoDatos e) {
+			// La página que ha fallado ya está registrada en el log
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Une las páginas devueltas por {@code pagina} (a partir del NIA 0) en un único
+	 * Stream perezoso. Solo una página vacía o incompleta termina el recorrido; la
+	 * excepción de una página que falla se propaga a quien consume el Stream.
+	 */
+	private static Stream<Alumno> recorrerPaginas(IntFunction<List<Alumno>> pagina) {
+		return Stream.iterate(pagina.apply(0), p -> !p.isEmpty(),
+				p -> p.size() < TAMANO_PAGINA_STREAM ? List.of() : pagina.apply(p.get(p.size() - 1).getNia()))
+				.flatMap(List::stream);
+	}
+}
@@ -0,0 +1,179 @@
+package modelo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Flujo que comprime en gzip en paralelo, al estilo de pigz: los datos se
+ * dividen en bloques de {@link #TAMANO_BLOQUE} bytes y cada bloque se comprime
+ * como un miembro gzip independiente en un {@link ForkJoinPool}. Los miembros se
+ * escriben en el orden de los bloques, así que el resultado es un gzip estándar
+ * de varios miembros que lee cualquier descompresor (incluido
+ * {@link java.util.zip.GZIPInputStream}).
+ *
+ * Como mucho hay dos bloques por hilo del pool pendientes de escribir: si el
+ * destino es más lento que la compresión, {@code write} espera. Igual que en
+ * {@link GZIPOutputStream}, {@link #flush()} no fuerza la compresión del bloque
+ * a medias; el último bloque se escribe en {@link #close()}. No es seguro entre
+ * hilos.
+ */
+public class SalidaGzipParalela extends OutputStream {
+
+	/** Bytes sin comprimir de cada miembro gzip. */
+	static final int TAMANO_BLOQUE = 1024 * 1024;
+
+	private static final int TAMANO_BUFFER_GZIP = 64 * 1024;
+
+	private final OutputStream destino;
+	private final ForkJoinPool pool;
+	private final int tamanoBloque;
+	private final int nivel;
+	private final int maximoPendientes;
+
+	// Miembros comprimidos (o comprimiéndose) en el orden en que se escribirán
+	private final ArrayDeque<ForkJoinTask<byte[]>> pendientes = new ArrayDeque<>();
+
+	private byte[] bloque;
+	private int usado = 0;
+	private boolean algunBloque = false;
+	private boolean cerrado = false;
+
+	/**
+	 * Comprime con el nivel por defecto en el pool común.
+	 *
+	 * @param destino Flujo en el que se escribe el gzip; se cierra al cerrar este.
+	 */
+	public SalidaGzipParalela(OutputStream destino) {
+		this(destino, ForkJoinPool.commonPool(), TAMANO_BLOQUE, Deflater.DEFAULT_COMPRESSION);
+	}
+
+	/**
+	 * @param destino      Flujo en el que se escribe el gzip.
+	 * @param pool         Pool en el que se comprimen los bloques.
+	 * @param tamanoBloque Bytes sin comprimir de cada miembro gzip.
+	 * @param nivel        Nivel de compresión (0-9 o
+	 *                     {@link Deflater#DEFAULT_COMPRESSION}).
+	 */
+	public SalidaGzipParalela(OutputStream destino, ForkJoinPool pool, int tamanoBloque, int nivel) {
+		if (tamanoBloque <= 0) {
+			throw new IllegalArgumentException("El tamaño de bloque debe ser positivo: " + tamanoBloque);
+		}
+		this.destino = destino;
+		this.pool = pool;
+		this.tamanoBloque = tamanoBloque;
+		this.nivel = nivel;
+		this.maximoPendientes = Math.max(2, pool.getParallelism() * 2);
+		this.bloque = new byte[tamanoBloque];
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		comprobarAbierto();
+		bloque[usado++] = (byte) b;
+		if (usado == tamanoBloque) {
+			enviarBloque();
+		}
+	}
+
+	@Override
+	public void write(byte[] datos, int desde, int longitud) throws IOException {
+		comprobarAbierto();
+		while (longitud > 0) {
+			int copiados = Math.min(longitud, tamanoBloque - usado);
+			System.arraycopy(datos, desde, bloque, usado, copiados);
+			usado += copiados;
+			desde += copiados;
+			longitud -= copiados;
+			if (usado == tamanoBloque) {
+				enviarBloque();
+			}
+		}
+	}
+
+	/**
+	 * Escribe los miembros que ya estén comprimidos, sin esperar a los demás, y
+	 * vacía el destino.
+	 */
+	@Override
+	public void flush() throws IOException {
+		comprobarAbierto();
+		while (!pendientes.isEmpty() && pendientes.peek().isDone()) {
+			escribirPrimero();
+		}
+		destino.flush();
+	}
+
+	/**
+	 * Comprime el último bloque, espera a que terminen todos y cierra el destino.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (cerrado) {
+			return;
+		}
+		cerrado = true;
+		try (destino) {
+			// Sin datos también se escribe un miembro, para que sea un gzip válido
+			if (usado > 0 || !algunBloque) {
+				enviarBloque();
+			}
+			while (!pendientes.isEmpty()) {
+				escribirPrimero();
+			}
+		} finally {
+			pendientes.forEach(tarea -> tarea.cancel(false));
+			pendientes.clear();
+		}
+	}
+
+	private void enviarBloque() throws IOException {
+		byte[] datos = bloque;
+		int longitud = usado;
+		pendientes.add(pool.submit(() -> comprimir(datos, longitud, nivel)));
+		algunBloque = true;
+		bloque = new byte[tamanoBloque];
+		usado = 0;
+
+		while (pendientes.size() > maximoPendientes) {
+			escribirPrimero();
+		}
+	}
+
+	private void escribirPrimero() throws IOException {
+		byte[] miembro;
+		try {
+			miembro = pendientes.poll().join();
+		} catch (RuntimeException e) {
+			throw new IOException("Error al comprimir un bloque: " + e.getMessage(), e);
+		}
+		destino.write(miembro);
+	}
+
+	private void comprobarAbierto() throws IOException {
+		if (cerrado) {
+			throw new IOException("El flujo comprimido está cerrado.");
+		}
+	}
+
+	/**
+	 * @return el bloque comprimido como un miembro gzip completo (cabecera, datos
+	 *         y CRC).
+	 */
+	static byte[] comprimir(byte[] datos, int longitud, int nivel) throws IOException {
+		ByteArrayOutputStream miembro = new ByteArrayOutputStream(longitud / 3 + 64);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(miembro, TAMANO_BUFFER_GZIP) {
+			{
+				def.setLevel(nivel);
+			}
+		}) {
+			gzip.write(datos, 0, longitud);
+		}
+		return miembro.toByteArray();
+	}
+}
@@ -0,0 +1,217 @@
+package pool;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+/**
+ * Registro en memoria de las métricas del pool de HikariCP. Hikari lo llama
+ * (a través de {@link MetricsTrackerFactory}) cada vez que crea, entrega o
+ * recupera una conexión y cuando una petición agota el connectionTimeout. Las
+ * conexiones activas, inactivas y los hilos en espera se leen de las
+ * {@link PoolStats} del pool.
+ *
+ * Los contadores son {@link LongAdder} para no añadir contención en
+ * {@code getConnection()}.
+ */
+public class MetricasPool implements MetricsTrackerFactory, MetricasPoolMBean {
+
+	private static final Logger loggerGeneral = LogManager.getRootLogger();
+	private static final Logger loggerExcepciones = LogManager.getLogger("exceptions");
+
+	private final LongAdder conexionesCreadas = new LongAdder();
+
+	private final LongAdder conexionesObtenidas = new LongAdder();
+	private final LongAdder nanosEspera = new LongAdder();
+	private final LongAccumulator nanosEsperaMaxima = new LongAccumulator(Math::max, 0);
+
+	private final LongAdder usos = new LongAdder();
+	private final LongAdder milisUso = new LongAdder();
+	private final LongAccumulator milisUsoMaximo = new LongAccumulator(Math::max, 0);
+
+	private final LongAdder timeouts = new LongAdder();
+
+	private volatile String nombrePool = "";
+	private volatile PoolStats estadisticas;
+
+	/**
+	 * Hikari llama a este método al arrancar el pool.
+	 */
+	@Override
+	public IMetricsTracker create(String poolName, PoolStats poolStats) {
+		this.nombrePool = poolName;
+		this.estadisticas = poolStats;
+		registrarMBean();
+
+		return new IMetricsTracker() {
+			@Override
+			public void recordConnectionCreatedMillis(long milis) {
+				conexionesCreadas.increment();
+			}
+
+			@Override
+			public void recordConnectionAcquiredNanos(long nanos) {
+				conexionesObtenidas.increment();
+				nanosEspera.add(nanos);
+				nanosEsperaMaxima.accumulate(nanos);
+			}
+
+			@Override
+			public void recordConnectionUsageMillis(long milis) {
+				usos.increment();
+				milisUso.add(milis);
+				milisUsoMaximo.accumulate(milis);
+			}
+
+			@Override
+			public void recordConnectionTimeout() {
+				timeouts.increment();
+				loggerGeneral.warn("Pool '{}' saturado: timeout al pedir una conexión ({}).", nombrePool,
+						MetricasPool.this);
+			}
+
+			@Override
+			public void close() {
+				desregistrarMBean();
+			}
+		};
+	}
+
+	private ObjectName nombreMBean() throws JMException {
+		return new ObjectName("pool:type=MetricasPool,name=" + ObjectName.quote(nombrePool));
+	}
+
+	private void registrarMBean() {
+		try {
+			MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+			ObjectName nombre = nombreMBean();
+			if (!servidor.isRegistered(nombre)) {
+				servidor.registerMBean(this, nombre);
+			}
+		} catch (JMException e) {
+			loggerExcepciones.error("No se pudo registrar el MBean de métricas del pool: {}", e.getMessage(), e);
+		}
+	}
+
+	private void desregistrarMBean() {
+		try {
+			MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+			ObjectName nombre = nombreMBean();
+			if (servidor.isRegistered(nombre)) {
+				servidor.unregisterMBean(nombre);
+			}
+		} catch (JMException e) {
+			loggerExcepciones.error("No se pudo eliminar el MBean de métricas del pool: {}", e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public int getConexionesTotales() {
+		return estadisticas == null ? 0 : estadisticas.getTotalConnections();
+	}
+
+	@Override
+	public int getConexionesActivas() {
+		return estadisticas == null ? 0 : estadisticas.getActiveConnections();
+	}
+
+	@Override
+	public int getConexionesInactivas() {
+		return estadisticas == null ? 0 : estadisticas.getIdleConnections();
+	}
+
+	@Override
+	public int getHilosEsperando() {
+		return estadisticas == null ? 0 : estadisticas.getPendingThreads();
+	}
+
+	@Override
+	public long getConexionesCreadas() {
+		return conexionesCreadas.sum();
+	}
+
+	@Override
+	public long getConexionesObtenidas() {
+		return conexionesObtenidas.sum();
+	}
+
+	@Override
+	public double getEsperaMediaMilis() {
+		long obtenidas = conexionesObtenidas.sum();
+		return obtenidas == 0 ? 0 : nanosEspera.sum() / (double) obtenidas / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	@Override
+	public double getEsperaMaximaMilis() {
+		return nanosEsperaMaxima.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	@Override
+	public double getUsoMedioMilis() {
+		long n = usos.sum();
+		return n == 0 ? 0 : milisUso.sum() / (double) n;
+	}
+
+	@Override
+	public long getUsoMaximoMilis() {
+		return milisUsoMaximo.get();
+	}
+
+	@Override
+	public long getTimeouts() {
+		return timeouts.sum();
+	}
+
+	@Override
+	public int getMaximumPoolSize() {
+		return PoolConexiones.getConfiguracion().getMaximumPoolSize();
+	}
+
+	@Override
+	public void setMaximumPoolSize(int maximumPoolSize) {
+		PoolConexiones.redimensionar(maximumPoolSize, Math.min(getMinimumIdle(), maximumPoolSize));
+	}
+
+	@Override
+	public int getMinimumIdle() {
+		return PoolConexiones.getConfiguracion().getMinimumIdle();
+	}
+
+	@Override
+	public void setMinimumIdle(int minimumIdle) {
+		PoolConexiones.redimensionar(getMaximumPoolSize(), minimumIdle);
+	}
+
+	@Override
+	public void reiniciar() {
+		conexionesCreadas.reset();
+		conexionesObtenidas.reset();
+		nanosEspera.reset();
+		nanosEsperaMaxima.reset();
+		usos.reset();
+		milisUso.reset();
+		milisUsoMaximo.reset();
+		timeouts.reset();
+	}
+
+	@Override
+	public String toString() {
+		return String.format(
+				"MetricasPool[%s: conexiones=%d (activas=%d, inactivas=%d, hilos esperando=%d), creadas=%d, obtenidas=%d, espera media=%.3f ms, espera máxima=%.3f ms, uso medio=%.1f ms, uso máximo=%d ms, timeouts=%d]",
+				nombrePool, getConexionesTotales(), getConexionesActivas(), getConexionesInactivas(),
+				getHilosEsperando(), getConexionesCreadas(), getConexionesObtenidas(), getEsperaMediaMilis(),
+				getEsperaMaximaMilis(), getUsoMedioMilis(), getUsoMaximoMilis(), getTimeouts());
+	}
+}
@@ -0,0 +1,44 @@
+package pool;
+
+/**
+ * Interfaz JMX de {@link MetricasPool}. Se registra como
+ * {@code pool:type=MetricasPool,name=<nombre del pool>} y puede consultarse con
+ * JConsole o VisualVM.
+ */
+public interface MetricasPoolMBean {
+
+	int getConexionesTotales();
+
+	int getConexionesActivas();
+
+	int getConexionesInactivas();
+
+	int getHilosEsperando();
+
+	long getConexionesCreadas();
+
+	long getConexionesObtenidas();
+
+	double getEsperaMediaMilis();
+
+	double getEsperaMaximaMilis();
+
+	double getUsoMedioMilis();
+
+	long getUsoMaximoMilis();
+
+	long getTimeouts();
+
+	int getMaximumPoolSize();
+
+	/** Cambia el tamaño máximo del pool sin reiniciar la aplicación. */
+	void setMaximumPoolSize(int maximumPoolSize);
+
+	int getMinimumIdle();
+
+	/** Cambia el mínimo de conexiones inactivas sin reiniciar la aplicación. */
+	void setMinimumIdle(int minimumIdle);
+
+	/** Pone a cero los contadores de tiempos y timeouts. */
+	void reiniciar();
+}
@@ -1,62 +1,141 @@
-package pool;
-
-import com.zaxxer.hikari.HikariConfig;
-import com.zaxxer.hikari.HikariDataSource;
-
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.sql.Connection;
-import java.util.Properties;
-
-public class PoolConexiones {
-
-	private static HikariDataSource dataSource;
-
-	static {
-		try {
-			// Carga las propiedades desde el archivo
-			Properties properties = new Properties();
-
-			try (FileInputStream fis = new FileInputStream("src\\main\\resources\\db.properties")) {
-				properties.load(fis);
-			}
-
-			// Configura HikariCP con las propiedades
-			HikariConfig config = new HikariConfig();
-			config.setJdbcUrl(properties.getProperty("db.url"));
-			config.setUsername(properties.getProperty("db.user"));
-			config.setPassword(properties.getProperty("db.password"));
-			config.setMaximumPoolSize(Integer.parseInt(properties.getProperty("db.maximumPoolSize")));
-			config.setMinimumIdle(Integer.parseInt(properties.getProperty("db.minimumIdle")));
-			config.setConnectionTimeout(Long.parseLong(properties.getProperty("db.connectionTimeout")));
-			config.setIdleTimeout(Long.parseLong(properties.getProperty("db.idleTimeout")));
-			config.setMaxLifetime(Long.parseLong(properties.getProperty("db.maxLifetime")));
-
-			// Inicializa el pool de conexiones
-			dataSource = new HikariDataSource(config);
-
-		} catch (IOException | NumberFormatException e) {
-			e.printStackTrace();
-			throw new RuntimeException("Error al configurar el pool de conexiones", e);
-		}
-	}
-
-	/**
-	 * Obtiene una conexión desde el pool.
-	 *
-	 * @return Connection
-	 * @throws SQLException si ocurre un error al obtener la conexión.
-	 */
-	public static Connection getConnection() throws java.sql.SQLException {
-		return dataSource.getConnection();
-	}
-
-	/**
-	 * Cierra el pool de conexiones.
-	 */
-	public static void cerrarPool() {
-		if (dataSource != null && !dataSource.isClosed()) {
-			dataSource.close();
-		}
-	}
-}
+package pool;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.util.Properties;
+
+import org.apache.logging.log4j.LogManager;
+
+public class PoolConexiones {
+
+	private static HikariDataSource dataSource;
+	private static final Properties properties = new Properties();
+	private static final MetricasPool metricas = new MetricasPool();
+
+	static {
+		try {
+			// Carga las propiedades desde el archivo (la propiedad de sistema
+			// db.propiedades permite usar otro, por ejemplo en las pruebas de rendimiento)
+
+			try (FileInputStream fis = new FileInputStream(
+					System.getProperty("db.propiedades", "src\\main\\resources\\db.properties"))) {
+				properties.load(fis);
+			}
+
+			// Configura HikariCP con las propiedades
+			HikariConfig config = new HikariConfig();
+			config.setPoolName(getPropiedad("db.poolName", "PoolAlumnos"));
+			config.setJdbcUrl(properties.getProperty("db.url"));
+			config.setUsername(properties.getProperty("db.user"));
+			config.setPassword(properties.getProperty("db.password"));
+			config.setMaximumPoolSize(Integer.parseInt(properties.getProperty("db.maximumPoolSize")));
+			config.setMinimumIdle(Integer.parseInt(properties.getProperty("db.minimumIdle")));
+			config.setConnectionTimeout(Long.parseLong(properties.getProperty("db.connectionTimeout")));
+			config.setIdleTimeout(Long.parseLong(properties.getProperty("db.idleTimeout")));
+			config.setMaxLifetime(Long.parseLong(properties.getProperty("db.maxLifetime")));
+
+			// Necesario para LOAD DATA LOCAL INFILE (modo de importación LOAD_DATA). Solo
+			// se pasa si está activo: el driver de MySQL ya lo desactiva por defecto y
+			// otros drivers rechazan propiedades que no conocen
+			if (isLoadLocalInfilePermitido()) {
+				config.addDataSourceProperty("allowLoadLocalInfile", "true");
+			}
+
+			// Métricas propias (MetricasPool) y MBeans de Hikari para JMX
+			config.setMetricsTrackerFactory(metricas);
+			config.setRegisterMbeans(true);
+
+			// Inicializa el pool de conexiones
+			dataSource = new HikariDataSource(config);
+
+		} catch (IOException | NumberFormatException e) {
+			e.printStackTrace();
+			throw new RuntimeException("Error al configurar el pool de conexiones", e);
+		}
+	}
+
+	/**
+	 * Obtiene una conexión desde el pool.
+	 *
+	 * @return Connection
+	 * @throws SQLException si ocurre un error al obtener la conexión.
+	 */
+	public static Connection getConnection() throws java.sql.SQLException {
+		return dataSource.getConnection();
+	}
+
+	/**
+	 * Devuelve una propiedad de db.properties, o el valor por defecto si no está
+	 * definida.
+	 *
+	 * @param clave          Nombre de la propiedad.
+	 * @param valorPorDefecto Valor devuelto si la propiedad no existe.
+	 * @return el valor de la propiedad sin espacios al principio ni al final.
+	 */
+	public static String getPropiedad(String clave, String valorPorDefecto) {
+		return properties.getProperty(clave, valorPorDefecto).trim();
+	}
+
+	/**
+	 * @return las métricas del pool (conexiones, esperas, timeouts).
+	 */
+	public static MetricasPool getMetricas() {
+		return metricas;
+	}
+
+	/**
+	 * @return la configuración del pool que puede cambiarse en caliente.
+	 */
+	public static HikariConfigMXBean getConfiguracion() {
+		return dataSource.getHikariConfigMXBean();
+	}
+
+	/**
+	 * Cambia el tamaño del pool sin reiniciar la aplicación. Hikari crea o cierra
+	 * conexiones en segundo plano hasta ajustarse a los nuevos valores.
+	 *
+	 * @param maximumPoolSize Número máximo de conexiones (al menos 1).
+	 * @param minimumIdle     Mínimo de conexiones inactivas (entre 0 y
+	 *                        maximumPoolSize).
+	 * @throws IllegalArgumentException si los valores no son válidos.
+	 */
+	public static synchronized void redimensionar(int maximumPoolSize, int minimumIdle) {
+		if (maximumPoolSize < 1 || minimumIdle < 0 || minimumIdle > maximumPoolSize) {
+			throw new IllegalArgumentException("Tamaño de pool no válido: maximumPoolSize=" + maximumPoolSize
+					+ ", minimumIdle=" + minimumIdle);
+		}
+
+		HikariConfigMXBean configuracion = getConfiguracion();
+		// Hikari ajusta minimumIdle al máximo: se aplica primero el valor que no lo recorta
+		if (maximumPoolSize < configuracion.getMaximumPoolSize()) {
+			configuracion.setMinimumIdle(minimumIdle);
+			configuracion.setMaximumPoolSize(maximumPoolSize);
+		} else {
+			configuracion.setMaximumPoolSize(maximumPoolSize);
+			configuracion.setMinimumIdle(minimumIdle);
+		}
+		LogManager.getRootLogger().info("Pool redimensionado: maximumPoolSize={}, minimumIdle={}.", maximumPoolSize,
+				minimumIdle);
+	}
+
+	/**
+	 * @return true si db.properties habilita LOAD DATA LOCAL INFILE en el driver.
+	 */
+	public static boolean isLoadLocalInfilePermitido() {
+		return Boolean.parseBoolean(getPropiedad("db.allowLoadLocalInfile", "false"));
+	}
+
+	/**
+	 * Cierra el pool de conexiones.
+	 */
+	public static void cerrarPool() {
+		if (dataSource != null && !dataSource.isClosed()) {
+			dataSource.close();
+		}
+	}
+}
@@ -1,429 +1,799 @@
-package vista;
-
-import java.io.File;
-import java.util.InputMismatchException;
-import java.util.Scanner;
-
-import modelo.Alumno;
-import modelo.AlumnosDAO;
-import modelo.AlumnosHibernate;
-import modelo.AlumnosMongoDB;
-import modelo.BaseDatos;
-import modelo.Grupo;
-
-public class VistaConsola implements IVista {
-
-	private final Scanner sc = new Scanner(System.in);
-
-	private AlumnosDAO modelo;
-	
-	/**
-	 * Permite al usuario seleccionar el modelo de base de datos con el que desea trabajar.
-	 * 
-	 * @return el modelo AlumnosDAO correspondiente (MySQL, Oracle o MongoDB).
-	 */
-
-	public AlumnosDAO elegirModelo() {
-		seleccionarBaseDatos();
-		return modelo;
-	}
-
-	private void seleccionarBaseDatos() {
-		System.out.println("""
-				---- Selección de Base de Datos ----
-				1. MySQL (Hibernate)
-				2. Oracle (Hibernate)
-				3. MongoDB
-				-----------------------------------
-				""");
-
-		int opcion;
-		do {
-			System.out.print("Selecciona la base de datos con la que deseas trabajar: ");
-			try {
-				opcion = sc.nextInt();
-				sc.nextLine(); // Limpiar buffer
-
-				switch (opcion) {
-				case 1 -> {
-					System.out.println("✅ Conectando a MySQL...");
-					AlumnosHibernate.setBaseDatos(BaseDatos.MYSQL);
-					modelo = new AlumnosHibernate();
-				}
-				case 2 -> {
-					System.out.println("✅ Conectando a Oracle...");
-					AlumnosHibernate.setBaseDatos(BaseDatos.ORACLE);
-					modelo = new AlumnosHibernate();
-				}
-				case 3 -> {
-					System.out.println("✅ Conectando a MongoDB...");
-					modelo = new AlumnosMongoDB();
-					System.out.println("🌿 Base de datos activa: MongoDB.");
-				}
-				default -> System.out.println("❌ Opción no válida. Intenta de nuevo.");
-				}
-			} catch (InputMismatchException e) {
-				System.out.println("❌ Entrada no válida. Introduce un número.");
-				sc.nextLine();
-				opcion = -1;
-			}
-		} while (modelo == null);
-	}
-
-	public void mostrarMenu(AlumnosDAO modelo) {
-		int opcion;
-		do {
-			imprimirMenu();
-			System.out.print("Selecciona una opción: ");
-			try {
-				opcion = sc.nextInt();
-				sc.nextLine(); // Limpiar buffer
-				gestionarOpcion(opcion, modelo);
-			} catch (InputMismatchException e) {
-				System.out.println("Entrada no válida. Por favor, introduce un número.");
-				sc.nextLine(); // Limpiar buffer en caso de error
-				opcion = -1; // Reiniciar opción para evitar salir del bucle
-			}
-		} while (opcion != 0);
-	}
-
-	private void imprimirMenu() {
-
-		String textoMenu = """
-				---- Menú Principal -------------------------------------------
-				1. Insertar nuevo alumno.
-				2. Insertar nuevo grupo.
-				3. Mostrar todos los alumnos.
-				4. Guardar todos los alumnos en un fichero de texto.
-				5. Leer alumnos de un fichero de texto y guardarlos en la BD.
-				6. Modificar el nombre de un alumno por su NIA.
-				7. Eliminar un alumno a partir de su NIA.
-				8. Eliminar los alumnos del grupo indicado.
-				9. Guardar grupos y alumnos en un archivo XML.
-				10. Leer un archivo XML de grupos y guardar los datos en la BD.
-				11. Mostrar todos los alumnos del grupo elegido.
-				12. Mostrar todos los datos de un alumno por su NIA.
-				13. Cambiar de grupo al alumno que elija el usuario.
-				14. Guardar el grupo que elija el usuario en un fichero XML.
-				0. Salir.
-				---------------------------------------------------------------
-				""";
-
-		System.out.println(textoMenu);
-	}
-
-	/**
-	 * Gestiona la opción seleccionada por el usuario y llama al método
-	 * correspondiente.
-	 * 
-	 * @param opcion Opción seleccionada por el usuario.
-	 * @param modelo Modelo de datos de alumnos y grupos.
-	 */
-	private void gestionarOpcion(int opcion, AlumnosDAO modelo) {
-		switch (opcion) {
-
-		case 1 -> insertarNuevoAlumno(modelo);
-		case 2 -> insertarNuevoGrupo(modelo);
-		case 3 -> mostrarTodosLosAlumnos(modelo, true); // Mostrará toda la información de todos los alumnos
-		case 4 -> guardarAlumnosEnFicheroTexto(modelo);
-		case 5 -> leerAlumnosDesdeFichero(modelo);
-		case 6 -> modificarNombreAlumnoPorNia(modelo);
-		case 7 -> eliminarAlumnoPorNIA(modelo);
-		case 8 -> eliminarAlumnosPorGrupo(modelo);
-		case 9 -> guardarGruposEnXML(modelo);
-		case 10 -> leerYGuardarGruposXML(modelo);
-		case 11 -> mostrarAlumnosPorGrupo(modelo);
-		case 12 -> mostrarTodosLosAlumnos(modelo, false); // Muestra, 1º, el nia y el nombre de todos los alumnos
-		case 13 -> cambiarGrupoAlumno(modelo);
-		case 14 -> guardarGrupoEspecificoEnXML(modelo);
-		case 0 -> System.out.println("Finalizando del programa...");
-		default -> System.out.println("Opción no válida. Intenténtelo de nuevo.");
-		}
-	}
-
-	/**
-	 * Inserta un nuevo alumno solicitando los datos al usuario y almacenándolos en
-	 * la base de datos.
-	 * 
-	 * @param modelo el objeto DAO para gestionar las operaciones de alumnos.
-	 */
-
-	public void insertarNuevoAlumno(AlumnosDAO modelo) {
-		try {
-			Alumno alumno = modelo.solicitarDatosAlumno();
-			if (alumno == null) {
-				System.out.println("❌ Error: El objeto Alumno es null.");
-				return;
-			}
-			if (modelo.insertarAlumno(alumno)) {
-				System.out.println("✅ Alumno insertado correctamente.");
-			} else {
-				System.out.println("❌ Error al insertar el alumno.");
-			}
-		} catch (Exception e) {
-			System.out.println("❌ Ocurrió un error al insertar el alumno: " + e.getMessage());
-			e.printStackTrace();
-		}
-	}
-
-	/**
-	 * Inserta un nuevo grupo solicitando los datos al usuario y almacenándolos en
-	 * la base de datos.
-	 *
-	 * @param modelo el DAO que permite interactuar con la base de datos.
-	 */
-
-	public void insertarNuevoGrupo(AlumnosDAO modelo) {
-		String nombreGrupo;
-
-		// Solicitar al usuario el nombre del nuevo grupo con validación
-		while (true) {
-			System.out.println("Introduce el nombre del nuevo grupo (una letra):");
-			nombreGrupo = sc.nextLine().toUpperCase().trim();
-
-			// Validamos que el nombre sea solo una letra
-			if (nombreGrupo.length() == 1 && nombreGrupo.matches("[A-Za-z]")) {
-				break; // Salimos del bucle si la validación es exitosa
-			} else {
-				System.out.println("El nombre del grupo debe ser una sola letra.");
-			}
-		}
-
-		// Crear objeto Grupo
-		Grupo grupo = new Grupo(nombreGrupo);
-
-		// Llamamos al método del DAO para insertar el grupo
-		if (modelo.insertarGrupo(grupo)) {
-			System.out.println("Grupo insertado correctamente.");
-		} else {
-			System.out.println("Error al insertar el grupo.");
-		}
-	}
-
-	/**
-	 * Muestra todos los alumnos en la BD
-	 * 
-	 * @param modelo                    el DAO que permite interactuar con la base
-	 *                                  de datos.
-	 * @param mostrarTodaLaInformación.
-	 */
-
-	public void mostrarTodosLosAlumnos(AlumnosDAO modelo, boolean mostrarTodaLaInformación) {
-		try {
-			if (modelo.mostrarTodosLosAlumnos(mostrarTodaLaInformación)) {
-				System.out.println("✅ Los alumnos se han mostrado correctamente.");
-			} else {
-				System.out.println("❌ No se pudieron mostrar los alumnos.");
-			}
-		} catch (Exception e) {
-			System.out.println("❌ Ocurrió un error al mostrar los alumnos: " + e.getMessage());
-		}
-	}
-
-	/**
-	 * Permite guardar todos los alumnos en un archivo de texto. Recupera la
-	 * información de los alumnos de la base de datos y la guarda en un archivo
-	 * llamado "alumnos.txt". La información incluye: nombre, apellidos, género,
-	 * fecha de nacimiento, ciclo, curso y nombre del grupo.
-	 */
-
-	public void guardarAlumnosEnFicheroTexto(AlumnosDAO modelo) {
-		try {
-			modelo.guardarAlumnosEnFicheroTexto();
-			System.out.println("✅ Alumnos guardados correctamente en el archivo de texto.");
-		} catch (Exception e) {
-			System.out.println("❌ Ocurrió un error al guardar los alumnos en el archivo de texto: " + e.getMessage());
-		}
-	}
-
-	/**
-	 * Permite leer alumnos desde el fichero fijo "alumnos.txt" y guardarlos en la
-	 * base de datos.
-	 */
-	public void leerAlumnosDesdeFichero(AlumnosDAO modelo) {
-		try {
-			if (modelo.leerAlumnosDeFicheroTexto()) {
-				System.out.println("✅ Alumnos leídos e insertados correctamente desde el fichero 'alumnos.txt'.");
-			} else {
-				System.out.println("❌ Ocurrió un error al procesar el fichero.");
-			}
-		} catch (Exception e) {
-			System.out.println("❌ Error al leer los alumnos desde el fichero: " + e.getMessage());
-		}
-	}
-
-	/**
-	 * Permite eliminar un alumno de la base de datos a partir de su NIA (PK).
-	 */
-	public void eliminarAlumnoPorNIA(AlumnosDAO modelo) {
-		try {
-			// Solicitar NIA al usuario
-			System.out.println("Introduce el NIA del alumno a eliminar:");
-			int nia = sc.nextInt();
-			sc.nextLine(); // Limpiar buffer
-
-			// Llamar directamente al DAO sin abrir la conexión
-			if (modelo.eliminarAlumnoPorNIA(nia)) {
-				System.out.println("✅ Alumno eliminado correctamente.");
-			} else {
-				System.out.println("❌ No se encontró un alumno con el NIA proporcionado.");
-			}
-		} catch (Exception e) {
-			System.out.println("❌ Ocurrió un error al intentar eliminar el alumno: " + e.getMessage());
-		}
-	}
-
-	/**
-	 * Permite modificar el nombre de un alumno solicitando su NIA y el nuevo
-	 * nombre.
-	 */
-	public void modificarNombreAlumnoPorNia(AlumnosDAO modelo) {
-		try {
-			// Solicitar al usuario el NIA del alumno
-			System.out.print("Introduce el NIA del alumno cuyo nombre quieres modificar: ");
-			int nia = sc.nextInt();
-			sc.nextLine(); // Limpiar buffer
-
-			// Solicitar el nuevo nombre del alumno
-			System.out.print("Introduce el nuevo nombre para el alumno: ");
-			String nuevoNombre = sc.nextLine().trim().toUpperCase();
-
-			// Validar que el nombre no esté vacío
-			if (nuevoNombre.isEmpty()) {
-				System.out.println("❌ El nombre no puede estar vacío.");
-				return;
-			}
-
-			// Llamar directamente al modelo sin gestionar la conexión aquí
-			if (modelo.modificarNombreAlumnoPorNIA(nia, nuevoNombre)) {
-				System.out.println("✅ Nombre del alumno modificado correctamente.");
-			} else {
-				System.out.println("⚠ No se pudo modificar el nombre del alumno. Verifica el NIA.");
-			}
-		} catch (Exception e) {
-			System.out.println("❌ Ocurrió un error al modificar el nombre del alumno: " + e.getMessage());
-		}
-	}
-
-	/**
-	 * Elimina los alumnos del grupo indicado por el usuario. Muestra previamente
-	 * los grupos existentes y permite al usuario seleccionar uno. Luego elimina a
-	 * todos los alumnos que pertenezcan al grupo seleccionado.
-	 */
-	public void eliminarAlumnosPorGrupo(AlumnosDAO modelo) {
-		try {
-			// Mostramos los grupos disponibles
-			System.out.println("Grupos disponibles:");
-			if (!modelo.mostrarTodosLosGrupos()) { // ✅ Usa el modelo en lugar de `AlumnosBD`
-				System.out.println("No hay grupos registrados.");
-				return;
-			}
-
-			// Pedimos al usuario el nombre del grupo a eliminar
-			System.out.println("Introduce el nombre del grupo cuyos alumnos deseas eliminar:");
-			String nombreGrupo = sc.nextLine().toUpperCase().trim();
-
-			// Confirmamos la operación con el usuario
-			System.out.println(
-					"¿Estás seguro de que deseas eliminar todos los alumnos del grupo " + nombreGrupo + "? (S/N)");
-			String confirmacion = sc.nextLine().toUpperCase().trim();
-
-			if (!confirmacion.equals("S")) {
-				System.out.println("Operación cancelada por el usuario.");
-				return;
-			}
-
-			// Llamamos al método del modelo para eliminar los alumnos
-			if (modelo.eliminarAlumnosPorGrupo(nombreGrupo)) {
-				System.out.println("✅ Alumnos del grupo " + nombreGrupo + " eliminados correctamente.");
-			} else {
-				System.out.println("❌ No se pudieron eliminar los alumnos. Verifica el nombre del grupo.");
-			}
-		} catch (Exception e) {
-			System.out.println("❌ Ocurrió un error al eliminar alumnos por grupo: " + e.getMessage());
-		}
-	}
-
-	/**
-	 * Método que se encarga de guardar los grupos y sus alumnos en un archivo XML.
-	 */
-	public void guardarGruposEnXML(AlumnosDAO modelo) {
-		try {
-			if (modelo.guardarGruposEnXML()) {
-				System.out.println("✅ Archivo XML guardado correctamente.");
-			} else {
-				System.out.println("❌ Error al guardar el archivo XML.");
-			}
-		} catch (Exception e) {
-			System.out.println("❌ Ocurrió un error al guardar los grupos en XML: " + e.getMessage());
-		}
-	}
-
-	/**
-	 * Lee el archivo XML de grupos (grupos.xml) y guarda los datos en la base de
-	 * datos MySQL. Si ocurre un error durante el proceso, se captura la excepción y
-	 * se muestra un mensaje de error.
-	 */
-	public void leerYGuardarGruposXML(AlumnosDAO modelo) {
-		// Ruta fija del archivo XML de grupos
-		String rutaArchivo = "grupos.xml";
-
-		// Verificamos si el archivo existe
-		File archivoXML = new File(rutaArchivo);
-		if (!archivoXML.exists()) {
-			System.out.println("❌ El archivo XML no existe en la ruta especificada: " + rutaArchivo);
-			return; // Salimos del método si el archivo no existe
-		}
-
-		// Llamamos directamente al método del modelo sin manejar conexiones
-		if (modelo.leerYGuardarGruposXML(rutaArchivo)) {
-			System.out.println("✅ Archivo XML leído correctamente y datos guardados en la base de datos.");
-		} else {
-			System.out.println("❌ Error al procesar el archivo XML.");
-		}
-	}
-
-	/**
-	 * Muestra los alumnos del grupo seleccionado por el usuario.
-	 *
-	 * @param modelo Objeto que implementa la interfaz AlumnosDAO para realizar
-	 *               operaciones con la base de datos.
-	 */
-	public void mostrarAlumnosPorGrupo(AlumnosDAO modelo) {
-		modelo.mostrarAlumnosPorGrupo();
-	}
-
-	/**
-	 * Cambia de grupo al alumno seleccionado por el usuario.
-	 * 
-	 * @param modelo Objeto DAO para la gestión de alumnos y grupos.
-	 */
-	public void cambiarGrupoAlumno(AlumnosDAO modelo) {
-		try {
-			modelo.cambiarGrupoAlumno(); // ✅ Solo ejecuta la acción sin mostrar mensajes adicionales.
-		} catch (Exception e) {
-			System.out.println("❌ Se produjo un error al intentar cambiar al alumno de grupo. Revisa los logs.");
-		}
-	}
-
-	/**
-	 * Guarda un grupo específico con toda su información (incluyendo los alumnos)
-	 * en un archivo XML.
-	 * 
-	 * @param modelo Objeto DAO para la gestión de alumnos y grupos.
-	 */
-
-	public void guardarGrupoEspecificoEnXML(AlumnosDAO modelo) {
-		try {
-			if (modelo.guardarGrupoEspecificoEnXML()) {
-				System.out.println("✅ El grupo se ha guardado correctamente en un archivo XML.");
-			} else {
-				System.out.println("❌ No se pudo guardar el grupo en XML.");
-			}
-		} catch (Exception e) {
-			System.out.println("❌ Se produjo un error al guardar el grupo en XML. Revisa los logs.");
-			e.printStackTrace();
-		}
-	}
-
+package vista;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.InputMismatchException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Scanner;
+import java.util.stream.Stream;
+
+import modelo.Alumno;
+import modelo.AlumnosBD;
+import modelo.AlumnosDAO;
+import modelo.AlumnosDAOCacheado;
+import modelo.AlumnosDAOInstrumentado;
+import modelo.AlumnosHibernate;
+import modelo.AlumnosMongoDB;
+import modelo.BaseDatos;
+import modelo.CacheAlumnos;
+import modelo.CacheGrupos;
+import modelo.EstadisticasAlumnos;
+import modelo.Fechas;
+import modelo.FicherosComprimidos;
+import modelo.Grupo;
+import pool.MetricasPool;
+import pool.PoolConexiones;
+
+public class VistaConsola implements IVista {
+
+	// Alumnos pedidos al modelo en cada página de los listados
+	private static final int TAMANO_PAGINA = 50;
+
+	// Copia binaria de las opciones 17 y 18
+	private static final Path FICHERO_SNAPSHOT = Path.of("alumnos.snap");
+
+	private final Scanner sc = new Scanner(System.in);
+
+	private AlumnosDAO modelo;
+	
+	/**
+	 * Permite al usuario seleccionar el modelo de base de datos con el que desea trabajar.
+	 * 
+	 * @return el modelo AlumnosDAO correspondiente (MySQL, Oracle o MongoDB).
+	 */
+
+	public AlumnosDAO elegirModelo() {
+		seleccionarBaseDatos();
+		return modelo;
+	}
+
+	private void seleccionarBaseDatos() {
+		System.out.println("""
+				---- Selección de Base de Datos ----
+				1. MySQL (Hibernate)
+				2. Oracle (Hibernate)
+				3. MongoDB
+				-----------------------------------
+				""");
+
+		int opcion;
+		do {
+			System.out.print("Selecciona la base de datos con la que deseas trabajar: ");
+			try {
+				opcion = sc.nextInt();
+				sc.nextLine(); // Limpiar buffer
+
+				switch (opcion) {
+				case 1 -> {
+					System.out.println("✅ Conectando a MySQL...");
+					AlumnosHibernate.setBaseDatos(BaseDatos.MYSQL);
+					modelo = new AlumnosHibernate();
+				}
+				case 2 -> {
+					System.out.println("✅ Conectando a Oracle...");
+					AlumnosHibernate.setBaseDatos(BaseDatos.ORACLE);
+					modelo = new AlumnosHibernate();
+				}
+				case 3 -> {
+					System.out.println("✅ Conectando a MongoDB...");
+					modelo = new AlumnosMongoDB();
+					System.out.println("🌿 Base de datos activa: MongoDB.");
+				}
+				default -> System.out.println("❌ Opción no válida. Intenta de nuevo.");
+				}
+			} catch (InputMismatchException e) {
+				System.out.println("❌ Entrada no válida. Introduce un número.");
+				sc.nextLine();
+				opcion = -1;
+			}
+		} while (modelo == null);
+	}
+
+	public void mostrarMenu(AlumnosDAO modelo) {
+		int opcion;
+		do {
+			imprimirMenu();
+			System.out.print("Selecciona una opción: ");
+			try {
+				opcion = sc.nextInt();
+				sc.nextLine(); // Limpiar buffer
+				gestionarOpcion(opcion, modelo);
+			} catch (InputMismatchException e) {
+				System.out.println("Entrada no válida. Por favor, introduce un número.");
+				sc.nextLine(); // Limpiar buffer en caso de error
+				opcion = -1; // Reiniciar opción para evitar salir del bucle
+			}
+		} while (opcion != 0);
+	}
+
+	private void imprimirMenu() {
+
+		String textoMenu = """
+				---- Menú Principal -------------------------------------------
+				1. Insertar nuevo alumno.
+				2. Insertar nuevo grupo.
+				3. Mostrar todos los alumnos.
+				4. Guardar todos los alumnos en un fichero de texto.
+				5. Leer alumnos de un fichero de texto y guardarlos en la BD.
+				6. Modificar el nombre de un alumno por su NIA.
+				7. Eliminar un alumno a partir de su NIA.
+				8. Eliminar los alumnos del grupo indicado.
+				9. Guardar grupos y alumnos en un archivo XML.
+				10. Leer un archivo XML de grupos y guardar los datos en la BD.
+				11. Mostrar todos los alumnos del grupo elegido.
+				12. Mostrar todos los datos de un alumno por su NIA.
+				13. Cambiar de grupo al alumno que elija el usuario.
+				14. Guardar el grupo que elija el usuario en un fichero XML.
+				15. Mostrar las métricas (caché de alumnos y pool de conexiones).
+				16. Mostrar los tiempos de respuesta de las operaciones.
+				17. Guardar una copia binaria de todos los datos.
+				18. Restaurar una copia binaria en la BD actual.
+				19. Activar o desactivar la compresión gzip de las exportaciones.
+				20. Mostrar estadísticas de alumnos (grupo, ciclo, género, año).
+				0. Salir.
+				---------------------------------------------------------------
+				""";
+
+		System.out.println(textoMenu);
+	}
+
+	/**
+	 * Gestiona la opción seleccionada por el usuario y llama al método
+	 * correspondiente.
+	 * 
+	 * @param opcion Opción seleccionada por el usuario.
+	 * @param modelo Modelo de datos de alumnos y grupos.
+	 */
+	private void gestionarOpcion(int opcion, AlumnosDAO modelo) {
+		switch (opcion) {
+
+		case 1 -> insertarNuevoAlumno(modelo);
+		case 2 -> insertarNuevoGrupo(modelo);
+		case 3 -> mostrarTodosLosAlumnos(modelo, true); // Mostrará toda la información de todos los alumnos
+		case 4 -> guardarAlumnosEnFicheroTexto(modelo);
+		case 5 -> leerAlumnosDesdeFichero(modelo);
+		case 6 -> modificarNombreAlumnoPorNia(modelo);
+		case 7 -> eliminarAlumnoPorNIA(modelo);
+		case 8 -> eliminarAlumnosPorGrupo(modelo);
+		case 9 -> guardarGruposEnXML(modelo);
+		case 10 -> leerYGuardarGruposXML(modelo);
+		case 11 -> mostrarAlumnosPorGrupo(modelo);
+		case 12 -> mostrarTodosLosAlumnos(modelo, false); // Muestra, 1º, el nia y el nombre de todos los alumnos
+		case 13 -> cambiarGrupoAlumno(modelo);
+		case 14 -> guardarGrupoEspecificoEnXML(modelo);
+		case 15 -> mostrarMetricas(modelo);
+		case 16 -> mostrarTiemposRespuesta(modelo);
+		case 17 -> guardarSnapshot(modelo);
+		case 18 -> restaurarSnapshot(modelo);
+		case 19 -> cambiarCompresionExportaciones();
+		case 20 -> mostrarEstadisticas(modelo);
+		case 0 -> System.out.println("Finalizando del programa...");
+		default -> System.out.println("Opción no válida. Intenténtelo de nuevo.");
+		}
+	}
+
+	/**
+	 * Inserta un nuevo alumno solicitando los datos al usuario y almacenándolos en
+	 * la base de datos.
+	 * 
+	 * @param modelo el objeto DAO para gestionar las operaciones de alumnos.
+	 */
+
+	public void insertarNuevoAlumno(AlumnosDAO modelo) {
+		try {
+			Alumno alumno = modelo.solicitarDatosAlumno();
+			if (alumno == null) {
+				System.out.println("❌ Error: El objeto Alumno es null.");
+				return;
+			}
+			if (modelo.insertarAlumno(alumno)) {
+				System.out.println("✅ Alumno insertado correctamente.");
+			} else {
+				System.out.println("❌ Error al insertar el alumno.");
+			}
+		} catch (Exception e) {
+			System.out.println("❌ Ocurrió un error al insertar el alumno: " + e.getMessage());
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Inserta un nuevo grupo solicitando los datos al usuario y almacenándolos en
+	 * la base de datos.
+	 *
+	 * @param modelo el DAO que permite interactuar con la base de datos.
+	 */
+
+	public void insertarNuevoGrupo(AlumnosDAO modelo) {
+		String nombreGrupo;
+
+		// Solicitar al usuario el nombre del nuevo grupo con validación
+		while (true) {
+			System.out.println("Introduce el nombre del nuevo grupo (una letra):");
+			nombreGrupo = sc.nextLine().toUpperCase().trim();
+
+			// Validamos que el nombre sea solo una letra
+			if (nombreGrupo.length() == 1 && nombreGrupo.matches("[A-Za-z]")) {
+				break; // Salimos del bucle si la validación es exitosa
+			} else {
+				System.out.println("El nombre del grupo debe ser una sola letra.");
+			}
+		}
+
+		// Crear objeto Grupo
+		Grupo grupo = new Grupo(nombreGrupo);
+
+		// Llamamos al método del DAO para insertar el grupo
+		if (modelo.insertarGrupo(grupo)) {
+			System.out.println("Grupo insertado correctamente.");
+		} else {
+			System.out.println("Error al insertar el grupo.");
+		}
+	}
+
+	/**
+	 * Muestra todos los alumnos en la BD. Los alumnos se piden al modelo por
+	 * páginas de {@link #TAMANO_PAGINA} (paginación por NIA) y cada página se
+	 * muestra en cuanto llega, sin cargar la tabla completa.
+	 * 
+	 * @param modelo                    el DAO que permite interactuar con la base
+	 *                                  de datos.
+	 * @param mostrarTodaLaInformación.
+	 */
+
+	public void mostrarTodosLosAlumnos(AlumnosDAO modelo, boolean mostrarTodaLaInformación) {
+		try {
+			int niaAnterior = 0;
+			int mostrados = 0;
+			List<Alumno> pagina;
+
+			do {
+				pagina = modelo.obtenerPaginaAlumnos(niaAnterior, TAMANO_PAGINA);
+
+				if (mostrados == 0) {
+					if (pagina.isEmpty()) {
+						System.out.println("No hay alumnos registrados.");
+						return;
+					}
+					System.out.println(mostrarTodaLaInformación ? "Lista completa de alumnos registrados:"
+							: "Lista de alumnos (NIA y Nombre):");
+				}
+
+				for (Alumno alumno : pagina) {
+					if (mostrarTodaLaInformación) {
+						imprimirAlumno(alumno);
+					} else {
+						System.out.printf("NIA: %d, Nombre: %s%n", alumno.getNia(), alumno.getNombre());
+					}
+				}
+
+				mostrados += pagina.size();
+				if (!pagina.isEmpty()) {
+					niaAnterior = pagina.get(pagina.size() - 1).getNia();
+				}
+			} while (pagina.size() == TAMANO_PAGINA);
+
+			// En modo "NIA y nombre", permitir al usuario seleccionar un NIA
+			if (!mostrarTodaLaInformación) {
+				seleccionarAlumnoPorNIA(modelo);
+			}
+
+			System.out.println("✅ Los alumnos se han mostrado correctamente.");
+		} catch (Exception e) {
+			System.out.println("❌ Ocurrió un error al mostrar los alumnos. Revisa los logs para más detalles.");
+		}
+	}
+
+	/**
+	 * Pide un NIA de la lista mostrada y enseña todos los datos de ese alumno.
+	 */
+	private void seleccionarAlumnoPorNIA(AlumnosDAO modelo) {
+		System.out.println("\nIntroduce el NIA del alumno que deseas visualizar (o 0 para salir):");
+		while (true) {
+			try {
+				int niaSeleccionado = Integer.parseInt(sc.nextLine().trim());
+
+				if (niaSeleccionado == 0) {
+					System.out.println("Saliendo sin seleccionar un alumno.");
+					return;
+				}
+
+				Optional<Alumno> alumno = modelo.buscarPorNia(niaSeleccionado);
+				if (alumno.isPresent()) {
+					imprimirAlumno(alumno.get());
+					return;
+				}
+				System.out.println("No se encontró un alumno con el NIA proporcionado. Inténtalo de nuevo (o 0 para salir):");
+			} catch (NumberFormatException e) {
+				System.out.println("El NIA debe ser un número válido. Inténtalo de nuevo:");
+			}
+		}
+	}
+
+	private void imprimirAlumno(Alumno alumno) {
+		System.out.printf("""
+				NIA: %d
+				Nombre: %s
+				Apellidos: %s
+				Género: %s
+				Fecha de nacimiento: %s
+				Ciclo: %s
+				Curso: %s
+				Grupo: %s
+				-------------------------
+				""", alumno.getNia(), alumno.getNombre(), alumno.getApellidos(), alumno.getGenero(),
+				Fechas.formatear(alumno.getFechaNacimiento()),
+				alumno.getCiclo(), alumno.getCurso(),
+				alumno.getGrupo() != null ? alumno.getGrupo().getNombreGrupo() : "Sin grupo");
+	}
+
+	/**
+	 * Permite guardar todos los alumnos en un archivo de texto. Recupera la
+	 * información de los alumnos de la base de datos y la guarda en un archivo
+	 * llamado "alumnos.txt". La información incluye: nombre, apellidos, género,
+	 * fecha de nacimiento, ciclo, curso y nombre del grupo.
+	 */
+
+	public void guardarAlumnosEnFicheroTexto(AlumnosDAO modelo) {
+		Path fichero = FicherosComprimidos.rutaExportacion(Path.of("alumnos.txt"));
+		if (Files.exists(fichero) && !confirmarSobrescribir(fichero)) {
+			System.out.println("Operación cancelada. El fichero no se sobrescribirá.");
+			return;
+		}
+		try {
+			modelo.guardarAlumnosEnFicheroTexto(true);
+			System.out.println("✅ Alumnos guardados correctamente en el archivo de texto.");
+		} catch (Exception e) {
+			System.out.println("❌ Ocurrió un error al guardar los alumnos en el archivo de texto: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Permite leer alumnos desde el fichero fijo "alumnos.txt" y guardarlos en la
+	 * base de datos.
+	 */
+	public void leerAlumnosDesdeFichero(AlumnosDAO modelo) {
+		try {
+			if (modelo.leerAlumnosDeFicheroTexto()) {
+				System.out.println("✅ Alumnos leídos e insertados correctamente desde el fichero 'alumnos.txt'.");
+			} else {
+				System.out.println("❌ Ocurrió un error al procesar el fichero.");
+			}
+		} catch (Exception e) {
+			System.out.println("❌ Error al leer los alumnos desde el fichero: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Permite eliminar un alumno de la base de datos a partir de su NIA (PK).
+	 */
+	public void eliminarAlumnoPorNIA(AlumnosDAO modelo) {
+		try {
+			// Solicitar NIA al usuario
+			System.out.println("Introduce el NIA del alumno a eliminar:");
+			int nia = sc.nextInt();
+			sc.nextLine(); // Limpiar buffer
+
+			// Llamar directamente al DAO sin abrir la conexión
+			if (modelo.eliminarAlumnoPorNIA(nia)) {
+				System.out.println("✅ Alumno eliminado correctamente.");
+			} else {
+				System.out.println("❌ No se encontró un alumno con el NIA proporcionado.");
+			}
+		} catch (Exception e) {
+			System.out.println("❌ Ocurrió un error al intentar eliminar el alumno: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Permite modificar el nombre de un alumno solicitando su NIA y el nuevo
+	 * nombre.
+	 */
+	public void modificarNombreAlumnoPorNia(AlumnosDAO modelo) {
+		try {
+			// Solicitar al usuario el NIA del alumno
+			System.out.print("Introduce el NIA del alumno cuyo nombre quieres modificar: ");
+			int nia = sc.nextInt();
+			sc.nextLine(); // Limpiar buffer
+
+			// Solicitar el nuevo nombre del alumno
+			System.out.print("Introduce el nuevo nombre para el alumno: ");
+			String nuevoNombre = sc.nextLine().trim().toUpperCase();
+
+			// Validar que el nombre no esté vacío
+			if (nuevoNombre.isEmpty()) {
+				System.out.println("❌ El nombre no puede estar vacío.");
+				return;
+			}
+
+			// Llamar directamente al modelo sin gestionar la conexión aquí
+			if (modelo.modificarNombreAlumnoPorNIA(nia, nuevoNombre)) {
+				System.out.println("✅ Nombre del alumno modificado correctamente.");
+			} else {
+				System.out.println("⚠ No se pudo modificar el nombre del alumno. Verifica el NIA.");
+			}
+		} catch (Exception e) {
+			System.out.println("❌ Ocurrió un error al modificar el nombre del alumno: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Elimina los alumnos del grupo indicado por el usuario. Muestra previamente
+	 * los grupos existentes y permite al usuario seleccionar uno. Luego elimina a
+	 * todos los alumnos que pertenezcan al grupo seleccionado.
+	 */
+	public void eliminarAlumnosPorGrupo(AlumnosDAO modelo) {
+		try {
+			// Mostramos los grupos disponibles
+			if (!imprimirGrupos(modelo)) {
+				System.out.println("No hay grupos registrados.");
+				return;
+			}
+
+			// Pedimos al usuario el nombre del grupo a eliminar
+			System.out.println("Introduce el nombre del grupo cuyos alumnos deseas eliminar:");
+			String nombreGrupo = sc.nextLine().toUpperCase().trim();
+
+			// Confirmamos la operación con el usuario
+			System.out.println(
+					"¿Estás seguro de que deseas eliminar todos los alumnos del grupo " + nombreGrupo + "? (S/N)");
+			String confirmacion = sc.nextLine().toUpperCase().trim();
+
+			if (!confirmacion.equals("S")) {
+				System.out.println("Operación cancelada por el usuario.");
+				return;
+			}
+
+			// Llamamos al método del modelo para eliminar los alumnos
+			if (modelo.eliminarAlumnosPorGrupo(nombreGrupo)) {
+				System.out.println("✅ Alumnos del grupo " + nombreGrupo + " eliminados correctamente.");
+			} else {
+				System.out.println("❌ No se pudieron eliminar los alumnos. Verifica el nombre del grupo.");
+			}
+		} catch (Exception e) {
+			System.out.println("❌ Ocurrió un error al eliminar alumnos por grupo: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Método que se encarga de guardar los grupos y sus alumnos en un archivo XML.
+	 */
+	public void guardarGruposEnXML(AlumnosDAO modelo) {
+		Path archivo = FicherosComprimidos.rutaExportacion(Path.of("grupos.xml"));
+		if (Files.exists(archivo) && !confirmarSobrescribir(archivo)) {
+			System.out.println("El archivo no se ha sobrescrito.");
+			return;
+		}
+		try {
+			if (modelo.guardarGruposEnXML(true)) {
+				System.out.println("✅ Archivo XML guardado correctamente.");
+			} else {
+				System.out.println("❌ Error al guardar el archivo XML.");
+			}
+		} catch (Exception e) {
+			System.out.println("❌ Ocurrió un error al guardar los grupos en XML: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Pregunta si se puede sobrescribir un fichero de exportación que ya existe.
+	 * El modelo no pregunta nada: recibe la respuesta como parámetro.
+	 */
+	private boolean confirmarSobrescribir(Path fichero) {
+		System.out.print("El fichero " + fichero + " ya existe. ¿Deseas sobrescribirlo? (S/N): ");
+		return sc.nextLine().trim().equalsIgnoreCase("S");
+	}
+
+	/**
+	 * Lee el archivo XML de grupos (grupos.xml) y guarda los datos en la base de
+	 * datos MySQL. Si ocurre un error durante el proceso, se captura la excepción y
+	 * se muestra un mensaje de error.
+	 */
+	public void leerYGuardarGruposXML(AlumnosDAO modelo) {
+		// Ruta fija del archivo XML de grupos
+		String rutaArchivo = "grupos.xml";
+
+		// Verificamos si el archivo existe (o su versión comprimida 'grupos.xml.gz')
+		File archivoXML = FicherosComprimidos.rutaImportacion(Path.of(rutaArchivo)).toFile();
+		if (!archivoXML.exists()) {
+			System.out.println("❌ El archivo XML no existe en la ruta especificada: " + rutaArchivo);
+			return; // Salimos del método si el archivo no existe
+		}
+
+		// Llamamos directamente al método del modelo sin manejar conexiones
+		if (modelo.leerYGuardarGruposXML(rutaArchivo)) {
+			System.out.println("✅ Archivo XML leído correctamente y datos guardados en la base de datos.");
+		} else {
+			System.out.println("❌ Error al procesar el archivo XML.");
+		}
+	}
+
+	/**
+	 * Muestra los alumnos del grupo seleccionado por el usuario.
+	 *
+	 * @param modelo Objeto que implementa la interfaz AlumnosDAO para realizar
+	 *               operaciones con la base de datos.
+	 */
+	public void mostrarAlumnosPorGrupo(AlumnosDAO modelo) {
+		try {
+			if (!imprimirGrupos(modelo)) {
+				System.out.println("No hay grupos disponibles para mostrar.");
+				return;
+			}
+
+			System.out.println("Introduce el nombre del grupo del que quieres ver los alumnos:");
+			String nombreGrupo = sc.nextLine().trim().toUpperCase();
+
+			int mostrados = 0;
+			try (Stream<Alumno> alumnos = modelo.buscarPorGrupo(nombreGrupo)) {
+				for (Alumno alumno : (Iterable<Alumno>) alumnos::iterator) {
+					imprimirAlumno(alumno);
+					mostrados++;
+				}
+			}
+
+			if (mostrados == 0) {
+				System.out.println("No hay alumnos registrados en el grupo '" + nombreGrupo + "'.");
+			} else {
+				System.out.println(mostrados + " alumnos en el grupo '" + nombreGrupo + "'.");
+			}
+		} catch (Exception e) {
+			System.out.println("❌ Se produjo un error al intentar mostrar los alumnos. Revisa los logs.");
+		}
+	}
+
+	/**
+	 * Muestra los nombres de los grupos existentes.
+	 *
+	 * @return false si no hay grupos.
+	 */
+	private boolean imprimirGrupos(AlumnosDAO modelo) {
+		List<Grupo> grupos = modelo.buscarGrupos();
+		if (grupos.isEmpty()) {
+			return false;
+		}
+
+		System.out.println("Grupos disponibles:");
+		for (Grupo grupo : grupos) {
+			System.out.println("- " + grupo.getNombreGrupo());
+		}
+		return true;
+	}
+
+	/**
+	 * Cambia de grupo al alumno seleccionado por el usuario.
+	 * 
+	 * @param modelo Objeto DAO para la gestión de alumnos y grupos.
+	 */
+	public void cambiarGrupoAlumno(AlumnosDAO modelo) {
+		try {
+			modelo.cambiarGrupoAlumno(); // ✅ Solo ejecuta la acción sin mostrar mensajes adicionales.
+		} catch (Exception e) {
+			System.out.println("❌ Se produjo un error al intentar cambiar al alumno de grupo. Revisa los logs.");
+		}
+	}
+
+	/**
+	 * Guarda un grupo específico con toda su información (incluyendo los alumnos)
+	 * en un archivo XML.
+	 * 
+	 * @param modelo Objeto DAO para la gestión de alumnos y grupos.
+	 */
+
+	public void guardarGrupoEspecificoEnXML(AlumnosDAO modelo) {
+		try {
+			if (modelo.guardarGrupoEspecificoEnXML()) {
+				System.out.println("✅ El grupo se ha guardado correctamente en un archivo XML.");
+			} else {
+				System.out.println("❌ No se pudo guardar el grupo en XML.");
+			}
+		} catch (Exception e) {
+			System.out.println("❌ Se produjo un error al guardar el grupo en XML. Revisa los logs.");
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Muestra las métricas de la caché de alumnos y, con el modelo AlumnosBD (el
+	 * que usa PoolConexiones), las del pool de conexiones JDBC, permitiendo
+	 * cambiar su tamaño máximo y mínimo sin reiniciar la aplicación.
+	 *
+	 * @param modelo Objeto DAO para la gestión de alumnos y grupos.
+	 */
+	public void mostrarMetricas(AlumnosDAO modelo) {
+		Optional<AlumnosDAOCacheado> cacheado = modelo.buscarCapa(AlumnosDAOCacheado.class);
+		if (cacheado.isPresent()) {
+			CacheAlumnos cache = cacheado.get().getCache();
+			System.out.printf("""
+					---- Caché de alumnos ----
+					Alumnos en caché: %d / %d
+					Aciertos / fallos: %d / %d (tasa de aciertos: %.1f %%)
+					Expulsiones (LRU) / caducadas (TTL): %d / %d
+					Invalidaciones: %d
+					Memoria estimada: %.1f KiB
+					--------------------------
+					""", cache.getTamano(), cache.getCapacidad(), cache.getAciertos(), cache.getFallos(),
+					cache.getTasaAciertos() * 100, cache.getExpulsiones(), cache.getCaducadas(),
+					cache.getInvalidaciones(), cache.getMemoriaEstimadaBytes() / 1024.0);
+		}
+
+		// La caché nombreGrupo -> numeroGrupo solo la usa el modelo JDBC
+		if (modelo.getModeloBase() instanceof AlumnosBD) {
+			CacheGrupos cacheGrupos = AlumnosBD.getCacheGrupos();
+			System.out.printf("""
+					---- Caché de grupos ----
+					Grupos en caché: %d
+					Aciertos / fallos: %d / %d
+					-------------------------
+					""", cacheGrupos.getTamano(), cacheGrupos.getAciertos(), cacheGrupos.getFallos());
+		}
+
+		if (!(modelo.getModeloBase() instanceof AlumnosBD)) {
+			System.out.println("⚠ El modelo actual no usa el pool de conexiones JDBC (PoolConexiones).");
+			return;
+		}
+
+		MetricasPool metricas = PoolConexiones.getMetricas();
+		System.out.printf("""
+				---- Pool de conexiones ----
+				Conexiones: %d (activas: %d, inactivas: %d)
+				Hilos esperando conexión: %d
+				Tamaño máximo / mínimo inactivas: %d / %d
+				Conexiones creadas: %d
+				Conexiones obtenidas: %d
+				Espera media / máxima: %.3f ms / %.3f ms
+				Uso medio / máximo: %.1f ms / %d ms
+				Timeouts: %d
+				----------------------------
+				""", metricas.getConexionesTotales(), metricas.getConexionesActivas(),
+				metricas.getConexionesInactivas(), metricas.getHilosEsperando(), metricas.getMaximumPoolSize(),
+				metricas.getMinimumIdle(), metricas.getConexionesCreadas(), metricas.getConexionesObtenidas(),
+				metricas.getEsperaMediaMilis(), metricas.getEsperaMaximaMilis(), metricas.getUsoMedioMilis(),
+				metricas.getUsoMaximoMilis(), metricas.getTimeouts());
+
+		System.out.println("¿Deseas cambiar el tamaño del pool? (S/N)");
+		if (!sc.nextLine().trim().equalsIgnoreCase("S")) {
+			return;
+		}
+
+		try {
+			System.out.print("Nuevo tamaño máximo (maximumPoolSize): ");
+			int maximo = Integer.parseInt(sc.nextLine().trim());
+			System.out.print("Nuevo mínimo de conexiones inactivas (minimumIdle): ");
+			int minimo = Integer.parseInt(sc.nextLine().trim());
+
+			PoolConexiones.redimensionar(maximo, minimo);
+			System.out.println("✅ Tamaño del pool actualizado.");
+		} catch (NumberFormatException e) {
+			System.out.println("❌ Los tamaños deben ser números enteros.");
+		} catch (IllegalArgumentException e) {
+			System.out.println("❌ " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Muestra, para cada operación del modelo, el número de llamadas, los errores
+	 * y los percentiles de su tiempo de respuesta, y permite ponerlos a cero.
+	 *
+	 * @param modelo Objeto DAO para la gestión de alumnos y grupos.
+	 */
+	public void mostrarTiemposRespuesta(AlumnosDAO modelo) {
+		Optional<AlumnosDAOInstrumentado> instrumentado = modelo.buscarCapa(AlumnosDAOInstrumentado.class);
+		if (instrumentado.isEmpty()) {
+			System.out.println("⚠ El modelo actual no mide los tiempos de respuesta.");
+			return;
+		}
+
+		System.out.println("---- Tiempos de respuesta ----");
+		System.out.print(instrumentado.get().resumen());
+		System.out.println("------------------------------");
+
+		System.out.println("¿Deseas ponerlos a cero? (S/N)");
+		if (sc.nextLine().trim().equalsIgnoreCase("S")) {
+			instrumentado.get().reiniciar();
+			System.out.println("✅ Tiempos de respuesta reiniciados.");
+		}
+	}
+
+	/**
+	 * Guarda todos los grupos y alumnos en la copia binaria 'alumnos.snap', que
+	 * puede restaurarse después en este o en cualquier otro modelo.
+	 *
+	 * @param modelo Objeto DAO para la gestión de alumnos y grupos.
+	 */
+	public void guardarSnapshot(AlumnosDAO modelo) {
+		if (Files.exists(FICHERO_SNAPSHOT)) {
+			System.out.print("La copia binaria ya existe. ¿Desea sobreescribirla? (S/N): ");
+			if (!sc.nextLine().trim().equalsIgnoreCase("S")) {
+				System.out.println("La copia no se ha sobrescrito.");
+				return;
+			}
+		}
+
+		long alumnos = modelo.exportarSnapshot(FICHERO_SNAPSHOT);
+		if (alumnos < 0) {
+			System.out.println("❌ Error al guardar la copia binaria. Revisa los logs para más detalles.");
+		} else {
+			System.out.println("✅ Copia binaria guardada en '" + FICHERO_SNAPSHOT + "' con " + alumnos + " alumnos.");
+		}
+	}
+
+	/**
+	 * Carga la copia binaria 'alumnos.snap' en el modelo actual: crea los grupos
+	 * que falten e inserta los alumnos con su NIA o, si el usuario lo pide, con NIA
+	 * nuevos.
+	 *
+	 * @param modelo Objeto DAO para la gestión de alumnos y grupos.
+	 */
+	public void restaurarSnapshot(AlumnosDAO modelo) {
+		if (!Files.exists(FICHERO_SNAPSHOT)) {
+			System.out.println("❌ No existe la copia binaria '" + FICHERO_SNAPSHOT + "'.");
+			return;
+		}
+
+		System.out.print("¿Asignar NIA nuevos a los alumnos en lugar de conservar los de la copia? (S/N): ");
+		boolean renumerar = sc.nextLine().trim().equalsIgnoreCase("S");
+
+		long alumnos = modelo.importarSnapshot(FICHERO_SNAPSHOT, !renumerar);
+		if (alumnos < 0) {
+			System.out.println("❌ Error al restaurar la copia binaria. Revisa los logs para más detalles.");
+		} else {
+			System.out.println("✅ Copia binaria restaurada: " + alumnos + " alumnos insertados.");
+		}
+	}
+
+	/**
+	 * Activa o desactiva la compresión de las exportaciones (opciones 4 y 9). Con
+	 * la compresión activada se escriben 'alumnos.txt.gz' y 'grupos.xml.gz'; las
+	 * importaciones leen los ficheros comprimidos sin necesidad de activarla.
+	 */
+	public void cambiarCompresionExportaciones() {
+		FicherosComprimidos.setComprimir(!FicherosComprimidos.isComprimir());
+		System.out.println(FicherosComprimidos.isComprimir()
+				? "✅ Las exportaciones se guardarán comprimidas en gzip (.gz)."
+				: "✅ Las exportaciones se guardarán sin comprimir.");
+	}
+
+	/**
+	 * Muestra cuántos alumnos hay por grupo, por ciclo y curso, por género y por
+	 * año de nacimiento. Los recuentos los calcula el modelo (en la base de datos
+	 * cuando la hay), sin traer todos los alumnos.
+	 *
+	 * @param modelo Objeto DAO para la gestión de alumnos y grupos.
+	 */
+	public void mostrarEstadisticas(AlumnosDAO modelo) {
+		Optional<EstadisticasAlumnos> resultado = modelo.calcularEstadisticas();
+		if (resultado.isEmpty()) {
+			System.out.println("❌ Error al calcular las estadísticas. Revisa los logs para más detalles.");
+			return;
+		}
+
+		EstadisticasAlumnos estadisticas = resultado.get();
+		if (estadisticas.getTotal() == 0) {
+			System.out.println("No hay alumnos registrados.");
+			return;
+		}
+
+		System.out.println("---- Estadísticas de alumnos ----");
+		System.out.println("Total: " + estadisticas.getTotal());
+		System.out.println("\nPor grupo:");
+		estadisticas.getPorGrupo().forEach(VistaConsola::imprimirRecuento);
+		System.out.println("\nPor ciclo y curso:");
+		estadisticas.getPorCicloCurso().forEach((clave, alumnos) -> imprimirRecuento(
+				(clave.ciclo() == null ? "-" : clave.ciclo()) + " " + (clave.curso() == null ? "-" : clave.curso()),
+				alumnos));
+		System.out.println("\nPor género:");
+		estadisticas.getPorGenero().forEach((genero, alumnos) -> imprimirRecuento(String.valueOf(genero), alumnos));
+		System.out.println("\nPor año de nacimiento:");
+		estadisticas.getPorAnioNacimiento().forEach((anio, alumnos) -> imprimirRecuento(
+				anio == null ? null : String.valueOf(anio), alumnos));
+		System.out.println("---------------------------------");
+	}
+
+	private static void imprimirRecuento(String clave, long alumnos) {
+		System.out.printf("  %-20s %d%n", clave == null ? "(sin dato)" : clave, alumnos);
+	}
+
 }
\ No newline at end of file